@@ -23,21 +23,27 @@
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.operation.Query;
 import ddf.catalog.operation.QueryRequest;
+import ddf.catalog.operation.QueryResponse;
 import ddf.catalog.operation.SourceResponse;
 import ddf.catalog.operation.impl.QueryImpl;
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
@@ -50,6 +56,12 @@
  *
  * <p>Since the class may use the page size provided in the {@link Query} to fetch the results, its
  * value should be carefully set to avoid any memory or performance issues.
+ *
+ * <p>When the query starts at the first result and is not sent to several sources, the class
+ * requests cursor-based paging using the {@link QueryRequest#CURSOR} property. If the source honors
+ * it, the following pages are fetched with the returned {@link QueryResponse#NEXT_CURSOR} token
+ * instead of a start index, which keeps the cost of each page constant no matter how deep into the
+ * results it is. Otherwise, the class falls back to paging with the start index.
  */
 public class ResultIterable implements Iterable<Result> {
   public static final int DEFAULT_PAGE_SIZE = 64;
@@ -157,6 +169,7 @@ private static class ResultIterator implements Iterator<Result> {
     private final QueryFunction queryFunction;
     private final Set<String> foundIds = new HashSet<>(2048);
     private int currentIndex;
+    private String cursor;
     private QueryImpl queryCopy;
     private QueryRequestImpl queryRequestCopy;
     private Iterator<Result> results = Collections.emptyIterator();
@@ -232,6 +245,18 @@ private void fetchNextResults() {
                 .map(Integer.class::cast)
                 .orElse(resultList.size());
 
+        if (cursor != null) {
+          Serializable nextCursor = response.getPropertyValue(QueryResponse.NEXT_CURSOR);
+          if (nextCursor instanceof String) {
+            handleCursorResults(resultList, actualResultSize, (String) nextCursor);
+            return;
+          }
+
+          // The source does not support cursors, so page using the start index from now on
+          cursor = null;
+          queryRequestCopy.getProperties().remove(QueryRequest.CURSOR);
+        }
+
         if (actualResultSize == 0) {
           finished = true;
           return;
@@ -259,6 +284,23 @@ private void fetchNextResults() {
       }
     }
 
+    /**
+     * Since a cursor never returns the same result twice, the results do not need to be tracked
+     * for duplicates and the memory used by the iterator stays constant.
+     */
+    private void handleCursorResults(
+        List<Result> resultList, int actualResultSize, String nextCursor) {
+      if (actualResultSize == 0 || nextCursor.equals(cursor)) {
+        finished = true;
+      }
+
+      cursor = nextCursor;
+      queryRequestCopy.getProperties().put(QueryRequest.CURSOR, nextCursor);
+
+      this.results =
+          resultList.stream().filter(Objects::nonNull).collect(Collectors.toList()).iterator();
+    }
+
     private boolean isDistinctResult(@Nullable Result result) {
       return result != null
           && (result.getMetacard() == null
@@ -266,6 +308,11 @@ private boolean isDistinctResult(@Nullable Result result) {
               || !foundIds.contains(result.getMetacard().getId()));
     }
 
+    private static boolean targetsSeveralSources(QueryRequest queryRequest) {
+      return queryRequest.isEnterprise()
+          || (queryRequest.getSourceIds() != null && queryRequest.getSourceIds().size() > 1);
+    }
+
     private void copyQueryRequestAndQuery(QueryRequest queryRequest) {
       Query query = queryRequest.getQuery();
 
@@ -281,12 +328,28 @@ private void copyQueryRequestAndQuery(QueryRequest queryRequest) {
               // always get the hit count
               query.getTimeoutMillis());
 
+      Map<String, Serializable> properties = new HashMap<>();
+      if (queryRequest.getProperties() != null) {
+        properties.putAll(queryRequest.getProperties());
+      }
+
+      // A cursor always starts at the first result and belongs to a single source, so only use
+      // one when no offset was requested and the request cannot fan out to several sources
+      if (query.getStartIndex() <= 1 && !targetsSeveralSources(queryRequest)) {
+        Serializable requestCursor = properties.get(QueryRequest.CURSOR);
+        this.cursor =
+            requestCursor instanceof String ? (String) requestCursor : QueryRequest.CURSOR_START;
+        properties.put(QueryRequest.CURSOR, cursor);
+      } else {
+        properties.remove(QueryRequest.CURSOR);
+      }
+
       this.queryRequestCopy =
           new QueryRequestImpl(
               queryCopy,
               queryRequest.isEnterprise(),
               queryRequest.getSourceIds(),
-              queryRequest.getProperties());
+              properties);
     }
   }
 }
@@ -429,6 +429,124 @@ class ResultIterableSpec extends Specification {
         results == actualResults
     }
 
+    def "Follows the next cursor returned by the catalog"() {
+        setup:
+        def actualResults = (1..5).collect { new ResultImpl() }
+        def cursors = []
+        def startIndexes = []
+
+        4 * catalogFramework.query(_ as QueryRequest) >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildCursorQueryResponse(actualResults, 0..1, "cursor1")
+        } >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildCursorQueryResponse(actualResults, 2..3, "cursor2")
+        } >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildCursorQueryResponse(actualResults, 4..4, "cursor3")
+        } >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildCursorQueryResponse(actualResults, 0..<0, "cursor3")
+        }
+
+        Query queryMock = createQueryMock(1, 2)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == actualResults
+        cursors == [QueryRequest.CURSOR_START, "cursor1", "cursor2", "cursor3"]
+        startIndexes == [1, 1, 1, 1]
+    }
+
+    def "Stops paging when the catalog returns the same cursor again"() {
+        setup:
+        def actualResults = (1..4).collect { new ResultImpl() }
+
+        2 * catalogFramework.query(_ as QueryRequest) >>
+                { QueryRequest queryRequest ->
+                    buildCursorQueryResponse(actualResults, 0..1, "cursor1")
+                } >>
+                { QueryRequest queryRequest ->
+                    buildCursorQueryResponse(actualResults, 2..3, "cursor1")
+                }
+
+        Query queryMock = createQueryMock(1, 2)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == actualResults
+    }
+
+    def "Pages with the start index when the catalog returns no cursor"() {
+        setup:
+        def actualResults = (1..5).collect { new ResultImpl() }
+        def cursors = []
+        def startIndexes = []
+
+        3 * catalogFramework.query(_ as QueryRequest) >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildQueryResponse(actualResults, 0..1)
+        } >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildQueryResponse(actualResults, 2..3)
+        } >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            startIndexes << queryRequest.getQuery().getStartIndex()
+            buildQueryResponse(actualResults, 4..4)
+        }
+
+        Query queryMock = createQueryMock(1, 2)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == actualResults
+        cursors == [QueryRequest.CURSOR_START, null, null]
+        startIndexes == [1, 3, 5]
+    }
+
+    def "Does not request a cursor when the query is sent to several sources"() {
+        setup:
+        def actualResults = (1..2).collect { new ResultImpl() }
+        def cursors = []
+
+        1 * catalogFramework.query(_ as QueryRequest) >> { QueryRequest queryRequest ->
+            cursors << queryRequest.getPropertyValue(QueryRequest.CURSOR)
+            buildQueryResponse(actualResults, 0..1)
+        }
+
+        Query queryMock = createQueryMock(1, 2)
+        QueryRequest queryRequestMock = createQueryRequestMock(queryMock)
+        queryRequestMock.isEnterprise() >> enterprise
+        queryRequestMock.getSourceIds() >> sourceIds
+
+        when:
+        def results = resultIterable(catalogFramework, queryRequestMock).stream().collect(toList())
+
+        then:
+        results == actualResults
+        cursors == [null]
+
+        where:
+        enterprise | sourceIds
+        true       | null
+        false      | ["source1", "source2"] as Set
+    }
+
     def "next() doesn't query the catalog after all the results have been retrieved"() {
         setup:
         1 * catalogFramework.query(_ as QueryRequest) >> {
@@ -618,6 +736,16 @@ class ResultIterableSpec extends Specification {
         return response
     }
 
+    private QueryResponse buildCursorQueryResponse(List<Result> resultList,
+                                                   Range resultRange,
+                                                   String nextCursor) {
+        return new QueryResponseImpl(new QueryRequestImpl(null),
+                resultList[resultRange],
+                true,
+                (long) resultList.size(),
+                ["actualResultSize": resultRange.size(), (QueryResponse.NEXT_CURSOR): nextCursor])
+    }
+
     private buildQueryResponse(QueryRequest queryRequest, int resultListsSize, int totalResults) {
         int startIndex = queryRequest.getQuery()
                 .getStartIndex()
@@ -17,6 +17,17 @@
 
 public interface QueryRequest extends Federatable, Request {
 
+  /**
+   * Property name for an opaque continuation token identifying where the next page of results
+   * starts. Sources that support cursor-based paging ignore the {@link Query#getStartIndex()} when
+   * this property is present and return the token for the following page in the {@link
+   * QueryResponse#NEXT_CURSOR} response property.
+   */
+  public static final String CURSOR = "cursor";
+
+  /** Value of the {@link #CURSOR} property used to request the first page of results. */
+  public static final String CURSOR_START = "*";
+
   /**
    * Returns a {@link Query} associated with the QueryRequest
    *
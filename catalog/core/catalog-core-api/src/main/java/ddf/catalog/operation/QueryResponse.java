@@ -27,6 +27,14 @@ public interface QueryResponse extends SourceResponse {
 
   public static final String ELAPSED_TIME = "elapsed-time";
 
+  /**
+   * Property name for the opaque continuation token to send as the {@link QueryRequest#CURSOR}
+   * property to retrieve the next page of results. Only present when the source supports
+   * cursor-based paging. A token equal to the one sent in the request indicates that there are no
+   * more results.
+   */
+  public static final String NEXT_CURSOR = "next-cursor";
+
   @Override
   public Set<ProcessingDetails> getProcessingDetails();
 
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.plugin;
+
+import ddf.catalog.data.Result;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link PolicyPlugin} whose post query policy only depends on the values of a known set of
+ * metacard attributes.
+ *
+ * <p>The catalog framework calls {@link #processPostQuery(Result, Map)} once for every distinct
+ * combination of values of the {@link #getPostQueryPolicyAttributes()} found among the results of
+ * a query response, and reuses the returned {@link PolicyResponse} for the other results with the
+ * same values. The returned {@link PolicyResponse} must therefore not be modified afterwards.
+ *
+ * <p><b> This code is experimental. While this interface is functional and tested, it may change or
+ * be removed in a future version of the library. </b>
+ */
+public interface CacheablePolicyPlugin extends PolicyPlugin {
+
+  /**
+   * Returns the names of the metacard attributes whose values determine the policy returned by
+   * {@link #processPostQuery(Result, Map)}. Results with equal values for all of these attributes
+   * within the same query response must get equal policies.
+   *
+   * @return the names of the attributes the post query policy depends on, never {@code null}
+   */
+  List<String> getPostQueryPolicyAttributes();
+}
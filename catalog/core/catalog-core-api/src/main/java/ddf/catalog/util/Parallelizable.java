@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.util;
+
+/**
+ * Marks a catalog extension, such as a {@link ddf.catalog.plugin.PolicyPlugin} or a {@link
+ * ddf.catalog.data.AttributeInjector}, that may be called concurrently for the different metacards
+ * of a single request.
+ *
+ * <p>The catalog framework only processes the metacards of a request in parallel when every
+ * extension used by a processing stage is {@code Parallelizable}. Implementations must therefore
+ * not keep any state between calls, must only modify the metacard they are given and must not
+ * depend on the state of the calling thread, such as the security subject bound to it.
+ *
+ * <p><b> This code is experimental. While this interface is functional and tested, it may change or
+ * be removed in a future version of the library. </b>
+ */
+public interface Parallelizable {}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.validation;
+
+import ddf.catalog.data.Metacard;
+import java.util.List;
+
+/**
+ * A {@link MetacardValidator} that can look up the data it needs to validate a whole batch of
+ * {@link Metacard}s at once, instead of once per {@link Metacard}.
+ *
+ * <p><b> This code is experimental. While this interface is functional and tested, it may change or
+ * be removed in a future version of the library. </b>
+ */
+public interface BatchMetacardValidator extends MetacardValidator {
+
+  /**
+   * Prepares the validation of the {@link Metacard}s of one request.
+   *
+   * @param metacards the {@link Metacard}s that are about to be validated, cannot be null
+   * @return a {@link MetacardValidator} that validates each of the given {@link Metacard}s the
+   *     same way as this validator
+   */
+  MetacardValidator forBatch(List<Metacard> metacards);
+}
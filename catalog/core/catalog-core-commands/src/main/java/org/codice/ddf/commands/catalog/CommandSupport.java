@@ -66,6 +66,20 @@ protected void printSuccessMessage(String message) {
    * @return
    */
   protected void printProgressAndFlush(long start, long totalCount, long currentCount) {
+    printProgressAndFlush(start, totalCount, currentCount, "");
+  }
+
+  /**
+   * Same as {@link #printProgressAndFlush(long, long, long)} with additional status text printed
+   * after the records per second.
+   *
+   * @param start time started processing records
+   * @param totalCount count of total records
+   * @param currentCount count of records completed
+   * @param status text to print at the end of the progress line
+   */
+  protected void printProgressAndFlush(
+      long start, long totalCount, long currentCount, String status) {
     final int progressPercentage;
     if (totalCount > 0) {
       progressPercentage = (int) ((currentCount * 100) / totalCount);
@@ -79,10 +93,11 @@ protected void printProgressAndFlush(long start, long totalCount, long currentCo
 
     console.print(
         String.format(
-            "\r%1$3d%% [%2$-" + PROGRESS_BAR_WIDTH + "s] %3$5s records/sec",
+            "\r%1$3d%% [%2$-" + PROGRESS_BAR_WIDTH + "s] %3$5s records/sec%4$s",
             progressPercentage,
             StringUtils.repeat("=", notchesCount) + (notchesCount == PROGRESS_BAR_WIDTH ? "" : ">"),
-            rate));
+            rate,
+            status));
     console.flush();
   }
 
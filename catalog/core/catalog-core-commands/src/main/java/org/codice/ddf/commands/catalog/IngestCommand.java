@@ -125,6 +125,12 @@ public class IngestCommand extends CatalogCommands {
 
   private static final String CONTENT_PATH = CONTENT + File.separator;
 
+  /**
+   * Placed on the file queue once per transformer thread after the input has been walked to tell
+   * the transformer threads that there are no more files to transform.
+   */
+  private static final File END_OF_FILES = new File("");
+
   private final PeriodFormatter timeFormatter =
       new PeriodFormatterBuilder()
           .printZeroRarelyLast()
@@ -143,6 +149,8 @@ public class IngestCommand extends CatalogCommands {
 
   private final Phaser phaser = new Phaser();
 
+  private final AtomicInteger transformCount = new AtomicInteger();
+
   private final AtomicInteger ingestCount = new AtomicInteger();
 
   private final AtomicInteger ignoreCount = new AtomicInteger();
@@ -193,7 +201,7 @@ public class IngestCommand extends CatalogCommands {
     aliases = {"-m", "Multithreaded"},
     multiValued = false,
     description =
-        "Number of threads to use when ingesting. Setting this value too high for your system can cause performance degradation."
+        "Number of threads to use when transforming files and when ingesting. Setting this value too high for your system can cause performance degradation."
   )
   int multithreaded = 8;
 
@@ -280,6 +288,8 @@ protected Object executeWithSubject() throws Exception {
     int totalFiles = totalFileCount(inputFile);
     fileCount.set(totalFiles);
 
+    final ArrayBlockingQueue<File> fileQueue = new ArrayBlockingQueue<>(multithreaded);
+
     final ArrayBlockingQueue<Metacard> metacardQueue =
         new ArrayBlockingQueue<>(batchSize * multithreaded);
 
@@ -287,17 +297,25 @@ protected Object executeWithSubject() throws Exception {
         Executors.newSingleThreadExecutor(
             StandardThreadFactoryBuilder.newThreadFactory(THREAD_NAME));
 
+    ExecutorService transformExecutor =
+        Executors.newFixedThreadPool(
+            multithreaded, StandardThreadFactoryBuilder.newThreadFactory(THREAD_NAME));
+
     final long start = System.currentTimeMillis();
 
-    printProgressAndFlush(start, fileCount.get(), 0);
+    printIngestProgress(start, fileQueue, metacardQueue);
 
     // Registering for the main thread and on behalf of the buildQueue thread;
     // the buildQueue thread will unregister itself when the files have all
-    // been added to the blocking queue and the final registration will
-    // be held for the await.
+    // been added to the file queue and the final registration will
+    // be held for the await. Each file on the file queue holds a registration
+    // until it has been transformed and its metacard added to the metacard queue.
     phaser.register();
     phaser.register();
-    queueExecutor.submit(() -> buildQueue(inputFile, metacardQueue, start));
+    queueExecutor.submit(() -> buildQueue(inputFile, fileQueue, metacardQueue));
+    for (int i = 0; i < multithreaded; i++) {
+      transformExecutor.submit(() -> transformFiles(fileQueue, metacardQueue, start));
+    }
 
     final ScheduledExecutorService batchScheduler =
         Executors.newSingleThreadScheduledExecutor(
@@ -316,20 +334,21 @@ protected Object executeWithSubject() throws Exception {
             rejectedExecutionHandler);
 
     final CatalogFacade catalog = getCatalog();
-    submitToCatalog(batchScheduler, executorService, metacardQueue, catalog, start);
+    submitToCatalog(batchScheduler, executorService, fileQueue, metacardQueue, catalog, start);
 
     // await on catalog processing threads to complete emptying queue
     phaser.awaitAdvance(phaser.arrive());
 
     try {
       queueExecutor.shutdown();
+      transformExecutor.shutdown();
       executorService.shutdown();
       batchScheduler.shutdown();
     } catch (SecurityException e) {
       LOGGER.info("Executor service shutdown was not permitted: {}", e);
     }
 
-    printProgressAndFlush(start, fileCount.get(), (long) ingestCount.get() + ignoreCount.get());
+    printIngestProgress(start, fileQueue, metacardQueue);
     long end = System.currentTimeMillis();
     console.println();
     String elapsedTime = timeFormatter.print(new Period(start, end).withMillis(0));
@@ -624,7 +643,10 @@ private void moveToFailedIngestDirectory(File source) {
     }
   }
 
-  private void buildQueue(File inputFile, ArrayBlockingQueue<Metacard> metacardQueue, long start) {
+  private void buildQueue(
+      File inputFile,
+      ArrayBlockingQueue<File> fileQueue,
+      ArrayBlockingQueue<Metacard> metacardQueue) {
     try {
       if (includeContent) {
         try (InputStream data = new FileInputStream(inputFile);
@@ -649,17 +671,80 @@ private void buildQueue(File inputFile, ArrayBlockingQueue<Metacard> metacardQue
           ingestStream
               .map(Path::toFile)
               .filter(file -> !file.isDirectory())
-              .forEach(file -> addFileToQueue(metacardQueue, start, file));
+              .forEach(file -> putFileOnQueue(fileQueue, file));
         } catch (IOException e) {
           throw new UncheckedIOException(e);
         }
       }
     } finally {
+      for (int i = 0; i < multithreaded; i++) {
+        if (!putEndOfFiles(fileQueue)) {
+          break;
+        }
+      }
+      phaser.arriveAndDeregister();
+    }
+  }
+
+  private void putFileOnQueue(ArrayBlockingQueue<File> fileQueue, File file) {
+    try {
+      phaser.register();
+      fileQueue.put(file);
+    } catch (InterruptedException e) {
       phaser.arriveAndDeregister();
+
+      INGEST_LOGGER.error(
+          "Thread interrupted while waiting to 'put' file: {}", file.getAbsolutePath(), e);
+
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private boolean putEndOfFiles(ArrayBlockingQueue<File> fileQueue) {
+    try {
+      fileQueue.put(END_OF_FILES);
+      return true;
+    } catch (InterruptedException e) {
+      LOGGER.debug("Thread interrupted while signaling the end of the files to transform.", e);
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /**
+   * Transforms the files on the file queue and adds their metacards to the metacard queue until
+   * {@link #END_OF_FILES} is taken from the file queue. Runs on each of the transformer threads. A
+   * file that cannot be transformed is counted as failed.
+   */
+  private void transformFiles(
+      ArrayBlockingQueue<File> fileQueue,
+      ArrayBlockingQueue<Metacard> metacardQueue,
+      long start) {
+    try {
+      for (File file = fileQueue.take(); file != END_OF_FILES; file = fileQueue.take()) {
+        try {
+          addFileToQueue(fileQueue, metacardQueue, start, file);
+        } catch (RuntimeException e) {
+          // Keep this transformer thread alive so the walker never blocks on a full file queue
+          logIngestException(new IngestException("Unexpected error transforming file.", e), file);
+          if (failedIngestDirectory != null) {
+            moveToFailedIngestDirectory(file);
+          }
+        } finally {
+          phaser.arriveAndDeregister();
+        }
+      }
+    } catch (InterruptedException e) {
+      LOGGER.debug("Transformer thread interrupted while waiting to 'take' a file.", e);
+      Thread.currentThread().interrupt();
     }
   }
 
-  private void addFileToQueue(ArrayBlockingQueue<Metacard> metacardQueue, long start, File file) {
+  private void addFileToQueue(
+      ArrayBlockingQueue<File> fileQueue,
+      ArrayBlockingQueue<Metacard> metacardQueue,
+      long start,
+      File file) {
     if (file.isHidden()) {
       fileCount.incrementAndGet();
       ignoreCount.incrementAndGet();
@@ -670,7 +755,7 @@ private void addFileToQueue(ArrayBlockingQueue<Metacard> metacardQueue, long sta
     if (ignoreList != null
         && (ignoreList.contains(extension) || ignoreList.contains(file.getName()))) {
       ignoreCount.incrementAndGet();
-      printProgressAndFlush(start, fileCount.get(), (long) ingestCount.get() + ignoreCount.get());
+      printIngestProgress(start, fileQueue, metacardQueue);
       return;
     }
 
@@ -685,6 +770,7 @@ private void addFileToQueue(ArrayBlockingQueue<Metacard> metacardQueue, long sta
     }
 
     if (result != null) {
+      transformCount.incrementAndGet();
       putMetacardOnQueue(metacardQueue, result);
     }
   }
@@ -802,6 +888,7 @@ private void submitToStorageProvider(List<Metacard> metacardList) {
   private void submitToCatalog(
       ScheduledExecutorService batchScheduler,
       ExecutorService executorService,
+      ArrayBlockingQueue<File> fileQueue,
       ArrayBlockingQueue<Metacard> metacardQueue,
       CatalogFacade catalog,
       long start) {
@@ -828,8 +915,7 @@ private void submitToCatalog(
                     }
                   });
 
-              printProgressAndFlush(
-                  start, fileCount.get(), (long) ingestCount.get() + ignoreCount.get());
+              printIngestProgress(start, fileQueue, metacardQueue);
             }
           }
         },
@@ -838,6 +924,27 @@ private void submitToCatalog(
         TimeUnit.MILLISECONDS);
   }
 
+  /**
+   * Prints the overall progress followed by the rate of each stage and how full the queue in front
+   * of the stage is. A full queue means that the stage is not keeping up with the stage before it.
+   */
+  private void printIngestProgress(
+      long start, ArrayBlockingQueue<File> fileQueue, ArrayBlockingQueue<Metacard> metacardQueue) {
+    long now = System.currentTimeMillis();
+    printProgressAndFlush(
+        start,
+        fileCount.get(),
+        (long) ingestCount.get() + ignoreCount.get(),
+        String.format(
+            " | transform %d/s [%d/%d] | create %d/s [%d/%d]",
+            calculateRecordsPerSecond(transformCount.get(), start, now),
+            fileQueue.size(),
+            multithreaded,
+            calculateRecordsPerSecond(ingestCount.get(), start, now),
+            metacardQueue.size(),
+            batchSize * multithreaded));
+  }
+
   private Map<String, List<File>> generateFileMap(File inputFile) throws IOException {
     if (!inputFile.exists()) {
       return null;
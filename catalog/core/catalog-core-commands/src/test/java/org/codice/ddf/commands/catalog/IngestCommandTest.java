@@ -20,13 +20,21 @@
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.operation.CreateRequest;
+import ddf.catalog.operation.CreateResponse;
 import ddf.catalog.transform.InputTransformer;
+import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import org.apache.commons.lang3.SystemUtils;
 import org.codice.ddf.commands.util.DigitalSignature;
 import org.junit.Before;
@@ -175,6 +183,59 @@ public void testIgnoreHiddenFiles() throws Exception {
     assertThat(consoleOutput.getOutput(), not(containsString("ignored")));
   }
 
+  @Test
+  public void testTransformFilesOnMultipleThreads() throws Exception {
+    // given
+    for (int i = 0; i < 20; i++) {
+      MetacardImpl metacard = new MetacardImpl();
+      metacard.setId("id" + i);
+      metacard.setTitle("title" + i);
+      try (ObjectOutputStream oos =
+          new ObjectOutputStream(new FileOutputStream(testFolder.newFile("metacard" + i)))) {
+        oos.writeObject(metacard);
+      }
+    }
+    when(ingestCommand.catalogFramework.create(isA(CreateRequest.class)))
+        .thenReturn(mock(CreateResponse.class));
+    ingestCommand.multithreaded = 4;
+    ingestCommand.batchSize = 3;
+
+    // when
+    ingestCommand.executeWithSubject();
+
+    // then
+    assertThat(consoleOutput.getOutput(), containsString("20 file(s) ingested"));
+    assertThat(consoleOutput.getOutput(), containsString("transform"));
+    assertThat(consoleOutput.getOutput(), not(containsString("failed")));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testTransformerRuntimeExceptionCountedAsFailure() throws Exception {
+    // given
+    for (int i = 0; i < 5; i++) {
+      testFolder.newFile("somefile" + i + ".xml");
+    }
+    InputTransformer inputTransformer = mock(InputTransformer.class);
+    when(inputTransformer.transform(any(InputStream.class)))
+        .thenThrow(new IllegalStateException("Transformer failure"))
+        .thenReturn(null);
+    ServiceReference<InputTransformer> serviceReference = mock(ServiceReference.class);
+    doReturn(Collections.singletonList(serviceReference))
+        .when(ingestCommand.bundleContext)
+        .getServiceReferences(eq(InputTransformer.class), anyString());
+    doReturn(inputTransformer).when(ingestCommand.bundleContext).getService(serviceReference);
+    ingestCommand.transformerId = "xml";
+    ingestCommand.multithreaded = 1;
+
+    // when
+    ingestCommand.executeWithSubject();
+
+    // then
+    assertThat(consoleOutput.getOutput(), containsString("0 file(s) ingested"));
+    assertThat(consoleOutput.getOutput(), containsString("5 file(s) failed"));
+  }
+
   @Test
   public void testIncludeContentNonZipFile() throws Exception {
     // given
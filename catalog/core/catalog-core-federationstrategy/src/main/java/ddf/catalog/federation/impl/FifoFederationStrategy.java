@@ -99,12 +99,15 @@ public QueryResponse federate(List<Source> sources, final QueryRequest queryRequ
     Map<Source, Future<SourceResponse>> futures = new HashMap<Source, Future<SourceResponse>>();
 
     Query modifiedQuery = getModifiedQuery(originalQuery, sources.size(), offset, pageSize);
+    Map<String, Serializable> properties = queryRequest.getProperties();
+    if (properties != null && sources.size() > 1) {
+      properties = new HashMap<>(properties);
+      // A cursor belongs to a single source and cannot page through merged results
+      properties.remove(QueryRequest.CURSOR);
+    }
     QueryRequest modifiedQueryRequest =
         new QueryRequestImpl(
-            modifiedQuery,
-            queryRequest.isEnterprise(),
-            queryRequest.getSourceIds(),
-            queryRequest.getProperties());
+            modifiedQuery, queryRequest.isEnterprise(), queryRequest.getSourceIds(), properties);
 
     executeSourceQueries(sources, futures, modifiedQueryRequest);
 
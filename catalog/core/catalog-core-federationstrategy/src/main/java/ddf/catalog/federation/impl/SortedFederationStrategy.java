@@ -36,9 +36,11 @@
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -77,6 +79,8 @@ public class SortedFederationStrategy extends AbstractFederationStrategy {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(SortedFederationStrategy.class);
 
+  private boolean mergeSortedResults = true;
+
   /**
    * Instantiates a {@code SortedFederationStrategy} with the provided {@link ExecutorService}.
    *
@@ -101,6 +105,19 @@ public SortedFederationStrategy(
     super(queryExecutorService, preQuery, postQuery, queryResponseFactory);
   }
 
+  /**
+   * Sets whether the results of the sources are merged rather than sorted as a whole. Merging
+   * relies on every source returning its results in the requested sort order, and is only used
+   * when the query is sorted by {@link Metacard.EFFECTIVE}, {@link Result.TEMPORAL}, {@link
+   * Result.DISTANCE} or {@link Result.RELEVANCE}. Defaults to {@code true}.
+   *
+   * @param mergeSortedResults {@code true} to merge the sorted results of the sources, {@code
+   *     false} to always sort all of the results
+   */
+  public void setMergeSortedResults(boolean mergeSortedResults) {
+    this.mergeSortedResults = mergeSortedResults;
+  }
+
   @Override
   protected Runnable createMonitor(
       final ExecutorService pool,
@@ -108,7 +125,7 @@ protected Runnable createMonitor(
       final QueryResponseImpl returnResults,
       final Query query) {
 
-    return new SortedQueryMonitor(pool, futures, returnResults, query);
+    return new SortedQueryMonitor(pool, futures, returnResults, query, mergeSortedResults);
   }
 
   private static class SortedQueryMonitor implements Runnable {
@@ -121,15 +138,19 @@ private static class SortedQueryMonitor implements Runnable {
 
     private long deadline;
 
+    private boolean mergeSortedResults;
+
     public SortedQueryMonitor(
         ExecutorService pool,
         Map<Source, Future<SourceResponse>> futuress,
         QueryResponseImpl returnResults,
-        Query query) {
+        Query query,
+        boolean mergeSortedResults) {
 
       this.returnResults = returnResults;
       this.query = query;
       this.futures = futuress;
+      this.mergeSortedResults = mergeSortedResults;
 
       deadline = System.currentTimeMillis() + query.getTimeoutMillis();
     }
@@ -140,6 +161,8 @@ public void run() {
       SortBy sortBy = query.getSortBy();
       // Prepare the Comparators that we will use
       Comparator<Result> coreComparator = DEFAULT_COMPARATOR;
+      // Only set when the sources sort their results with the same comparator
+      boolean sortedBySources = false;
 
       if (sortBy != null && sortBy.getPropertyName() != null) {
         PropertyName sortingProp = sortBy.getPropertyName();
@@ -152,14 +175,17 @@ public void run() {
         // Temporal searches are currently sorted by the effective time
         if (Metacard.EFFECTIVE.equals(sortType) || Result.TEMPORAL.equals(sortType)) {
           coreComparator = new TemporalResultComparator(sortOrder);
+          sortedBySources = true;
         } else if (Result.DISTANCE.equals(sortType)) {
           coreComparator = new DistanceResultComparator(sortOrder);
+          sortedBySources = true;
         } else if (Result.RELEVANCE.equals(sortType)) {
           coreComparator = new RelevanceResultComparator(sortOrder);
+          sortedBySources = true;
         }
       }
 
-      List<Result> resultList = new ArrayList<Result>();
+      List<List<Result>> sourceResultLists = new ArrayList<>();
       long totalHits = 0;
       Set<ProcessingDetails> processingDetails = returnResults.getProcessingDetails();
 
@@ -195,7 +221,10 @@ public void run() {
           }
           if (sourceResponse != null) {
             List<Result> sourceResults = sourceResponse.getResults();
-            resultList.addAll(sourceResults);
+            if (sourceResults == null) {
+              sourceResults = Collections.emptyList();
+            }
+            sourceResultLists.add(sourceResults);
             long sourceHits = sourceResponse.getHits();
 
             totalHits += sourceHits;
@@ -240,17 +269,69 @@ public void run() {
           Thread.currentThread().interrupt();
         }
       }
-      LOGGER.debug("all sites finished returning results: {}", resultList.size());
-
-      Collections.sort(resultList, coreComparator);
+      LOGGER.debug("all sites finished returning results from {} sites", sourceResultLists.size());
 
       returnResults.setHits(totalHits);
       int maxResults = query.getPageSize() > 0 ? query.getPageSize() : Integer.MAX_VALUE;
 
+      if (mergeSortedResults && sortedBySources) {
+        mergeSortedResults(sourceResultLists, coreComparator, maxResults);
+      } else {
+        sortResults(sourceResultLists, coreComparator, maxResults);
+      }
+    }
+
+    /**
+     * Sorts all of the results returned by the sources and adds the first {@code maxResults} of
+     * them to the response queue. Used when the sources cannot be relied on to have sorted their
+     * results with {@code comparator}.
+     */
+    private void sortResults(
+        List<List<Result>> sourceResultLists, Comparator<Result> comparator, int maxResults) {
+      List<Result> resultList = new ArrayList<Result>();
+      sourceResultLists.forEach(resultList::addAll);
+      LOGGER.debug("all sites finished returning results: {}", resultList.size());
+
+      Collections.sort(resultList, comparator);
       returnResults.addResults(
           resultList.size() > maxResults ? resultList.subList(0, maxResults) : resultList, true);
     }
 
+    /**
+     * Performs a k-way merge of the per-source result lists, which the sources return already
+     * sorted, and adds results to the response queue as soon as their position is known. Only
+     * {@code maxResults} results are ever pulled from the sources, so deep pages no longer pay for
+     * sorting every result returned by every source.
+     */
+    private void mergeSortedResults(
+        List<List<Result>> sourceResultLists, Comparator<Result> comparator, int maxResults) {
+      PriorityQueue<SourceResultCursor> heads =
+          new PriorityQueue<>(
+              Math.max(1, sourceResultLists.size()),
+              Comparator.comparing(SourceResultCursor::current, comparator)
+                  .thenComparingInt(SourceResultCursor::getSourceIndex));
+
+      for (int i = 0; i < sourceResultLists.size(); i++) {
+        Iterator<Result> iterator = sourceResultLists.get(i).iterator();
+        if (iterator.hasNext()) {
+          heads.add(new SourceResultCursor(i, iterator));
+        }
+      }
+
+      int resultCount = 0;
+      while (resultCount < maxResults && !heads.isEmpty()) {
+        SourceResultCursor cursor = heads.poll();
+        returnResults.addResult(cursor.current(), false);
+        resultCount++;
+        if (cursor.advance()) {
+          heads.add(cursor);
+        }
+      }
+
+      LOGGER.debug("Merged {} results from {} sites", resultCount, sourceResultLists.size());
+      returnResults.closeResultQueue();
+    }
+
     private long getTimeRemaining(long deadline) {
       long timeleft;
       if (System.currentTimeMillis() > deadline) {
@@ -261,4 +342,36 @@ private long getTimeRemaining(long deadline) {
       return timeleft;
     }
   }
+
+  /** Tracks the next unmerged {@link Result} of a single source's sorted result list. */
+  private static class SourceResultCursor {
+
+    private final int sourceIndex;
+
+    private final Iterator<Result> iterator;
+
+    private Result current;
+
+    SourceResultCursor(int sourceIndex, Iterator<Result> iterator) {
+      this.sourceIndex = sourceIndex;
+      this.iterator = iterator;
+      this.current = iterator.next();
+    }
+
+    Result current() {
+      return current;
+    }
+
+    int getSourceIndex() {
+      return sourceIndex;
+    }
+
+    boolean advance() {
+      if (iterator.hasNext()) {
+        current = iterator.next();
+        return true;
+      }
+      return false;
+    }
+  }
 }
@@ -31,6 +31,7 @@
 import ddf.catalog.data.Result;
 import ddf.catalog.data.defaultvalues.DefaultAttributeValueRegistryImpl;
 import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.data.impl.ResultImpl;
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.filter.proxy.builder.GeotoolsFilterBuilder;
 import ddf.catalog.history.Historian;
@@ -57,6 +58,7 @@
 import ddf.catalog.operation.impl.QueryImpl;
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.operation.impl.QueryResponseImpl;
+import ddf.catalog.operation.impl.SourceResponseImpl;
 import ddf.catalog.plugin.PostFederatedQueryPlugin;
 import ddf.catalog.plugin.PreFederatedQueryPlugin;
 import ddf.catalog.source.CatalogProvider;
@@ -64,11 +66,13 @@
 import ddf.catalog.source.Source;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import ddf.catalog.util.impl.ResultIterable;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -78,6 +82,7 @@
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.codice.ddf.catalog.sourcepoller.SourcePoller;
 import org.codice.ddf.catalog.sourcepoller.SourceStatus;
 import org.codice.ddf.platform.util.uuidgenerator.UuidGenerator;
@@ -735,6 +740,214 @@ public void testFederateOneSourceOffsetOnePageSizeTwo() throws Exception {
     assertNotNull(siteProperties.get(QueryResponse.TOTAL_RESULTS_RETURNED));
   }
 
+  /**
+   * Verify that the sorted results of several sources are merged in order, that a source returning
+   * no results is skipped, and that only page size results are pulled from the sources.
+   */
+  @Test
+  public void testFederateThreeSourcesMergesSortedResults() throws Exception {
+    when(mockQuery.getStartIndex()).thenReturn(1);
+    when(mockQuery.getPageSize()).thenReturn(4);
+    when(mockQuery.getSortBy())
+        .thenReturn(filterFactory.sort(Result.RELEVANCE, SortOrder.DESCENDING));
+
+    QueryRequest queryRequest = mock(QueryRequest.class);
+    when(queryRequest.getQuery()).thenReturn(mockQuery);
+
+    Result mockSource1Result1 = mockResultWithRelevance(0.9);
+    Result mockSource1Result2 = mockResultWithRelevance(0.4);
+    Result mockSource1Result3 = mockResultWithRelevance(0.1);
+    Result mockSource2Result1 = mockResultWithRelevance(0.8);
+    Result mockSource2Result2 = mockResultWithRelevance(0.7);
+    Result mockSource2Result3 = mockResultWithRelevance(0.2);
+
+    List<Result> mockSource1Results =
+        Arrays.asList(mockSource1Result1, mockSource1Result2, mockSource1Result3);
+    List<Result> mockSource2Results =
+        Arrays.asList(mockSource2Result1, mockSource2Result2, mockSource2Result3);
+
+    List<Source> sources =
+        Arrays.asList(
+            mockSourceWithResults("source1", mockSource1Results),
+            mockSourceWithResults("source2", mockSource2Results),
+            mockSourceWithResults("source3", Collections.emptyList()));
+
+    SortedFederationStrategy strategy =
+        new SortedFederationStrategy(
+            executor,
+            new ArrayList<PreFederatedQueryPlugin>(),
+            new ArrayList<PostFederatedQueryPlugin>());
+
+    QueryResponse federatedResponse = strategy.federate(sources, queryRequest);
+
+    List<Result> results = federatedResponse.getResults();
+    assertEquals(4, results.size());
+    assertEquals(mockSource1Result1, results.get(0));
+    assertEquals(mockSource2Result1, results.get(1));
+    assertEquals(mockSource2Result2, results.get(2));
+    assertEquals(mockSource1Result2, results.get(3));
+  }
+
+  /**
+   * Verify that all results are sorted when the query is sorted by an attribute the sources may not
+   * have sorted their results by.
+   */
+  @Test
+  public void testFederateSortsResultsOfOtherSortAttributes() throws Exception {
+    when(mockQuery.getSortBy())
+        .thenReturn(filterFactory.sort(Metacard.TITLE, SortOrder.DESCENDING));
+
+    assertUnsortedSourceResultsSorted(true);
+  }
+
+  /** Verify that all results are sorted when merging the sorted source results is disabled. */
+  @Test
+  public void testFederateSortsResultsWhenMergeDisabled() throws Exception {
+    when(mockQuery.getSortBy())
+        .thenReturn(filterFactory.sort(Result.RELEVANCE, SortOrder.DESCENDING));
+
+    assertUnsortedSourceResultsSorted(false);
+  }
+
+  private void assertUnsortedSourceResultsSorted(boolean mergeSortedResults) throws Exception {
+    when(mockQuery.getStartIndex()).thenReturn(1);
+    when(mockQuery.getPageSize()).thenReturn(3);
+
+    QueryRequest queryRequest = mock(QueryRequest.class);
+    when(queryRequest.getQuery()).thenReturn(mockQuery);
+
+    Result lowRelevanceResult = mockResultWithRelevance(0.1);
+    Result highRelevanceResult = mockResultWithRelevance(0.9);
+    Result mediumRelevanceResult = mockResultWithRelevance(0.5);
+
+    List<Source> sources =
+        Arrays.asList(
+            mockSourceWithResults(
+                "source1", Arrays.asList(lowRelevanceResult, highRelevanceResult)),
+            mockSourceWithResults("source2", Collections.singletonList(mediumRelevanceResult)));
+
+    SortedFederationStrategy strategy =
+        new SortedFederationStrategy(
+            executor,
+            new ArrayList<PreFederatedQueryPlugin>(),
+            new ArrayList<PostFederatedQueryPlugin>());
+    strategy.setMergeSortedResults(mergeSortedResults);
+
+    QueryResponse federatedResponse = strategy.federate(sources, queryRequest);
+
+    List<Result> results = federatedResponse.getResults();
+    assertEquals(3, results.size());
+    assertEquals(highRelevanceResult, results.get(0));
+    assertEquals(mediumRelevanceResult, results.get(1));
+    assertEquals(lowRelevanceResult, results.get(2));
+  }
+
+  /**
+   * Verify that paging through the federated results of two sources with a {@link ResultIterable}
+   * returns every result exactly once, and that no cursor is sent to either source.
+   */
+  @Test
+  public void testResultIterableOverTwoSourcesReturnsEachResultOnce() throws Exception {
+    List<Result> source1Results = new ArrayList<>();
+    List<Result> source2Results = new ArrayList<>();
+    List<String> expectedIds = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      MetacardImpl metacard = new MetacardImpl();
+      metacard.setId("result" + i);
+      ResultImpl result = new ResultImpl(metacard);
+      result.setRelevanceScore(100.0 - i);
+      (i % 2 == 0 ? source1Results : source2Results).add(result);
+      expectedIds.add(metacard.getId());
+    }
+
+    List<Serializable> requestedCursors = Collections.synchronizedList(new ArrayList<>());
+    List<Source> sources =
+        Arrays.asList(
+            mockPagingSource("source1", source1Results, requestedCursors),
+            mockPagingSource("source2", source2Results, requestedCursors));
+
+    SortedFederationStrategy strategy =
+        new SortedFederationStrategy(
+            executor,
+            new ArrayList<PreFederatedQueryPlugin>(),
+            new ArrayList<PostFederatedQueryPlugin>());
+
+    QueryImpl query =
+        new QueryImpl(
+            filterFactory.like(filterFactory.property(Metacard.ANY_TEXT), "*"),
+            1,
+            3,
+            filterFactory.sort(Result.RELEVANCE, SortOrder.DESCENDING),
+            true,
+            LONG_TIMEOUT);
+
+    List<String> ids =
+        ResultIterable.resultIterable(
+                request -> strategy.federate(sources, request), new QueryRequestImpl(query))
+            .stream()
+            .map(result -> result.getMetacard().getId())
+            .collect(Collectors.toList());
+
+    assertEquals(expectedIds, ids);
+    assertTrue(requestedCursors.isEmpty());
+  }
+
+  /**
+   * Mocks a source that pages through its results like the Solr catalog provider: by cursor when
+   * the request carries one, otherwise by start index.
+   */
+  private Source mockPagingSource(
+      String id, List<Result> results, List<Serializable> requestedCursors) throws Exception {
+    Source source = mock(Source.class);
+    when(source.getId()).thenReturn(id);
+    when(source.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              QueryRequest request = (QueryRequest) invocation.getArguments()[0];
+              Query query = request.getQuery();
+              Serializable cursor = request.getPropertyValue(QueryRequest.CURSOR);
+              int start;
+              if (cursor == null) {
+                start = query.getStartIndex() - 1;
+              } else {
+                requestedCursors.add(cursor);
+                start =
+                    QueryRequest.CURSOR_START.equals(cursor)
+                        ? 0
+                        : Integer.parseInt((String) cursor);
+              }
+              start = Math.min(start, results.size());
+              int end = Math.min(results.size(), start + query.getPageSize());
+
+              Map<String, Serializable> properties = new HashMap<>();
+              if (cursor != null) {
+                properties.put(QueryResponse.NEXT_CURSOR, String.valueOf(end));
+              }
+              return new SourceResponseImpl(
+                  request,
+                  properties,
+                  new ArrayList<>(results.subList(start, end)),
+                  results.size());
+            });
+    return source;
+  }
+
+  private Result mockResultWithRelevance(double relevance) {
+    Result result = mock(Result.class);
+    when(result.getRelevanceScore()).thenReturn(relevance);
+    return result;
+  }
+
+  private Source mockSourceWithResults(String id, List<Result> results) throws Exception {
+    SourceResponse sourceResponse = mock(SourceResponse.class);
+    when(sourceResponse.getResults()).thenReturn(results);
+
+    Source source = mock(Source.class);
+    when(source.query(any(QueryRequest.class))).thenReturn(sourceResponse);
+    when(source.getId()).thenReturn(id);
+    return source;
+  }
+
   private void killAndWaitForExecutor() throws Exception {
     if (executor != null && !executor.isShutdown()) {
       executor.shutdown();
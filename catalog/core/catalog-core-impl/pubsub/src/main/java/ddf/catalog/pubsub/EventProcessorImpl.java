@@ -42,6 +42,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import org.apache.lucene.store.Directory;
@@ -74,14 +75,17 @@ public class EventProcessorImpl implements EventProcessor, EventHandler, PostIng
 
   protected CatalogFramework catalog;
 
-  private Map<String, ServiceRegistration> existingSubscriptions;
-
   private final ExecutorService threadPool =
       Executors.newCachedThreadPool(
           StandardThreadFactoryBuilder.newThreadFactory("eventProcessorThread"));
 
+  private final SubscriptionRouter subscriptionRouter;
+
+  private ServiceRegistration subscriptionRouterRegistration;
+
   public EventProcessorImpl() {
     LOGGER.debug("INSIDE: EventProcessorImpl default constructor");
+    this.subscriptionRouter = new SubscriptionRouter(catalog, threadPool);
   }
 
   public EventProcessorImpl(
@@ -97,7 +101,7 @@ public EventProcessorImpl(
     this.preSubscription = preSubscription;
     this.preDelivery = preDelivery;
     this.catalog = catalog;
-    this.existingSubscriptions = new HashMap<>();
+    this.subscriptionRouter = new SubscriptionRouter(catalog, threadPool);
 
     if (this.preSubscription == null) {
       LOGGER.debug("preSubscription plugins list is NULL");
@@ -188,11 +192,14 @@ public static void processEntry(Metacard metacard, String operation, EventAdmin
           // Build contextual info to be sent in event for this entry.
           // Include the default Lucene search
           // index and the entry's metadata (in case subscription has
-          // textPaths, then it can create Lucene
-          // search indices on the metadata using its textPaths)
-          Map<String, Object> contextualMap = new HashMap<>(2, 1);
+          // textPaths, then it can create Lucene search indices on the
+          // metadata using its textPaths). The indices built for
+          // textPaths are shared by all subscriptions evaluating this
+          // event.
+          Map<String, Object> contextualMap = new HashMap<>(3, 1);
           contextualMap.put("DEFAULT_INDEX", index);
           contextualMap.put("METADATA", metacard.getMetadata());
+          contextualMap.put("TEXT_PATH_INDEXES", new ConcurrentHashMap<>());
           properties.put(PubSubConstants.HEADER_CONTEXTUAL_KEY, contextualMap);
         } catch (Exception e) {
           LOGGER.info("Exception updating context map", e);
@@ -222,6 +229,13 @@ public void destroy() {
     String methodName = "destroy";
     LOGGER.trace(ENTERING, methodName);
 
+    synchronized (this) {
+      if (subscriptionRouterRegistration != null) {
+        subscriptionRouterRegistration.unregister();
+        subscriptionRouterRegistration = null;
+      }
+    }
+
     LOGGER.trace(EXITING, methodName);
   }
 
@@ -237,7 +251,7 @@ public void handleEvent(Event event) {
 
     LOGGER.debug("Received event: {}", event.getTopic());
 
-    if (!existingSubscriptions.isEmpty()) {
+    if (!subscriptionRouter.isEmpty()) {
       String topic = event.getTopic();
       Metacard entry = (Metacard) event.getProperty(EventProcessor.EVENT_METACARD);
       LOGGER.debug("metacard ID = {}", entry.getId());
@@ -284,18 +298,11 @@ public void createSubscription(Subscription subscription, String subscriptionId)
       Predicate finalPredicate = (Predicate) subscription.accept(visitor, null);
       LOGGER.debug("predicate from filter visitor: {}", finalPredicate);
 
-      String[] topics = new String[] {PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME};
-
-      Dictionary<String, String[]> props = new Hashtable<>(1, 1);
-      props.put(EventConstants.EVENT_TOPIC, topics);
-      ServiceRegistration serviceRegistration =
-          bundleContext.registerService(
-              EventHandler.class.getName(),
-              new PublishedEventHandler(
-                  finalPredicate, subscription, preDelivery, catalog, threadPool),
-              props);
-
-      existingSubscriptions.put(subscriptionId, serviceRegistration);
+      subscriptionRouter.addSubscription(
+          subscriptionId,
+          new PublishedEventHandler(
+              finalPredicate, subscription, preDelivery, catalog, threadPool));
+      registerSubscriptionRouter();
 
       LOGGER.debug("Subscription {} created.", subscriptionId);
     } catch (Exception e) {
@@ -333,11 +340,8 @@ public void deleteSubscription(String subscriptionId) throws SubscriptionNotFoun
 
     try {
       LOGGER.debug("Removing subscription: {}", subscriptionId);
-      ServiceRegistration sr = (ServiceRegistration) existingSubscriptions.get(subscriptionId);
-      if (sr != null) {
-        sr.unregister();
+      if (subscriptionRouter.removeSubscription(subscriptionId)) {
         LOGGER.debug("Removal complete");
-        existingSubscriptions.remove(subscriptionId);
       } else {
         LOGGER.debug(
             "Unable to find existing subscription: {}.  May already be deleted.", subscriptionId);
@@ -351,6 +355,21 @@ public void deleteSubscription(String subscriptionId) throws SubscriptionNotFoun
     LOGGER.trace(EXITING, methodName);
   }
 
+  /**
+   * Registers the {@link SubscriptionRouter} as the only handler of published events the first
+   * time a subscription is created.
+   */
+  private synchronized void registerSubscriptionRouter() {
+    if (subscriptionRouterRegistration == null) {
+      String[] topics = new String[] {PubSubConstants.PUBLISHED_EVENT_TOPIC_NAME};
+
+      Dictionary<String, String[]> props = new Hashtable<>(1, 1);
+      props.put(EventConstants.EVENT_TOPIC, topics);
+      subscriptionRouterRegistration =
+          bundleContext.registerService(EventHandler.class.getName(), subscriptionRouter, props);
+    }
+  }
+
   @Override
   public void notifyCreated(Metacard newMetacard) {
     LOGGER.trace("ENTERING: notifyCreated");
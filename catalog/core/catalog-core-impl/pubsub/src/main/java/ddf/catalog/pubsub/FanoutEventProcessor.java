@@ -48,6 +48,8 @@ public void destroy() {
     String methodName = "destroy";
     LOGGER.debug("ENTERING: {}", methodName);
 
+    super.destroy();
+
     LOGGER.debug("EXITING: {}", methodName);
   }
 
@@ -60,6 +60,14 @@ public void handleEvent(Event event) {
     threadPool.submit(new EventProcessor(event));
   }
 
+  public Predicate getPredicate() {
+    return predicate;
+  }
+
+  public Subscription getSubscription() {
+    return subscription;
+  }
+
   private class EventProcessor implements Runnable {
 
     private Event event;
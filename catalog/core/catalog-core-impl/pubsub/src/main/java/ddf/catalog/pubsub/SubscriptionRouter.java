@@ -0,0 +1,596 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub;
+
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.event.Subscription;
+import ddf.catalog.pubsub.EventProcessorImpl.DateType;
+import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluator;
+import ddf.catalog.pubsub.criteria.geospatial.SpatialOperator;
+import ddf.catalog.pubsub.internal.IntervalTree;
+import ddf.catalog.pubsub.internal.PubSubConstants;
+import ddf.catalog.pubsub.predicate.AndPredicate;
+import ddf.catalog.pubsub.predicate.ContentTypePredicate;
+import ddf.catalog.pubsub.predicate.ContextualPredicate;
+import ddf.catalog.pubsub.predicate.GeospatialPredicate;
+import ddf.catalog.pubsub.predicate.Predicate;
+import ddf.catalog.pubsub.predicate.TemporalPredicate;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.geotools.geometry.jts.WKTReader2;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.quadtree.Quadtree;
+import org.locationtech.jts.io.ParseException;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes published events to the subscriptions that can match them. Instead of registering an
+ * {@link EventHandler} per subscription, which submits every event to the thread pool once per
+ * subscription, the router is the only handler for published events and indexes each subscription
+ * by one criterion every matching entry must satisfy:
+ *
+ * <ul>
+ *   <li>a term required by its contextual criteria, in an inverted index
+ *   <li>its content type, in an inverted index
+ *   <li>its absolute temporal criteria, in an interval tree per date type
+ *   <li>its geospatial criteria, in a quadtree of the criteria envelopes
+ *   <li>its source IDs, in an inverted index
+ * </ul>
+ *
+ * An event is only handed to the {@link PublishedEventHandler}s of the subscriptions found through
+ * these indexes, plus the subscriptions that have none of these criteria. The handlers still
+ * evaluate their full predicate, so the indexes only need to rule subscriptions out.
+ */
+public class SubscriptionRouter implements EventHandler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionRouter.class);
+
+  private static final Pattern LITERAL_CONTENT_TYPE = Pattern.compile("[\\w-]+");
+
+  private static final String LOCAL_SOURCE = "";
+
+  private final CatalogFramework catalog;
+
+  private final ExecutorService threadPool;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final Map<String, Route> routes = new HashMap<>();
+
+  private final Set<PublishedEventHandler> unindexed = new HashSet<>();
+
+  private final Map<Term, Set<PublishedEventHandler>> byContextualTerm = new HashMap<>();
+
+  private final Map<String, Set<PublishedEventHandler>> byContentType = new HashMap<>();
+
+  private final Map<DateType, IntervalTree<PublishedEventHandler>> byDate =
+      new EnumMap<>(DateType.class);
+
+  private final Quadtree byLocation = new Quadtree();
+
+  private final Map<String, Set<PublishedEventHandler>> bySource = new HashMap<>();
+
+  public SubscriptionRouter(CatalogFramework catalog, ExecutorService threadPool) {
+    this.catalog = catalog;
+    this.threadPool = threadPool;
+  }
+
+  /**
+   * Adds a subscription to the router, replacing any subscription with the same ID.
+   *
+   * @param subscriptionId the ID of the subscription
+   * @param handler the handler that evaluates and delivers events for the subscription
+   */
+  public void addSubscription(String subscriptionId, PublishedEventHandler handler) {
+    Route route = createRoute(handler);
+
+    lock.writeLock().lock();
+    try {
+      Route existingRoute = routes.put(subscriptionId, route);
+      if (existingRoute != null) {
+        removeRoute(existingRoute);
+      }
+      addRoute(route);
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    LOGGER.debug("Routing events to subscription {} by {}", subscriptionId, route.kind);
+  }
+
+  /**
+   * Removes a subscription from the router.
+   *
+   * @param subscriptionId the ID of the subscription
+   * @return true if the subscription was removed, false if it was not found
+   */
+  public boolean removeSubscription(String subscriptionId) {
+    lock.writeLock().lock();
+    try {
+      Route route = routes.remove(subscriptionId);
+      if (route == null) {
+        return false;
+      }
+      removeRoute(route);
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean isEmpty() {
+    lock.readLock().lock();
+    try {
+      return routes.isEmpty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return routes.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * By default the Felix EventAdmin implementation has a timeout of 5000 ms, so the candidate
+   * subscriptions are found in a separate thread than the EventAdmin who called this method.
+   */
+  @Override
+  public void handleEvent(Event event) {
+    threadPool.submit(() -> route(event));
+  }
+
+  void route(Event event) {
+    Collection<PublishedEventHandler> candidates = getCandidates(event);
+    LOGGER.debug("Routing event to {} of {} subscriptions", candidates.size(), size());
+    for (PublishedEventHandler handler : candidates) {
+      handler.handleEvent(event);
+    }
+  }
+
+  /**
+   * Returns the handlers of the subscriptions that can match an event.
+   *
+   * @param event the published event
+   * @return the candidate handlers
+   */
+  Collection<PublishedEventHandler> getCandidates(Event event) {
+    EventCriteria criteria = new EventCriteria(event);
+
+    lock.readLock().lock();
+    try {
+      if (criteria.isDeletedEntry()) {
+        // Predicates match any entry that was deleted without metadata, so every subscription is
+        // a candidate
+        List<PublishedEventHandler> candidates = new ArrayList<>(routes.size());
+        routes.values().forEach(route -> candidates.add(route.handler));
+        return candidates;
+      }
+
+      List<PublishedEventHandler> candidates = new ArrayList<>(unindexed);
+
+      if (!byContextualTerm.isEmpty()) {
+        for (Term term : criteria.getTerms()) {
+          addAll(byContextualTerm.get(term), candidates);
+        }
+      }
+
+      if (!byContentType.isEmpty()) {
+        addAll(byContentType.get(criteria.getContentType()), candidates);
+      }
+
+      // Temporal and geospatial predicates never match entries without a date or location
+      for (Map.Entry<DateType, IntervalTree<PublishedEventHandler>> entry : byDate.entrySet()) {
+        Date date = criteria.getDate(entry.getKey());
+        if (date != null) {
+          entry.getValue().query(date.getTime(), candidates);
+        }
+      }
+
+      if (!byLocation.isEmpty()) {
+        Geometry location = criteria.getLocation();
+        if (location != null) {
+          Envelope envelope = location.getEnvelopeInternal();
+          for (Object candidate : byLocation.query(envelope)) {
+            Route route = (Route) candidate;
+            if (route.envelope.intersects(envelope)) {
+              candidates.add(route.handler);
+            }
+          }
+        }
+      }
+
+      if (!bySource.isEmpty()) {
+        String sourceId = criteria.getSourceId();
+        if (sourceId != null) {
+          addAll(bySource.get(sourceId), candidates);
+          if (sourceId.equals(getLocalSourceId())) {
+            addAll(bySource.get(LOCAL_SOURCE), candidates);
+          }
+        }
+      }
+
+      return candidates;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private String getLocalSourceId() {
+    return catalog != null ? catalog.getId() : null;
+  }
+
+  private static void addAll(
+      Collection<PublishedEventHandler> handlers, Collection<PublishedEventHandler> candidates) {
+    if (handlers != null) {
+      candidates.addAll(handlers);
+    }
+  }
+
+  /**
+   * Picks the criterion a subscription is indexed by. Only criteria that are ANDed with the rest
+   * of the subscription's predicate can be used, since every matching entry must satisfy them.
+   */
+  private Route createRoute(PublishedEventHandler handler) {
+    List<Predicate> conjuncts = new ArrayList<>();
+    if (handler.getPredicate() != null) {
+      addConjuncts(handler.getPredicate(), conjuncts);
+    }
+
+    for (Predicate predicate : conjuncts) {
+      if (predicate instanceof ContextualPredicate) {
+        Term term = ((ContextualPredicate) predicate).getRequiredTerm();
+        if (term != null) {
+          return Route.byContextualTerm(handler, term);
+        }
+      }
+    }
+
+    for (Predicate predicate : conjuncts) {
+      if (predicate instanceof ContentTypePredicate) {
+        String type = ((ContentTypePredicate) predicate).getType();
+        if (type != null && LITERAL_CONTENT_TYPE.matcher(type).matches()) {
+          return Route.byContentType(handler, type);
+        }
+      }
+    }
+
+    for (Predicate predicate : conjuncts) {
+      if (predicate instanceof TemporalPredicate) {
+        TemporalPredicate temporalPredicate = (TemporalPredicate) predicate;
+        Date start = temporalPredicate.getStart();
+        Date end = temporalPredicate.getEnd();
+        if (temporalPredicate.getOffset() == 0
+            && temporalPredicate.getType() != null
+            && (start != null || end != null)) {
+          return Route.byDate(
+              handler,
+              temporalPredicate.getType(),
+              start != null ? start.getTime() : Long.MIN_VALUE,
+              end != null ? end.getTime() : Long.MAX_VALUE);
+        }
+      }
+    }
+
+    for (Predicate predicate : conjuncts) {
+      if (predicate instanceof GeospatialPredicate) {
+        Envelope envelope = getCandidateEnvelope((GeospatialPredicate) predicate);
+        if (envelope != null) {
+          return Route.byLocation(handler, envelope);
+        }
+      }
+    }
+
+    Subscription subscription = handler.getSubscription();
+    if (!subscription.isEnterprise()) {
+      Set<String> sourceIds = subscription.getSourceIds();
+      return Route.bySource(
+          handler,
+          CollectionUtils.isEmpty(sourceIds)
+              ? Collections.singleton(LOCAL_SOURCE)
+              : new HashSet<>(sourceIds));
+    }
+
+    return Route.unindexed(handler);
+  }
+
+  private static void addConjuncts(Predicate predicate, List<Predicate> conjuncts) {
+    if (predicate instanceof AndPredicate) {
+      addConjuncts(((AndPredicate) predicate).getLeft(), conjuncts);
+      addConjuncts(((AndPredicate) predicate).getRight(), conjuncts);
+    } else {
+      conjuncts.add(predicate);
+    }
+  }
+
+  /**
+   * Returns an envelope that the location of every entry matching the geospatial predicate
+   * intersects, or null if there is no such envelope.
+   *
+   * <p>The distance of the predicate is in degrees, since {@link
+   * ddf.catalog.pubsub.internal.SubscriptionFilterVisitor} converts the radius in meters of a
+   * point-radius filter before creating the predicate, and the predicate compares it to the planar
+   * distance in degrees between the geometries. Expanding the envelope by that distance on both
+   * axes therefore covers every matching location.
+   */
+  private static Envelope getCandidateEnvelope(GeospatialPredicate predicate) {
+    Geometry geoCriteria = predicate.getGeoCriteria();
+    if (geoCriteria == null || geoCriteria.isEmpty()) {
+      return null;
+    }
+
+    double distanceInDegrees = Math.abs(predicate.getDistance());
+    String operation = predicate.getGeoOperation();
+    if (distanceInDegrees == 0
+        && !SpatialOperator.CONTAINS.name().equalsIgnoreCase(operation)
+        && !SpatialOperator.OVERLAPS.name().equalsIgnoreCase(operation)) {
+      return null;
+    }
+
+    Envelope envelope = new Envelope(geoCriteria.getEnvelopeInternal());
+    envelope.expandBy(distanceInDegrees);
+    return envelope;
+  }
+
+  private void addRoute(Route route) {
+    switch (route.kind) {
+      case CONTEXTUAL_TERM:
+        byContextualTerm.computeIfAbsent(route.term, key -> new HashSet<>()).add(route.handler);
+        break;
+      case CONTENT_TYPE:
+        byContentType.computeIfAbsent(route.contentType, key -> new HashSet<>()).add(route.handler);
+        break;
+      case DATE:
+        byDate
+            .computeIfAbsent(route.dateType, key -> new IntervalTree<>())
+            .put(route.handler, route.start, route.end);
+        break;
+      case LOCATION:
+        byLocation.insert(route.envelope, route);
+        break;
+      case SOURCE:
+        for (String sourceId : route.sourceIds) {
+          bySource.computeIfAbsent(sourceId, key -> new HashSet<>()).add(route.handler);
+        }
+        break;
+      default:
+        unindexed.add(route.handler);
+        break;
+    }
+  }
+
+  private void removeRoute(Route route) {
+    switch (route.kind) {
+      case CONTEXTUAL_TERM:
+        removeFromIndex(byContextualTerm, route.term, route.handler);
+        break;
+      case CONTENT_TYPE:
+        removeFromIndex(byContentType, route.contentType, route.handler);
+        break;
+      case DATE:
+        IntervalTree<PublishedEventHandler> tree = byDate.get(route.dateType);
+        tree.remove(route.handler);
+        if (tree.size() == 0) {
+          byDate.remove(route.dateType);
+        }
+        break;
+      case LOCATION:
+        byLocation.remove(route.envelope, route);
+        break;
+      case SOURCE:
+        for (String sourceId : route.sourceIds) {
+          removeFromIndex(bySource, sourceId, route.handler);
+        }
+        break;
+      default:
+        unindexed.remove(route.handler);
+        break;
+    }
+  }
+
+  private static <K> void removeFromIndex(
+      Map<K, Set<PublishedEventHandler>> index, K key, PublishedEventHandler handler) {
+    Set<PublishedEventHandler> handlers = index.get(key);
+    if (handlers != null) {
+      handlers.remove(handler);
+      if (handlers.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  private enum RouteKind {
+    CONTEXTUAL_TERM,
+    CONTENT_TYPE,
+    DATE,
+    LOCATION,
+    SOURCE,
+    UNINDEXED
+  }
+
+  /** The criterion a subscription is indexed by. */
+  private static final class Route {
+    private final PublishedEventHandler handler;
+
+    private final RouteKind kind;
+
+    private Term term;
+
+    private String contentType;
+
+    private DateType dateType;
+
+    private long start;
+
+    private long end;
+
+    private Envelope envelope;
+
+    private Set<String> sourceIds;
+
+    private Route(PublishedEventHandler handler, RouteKind kind) {
+      this.handler = handler;
+      this.kind = kind;
+    }
+
+    static Route byContextualTerm(PublishedEventHandler handler, Term term) {
+      Route route = new Route(handler, RouteKind.CONTEXTUAL_TERM);
+      route.term = term;
+      return route;
+    }
+
+    static Route byContentType(PublishedEventHandler handler, String contentType) {
+      Route route = new Route(handler, RouteKind.CONTENT_TYPE);
+      route.contentType = contentType;
+      return route;
+    }
+
+    static Route byDate(PublishedEventHandler handler, DateType dateType, long start, long end) {
+      Route route = new Route(handler, RouteKind.DATE);
+      route.dateType = dateType;
+      route.start = start;
+      route.end = end;
+      return route;
+    }
+
+    static Route byLocation(PublishedEventHandler handler, Envelope envelope) {
+      Route route = new Route(handler, RouteKind.LOCATION);
+      route.envelope = envelope;
+      return route;
+    }
+
+    static Route bySource(PublishedEventHandler handler, Set<String> sourceIds) {
+      Route route = new Route(handler, RouteKind.SOURCE);
+      route.sourceIds = sourceIds;
+      return route;
+    }
+
+    static Route unindexed(PublishedEventHandler handler) {
+      return new Route(handler, RouteKind.UNINDEXED);
+    }
+  }
+
+  /** The values of an event that are looked up in the indexes, computed on first use. */
+  private static final class EventCriteria {
+    private final Event event;
+
+    private final Metacard entry;
+
+    private final Map<String, Object> contextualMap;
+
+    private Set<Term> terms;
+
+    private Geometry location;
+
+    private boolean locationParsed;
+
+    @SuppressWarnings("unchecked")
+    EventCriteria(Event event) {
+      this.event = event;
+      this.entry = (Metacard) event.getProperty(PubSubConstants.HEADER_ENTRY_KEY);
+      this.contextualMap =
+          (Map<String, Object>) event.getProperty(PubSubConstants.HEADER_CONTEXTUAL_KEY);
+    }
+
+    boolean isDeletedEntry() {
+      return contextualMap != null
+          && PubSubConstants.DELETE.equals(
+              event.getProperty(PubSubConstants.HEADER_OPERATION_KEY))
+          && PubSubConstants.METADATA_DELETED.equals(contextualMap.get("METADATA"));
+    }
+
+    Set<Term> getTerms() {
+      if (terms == null) {
+        terms = Collections.emptySet();
+        Object index = contextualMap != null ? contextualMap.get("DEFAULT_INDEX") : null;
+        if (index instanceof Directory) {
+          try {
+            terms = ContextualEvaluator.getIndexedTerms((Directory) index);
+          } catch (IOException e) {
+            LOGGER.debug("Unable to read terms of contextual index", e);
+          }
+        }
+      }
+      return terms;
+    }
+
+    /** Returns the content type name the same way the {@link ContentTypePredicate} does. */
+    String getContentType() {
+      Object contentType = event.getProperty(PubSubConstants.HEADER_CONTENT_TYPE_KEY);
+      if (contentType == null) {
+        return null;
+      }
+      String[] typeVersionPair = contentType.toString().split(",");
+      return typeVersionPair.length == 0 || typeVersionPair[0].isEmpty()
+          ? "null"
+          : typeVersionPair[0];
+    }
+
+    Date getDate(DateType dateType) {
+      if (entry == null) {
+        return null;
+      }
+      try {
+        return TemporalPredicate.getDate(entry, dateType);
+      } catch (RuntimeException e) {
+        LOGGER.debug("Unable to get {} date of entry", dateType, e);
+        return null;
+      }
+    }
+
+    Geometry getLocation() {
+      if (!locationParsed) {
+        locationParsed = true;
+        String wkt = entry != null ? entry.getLocation() : null;
+        if (wkt != null) {
+          try {
+            location = new WKTReader2().read(wkt);
+          } catch (ParseException e) {
+            LOGGER.debug("Unable to parse location of entry", e);
+          }
+        }
+      }
+      return location;
+    }
+
+    String getSourceId() {
+      return entry != null ? entry.getSourceId() : null;
+    }
+  }
+}
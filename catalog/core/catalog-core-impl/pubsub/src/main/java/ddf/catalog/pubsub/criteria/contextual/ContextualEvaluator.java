@@ -17,15 +17,21 @@
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
 import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.PerFieldAnalyzerWrapper;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.tokenattributes.TermAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.TermEnum;
 import org.apache.lucene.queryParser.ParseException;
 import org.apache.lucene.queryParser.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
@@ -104,9 +110,23 @@ public static boolean evaluate(ContextualEvaluationCriteria cec)
       return false;
     }
 
-    // a. query
+    return evaluate(index, parseQuery(searchPhrase, cec.isCaseSensitiveSearch()));
+  }
+
+  /**
+   * Parses a contextual search phrase into a Lucene query that can be evaluated against any number
+   * of indexes built by {@link #buildIndex(String, String[])}. Parsing is done once per
+   * subscription rather than once per event.
+   *
+   * @param searchPhrase the normalized contextual search phrase
+   * @param caseSensitiveSearch true if the query should be run against the case-sensitive text
+   * @return the parsed query
+   * @throws ParseException if the search phrase is not valid Lucene syntax
+   */
+  public static Query parseQuery(String searchPhrase, boolean caseSensitiveSearch)
+      throws ParseException {
     QueryParser queryParser = null;
-    if (cec.isCaseSensitiveSearch()) {
+    if (caseSensitiveSearch) {
       LOGGER.debug("Doing case-sensitive search ...");
       queryParser =
           new QueryParser(
@@ -127,12 +147,21 @@ public static boolean evaluate(ContextualEvaluationCriteria cec)
     // contextual search phrase
     queryParser.setAllowLeadingWildcard(true);
 
-    Query q = queryParser.parse(searchPhrase);
+    return queryParser.parse(searchPhrase);
+  }
 
-    // b. search
+  /**
+   * Evaluates a parsed contextual query against a Lucene index.
+   *
+   * @param index the index built from the metadata of an entry
+   * @param query the query created by {@link #parseQuery(String, boolean)}
+   * @return true if the indexed text matches the query
+   * @throws IOException
+   */
+  public static boolean evaluate(Directory index, Query query) throws IOException {
     int hitsPerPage = 1;
     IndexSearcher searcher = new IndexSearcher(index, true);
-    TopDocs topDocs = searcher.search(q, hitsPerPage);
+    TopDocs topDocs = searcher.search(query, hitsPerPage);
 
     // c. display results
     LOGGER.debug("Found {} hits.", topDocs.totalHits);
@@ -145,25 +174,51 @@ public static boolean evaluate(ContextualEvaluationCriteria cec)
   }
 
   /**
-   * Create a field with the specified field name and value, and add it to a Lucene Document to be
-   * added to the specified IndexWriter.
+   * Returns every term of the case-insensitive and case-sensitive text in a Lucene index built by
+   * {@link #buildIndex(String, String[])}.
+   *
+   * @param index the index built from the metadata of an entry
+   * @return the indexed terms
+   * @throws IOException
+   */
+  public static Set<Term> getIndexedTerms(Directory index) throws IOException {
+    Set<Term> terms = new HashSet<>();
+    IndexReader reader = IndexReader.open(index, true);
+    try {
+      for (String fieldName : new String[] {FIELD_NAME, CASE_SENSITIVE_FIELD_NAME}) {
+        TermEnum termEnum = reader.terms(new Term(fieldName, ""));
+        try {
+          do {
+            Term term = termEnum.term();
+            if (term == null || !fieldName.equals(term.field())) {
+              break;
+            }
+            terms.add(term);
+          } while (termEnum.next());
+        } finally {
+          termEnum.close();
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return terms;
+  }
+
+  /**
+   * Create an analyzed field with the specified field name and value.
    *
-   * @param indexWriter
    * @param fieldName
    * @param value
-   * @throws IOException
+   * @return the field to add to a Lucene Document
    */
-  private static void addDoc(IndexWriter indexWriter, String fieldName, String value)
-      throws IOException {
-    Document doc = new Document();
-    doc.add(
-        new Field(
-            fieldName,
-            value,
-            Field.Store.YES,
-            Field.Index.ANALYZED,
-            Field.TermVector.WITH_POSITIONS_OFFSETS));
-    indexWriter.addDocument(doc);
+  private static Field newField(String fieldName, String value) {
+    return new Field(
+        fieldName,
+        value,
+        Field.Store.YES,
+        Field.Index.ANALYZED,
+        Field.TermVector.WITH_POSITIONS_OFFSETS);
   }
 
   /**
@@ -192,42 +247,35 @@ public static Directory buildIndex(String fullDocument) throws IOException {
    */
   public static Directory buildIndex(String fullDocument, String[] xpathSelectors)
       throws IOException {
-    // 0. Specify the analyzer for tokenizing text.
+    // 0. Specify the analyzers for tokenizing text.
     // The same analyzer should be used for indexing and searching
     // 1. create the index
     Directory index = new RAMDirectory();
     String indexableText;
-    CaseSensitiveContextualAnalyzer caseSensitiveStandardAnalyzer;
 
-    try (ContextualAnalyzer contextualAnalyzer = new ContextualAnalyzer(Version.LUCENE_30)) {
+    try (ContextualAnalyzer contextualAnalyzer = new ContextualAnalyzer(Version.LUCENE_30);
+        CaseSensitiveContextualAnalyzer caseSensitiveStandardAnalyzer =
+            new CaseSensitiveContextualAnalyzer(Version.LUCENE_30)) {
       // Retrieve the text from the document that can be indexed using the specified XPath
       // selectors
       indexableText = getIndexableText(fullDocument, xpathSelectors);
 
-      // Create an IndexWriter using the case-insensitive StandardAnalyzer
+      // Use the case-insensitive analyzer for the "case-insensitive" field and the custom
+      // case-sensitive analyzer for the "case-sensitive" field, so both fields can be written by a
+      // single IndexWriter into a single document
+      PerFieldAnalyzerWrapper analyzer = new PerFieldAnalyzerWrapper(contextualAnalyzer);
+      analyzer.addAnalyzer(CASE_SENSITIVE_FIELD_NAME, caseSensitiveStandardAnalyzer);
+
       // NOTE: the boolean arg in the IndexWriter constructor means to create a new index,
       // overwriting any existing index
       try (IndexWriter indexWriter =
-          new IndexWriter(index, contextualAnalyzer, true, IndexWriter.MaxFieldLength.UNLIMITED)) {
-        logTokens(indexWriter.getAnalyzer(), FIELD_NAME, fullDocument, "ContextualAnalyzer");
-
-        // Add the indexable text to the case-insensitive index writer, assigning it the
-        // "case-insensitive" field name
-        addDoc(indexWriter, FIELD_NAME, indexableText);
-      }
-
-      caseSensitiveStandardAnalyzer = new CaseSensitiveContextualAnalyzer(Version.LUCENE_30);
-
-      // Create a second IndexWriter using the custom case-sensitive StandardAnalyzer
-      // NOTE: set boolean to false to append the case-sensitive indexed text to the existing
-      // index (populated by first IndexWriter)
-      try (IndexWriter csIndexWriter =
-          new IndexWriter(
-              index, caseSensitiveStandardAnalyzer, false, IndexWriter.MaxFieldLength.UNLIMITED)) {
+          new IndexWriter(index, analyzer, true, IndexWriter.MaxFieldLength.UNLIMITED)) {
+        logTokens(contextualAnalyzer, FIELD_NAME, fullDocument, "ContextualAnalyzer");
 
-        // Add the indexable text to the case-sensitive index writer, assigning it the
-        // "case-sensitive" field name
-        addDoc(csIndexWriter, CASE_SENSITIVE_FIELD_NAME, indexableText);
+        Document doc = new Document();
+        doc.add(newField(FIELD_NAME, indexableText));
+        doc.add(newField(CASE_SENSITIVE_FIELD_NAME, indexableText));
+        indexWriter.addDocument(doc);
       }
     }
     return index;
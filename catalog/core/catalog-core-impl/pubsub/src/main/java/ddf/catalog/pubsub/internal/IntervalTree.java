@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A centered interval tree that finds every value whose closed interval contains a point. Values
+ * are added and removed individually and the tree is rebuilt lazily on the next query, so bulk
+ * changes only pay for one rebuild.
+ *
+ * @param <T> the type of value associated with each interval
+ */
+public class IntervalTree<T> {
+
+  private final Map<T, Interval<T>> intervals = new HashMap<>();
+
+  private Node<T> root;
+
+  private boolean dirty;
+
+  /**
+   * Adds or replaces the interval of a value.
+   *
+   * @param value the value
+   * @param start the start of the interval, inclusive
+   * @param end the end of the interval, inclusive
+   */
+  public synchronized void put(T value, long start, long end) {
+    if (start > end) {
+      throw new IllegalArgumentException("Interval start must not be after its end");
+    }
+    intervals.put(value, new Interval<>(value, start, end));
+    dirty = true;
+  }
+
+  public synchronized void remove(T value) {
+    if (intervals.remove(value) != null) {
+      dirty = true;
+    }
+  }
+
+  public synchronized int size() {
+    return intervals.size();
+  }
+
+  /**
+   * Adds every value whose interval contains a point to a collection.
+   *
+   * @param point the point
+   * @param results the collection the values are added to
+   */
+  public void query(long point, Collection<? super T> results) {
+    Node<T> node = getRoot();
+    while (node != null) {
+      if (point < node.center) {
+        for (Interval<T> interval : node.byStart) {
+          if (interval.start > point) {
+            break;
+          }
+          results.add(interval.value);
+        }
+        node = node.left;
+      } else if (point > node.center) {
+        for (Interval<T> interval : node.byEnd) {
+          if (interval.end < point) {
+            break;
+          }
+          results.add(interval.value);
+        }
+        node = node.right;
+      } else {
+        for (Interval<T> interval : node.byStart) {
+          results.add(interval.value);
+        }
+        node = null;
+      }
+    }
+  }
+
+  private synchronized Node<T> getRoot() {
+    if (dirty) {
+      root = build(new ArrayList<>(intervals.values()));
+      dirty = false;
+    }
+    return root;
+  }
+
+  private static <T> Node<T> build(List<Interval<T>> intervals) {
+    if (intervals.isEmpty()) {
+      return null;
+    }
+
+    long center = medianEndpoint(intervals);
+    List<Interval<T>> left = new ArrayList<>();
+    List<Interval<T>> right = new ArrayList<>();
+    List<Interval<T>> overlapping = new ArrayList<>();
+    for (Interval<T> interval : intervals) {
+      if (interval.end < center) {
+        left.add(interval);
+      } else if (interval.start > center) {
+        right.add(interval);
+      } else {
+        overlapping.add(interval);
+      }
+    }
+
+    return new Node<>(center, overlapping, build(left), build(right));
+  }
+
+  /**
+   * Returns the median of the interval endpoints. At least one interval contains the median, so
+   * every level of the tree removes at least one interval.
+   */
+  private static <T> long medianEndpoint(List<Interval<T>> intervals) {
+    long[] endpoints = new long[intervals.size() * 2];
+    int i = 0;
+    for (Interval<T> interval : intervals) {
+      endpoints[i++] = interval.start;
+      endpoints[i++] = interval.end;
+    }
+    Arrays.sort(endpoints);
+    return endpoints[intervals.size()];
+  }
+
+  private static class Interval<T> {
+    private final T value;
+
+    private final long start;
+
+    private final long end;
+
+    Interval(T value, long start, long end) {
+      this.value = value;
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  private static class Node<T> {
+    private final long center;
+
+    /** The intervals containing the center, in ascending order of start. */
+    private final List<Interval<T>> byStart;
+
+    /** The intervals containing the center, in descending order of end. */
+    private final List<Interval<T>> byEnd;
+
+    private final Node<T> left;
+
+    private final Node<T> right;
+
+    Node(long center, List<Interval<T>> overlapping, Node<T> left, Node<T> right) {
+      this.center = center;
+      this.byStart = new ArrayList<>(overlapping);
+      this.byStart.sort(Comparator.comparingLong(interval -> interval.start));
+      this.byEnd = new ArrayList<>(overlapping);
+      this.byEnd.sort(Comparator.comparingLong((Interval<T> interval) -> interval.end).reversed());
+      this.left = left;
+      this.right = right;
+    }
+  }
+}
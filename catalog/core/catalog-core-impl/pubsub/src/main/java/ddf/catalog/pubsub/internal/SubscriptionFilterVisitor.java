@@ -17,6 +17,7 @@
 import ddf.catalog.impl.filter.FuzzyFunction;
 import ddf.catalog.pubsub.EventProcessorImpl.DateType;
 import ddf.catalog.pubsub.criteria.geospatial.SpatialOperator;
+import ddf.catalog.pubsub.predicate.AndPredicate;
 import ddf.catalog.pubsub.predicate.ContentTypePredicate;
 import ddf.catalog.pubsub.predicate.ContextualPredicate;
 import ddf.catalog.pubsub.predicate.EntryPredicate;
@@ -77,16 +78,7 @@ public static Predicate and(final Predicate left, final Predicate right) {
     notNull(left, "left");
     notNull(right, "right");
 
-    return new Predicate() {
-      public boolean matches(Event properties) {
-        return left.matches(properties) && right.matches(properties);
-      }
-
-      @Override
-      public String toString() {
-        return "(" + left + ") AND (" + right + ")";
-      }
-    };
+    return new AndPredicate(left, right);
   }
 
   /** A helper method to combine multiple predicates by a logical OR */
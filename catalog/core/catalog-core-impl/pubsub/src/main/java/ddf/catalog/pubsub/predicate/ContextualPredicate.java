@@ -13,7 +13,6 @@
  */
 package ddf.catalog.pubsub.predicate;
 
-import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluationCriteria;
 import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluationCriteriaImpl;
 import ddf.catalog.pubsub.criteria.contextual.ContextualEvaluator;
 import ddf.catalog.pubsub.criteria.contextual.ContextualTokenizer;
@@ -22,10 +21,17 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.builder.ToStringBuilder;
+import org.apache.lucene.index.Term;
 import org.apache.lucene.queryParser.ParseException;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.store.Directory;
 import org.osgi.service.event.Event;
 import org.slf4j.Logger;
@@ -42,6 +48,8 @@ public class ContextualPredicate implements Predicate {
 
   private Collection<String> textPaths;
 
+  private volatile Query query;
+
   public ContextualPredicate(
       String searchPhrase,
       boolean fuzzy,
@@ -208,7 +216,6 @@ public boolean matches(Event properties) {
 
     LOGGER.debug("Headers: {}", properties);
 
-    ContextualEvaluationCriteria cec = null;
     Map<String, Object> contextualMap =
         (Map<String, Object>) properties.getProperty(PubSubConstants.HEADER_CONTEXTUAL_KEY);
 
@@ -234,42 +241,39 @@ public boolean matches(Event properties) {
       return true;
     }
 
-    // If predicate specified one or more text paths, then extract the entry's metadata from the
-    // Event properties and
-    // pass it and the text path(s) to the evaluation criteria (which will build a Lucene index
-    // on the metadata using the
-    // text paths)
-    if (this.textPaths != null && !this.textPaths.isEmpty()) {
-      LOGGER.debug("creating criteria with textPaths and metadata document");
-      try {
-        cec =
+    try {
+      // Handle case where no search phrase is specified, in which case the text path(s) are used
+      // to determine if an element or attribute exists
+      if (searchPhrase.isEmpty()) {
+        if (!hasTextPaths()) {
+          LOGGER.debug("No search phrase or textPaths specified");
+          return false;
+        }
+
+        LOGGER.debug("creating criteria with textPaths and metadata document");
+        return ContextualEvaluator.evaluate(
             new ContextualEvaluationCriteriaImpl(
                 searchPhrase,
                 fuzzy,
                 caseSensitiveSearch,
                 this.textPaths.toArray(new String[this.textPaths.size()]),
-                (String) contextualMap.get("METADATA"));
-      } catch (IOException e) {
-        LOGGER.debug("IO exception during context evaluation", e);
-        return false;
+                metadata));
       }
 
-      // This predicate has no text paths specified, so can use default Lucene search index, which
-      // indexed the entry's entire metadata
-      // per the default XPath expressions in ContextualEvaluator, from the event's properties
-      // data
-    } else {
-      LOGGER.debug("using default Lucene search index for metadata");
-      cec =
-          new ContextualEvaluationCriteriaImpl(
-              searchPhrase,
-              fuzzy,
-              caseSensitiveSearch,
-              (Directory) contextualMap.get("DEFAULT_INDEX"));
-    }
+      // If predicate specified one or more text paths, then use the Lucene search index built on
+      // the entry's metadata using the text path(s). Otherwise, use the default Lucene search
+      // index, which indexed the entry's entire metadata per the default XPath expressions in
+      // ContextualEvaluator, from the event's properties data
+      Directory index;
+      if (hasTextPaths()) {
+        LOGGER.debug("using Lucene search index for textPaths");
+        index = getTextPathIndex(contextualMap, metadata);
+      } else {
+        LOGGER.debug("using default Lucene search index for metadata");
+        index = (Directory) contextualMap.get("DEFAULT_INDEX");
+      }
 
-    try {
-      return ContextualEvaluator.evaluate(cec);
+      return ContextualEvaluator.evaluate(index, getQuery());
     } catch (IOException e) {
       LOGGER.debug("IO Exception evaluating context criteria", e);
     } catch (ParseException e) {
@@ -281,6 +285,90 @@ public boolean matches(Event properties) {
     return false;
   }
 
+  /**
+   * Returns the Lucene query for the search phrase. The query is parsed on first use and then
+   * reused for every event evaluated by this predicate.
+   */
+  private Query getQuery() throws ParseException {
+    Query parsedQuery = query;
+    if (parsedQuery == null) {
+      parsedQuery = ContextualEvaluator.parseQuery(searchPhrase, caseSensitiveSearch);
+      query = parsedQuery;
+    }
+    return parsedQuery;
+  }
+
+  /**
+   * Returns a term that must be in the default Lucene search index of an entry for the entry to
+   * match this predicate, or null if there is no single required term, e.g., for text path, fuzzy,
+   * wildcard or OR queries.
+   */
+  public Term getRequiredTerm() {
+    if (searchPhrase.isEmpty() || hasTextPaths()) {
+      return null;
+    }
+
+    Query parsedQuery;
+    try {
+      parsedQuery = getQuery();
+    } catch (ParseException e) {
+      LOGGER.debug("Unable to parse search phrase [{}]", searchPhrase, e);
+      return null;
+    }
+
+    return getRequiredTerm(parsedQuery);
+  }
+
+  private static Term getRequiredTerm(Query query) {
+    if (query instanceof TermQuery) {
+      return ((TermQuery) query).getTerm();
+    }
+
+    if (query instanceof PhraseQuery) {
+      Term[] terms = ((PhraseQuery) query).getTerms();
+      return terms.length > 0 ? terms[0] : null;
+    }
+
+    if (query instanceof BooleanQuery) {
+      for (BooleanClause clause : ((BooleanQuery) query).getClauses()) {
+        if (clause.getOccur() == BooleanClause.Occur.MUST) {
+          Term term = getRequiredTerm(clause.getQuery());
+          if (term != null) {
+            return term;
+          }
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Returns the Lucene search index built on the entry's metadata using this predicate's text
+   * paths. The index is shared through the event with every other contextual predicate that
+   * specifies the same text paths, so it is only built once per event.
+   */
+  private Directory getTextPathIndex(Map<String, Object> contextualMap, String metadata)
+      throws IOException {
+    String[] textPathArray = this.textPaths.toArray(new String[this.textPaths.size()]);
+    Object textPathIndexes = contextualMap.get("TEXT_PATH_INDEXES");
+    if (!(textPathIndexes instanceof ConcurrentMap)) {
+      return ContextualEvaluator.buildIndex(metadata, textPathArray);
+    }
+
+    ConcurrentMap<Collection<String>, Directory> indexes =
+        (ConcurrentMap<Collection<String>, Directory>) textPathIndexes;
+    Directory index = indexes.get(this.textPaths);
+    if (index == null) {
+      index = ContextualEvaluator.buildIndex(metadata, textPathArray);
+      Directory existingIndex = indexes.putIfAbsent(this.textPaths, index);
+      if (existingIndex != null) {
+        index = existingIndex;
+      }
+    }
+    return index;
+  }
+
   public String getSearchPhrase() {
     return searchPhrase;
   }
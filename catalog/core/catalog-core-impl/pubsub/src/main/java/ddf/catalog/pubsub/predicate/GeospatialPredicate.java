@@ -120,6 +120,7 @@ public String getGeoOperation() {
     return geoOperation;
   }
 
+  /** Returns the distance in degrees that a matching location can be from the geo criteria. */
   public double getDistance() {
     return distance;
   }
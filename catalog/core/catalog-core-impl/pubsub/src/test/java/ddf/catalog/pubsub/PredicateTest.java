@@ -37,6 +37,7 @@
 import ddf.catalog.pubsub.internal.PubSubConstants;
 import ddf.catalog.pubsub.internal.SubscriptionFilterVisitor;
 import ddf.catalog.pubsub.predicate.ContentTypePredicate;
+import ddf.catalog.pubsub.predicate.ContextualPredicate;
 import ddf.catalog.pubsub.predicate.GeospatialPredicate;
 import ddf.catalog.pubsub.predicate.Predicate;
 import ddf.measure.Distance;
@@ -44,10 +45,14 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
 import org.apache.commons.lang.StringEscapeUtils;
@@ -1689,6 +1694,28 @@ private List<MockTypeVersionsExtension> createContentTypeVersionList(String type
     return extensions;
   }
 
+  @Test
+  public void testContextualQueryTextPathIndexSharedByPredicates() throws Exception {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setId("ABC123");
+    metacard.setMetadata(String.format(METADATA_FORMAT, "test"));
+    Map<String, Object> contextualMap = constructContextualMap(metacard);
+    ConcurrentMap<Collection<String>, Directory> textPathIndexes = new ConcurrentHashMap<>();
+    contextualMap.put("TEXT_PATH_INDEXES", textPathIndexes);
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(PubSubConstants.HEADER_OPERATION_KEY, PubSubConstants.CREATE);
+    properties.put(PubSubConstants.HEADER_CONTEXTUAL_KEY, contextualMap);
+    Event testEvent = new Event("topic", properties);
+
+    List<String> textPaths = Collections.singletonList("//name");
+    Predicate namePredicate = new ContextualPredicate("Miffles", false, false, textPaths);
+    Predicate titlePredicate = new ContextualPredicate("test", false, false, textPaths);
+
+    assertThat(namePredicate.matches(testEvent), is(equalTo(true)));
+    assertThat(titlePredicate.matches(testEvent), is(equalTo(false)));
+    assertThat(textPathIndexes.size(), is(equalTo(1)));
+  }
+
   private Predicate getPredicate(String searchPhrase) {
     return getPredicate(searchPhrase, null, false);
   }
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.event.Subscription;
+import ddf.catalog.pubsub.EventProcessorImpl.DateType;
+import ddf.catalog.pubsub.internal.PubSubConstants;
+import ddf.catalog.pubsub.internal.SubscriptionFilterVisitor;
+import ddf.catalog.pubsub.predicate.ContentTypePredicate;
+import ddf.catalog.pubsub.predicate.ContextualPredicate;
+import ddf.catalog.pubsub.predicate.GeospatialPredicate;
+import ddf.catalog.pubsub.predicate.Predicate;
+import ddf.catalog.pubsub.predicate.TemporalPredicate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+
+/**
+ * Measures how many published events per second can be matched against 1k, 10k and 100k
+ * subscriptions, with and without the {@link SubscriptionRouter} narrowing down the subscriptions
+ * whose predicates are evaluated. Run from the test classpath through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionRouterBenchmark {
+
+  private static final String[] CONTENT_TYPES = {"nitf", "pdf", "jpeg", "video", "doc"};
+
+  private static final long DAY = 24L * 60 * 60 * 1000;
+
+  @Param({"1000", "10000", "100000"})
+  public int subscriptions;
+
+  private ExecutorService threadPool;
+
+  private SubscriptionRouter router;
+
+  private List<PublishedEventHandler> handlers;
+
+  private Event event;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    CatalogFramework catalog = mock(CatalogFramework.class);
+    when(catalog.getId()).thenReturn("local");
+    threadPool = Executors.newSingleThreadExecutor();
+    router = new SubscriptionRouter(catalog, threadPool);
+    handlers = new ArrayList<>(subscriptions);
+
+    Subscription subscription = mock(Subscription.class);
+    when(subscription.isEnterprise()).thenReturn(true);
+
+    Random random = new Random(42);
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < subscriptions; i++) {
+      PublishedEventHandler handler =
+          new PublishedEventHandler(
+              newPredicate(i, random, now), subscription, Collections.emptyList(), null, null);
+      handlers.add(handler);
+      router.addSubscription(Integer.toString(i), handler);
+    }
+
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setId("ABC123");
+    metacard.setSourceId("local");
+    metacard.setContentTypeName("nitf");
+    metacard.setModifiedDate(new Date(now));
+    metacard.setLocation("POINT (10 10)");
+    metacard.setMetadata(
+        "<Resource><title>term1 term2 term3</title>"
+            + "<description>term10 term20 term30 term40 term50</description></Resource>");
+
+    EventAdmin eventAdmin = mock(EventAdmin.class);
+    EventProcessorImpl.processEntry(metacard, PubSubConstants.CREATE, eventAdmin);
+    ArgumentCaptor<Event> eventCaptor = ArgumentCaptor.forClass(Event.class);
+    Mockito.verify(eventAdmin).postEvent(eventCaptor.capture());
+    event = eventCaptor.getValue();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    threadPool.shutdownNow();
+  }
+
+  /** Mixes the kinds of criteria found in deployments with many standing subscriptions. */
+  private static Predicate newPredicate(int i, Random random, long now) {
+    switch (i % 4) {
+      case 0:
+        return new ContextualPredicate("term" + random.nextInt(5000), false, false, null);
+      case 1:
+        return SubscriptionFilterVisitor.and(
+            new ContentTypePredicate(CONTENT_TYPES[random.nextInt(CONTENT_TYPES.length)], null),
+            new ContextualPredicate("term" + random.nextInt(5000), false, false, null));
+      case 2:
+        long start = now + (random.nextInt(730) - 365) * DAY;
+        return new TemporalPredicate(new Date(start), new Date(start + DAY), DateType.MODIFIED);
+      default:
+        double x = random.nextDouble() * 340 - 170;
+        double y = random.nextDouble() * 160 - 80;
+        return new GeospatialPredicate(
+            String.format(
+                Locale.US,
+                "POLYGON ((%1$f %2$f, %3$f %2$f, %3$f %4$f, %1$f %4$f, %1$f %2$f))",
+                x,
+                y,
+                x + 5,
+                y + 5),
+            "OVERLAPS",
+            0.0);
+    }
+  }
+
+  @Benchmark
+  public void evaluateAllSubscriptions(Blackhole blackhole) {
+    for (PublishedEventHandler handler : handlers) {
+      blackhole.consume(handler.getPredicate().matches(event));
+    }
+  }
+
+  @Benchmark
+  public void evaluateRoutedSubscriptions(Blackhole blackhole) {
+    for (PublishedEventHandler handler : router.getCandidates(event)) {
+      blackhole.consume(handler.getPredicate().matches(event));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder().include(SubscriptionRouterBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
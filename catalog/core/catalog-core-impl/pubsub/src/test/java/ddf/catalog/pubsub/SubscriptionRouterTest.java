@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.event.Subscription;
+import ddf.catalog.impl.filter.SpatialFilter;
+import ddf.catalog.pubsub.EventProcessorImpl.DateType;
+import ddf.catalog.pubsub.internal.PubSubConstants;
+import ddf.catalog.pubsub.internal.SubscriptionFilterVisitor;
+import ddf.catalog.pubsub.predicate.ContentTypePredicate;
+import ddf.catalog.pubsub.predicate.ContextualPredicate;
+import ddf.catalog.pubsub.predicate.GeospatialPredicate;
+import ddf.catalog.pubsub.predicate.Predicate;
+import ddf.catalog.pubsub.predicate.TemporalPredicate;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.filter.FilterFactoryImpl;
+import org.geotools.styling.UomOgcMapping;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opengis.filter.Filter;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+
+public class SubscriptionRouterTest {
+
+  private static final String LOCAL_SOURCE_ID = "local";
+
+  private static final String METADATA =
+      "<Resource><title>Donna Miffles</title><description>exercise</description></Resource>";
+
+  private static final long DAY = 24L * 60 * 60 * 1000;
+
+  private static final FilterFactoryImpl FILTER_FACTORY = new FilterFactoryImpl();
+
+  private ExecutorService threadPool;
+
+  private SubscriptionRouter router;
+
+  @Before
+  public void setUp() {
+    CatalogFramework catalog = mock(CatalogFramework.class);
+    when(catalog.getId()).thenReturn(LOCAL_SOURCE_ID);
+    threadPool = Executors.newSingleThreadExecutor();
+    router = new SubscriptionRouter(catalog, threadPool);
+  }
+
+  @After
+  public void tearDown() {
+    threadPool.shutdownNow();
+  }
+
+  @Test
+  public void testContextualTermCandidates() throws Exception {
+    PublishedEventHandler matching =
+        addSubscription("matching", new ContextualPredicate("miffles", false, false, null));
+    addSubscription("notMatching", new ContextualPredicate("absent", false, false, null));
+    PublishedEventHandler fuzzy =
+        addSubscription("fuzzy", new ContextualPredicate("absent", true, false, null));
+
+    assertThat(router.getCandidates(getEvent(newMetacard())), containsInAnyOrder(matching, fuzzy));
+  }
+
+  @Test
+  public void testContentTypeCandidates() throws Exception {
+    PublishedEventHandler matching =
+        addSubscription("matching", new ContentTypePredicate("nitf", null));
+    addSubscription("notMatching", new ContentTypePredicate("other", null));
+    PublishedEventHandler wildcard =
+        addSubscription("wildcard", new ContentTypePredicate("ni*", null));
+
+    MetacardImpl metacard = newMetacard();
+    metacard.setContentTypeName("nitf");
+    metacard.setContentTypeVersion("2.0");
+
+    assertThat(router.getCandidates(getEvent(metacard)), containsInAnyOrder(matching, wildcard));
+  }
+
+  @Test
+  public void testTemporalCandidates() throws Exception {
+    long now = System.currentTimeMillis();
+    PublishedEventHandler matching =
+        addSubscription(
+            "matching",
+            new TemporalPredicate(new Date(now - DAY), new Date(now + DAY), DateType.MODIFIED));
+    addSubscription(
+        "notMatching",
+        new TemporalPredicate(new Date(now + DAY), new Date(now + 2 * DAY), DateType.MODIFIED));
+    PublishedEventHandler openEnded =
+        addSubscription(
+            "openEnded", new TemporalPredicate(new Date(now - DAY), null, DateType.MODIFIED));
+    PublishedEventHandler relative =
+        addSubscription("relative", new TemporalPredicate(DAY, DateType.MODIFIED));
+
+    MetacardImpl metacard = newMetacard();
+    metacard.setModifiedDate(new Date(now));
+
+    assertThat(
+        router.getCandidates(getEvent(metacard)),
+        containsInAnyOrder(matching, openEnded, relative));
+  }
+
+  @Test
+  public void testGeospatialCandidates() throws Exception {
+    PublishedEventHandler matching =
+        addSubscription(
+            "matching",
+            new GeospatialPredicate("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))", "OVERLAPS", 0.0));
+    addSubscription(
+        "notMatching",
+        new GeospatialPredicate("POLYGON ((20 20, 30 20, 30 30, 20 30, 20 20))", "CONTAINS", 0.0));
+    PublishedEventHandler nearby =
+        addSubscription("nearby", new GeospatialPredicate("POINT (12 5)", null, 3.0));
+
+    MetacardImpl metacard = newMetacard();
+    metacard.setLocation("POINT (9.5 5)");
+
+    assertThat(router.getCandidates(getEvent(metacard)), containsInAnyOrder(matching, nearby));
+  }
+
+  @Test
+  public void testPointRadiusCandidates() throws Exception {
+    Filter filter =
+        FILTER_FACTORY.dwithin(
+            Metacard.ANY_GEO,
+            new SpatialFilter("POINT (12 5)").getGeometry(),
+            10000,
+            UomOgcMapping.METRE.name());
+    PublishedEventHandler pointRadius =
+        addSubscription(
+            "pointRadius", (Predicate) filter.accept(new SubscriptionFilterVisitor(), null));
+
+    MetacardImpl nearbyMetacard = newMetacard();
+    nearbyMetacard.setLocation("POINT (12.05 5)");
+    MetacardImpl distantMetacard = newMetacard();
+    distantMetacard.setLocation("POINT (12.5 5)");
+
+    assertThat(router.getCandidates(getEvent(nearbyMetacard)), containsInAnyOrder(pointRadius));
+    assertThat(router.getCandidates(getEvent(distantMetacard)), is(empty()));
+  }
+
+  @Test
+  public void testCriteriaOfConjunctionIndexed() throws Exception {
+    PublishedEventHandler matching =
+        addSubscription(
+            "matching",
+            SubscriptionFilterVisitor.and(
+                new ContentTypePredicate("other", null),
+                new ContextualPredicate("miffles", false, false, null)));
+    PublishedEventHandler disjunction =
+        addSubscription(
+            "disjunction",
+            SubscriptionFilterVisitor.or(
+                new ContentTypePredicate("other", null),
+                new ContextualPredicate("absent", false, false, null)));
+    addSubscription(
+        "notMatching",
+        SubscriptionFilterVisitor.and(
+            new ContentTypePredicate("nitf", null),
+            new ContextualPredicate("absent", false, false, null)));
+
+    assertThat(
+        router.getCandidates(getEvent(newMetacard())), containsInAnyOrder(matching, disjunction));
+  }
+
+  @Test
+  public void testSourceCandidates() throws Exception {
+    PublishedEventHandler local =
+        addSubscription("local", null, newSubscription(false, Collections.emptySet()));
+    PublishedEventHandler site =
+        addSubscription("site", null, newSubscription(false, Collections.singleton("site")));
+    PublishedEventHandler enterprise =
+        addSubscription("enterprise", null, newSubscription(true, null));
+
+    MetacardImpl remoteMetacard = newMetacard();
+    remoteMetacard.setSourceId("site");
+
+    assertThat(
+        router.getCandidates(getEvent(newMetacard())), containsInAnyOrder(local, enterprise));
+    assertThat(
+        router.getCandidates(getEvent(remoteMetacard)), containsInAnyOrder(site, enterprise));
+  }
+
+  @Test
+  public void testDeletedEntryRoutedToAllSubscriptions() throws Exception {
+    PublishedEventHandler contextual =
+        addSubscription("contextual", new ContextualPredicate("absent", false, false, null));
+    PublishedEventHandler contentType =
+        addSubscription("contentType", new ContentTypePredicate("other", null));
+
+    MetacardImpl metacard = newMetacard();
+    metacard.setMetadata(PubSubConstants.METADATA_DELETED);
+
+    assertThat(
+        router.getCandidates(getEvent(metacard, PubSubConstants.DELETE)),
+        containsInAnyOrder(contextual, contentType));
+  }
+
+  @Test
+  public void testRemoveAndReplaceSubscription() throws Exception {
+    addSubscription("subscription", new ContentTypePredicate("nitf", null));
+    PublishedEventHandler replacement =
+        addSubscription("subscription", new ContextualPredicate("miffles", false, false, null));
+
+    MetacardImpl metacard = newMetacard();
+    metacard.setContentTypeName("nitf");
+
+    assertThat(router.getCandidates(getEvent(metacard)), containsInAnyOrder(replacement));
+    assertThat(router.size(), is(1));
+
+    assertThat(router.removeSubscription("subscription"), is(true));
+    assertThat(router.removeSubscription("subscription"), is(false));
+    assertThat(router.getCandidates(getEvent(metacard)), is(empty()));
+    assertThat(router.isEmpty(), is(true));
+  }
+
+  private PublishedEventHandler addSubscription(String id, Predicate predicate) {
+    return addSubscription(id, predicate, newSubscription(true, null));
+  }
+
+  private PublishedEventHandler addSubscription(
+      String id, Predicate predicate, Subscription subscription) {
+    PublishedEventHandler handler =
+        new PublishedEventHandler(
+            predicate, subscription, Collections.emptyList(), null, threadPool);
+    router.addSubscription(id, handler);
+    return handler;
+  }
+
+  private Subscription newSubscription(boolean enterprise, Set<String> sourceIds) {
+    Subscription subscription = mock(Subscription.class);
+    when(subscription.isEnterprise()).thenReturn(enterprise);
+    when(subscription.getSourceIds()).thenReturn(sourceIds);
+    return subscription;
+  }
+
+  private MetacardImpl newMetacard() {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setId("ABC123");
+    metacard.setSourceId(LOCAL_SOURCE_ID);
+    metacard.setMetadata(METADATA);
+    return metacard;
+  }
+
+  private Event getEvent(MetacardImpl metacard) {
+    return getEvent(metacard, PubSubConstants.CREATE);
+  }
+
+  private Event getEvent(MetacardImpl metacard, String operation) {
+    EventAdmin eventAdmin = mock(EventAdmin.class);
+    EventProcessorImpl.processEntry(metacard, operation, eventAdmin);
+
+    ArgumentCaptor<Event> event = ArgumentCaptor.forClass(Event.class);
+    verify(eventAdmin).postEvent(event.capture());
+    return event.getValue();
+  }
+}
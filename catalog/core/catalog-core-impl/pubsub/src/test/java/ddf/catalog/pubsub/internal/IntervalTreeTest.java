@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.pubsub.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+public class IntervalTreeTest {
+
+  @Test
+  public void testQueryInclusiveBounds() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    tree.put("a", 0, 10);
+    tree.put("b", 10, 20);
+    tree.put("c", 21, Long.MAX_VALUE);
+    tree.put("d", Long.MIN_VALUE, -1);
+
+    assertThat(query(tree, 10), containsInAnyOrder("a", "b"));
+    assertThat(query(tree, 0), containsInAnyOrder("a"));
+    assertThat(query(tree, 21), containsInAnyOrder("c"));
+    assertThat(query(tree, -5), containsInAnyOrder("d"));
+  }
+
+  @Test
+  public void testPutReplacesAndRemoveDeletes() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    tree.put("a", 0, 10);
+    tree.put("a", 20, 30);
+
+    assertThat(query(tree, 5), is(empty()));
+    assertThat(query(tree, 25), containsInAnyOrder("a"));
+
+    tree.remove("a");
+    assertThat(query(tree, 25), is(empty()));
+    assertThat(tree.size(), is(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidInterval() {
+    new IntervalTree<String>().put("a", 10, 0);
+  }
+
+  @Test
+  public void testQueryMatchesLinearScan() {
+    Random random = new Random(42);
+    IntervalTree<Integer> tree = new IntervalTree<>();
+    long[][] intervals = new long[1000][];
+    for (int i = 0; i < intervals.length; i++) {
+      long start = random.nextInt(10000);
+      long end = start + random.nextInt(500);
+      intervals[i] = new long[] {start, end};
+      tree.put(i, start, end);
+    }
+
+    for (int point = -10; point < 10600; point += 7) {
+      Set<Integer> expected = new HashSet<>();
+      for (int i = 0; i < intervals.length; i++) {
+        if (intervals[i][0] <= point && point <= intervals[i][1]) {
+          expected.add(i);
+        }
+      }
+      List<Integer> actual = new ArrayList<>();
+      tree.query(point, actual);
+      assertThat(actual.size(), is(expected.size()));
+      assertThat(new HashSet<>(actual), is(equalTo(expected)));
+    }
+  }
+
+  private static List<String> query(IntervalTree<String> tree, long point) {
+    List<String> results = new ArrayList<>();
+    tree.query(point, results);
+    return results;
+  }
+}
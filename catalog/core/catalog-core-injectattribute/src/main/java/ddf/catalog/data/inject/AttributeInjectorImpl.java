@@ -24,12 +24,13 @@
 import ddf.catalog.data.MetacardType;
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.data.impl.MetacardTypeImpl;
+import ddf.catalog.util.Parallelizable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public class AttributeInjectorImpl implements AttributeInjector {
+public class AttributeInjectorImpl implements AttributeInjector, Parallelizable {
   private final AttributeRegistry attributeRegistry;
 
   private List<InjectableAttribute> injectableAttributes = new ArrayList<>();
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * {@link ObjectValueCodec} that writes a compact, versioned binary encoding. Each value is written
+ * as a version byte, a type tag and the raw value, so common attribute values such as strings,
+ * numbers, dates and byte arrays are stored without Java serialization class descriptors. Values of
+ * any other type are still written with Java serialization behind a dedicated tag.
+ *
+ * <p>Values written by previous releases with plain Java serialization are recognized by the
+ * serialization stream magic number and decoded as before, so existing indexes can be read without
+ * a migration. Reindexing (e.g. with the {@code solr:reindex} command) rewrites them in the new
+ * encoding.
+ */
+public class BinaryObjectValueCodec implements ObjectValueCodec {
+
+  static final byte VERSION = 1;
+
+  private static final byte JAVA_SERIALIZATION_MAGIC_HIGH = (byte) 0xAC;
+
+  private static final byte JAVA_SERIALIZATION_MAGIC_LOW = (byte) 0xED;
+
+  private static final byte STRING_TAG = 1;
+
+  private static final byte BOOLEAN_TAG = 2;
+
+  private static final byte SHORT_TAG = 3;
+
+  private static final byte INTEGER_TAG = 4;
+
+  private static final byte LONG_TAG = 5;
+
+  private static final byte FLOAT_TAG = 6;
+
+  private static final byte DOUBLE_TAG = 7;
+
+  private static final byte DATE_TAG = 8;
+
+  private static final byte BINARY_TAG = 9;
+
+  private static final byte SERIALIZED_TAG = 127;
+
+  @Override
+  public byte[] encode(Serializable value) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+
+      if (value instanceof String) {
+        out.writeByte(STRING_TAG);
+        writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+      } else if (value instanceof Boolean) {
+        out.writeByte(BOOLEAN_TAG);
+        out.writeBoolean((Boolean) value);
+      } else if (value instanceof Short) {
+        out.writeByte(SHORT_TAG);
+        out.writeShort((Short) value);
+      } else if (value instanceof Integer) {
+        out.writeByte(INTEGER_TAG);
+        out.writeInt((Integer) value);
+      } else if (value instanceof Long) {
+        out.writeByte(LONG_TAG);
+        out.writeLong((Long) value);
+      } else if (value instanceof Float) {
+        out.writeByte(FLOAT_TAG);
+        out.writeFloat((Float) value);
+      } else if (value instanceof Double) {
+        out.writeByte(DOUBLE_TAG);
+        out.writeDouble((Double) value);
+      } else if (value != null && value.getClass() == Date.class) {
+        out.writeByte(DATE_TAG);
+        out.writeLong(((Date) value).getTime());
+      } else if (value instanceof byte[]) {
+        out.writeByte(BINARY_TAG);
+        writeBytes(out, (byte[]) value);
+      } else {
+        out.writeByte(SERIALIZED_TAG);
+        writeBytes(out, javaSerialize(value));
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public Serializable decode(byte[] bytes) throws IOException {
+    if (bytes.length >= 2
+        && bytes[0] == JAVA_SERIALIZATION_MAGIC_HIGH
+        && bytes[1] == JAVA_SERIALIZATION_MAGIC_LOW) {
+      return javaDeserialize(bytes);
+    }
+
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      byte version = in.readByte();
+      if (version != VERSION) {
+        throw new IOException("Unsupported object value encoding version " + version);
+      }
+
+      byte tag = in.readByte();
+      switch (tag) {
+        case STRING_TAG:
+          return new String(readBytes(in), StandardCharsets.UTF_8);
+        case BOOLEAN_TAG:
+          return in.readBoolean();
+        case SHORT_TAG:
+          return in.readShort();
+        case INTEGER_TAG:
+          return in.readInt();
+        case LONG_TAG:
+          return in.readLong();
+        case FLOAT_TAG:
+          return in.readFloat();
+        case DOUBLE_TAG:
+          return in.readDouble();
+        case DATE_TAG:
+          return new Date(in.readLong());
+        case BINARY_TAG:
+          return readBytes(in);
+        case SERIALIZED_TAG:
+          return javaDeserialize(readBytes(in));
+        default:
+          throw new IOException("Unknown object value type tag " + tag);
+      }
+    }
+  }
+
+  private void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+    out.writeInt(value.length);
+    out.write(value);
+  }
+
+  private byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > in.available()) {
+      throw new IOException("Invalid object value length " + length);
+    }
+    byte[] value = new byte[length];
+    in.readFully(value);
+    return value;
+  }
+
+  private byte[] javaSerialize(Serializable value) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(value);
+    }
+    return bytes.toByteArray();
+  }
+
+  private Serializable javaDeserialize(byte[] bytes) throws IOException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return (Serializable) in.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Could not create object to return.", e);
+    }
+  }
+}
@@ -18,6 +18,9 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import ddf.catalog.data.Attribute;
 import ddf.catalog.data.AttributeDescriptor;
 import ddf.catalog.data.AttributeType;
 import ddf.catalog.data.AttributeType.AttributeFormat;
@@ -29,11 +32,7 @@
 import ddf.catalog.data.impl.MetacardTypeImpl;
 import ddf.catalog.data.types.Validation;
 import ddf.catalog.source.solr.json.MetacardTypeMapperFactory;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.nio.charset.Charset;
@@ -44,6 +43,7 @@
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -161,14 +161,27 @@ public class DynamicSchemaResolver implements ConfigurationListener {
     }
   }
 
-  Set<String> fieldsCache = new HashSet<>();
+  /*
+   * The field caches are immutable snapshots that are replaced as a whole (copy-on-write) under
+   * fieldsCacheLock, so query threads can read them without locking while ingest threads add new
+   * fields. Once every field of a metacard type is known, adding documents never takes the lock.
+   */
+  volatile Set<String> fieldsCache = ImmutableSet.of();
+
+  volatile Set<String> anyTextFieldsCache = ImmutableSet.of();
+
+  volatile Set<String> filteredAnyTextFieldsCache = ImmutableSet.of();
 
-  Set<String> anyTextFieldsCache = new HashSet<>();
+  /** Precomputed field names of the known attributes, indexed by attribute format ordinal. */
+  private volatile Map<String, AttributeFieldNames[]> attributeFieldNamesCache = ImmutableMap.of();
 
-  Set<String> filteredAnyTextFieldsCache = new HashSet<>();
+  private final Object fieldsCacheLock = new Object();
 
   private SchemaFields schemaFields;
 
+  private Cache<String, List<AttributeFieldNames>> metacardTypeFieldNamesCache =
+      CacheBuilder.newBuilder().maximumSize(4096).initialCapacity(64).build();
+
   private Cache<String, MetacardType> metacardTypesCache =
       CacheBuilder.newBuilder().maximumSize(4096).initialCapacity(64).build();
 
@@ -177,6 +190,8 @@ public class DynamicSchemaResolver implements ConfigurationListener {
 
   private Processor processor = new Processor(new Config());
 
+  private ObjectValueCodec objectValueCodec = new BinaryObjectValueCodec();
+
   public DynamicSchemaResolver(
       List<String> additionalFields, Function<TinyTree, TinyBinary> tinyBinaryFunction) {
     this(additionalFields);
@@ -188,53 +203,62 @@ public DynamicSchemaResolver(List<String> additionalFields) {
     this.tinyBinaryFunction = this::newTinyBinary;
     this.schemaFields = new SchemaFields();
     metadataMaximumBytes = getMetadataSizeLimit();
-    fieldsCache.add(Metacard.ID + SchemaFields.TEXT_SUFFIX);
-    fieldsCache.add(Metacard.ID + SchemaFields.TEXT_SUFFIX + SchemaFields.TOKENIZED);
-    fieldsCache.add(
-        Metacard.ID + SchemaFields.TEXT_SUFFIX + SchemaFields.TOKENIZED + SchemaFields.HAS_CASE);
-    fieldsCache.add(Metacard.TAGS + SchemaFields.TEXT_SUFFIX);
 
-    anyTextFieldsCache.add(Metacard.METADATA + SchemaFields.TEXT_SUFFIX);
-
-    fieldsCache.add(Validation.VALIDATION_ERRORS + SchemaFields.TEXT_SUFFIX);
-    fieldsCache.add(Validation.VALIDATION_WARNINGS + SchemaFields.TEXT_SUFFIX);
-
-    fieldsCache.add(SchemaFields.METACARD_TYPE_FIELD_NAME);
-    fieldsCache.add(SchemaFields.METACARD_TYPE_OBJECT_FIELD_NAME);
+    addToFieldsCache(
+        Arrays.asList(
+            Metacard.ID + SchemaFields.TEXT_SUFFIX,
+            Metacard.ID + SchemaFields.TEXT_SUFFIX + SchemaFields.TOKENIZED,
+            Metacard.ID + SchemaFields.TEXT_SUFFIX + SchemaFields.TOKENIZED + SchemaFields.HAS_CASE,
+            Metacard.TAGS + SchemaFields.TEXT_SUFFIX,
+            Validation.VALIDATION_ERRORS + SchemaFields.TEXT_SUFFIX,
+            Validation.VALIDATION_WARNINGS + SchemaFields.TEXT_SUFFIX,
+            SchemaFields.METACARD_TYPE_FIELD_NAME,
+            SchemaFields.METACARD_TYPE_OBJECT_FIELD_NAME),
+        Collections.singletonList(Metacard.METADATA + SchemaFields.TEXT_SUFFIX));
 
     addAdditionalFields(this, additionalFields);
-
-    filterAnyTextFieldCache();
   }
 
   public DynamicSchemaResolver() {
     this(Collections.emptyList());
   }
 
+  /**
+   * Sets the codec used to store the values of {@link AttributeFormat#OBJECT} attributes. Defaults
+   * to {@link BinaryObjectValueCodec}.
+   *
+   * @param objectValueCodec the codec to use
+   */
+  public void setObjectValueCodec(ObjectValueCodec objectValueCodec) {
+    this.objectValueCodec = objectValueCodec;
+  }
+
   public static void addAdditionalFields(
       DynamicSchemaResolver dynamicSchemaResolver, List<String> additionalFields) {
-    additionalFields
-        .stream()
-        .filter(StringUtils::isNotBlank)
-        .forEach(field -> dynamicSchemaResolver.fieldsCache.add(field));
+    dynamicSchemaResolver.addToFieldsCache(
+        additionalFields
+            .stream()
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toList()),
+        Collections.emptyList());
   }
 
   public void addAdditionalFields(List<AttributeDescriptor> additionalFields) {
-    additionalFields.stream().forEach(this::addToFieldsCache);
+    addToFieldsCache(additionalFields);
   }
 
   @SuppressWarnings("WeakerAccess" /* access needed by blueprint */)
   public void addMetacardType(MetacardType metacardType) {
-    metacardType.getAttributeDescriptors().forEach(this::addToFieldsCache);
-
-    metacardType
-        .getAttributeDescriptors()
-        .stream()
-        .filter(descriptor -> BasicTypes.STRING_TYPE.equals(descriptor.getType()))
-        .map(stringDescriptor -> stringDescriptor.getName() + SchemaFields.TEXT_SUFFIX)
-        .forEach(fieldName -> anyTextFieldsCache.add(fieldName));
-
-    filterAnyTextFieldCache();
+    addToFieldsCache(metacardType.getAttributeDescriptors());
+
+    addToFieldsCache(
+        Collections.emptyList(),
+        metacardType
+            .getAttributeDescriptors()
+            .stream()
+            .filter(descriptor -> BasicTypes.STRING_TYPE.equals(descriptor.getType()))
+            .map(stringDescriptor -> stringDescriptor.getName() + SchemaFields.TEXT_SUFFIX)
+            .collect(Collectors.toList()));
   }
 
   /**
@@ -278,72 +302,58 @@ void addFieldsFromClient(SolrClient client) throws SolrServerException, IOExcept
       return;
     }
 
+    List<String> solrFields = new ArrayList<>();
+    List<String> solrAnyTextFields = new ArrayList<>();
     for (Entry<String, ?> e : fields) {
       String key = e.getKey();
-      fieldsCache.add(key);
+      solrFields.add(key);
       if (key.endsWith(SchemaFields.TEXT_SUFFIX)) {
-        anyTextFieldsCache.add(key);
+        solrAnyTextFields.add(key);
       }
     }
 
-    filterAnyTextFieldCache();
+    addToFieldsCache(solrFields, solrAnyTextFields);
   }
 
   /** Adds the fields of the Metacard into the {@link SolrInputDocument} */
   void addFields(Metacard metacard, SolrInputDocument solrInputDocument)
       throws MetacardCreationException {
     MetacardType schema = metacard.getMetacardType();
+    String schemaName = schema.getName() + "#" + schema.hashCode();
 
-    // TODO: register these metacard types when a new one is seen
-
-    for (AttributeDescriptor ad : schema.getAttributeDescriptors()) {
-      if (metacard.getAttribute(ad.getName()) != null) {
-        List<Serializable> attributeValues = metacard.getAttribute(ad.getName()).getValues();
+    for (AttributeFieldNames fieldNames : getAttributeFieldNames(schemaName, schema)) {
+      Attribute attribute = metacard.getAttribute(fieldNames.getAttributeName());
+      if (attribute != null) {
+        List<Serializable> attributeValues = attribute.getValues();
 
         if (CollectionUtils.isNotEmpty(attributeValues) && attributeValues.get(0) != null) {
-          AttributeFormat format = ad.getType().getAttributeFormat();
-          String formatIndexName = ad.getName() + getFieldSuffix(format);
+          AttributeFormat format = fieldNames.getFormat();
+          String formatIndexName = fieldNames.getIndexField();
 
           if (AttributeFormat.XML.equals(format)
-              && solrInputDocument.getFieldValue(
-                      formatIndexName + getSpecialIndexSuffix(AttributeFormat.STRING))
-                  == null) {
+              && solrInputDocument.getFieldValue(fieldNames.getIndexTokenizedField()) == null) {
             List<String> parsedTexts = parseTextFrom(attributeValues);
 
             // parsedTexts => *_txt_tokenized
-            String specialStringIndexName =
-                ad.getName()
-                    + getFieldSuffix(AttributeFormat.STRING)
-                    + getSpecialIndexSuffix(AttributeFormat.STRING);
-            solrInputDocument.addField(specialStringIndexName, parsedTexts);
+            solrInputDocument.addField(fieldNames.getTextTokenizedField(), parsedTexts);
           } else if (AttributeFormat.STRING.equals(format)
-              && solrInputDocument.getFieldValue(
-                      ad.getName() + getFieldSuffix(AttributeFormat.STRING))
-                  == null) {
+              && solrInputDocument.getFieldValue(fieldNames.getTextField()) == null) {
             List<Serializable> truncatedValues =
                 attributeValues
                     .stream()
                     .map(value -> value != null ? truncateAsUTF8(value.toString()) : value)
                     .collect(Collectors.toList());
             // *_txt
-            solrInputDocument.addField(
-                ad.getName() + getFieldSuffix(AttributeFormat.STRING), truncatedValues);
+            solrInputDocument.addField(fieldNames.getTextField(), truncatedValues);
 
             // *_txt_tokenized
-            solrInputDocument.addField(
-                ad.getName()
-                    + getFieldSuffix(AttributeFormat.STRING)
-                    + getSpecialIndexSuffix(AttributeFormat.STRING),
-                attributeValues);
+            solrInputDocument.addField(fieldNames.getTextTokenizedField(), attributeValues);
           } else if (AttributeFormat.OBJECT.equals(format)) {
-            ByteArrayOutputStream byteArrayOS = new ByteArrayOutputStream();
-            List<Serializable> byteArrays = new ArrayList<>();
+            List<Serializable> byteArrays = new ArrayList<>(attributeValues.size());
 
-            try (ObjectOutputStream out = new ObjectOutputStream(byteArrayOS)) {
+            try {
               for (Serializable serializable : attributeValues) {
-                out.writeObject(serializable);
-                byteArrays.add(byteArrayOS.toByteArray());
-                out.reset();
+                byteArrays.add(objectValueCodec.encode(serializable));
               }
             } catch (IOException e) {
               throw new MetacardCreationException(COULD_NOT_SERIALIZE_OBJECT_MESSAGE, e);
@@ -353,10 +363,9 @@ void addFields(Metacard metacard, SolrInputDocument solrInputDocument)
           }
 
           if (AttributeFormat.GEOMETRY.equals(format)
-              && solrInputDocument.getFieldValue(formatIndexName + SchemaFields.SORT_SUFFIX)
-                  == null) {
+              && solrInputDocument.getFieldValue(fieldNames.getSortField()) == null) {
             solrInputDocument.addField(
-                formatIndexName + SchemaFields.SORT_SUFFIX, createCenterPoint(attributeValues));
+                fieldNames.getSortField(), createCenterPoint(attributeValues));
           }
 
           // Prevent adding a field already on document
@@ -392,7 +401,6 @@ void addFields(Metacard metacard, SolrInputDocument solrInputDocument)
     /*
      * Lastly the metacardType must be added to the solr document. These are internal fields
      */
-    String schemaName = String.format("%s#%s", schema.getName(), schema.hashCode());
     solrInputDocument.addField(SchemaFields.METACARD_TYPE_FIELD_NAME, schemaName);
     byte[] metacardTypeBytes = metacardTypeNameToSerialCache.getIfPresent(schemaName);
 
@@ -405,13 +413,32 @@ void addFields(Metacard metacard, SolrInputDocument solrInputDocument)
 
       metacardTypeBytes = serialize(coreMetacardType);
       metacardTypeNameToSerialCache.put(schemaName, metacardTypeBytes);
-
-      addToFieldsCache(coreMetacardType.getAttributeDescriptors());
     }
 
     solrInputDocument.addField(SchemaFields.METACARD_TYPE_OBJECT_FIELD_NAME, metacardTypeBytes);
   }
 
+  /**
+   * Returns the precomputed field names of the attributes of a metacard type, computing and
+   * registering them in the field caches the first time the type is seen.
+   */
+  private List<AttributeFieldNames> getAttributeFieldNames(String schemaName, MetacardType schema) {
+    List<AttributeFieldNames> fieldNames = metacardTypeFieldNamesCache.getIfPresent(schemaName);
+
+    if (fieldNames == null) {
+      fieldNames =
+          schema
+              .getAttributeDescriptors()
+              .stream()
+              .map(this::newAttributeFieldNames)
+              .collect(Collectors.toList());
+      addAttributeFieldNamesToCache(fieldNames);
+      metacardTypeFieldNamesCache.put(schemaName, fieldNames);
+    }
+
+    return fieldNames;
+  }
+
   /*
    * Truncation that takes multibyte UTF-8 characters and surrogate pairs into consideration.
    * https://stackoverflow.com/questions/119328/how-do-i-truncate-a-java-string-to-fit-in-a-given-number-of-bytes-once-utf-8-en
@@ -526,8 +553,6 @@ List<Serializable> getDocValues(String solrFieldName, Collection<Object> docValu
     return values;
   }
 
-  @SuppressWarnings(
-      "squid:S2093" /* try-with-resource will throw IOException with InputStream and we do not care to get that exception */)
   private Serializable getDocValue(String solrFieldName, Object docValue) {
 
     AttributeFormat format = getType(solrFieldName);
@@ -540,22 +565,10 @@ private Serializable getDocValue(String solrFieldName, Object docValue) {
        */
       return Short.parseShort(docValue.toString());
     } else if (AttributeFormat.OBJECT.equals(format)) {
-
-      ByteArrayInputStream bais = null;
-      ObjectInputStream in = null;
-
       try {
-        bais = new ByteArrayInputStream((byte[]) docValue);
-        in = new ObjectInputStream(bais);
-        return (Serializable) in.readObject();
+        return objectValueCodec.decode((byte[]) docValue);
       } catch (IOException e) {
         LOGGER.info("IO exception loading input document", e);
-      } catch (ClassNotFoundException e) {
-        LOGGER.info("Could not create object to return.", e);
-        // TODO which exception to throw?
-      } finally {
-        IOUtils.closeQuietly(bais);
-        IOUtils.closeQuietly(in);
       }
 
       return null;
@@ -628,6 +641,17 @@ String getField(
       return Metacard.GEOGRAPHY + "_geo_index";
     }
 
+    AttributeFieldNames[] fieldNamesByFormat = attributeFieldNamesCache.get(propertyName);
+    if (fieldNamesByFormat != null && fieldNamesByFormat[format.ordinal()] != null) {
+      AttributeFieldNames fieldNames = fieldNamesByFormat[format.ordinal()];
+      if (isSearchedAsExactValue) {
+        return fieldNames.getIndexField();
+      }
+      return AttributeFormat.STRING.equals(format) && isPhoneticsEnabled(enabledFeatures)
+          ? fieldNames.getPhoneticsField()
+          : fieldNames.getSpecialIndexField();
+    }
+
     final String fieldSuffix = getFieldSuffix(format);
     String fieldName =
         propertyName
@@ -729,64 +753,110 @@ private boolean isPhoneticsEnabled(Map<String, Serializable> enabledFeatures) {
     return phoneticsEnabled;
   }
 
-  private void addToFieldsCache(Set<AttributeDescriptor> descriptors) {
-    for (AttributeDescriptor ad : descriptors) {
-      addToFieldsCache(ad);
-    }
+  private void addToFieldsCache(Collection<AttributeDescriptor> descriptors) {
+    addAttributeFieldNamesToCache(
+        descriptors.stream().map(this::newAttributeFieldNames).collect(Collectors.toList()));
   }
 
-  private void addToFieldsCache(AttributeDescriptor descriptor) {
-
+  private AttributeFieldNames newAttributeFieldNames(AttributeDescriptor descriptor) {
     AttributeFormat format = descriptor.getType().getAttributeFormat();
+    return new AttributeFieldNames(
+        descriptor.getName(),
+        format,
+        schemaFields.getFieldSuffix(format),
+        getSpecialIndexSuffix(format));
+  }
 
-    fieldsCache.add(descriptor.getName() + schemaFields.getFieldSuffix(format));
+  private void addAttributeFieldNamesToCache(Collection<AttributeFieldNames> fieldNamesList) {
+    if (fieldNamesList.stream().allMatch(this::isInFieldsCache)) {
+      return;
+    }
+
+    synchronized (fieldsCacheLock) {
+      Map<String, AttributeFieldNames[]> newAttributeFieldNames =
+          new HashMap<>(attributeFieldNamesCache);
+      List<String> fields = new ArrayList<>();
+      List<String> anyTextFields = new ArrayList<>();
+
+      for (AttributeFieldNames fieldNames : fieldNamesList) {
+        AttributeFieldNames[] fieldNamesByFormat =
+            newAttributeFieldNames.get(fieldNames.getAttributeName());
+        fieldNamesByFormat =
+            fieldNamesByFormat == null
+                ? new AttributeFieldNames[AttributeFormat.values().length]
+                : fieldNamesByFormat.clone();
+        fieldNamesByFormat[fieldNames.getFormat().ordinal()] = fieldNames;
+        newAttributeFieldNames.put(fieldNames.getAttributeName(), fieldNamesByFormat);
+
+        fields.addAll(fieldNames.getSchemaFields());
+        if (AttributeFormat.STRING.equals(fieldNames.getFormat())) {
+          anyTextFields.add(fieldNames.getTextField());
+        }
+      }
 
-    if (!getSpecialIndexSuffix(format).equals("")) {
-      fieldsCache.add(
-          descriptor.getName()
-              + schemaFields.getFieldSuffix(format)
-              + getSpecialIndexSuffix(format));
+      addToFieldsCache(fields, anyTextFields);
+      attributeFieldNamesCache = ImmutableMap.copyOf(newAttributeFieldNames);
     }
+  }
 
-    if (format.equals(AttributeFormat.STRING)) {
-      fieldsCache.add(
-          descriptor.getName()
-              + schemaFields.getFieldSuffix(format)
-              + getSpecialIndexSuffix(format)
-              + SchemaFields.HAS_CASE);
-      fieldsCache.add(
-          descriptor.getName() + schemaFields.getFieldSuffix(format) + SchemaFields.PHONETICS);
-      anyTextFieldsCache.add(descriptor.getName() + schemaFields.getFieldSuffix(format));
-      filterAnyTextFieldCache();
+  private boolean isInFieldsCache(AttributeFieldNames fieldNames) {
+    AttributeFieldNames[] fieldNamesByFormat =
+        attributeFieldNamesCache.get(fieldNames.getAttributeName());
+    return fieldNamesByFormat != null
+        && fieldNamesByFormat[fieldNames.getFormat().ordinal()] != null;
+  }
+
+  /**
+   * Adds Solr field names to the field caches. New snapshots of the caches are only published when
+   * one of the fields is new, and the any text fields are only filtered again when one of the any
+   * text fields is new.
+   */
+  void addToFieldsCache(Collection<String> fields, Collection<String> anyTextFields) {
+    Set<String> currentFields = fieldsCache;
+    Set<String> currentAnyTextFields = anyTextFieldsCache;
+    if (currentFields.containsAll(fields) && currentAnyTextFields.containsAll(anyTextFields)) {
+      return;
     }
 
-    if (format.equals(AttributeFormat.XML)) {
-      fieldsCache.add(descriptor.getName() + SchemaFields.TEXT_SUFFIX + SchemaFields.TOKENIZED);
-      fieldsCache.add(
-          descriptor.getName()
-              + SchemaFields.TEXT_SUFFIX
-              + SchemaFields.TOKENIZED
-              + SchemaFields.HAS_CASE);
-      fieldsCache.add(
-          descriptor.getName()
-              + schemaFields.getFieldSuffix(format)
-              + getSpecialIndexSuffix(format));
+    synchronized (fieldsCacheLock) {
+      if (!fieldsCache.containsAll(fields)) {
+        fieldsCache = ImmutableSet.<String>builder().addAll(fieldsCache).addAll(fields).build();
+      }
+
+      if (!anyTextFieldsCache.containsAll(anyTextFields)) {
+        anyTextFieldsCache =
+            ImmutableSet.<String>builder().addAll(anyTextFieldsCache).addAll(anyTextFields).build();
+        filterAnyTextFieldCache();
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void removeFromAnyTextFieldsCache(Collection<String> anyTextFields) {
+    synchronized (fieldsCacheLock) {
+      Set<String> newAnyTextFields = new HashSet<>(anyTextFieldsCache);
+      newAnyTextFields.removeAll(anyTextFields);
+      anyTextFieldsCache = ImmutableSet.copyOf(newAnyTextFields);
+      filterAnyTextFieldCache();
     }
   }
 
   @Override
   public void configurationUpdated() {
-    filterAnyTextFieldCache();
+    synchronized (fieldsCacheLock) {
+      filterAnyTextFieldCache();
+    }
   }
 
   private void filterAnyTextFieldCache() {
+    Set<String> anyTextFields = anyTextFieldsCache;
     Set<String> filteredList = new HashSet<>();
 
     ConfigurationStore config = ConfigurationStore.getInstance();
     List<String> anyTextFieldWhitelist = config.getAnyTextFieldWhitelist();
     List<String> anyTextFieldBlacklist = config.getAnyTextFieldBlacklist();
     if (!anyTextFieldBlacklist.isEmpty()) {
-      filteredList.addAll(anyTextFieldsCache);
+      filteredList.addAll(anyTextFields);
       for (String blacklistField : anyTextFieldBlacklist) {
         String blacklist;
         if (!blacklistField.endsWith(SchemaFields.TEXT_SUFFIX)) {
@@ -795,7 +865,7 @@ private void filterAnyTextFieldCache() {
           blacklist = blacklistField;
         }
         filteredList.removeAll(
-            anyTextFieldsCache
+            anyTextFields
                 .stream()
                 .filter(field -> field.matches(blacklist))
                 .collect(Collectors.toList()));
@@ -811,7 +881,7 @@ private void filterAnyTextFieldCache() {
           whitelist = whitelistField;
         }
         filteredList.addAll(
-            anyTextFieldsCache
+            anyTextFields
                 .stream()
                 .filter(field -> field.matches(whitelist))
                 .collect(Collectors.toList()));
@@ -819,10 +889,10 @@ private void filterAnyTextFieldCache() {
     }
 
     if (anyTextFieldBlacklist.isEmpty() && anyTextFieldWhitelist.isEmpty()) {
-      filteredList.addAll(anyTextFieldsCache);
+      filteredList.addAll(anyTextFields);
     }
 
-    filteredAnyTextFieldsCache = filteredList;
+    filteredAnyTextFieldsCache = ImmutableSet.copyOf(filteredList);
   }
 
   private byte[] serialize(MetacardType anywhereMType) throws MetacardCreationException {
@@ -979,4 +1049,98 @@ static Integer getMetadataSizeLimit() {
     }
     return FIVE_MEGABYTES;
   }
+
+  /** The Solr field names of an attribute, computed once per attribute name and format. */
+  private static final class AttributeFieldNames {
+
+    private final String attributeName;
+
+    private final AttributeFormat format;
+
+    private final String indexField;
+
+    private final String indexTokenizedField;
+
+    private final String specialIndexField;
+
+    private final String textField;
+
+    private final String textTokenizedField;
+
+    private final String phoneticsField;
+
+    private final String sortField;
+
+    private final List<String> schemaFields;
+
+    AttributeFieldNames(
+        String attributeName, AttributeFormat format, String suffix, String specialSuffix) {
+      this.attributeName = attributeName;
+      this.format = format;
+      this.indexField = attributeName + suffix;
+      this.indexTokenizedField = indexField + SchemaFields.TOKENIZED;
+      this.specialIndexField = indexField + specialSuffix;
+      this.textField = attributeName + SchemaFields.TEXT_SUFFIX;
+      this.textTokenizedField = textField + SchemaFields.TOKENIZED;
+      this.phoneticsField = indexField + SchemaFields.PHONETICS;
+      this.sortField = indexField + SchemaFields.SORT_SUFFIX;
+
+      List<String> fields = new ArrayList<>();
+      fields.add(indexField);
+      if (!specialSuffix.isEmpty()) {
+        fields.add(specialIndexField);
+      }
+      if (AttributeFormat.STRING.equals(format)) {
+        fields.add(specialIndexField + SchemaFields.HAS_CASE);
+        fields.add(phoneticsField);
+      }
+      if (AttributeFormat.XML.equals(format)) {
+        fields.add(textTokenizedField);
+        fields.add(textTokenizedField + SchemaFields.HAS_CASE);
+      }
+      this.schemaFields = Collections.unmodifiableList(fields);
+    }
+
+    String getAttributeName() {
+      return attributeName;
+    }
+
+    AttributeFormat getFormat() {
+      return format;
+    }
+
+    /** Returns the {@code name_suffix} field the attribute values are stored in. */
+    String getIndexField() {
+      return indexField;
+    }
+
+    String getIndexTokenizedField() {
+      return indexTokenizedField;
+    }
+
+    String getSpecialIndexField() {
+      return specialIndexField;
+    }
+
+    String getTextField() {
+      return textField;
+    }
+
+    String getTextTokenizedField() {
+      return textTokenizedField;
+    }
+
+    String getPhoneticsField() {
+      return phoneticsField;
+    }
+
+    String getSortField() {
+      return sortField;
+    }
+
+    /** Returns the Solr fields that exist in the schema for the attribute. */
+    List<String> getSchemaFields() {
+      return schemaFields;
+    }
+  }
 }
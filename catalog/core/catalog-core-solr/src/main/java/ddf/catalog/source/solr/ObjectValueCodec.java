@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Converts the values of {@link ddf.catalog.data.AttributeType.AttributeFormat#OBJECT} attributes
+ * to and from the bytes stored in the Solr index.
+ */
+public interface ObjectValueCodec {
+
+  /**
+   * Encodes a value into the bytes to store in the index.
+   *
+   * @param value the attribute value, never {@code null}
+   * @return the encoded value
+   * @throws IOException if the value cannot be encoded
+   */
+  byte[] encode(Serializable value) throws IOException;
+
+  /**
+   * Decodes bytes read from the index. Implementations must be able to decode every format they
+   * have ever written so that existing indexes remain readable.
+   *
+   * @param bytes the bytes stored in the index
+   * @return the decoded attribute value
+   * @throws IOException if the bytes cannot be decoded
+   */
+  Serializable decode(byte[] bytes) throws IOException;
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.codice.solr.client.solrj.SolrClient;
+
+/**
+ * Coalesces the soft commits of concurrent writers that need their changes to be searchable. A
+ * writer calls {@link #commit()} once its changes have been sent. The writers that call it while a
+ * commit is pending join that commit, and at most one soft commit is sent per commit window. Every
+ * writer returns once a soft commit that was sent after its call has completed, so its changes are
+ * searchable.
+ */
+class SoftCommitCoordinator {
+
+  private final SolrClient client;
+
+  private final long windowNanos;
+
+  /** Held while a commit is being sent, so that only one commit is sent at a time. */
+  private final Object commitLock = new Object();
+
+  /** Earliest time the next commit is sent at, guarded by {@link #commitLock}. */
+  private long nextCommitNanos;
+
+  /** Commit that writers can still join, guarded by {@code this}. */
+  private CompletableFuture<Void> pendingCommit;
+
+  /**
+   * @param client the client to send the soft commits with
+   * @param windowMillis the minimum time between two soft commits, in milliseconds
+   */
+  SoftCommitCoordinator(SolrClient client, long windowMillis) {
+    this.client = client;
+    this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMillis, 0));
+    this.nextCommitNanos = System.nanoTime();
+  }
+
+  /**
+   * Blocks until the changes sent before this call are searchable.
+   *
+   * @throws IOException if the soft commit failed because of a low-level I/O error
+   * @throws SolrServerException if the soft commit failed on the server
+   */
+  void commit() throws IOException, SolrServerException {
+    CompletableFuture<Void> commit;
+    boolean sendCommit = false;
+    synchronized (this) {
+      if (pendingCommit == null) {
+        pendingCommit = new CompletableFuture<>();
+        sendCommit = true;
+      }
+      commit = pendingCommit;
+    }
+
+    if (sendCommit) {
+      send(commit);
+    }
+
+    try {
+      commit.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof SolrServerException) {
+        throw (SolrServerException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new SolrServerException(cause);
+    }
+  }
+
+  private void send(CompletableFuture<Void> commit) {
+    synchronized (commitLock) {
+      waitForWindow();
+
+      // writers that call commit() from now on could miss this commit, so they start a new one
+      synchronized (this) {
+        pendingCommit = null;
+      }
+
+      nextCommitNanos = System.nanoTime() + windowNanos;
+      try {
+        client.commit(/* waitFlush */ true, /* waitSearcher */ true, /* softCommit */ true);
+        commit.complete(null);
+      } catch (IOException | SolrServerException | RuntimeException e) {
+        commit.completeExceptionally(e);
+      }
+    }
+  }
+
+  private void waitForWindow() {
+    long waitNanos = nextCommitNanos - System.nanoTime();
+    if (waitNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -504,6 +504,7 @@ public boolean isForcedAutoCommit() {
 
   public void shutdown() {
     LOGGER.debug("Closing down Solr client.");
+    client.shutdown();
     try {
       solr.close();
     } catch (IOException e) {
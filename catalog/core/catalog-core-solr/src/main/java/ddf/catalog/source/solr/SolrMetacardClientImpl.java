@@ -55,16 +55,27 @@
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
@@ -72,7 +83,6 @@
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrRequest.METHOD;
 import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.PivotField;
 import org.apache.solr.client.solrj.response.QueryResponse;
@@ -83,6 +93,8 @@
 import org.apache.solr.common.SolrException;
 import org.apache.solr.common.SolrInputDocument;
 import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
 import org.codice.solr.client.solrj.SolrClient;
 import org.opengis.filter.sort.SortBy;
 import org.opengis.filter.sort.SortOrder;
@@ -99,6 +111,8 @@ public class SolrMetacardClientImpl implements SolrMetacardClient {
 
   private static final String GEOMETRY_FIELD = Metacard.GEOGRAPHY + SchemaFields.GEO_SUFFIX;
 
+  private static final String ID_FIELD = Metacard.ID + SchemaFields.TEXT_SUFFIX;
+
   private static final Logger LOGGER = LoggerFactory.getLogger(SolrMetacardClientImpl.class);
 
   private static final String QUOTE = "\"";
@@ -147,6 +161,22 @@ public class SolrMetacardClientImpl implements SolrMetacardClient {
   private final int commitNrtCommitWithinMs =
       Math.max(NumberUtils.toInt(accessProperty(SOLR_COMMIT_NRT_COMMITWITHINMS, "1000")), 0);
 
+  private static final String SOLR_COMMIT_SOFT_COMMIT_WINDOW_MS = "solr.commit.softCommitWindowMs";
+
+  private static final String SOLR_GET_BY_ID_CONCURRENCY = "solr.getById.maxConcurrentRequests";
+
+  /** Maximum number of {@link #GET_BY_ID_LIMIT} id pages fetched at once by {@link #getIds}. */
+  private static final int GET_BY_ID_CONCURRENCY =
+      Math.max(NumberUtils.toInt(accessProperty(SOLR_GET_BY_ID_CONCURRENCY, "4")), 1);
+
+  private final SoftCommitCoordinator softCommitCoordinator;
+
+  /**
+   * Fetches the pages of {@link #getIds} after the first one, its threads stop once they have been
+   * idle a minute.
+   */
+  private final ExecutorService getByIdExecutor = createGetByIdExecutor();
+
   public SolrMetacardClientImpl(
       SolrClient client,
       FilterAdapter catalogFilterAdapter,
@@ -156,12 +186,20 @@ public SolrMetacardClientImpl(
     filterDelegateFactory = solrFilterDelegateFactory;
     filterAdapter = catalogFilterAdapter;
     resolver = dynamicSchemaResolver;
+    softCommitCoordinator =
+        new SoftCommitCoordinator(
+            client, NumberUtils.toLong(accessProperty(SOLR_COMMIT_SOFT_COMMIT_WINDOW_MS, "50")));
   }
 
   public SolrClient getClient() {
     return client;
   }
 
+  /** Stops the threads that fetch the pages of {@link #getIds}. */
+  public void shutdown() {
+    getByIdExecutor.shutdownNow();
+  }
+
   @Override
   public SourceResponse query(QueryRequest request) throws UnsupportedQueryException {
     if (request == null || request.getQuery() == null) {
@@ -253,6 +291,7 @@ public SourceResponse query(QueryRequest request) throws UnsupportedQueryExcepti
       }
 
       SolrDocumentList docs = solrResponse.getResults();
+      String nextCursorMark = solrResponse.getNextCursorMark();
       int originalQueryResultsSize = 0;
       if (docs != null) {
         originalQueryResultsSize = docs.size();
@@ -268,6 +307,7 @@ public SourceResponse query(QueryRequest request) throws UnsupportedQueryExcepti
           if (docs != null && docs.size() > originalQueryResultsSize) {
             results = new ArrayList<>();
             totalHits = docs.getNumFound();
+            nextCursorMark = solrResponseRequery.getNextCursorMark();
             addDocsToResults(docs, results);
 
             Set<String> originals = new HashSet<>();
@@ -286,6 +326,10 @@ public SourceResponse query(QueryRequest request) throws UnsupportedQueryExcepti
         }
       }
 
+      if (nextCursorMark != null) {
+        responseProps.put(ddf.catalog.operation.QueryResponse.NEXT_CURSOR, nextCursorMark);
+      }
+
       if (isFacetedQuery) {
         List<FacetField> facetFields = solrResponse.getFacetFields();
         if (CollectionUtils.isNotEmpty(facetFields)) {
@@ -379,21 +423,87 @@ public List<Metacard> query(String queryString) throws UnsupportedQueryException
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The ids are fetched in pages of {@link #GET_BY_ID_LIMIT}. The first page is fetched on the
+   * calling thread, while up to {@link #GET_BY_ID_CONCURRENCY} of the following pages are fetched
+   * concurrently by a pool and turned into metacards after the pages before them. The metacards
+   * are returned in the order of their pages.
+   */
   @Override
   public List<Metacard> getIds(Set<String> ids) throws UnsupportedQueryException {
     List<Metacard> metacards = new ArrayList<>(ids.size());
     List<List<String>> partitions = Lists.partition(new ArrayList<>(ids), GET_BY_ID_LIMIT);
-    for (List<String> partition : partitions) {
+    if (partitions.size() == 1) {
       try {
-        SolrDocumentList page = client.getById(partition);
-        metacards.addAll(createMetacards(page));
+        return createMetacards(client.getById(partitions.get(0)));
       } catch (SolrServerException | SolrException | IOException e) {
         throw new UnsupportedQueryException("Could not complete solr query.", e);
       }
     }
+
+    Deque<Future<SolrDocumentList>> pages = new ArrayDeque<>(GET_BY_ID_CONCURRENCY);
+    Iterator<List<String>> partitionIterator = partitions.iterator();
+    List<String> firstPartition = partitionIterator.next();
+    try {
+      submitPages(pages, partitionIterator);
+      try {
+        metacards.addAll(createMetacards(client.getById(firstPartition)));
+      } catch (SolrServerException | SolrException | IOException e) {
+        throw new UnsupportedQueryException("Could not complete solr query.", e);
+      }
+
+      while (!pages.isEmpty()) {
+        metacards.addAll(createMetacards(getPage(pages.remove())));
+        submitPages(pages, partitionIterator);
+      }
+    } finally {
+      pages.forEach(page -> page.cancel(true));
+    }
     return metacards;
   }
 
+  private void submitPages(
+      Deque<Future<SolrDocumentList>> pages, Iterator<List<String>> partitionIterator) {
+    while (partitionIterator.hasNext() && pages.size() < GET_BY_ID_CONCURRENCY) {
+      List<String> partition = partitionIterator.next();
+      FutureTask<SolrDocumentList> page = new FutureTask<>(() -> client.getById(partition));
+      try {
+        getByIdExecutor.execute(page);
+      } catch (RejectedExecutionException e) {
+        LOGGER.debug("Fetching solr page on the calling thread after shutdown.", e);
+        page.run();
+      }
+      pages.add(page);
+    }
+  }
+
+  private SolrDocumentList getPage(Future<SolrDocumentList> page)
+      throws UnsupportedQueryException {
+    try {
+      return page.get();
+    } catch (ExecutionException e) {
+      throw new UnsupportedQueryException("Could not complete solr query.", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UnsupportedQueryException("Interrupted while completing solr query.", e);
+    }
+  }
+
+  private static ExecutorService createGetByIdExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            GET_BY_ID_CONCURRENCY,
+            GET_BY_ID_CONCURRENCY,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            StandardThreadFactoryBuilder.newThreadFactory("solrGetByIdThread"));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   private List<Metacard> createMetacards(SolrDocumentList docs) throws UnsupportedQueryException {
     List<Metacard> results = new ArrayList<>(docs.size());
     for (SolrDocument doc : docs) {
@@ -587,11 +697,35 @@ protected SolrQuery postAdapt(
 
     setSortProperty(request, query, filterDelegate);
 
+    setCursorMark(request, query);
+
     filterAttributes(request, query);
 
     return query;
   }
 
+  private void setCursorMark(QueryRequest request, SolrQuery query) {
+    Serializable cursor = request.getPropertyValue(QueryRequest.CURSOR);
+    if (!(cursor instanceof String)) {
+      return;
+    }
+
+    // Solr requires cursor queries to start at 0 and to be sorted on the unique key
+    query.setStart(0);
+    if (query.getSorts().isEmpty()) {
+      query.addSort(RELEVANCE_SORT_FIELD, SolrQuery.ORDER.desc);
+    }
+    if (query.getSorts().stream().noneMatch(sort -> ID_FIELD.equals(sort.getItem()))) {
+      query.addSort(ID_FIELD, SolrQuery.ORDER.asc);
+    }
+
+    query.set(
+        CursorMarkParams.CURSOR_MARK_PARAM,
+        QueryRequest.CURSOR_START.equals(cursor)
+            ? CursorMarkParams.CURSOR_MARK_START
+            : (String) cursor);
+  }
+
   private void filterAttributes(QueryRequest request, SolrQuery query) {
     if (skipFilteredAttributes(request)) {
       return;
@@ -805,7 +939,8 @@ public List<SolrInputDocument> add(List<Metacard> metacards, boolean forceAutoCo
         client.add(docs);
       }
     } else {
-      softCommit(docs);
+      client.add(docs);
+      softCommitCoordinator.commit();
     }
 
     return docs;
@@ -852,7 +987,7 @@ public void deleteByIds(
     }
 
     if (forceCommit) {
-      client.commit();
+      softCommitCoordinator.commit();
     }
   }
 
@@ -880,16 +1015,4 @@ private static String accessProperty(String key, String defaultValue) {
     LOGGER.debug("Read system property [{}] with value [{}]", key, value);
     return value;
   }
-
-  private org.apache.solr.client.solrj.response.UpdateResponse softCommit(
-      List<SolrInputDocument> docs) throws SolrServerException, IOException {
-    return new org.apache.solr.client.solrj.request.UpdateRequest()
-        .add(docs)
-        .setAction(
-            AbstractUpdateRequest.ACTION.COMMIT,
-            /* waitForFlush */ true,
-            /* waitToMakeVisible */ true,
-            /* softCommit */ true)
-        .process(client.getClient());
-  }
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import org.junit.Test;
+
+public class BinaryObjectValueCodecTest {
+
+  private final BinaryObjectValueCodec codec = new BinaryObjectValueCodec();
+
+  @Test
+  public void testRoundTripCommonTypes() throws Exception {
+    for (Serializable value :
+        Arrays.<Serializable>asList(
+            "a string", true, (short) 3, 42, 42L, 1.5f, 2.5d, new Date(1234567890L))) {
+      assertThat(codec.decode(codec.encode(value)), is(value));
+    }
+  }
+
+  @Test
+  public void testRoundTripBinary() throws Exception {
+    byte[] value = new byte[] {1, 2, 3};
+    assertThat(codec.decode(codec.encode(value)), is(value));
+  }
+
+  @Test
+  public void testRoundTripOtherSerializable() throws Exception {
+    ArrayList<String> value = new ArrayList<>(Arrays.asList("one", "two"));
+    assertThat(codec.decode(codec.encode(value)), is(value));
+  }
+
+  @Test
+  public void testDecodeLegacyJavaSerialization() throws Exception {
+    Date value = new Date(1234567890L);
+    assertThat(codec.decode(javaSerialize(value)), is(value));
+  }
+
+  @Test
+  public void testEncodingSmallerThanJavaSerialization() throws Exception {
+    Date value = new Date();
+    assertThat(codec.encode(value).length, lessThan(javaSerialize(value).length));
+  }
+
+  @Test(expected = IOException.class)
+  public void testDecodeUnknownVersion() throws Exception {
+    codec.decode(new byte[] {99, 1});
+  }
+
+  private byte[] javaSerialize(Serializable value) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(value);
+    }
+    return bytes.toByteArray();
+  }
+}
@@ -25,6 +25,7 @@
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
@@ -43,6 +44,7 @@
 import ddf.catalog.data.impl.AttributeImpl;
 import ddf.catalog.data.impl.BasicTypes;
 import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.data.impl.MetacardTypeImpl;
 import ddf.catalog.data.impl.types.CoreAttributes;
 import ddf.catalog.source.solr.json.MetacardTypeMapperFactory;
 import java.io.IOException;
@@ -293,6 +295,32 @@ public void testAdditionalFieldConstructor() {
     assertThat(resolver.fieldsCache, hasItem(anotherExtraField));
   }
 
+  @Test
+  public void testAddKnownMetacardTypeKeepsFieldsCache() {
+    DynamicSchemaResolver resolver = new DynamicSchemaResolver(Collections.emptyList());
+    MetacardType metacardType =
+        new MetacardTypeImpl(
+            "knownType",
+            Collections.singleton(
+                new AttributeDescriptorImpl(
+                    "known", true, true, false, false, BasicTypes.STRING_TYPE)));
+
+    resolver.addMetacardType(metacardType);
+    Set<String> fieldsCache = resolver.fieldsCache;
+    Set<String> anyTextFieldsCache = resolver.anyTextFieldsCache;
+    resolver.addMetacardType(metacardType);
+
+    assertThat(resolver.fieldsCache, is(sameInstance(fieldsCache)));
+    assertThat(resolver.anyTextFieldsCache, is(sameInstance(anyTextFieldsCache)));
+    assertThat(resolver.anyTextFieldsCache, hasItem("known_txt"));
+    assertThat(
+        resolver.getField("known", AttributeFormat.STRING, false, Collections.emptyMap()),
+        is("known_txt_tokenized"));
+    assertThat(
+        resolver.getField("known", AttributeFormat.STRING, true, Collections.emptyMap()),
+        is("known_txt"));
+  }
+
   private MetacardType deserializeMetacardType(byte[] serializedMetacardType) throws IOException {
     return METACARD_TYPE_MAPPER.readValue(serializedMetacardType, MetacardType.class);
   }
@@ -369,7 +397,7 @@ public void testAnyTextWhitelist() {
     ConfigurationStore config = ConfigurationStore.getInstance();
     List<String> resultList = new ArrayList<>();
     List<String> addedFields = Arrays.asList("one_txt", "example.one_txt", "example.two_txt");
-    addedFields.stream().forEach(field -> dynamicSchemaResolver.anyTextFieldsCache.add(field));
+    dynamicSchemaResolver.addToFieldsCache(Collections.emptyList(), addedFields);
 
     config.setAnyTextFieldWhitelist(Arrays.asList("one"));
 
@@ -386,7 +414,7 @@ public void testAnyTextWhitelist() {
     assertThat(resultList, containsInAnyOrder("one_txt", "example.one_txt", "example.two_txt"));
 
     config.setAnyTextFieldWhitelist(new ArrayList<>());
-    addedFields.stream().forEach(field -> dynamicSchemaResolver.anyTextFieldsCache.remove(field));
+    dynamicSchemaResolver.removeFromAnyTextFieldsCache(addedFields);
   }
 
   @Test
@@ -394,7 +422,7 @@ public void testAnyTextBlacklist() {
     ConfigurationStore config = ConfigurationStore.getInstance();
     List<String> resultList = new ArrayList<>();
     List<String> addedFields = Arrays.asList("one_txt", "example.one_txt", "example.two_txt");
-    addedFields.stream().forEach(field -> dynamicSchemaResolver.anyTextFieldsCache.add(field));
+    dynamicSchemaResolver.addToFieldsCache(Collections.emptyList(), addedFields);
 
     config.setAnyTextFieldBlacklist(Arrays.asList("one"));
 
@@ -409,7 +437,7 @@ public void testAnyTextBlacklist() {
     assertThat(resultList, not(hasItems("one_txt", "example.one_txt", "example.two_txt")));
 
     config.setAnyTextFieldBlacklist(new ArrayList<>());
-    addedFields.stream().forEach(field -> dynamicSchemaResolver.anyTextFieldsCache.remove(field));
+    dynamicSchemaResolver.removeFromAnyTextFieldsCache(addedFields);
   }
 
   @Test
@@ -417,7 +445,7 @@ public void testAnyTextBlacklistAndWhitelist() {
     ConfigurationStore config = ConfigurationStore.getInstance();
     List<String> resultList = new ArrayList<>();
     List<String> addedFields = Arrays.asList("one_txt", "example.one_txt", "example.two_txt");
-    addedFields.stream().forEach(field -> dynamicSchemaResolver.anyTextFieldsCache.add(field));
+    dynamicSchemaResolver.addToFieldsCache(Collections.emptyList(), addedFields);
 
     config.setAnyTextFieldBlacklist(Arrays.asList("example.*"));
 
@@ -434,6 +462,6 @@ public void testAnyTextBlacklistAndWhitelist() {
 
     config.setAnyTextFieldWhitelist(new ArrayList<>());
     config.setAnyTextFieldBlacklist(new ArrayList<>());
-    addedFields.stream().forEach(field -> dynamicSchemaResolver.anyTextFieldsCache.remove(field));
+    dynamicSchemaResolver.removeFromAnyTextFieldsCache(addedFields);
   }
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.source.solr;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.codice.solr.client.solrj.SolrClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SoftCommitCoordinatorTest {
+
+  private static final int WRITERS = 20;
+
+  private SolrClient client;
+
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    client = mock(SolrClient.class);
+    executor = Executors.newFixedThreadPool(WRITERS);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testSingleWriterCommitsRightAway() throws Exception {
+    SoftCommitCoordinator coordinator = new SoftCommitCoordinator(client, 0);
+
+    coordinator.commit();
+    coordinator.commit();
+
+    verify(client, times(2)).commit(true, true, true);
+  }
+
+  @Test
+  public void testConcurrentWritersShareCommits() throws Exception {
+    AtomicInteger commits = new AtomicInteger();
+    when(client.commit(true, true, true))
+        .thenAnswer(
+            invocation -> {
+              commits.incrementAndGet();
+              return null;
+            });
+    SoftCommitCoordinator coordinator = new SoftCommitCoordinator(client, 200);
+    coordinator.commit();
+
+    runConcurrently(coordinator);
+
+    assertThat(commits.get(), lessThan(WRITERS / 2));
+  }
+
+  @Test
+  public void testCommitFailureReportedToEveryWriter() throws Exception {
+    when(client.commit(true, true, true)).thenThrow(new IOException("Solr unavailable"));
+    SoftCommitCoordinator coordinator = new SoftCommitCoordinator(client, 200);
+
+    for (Future<Void> future : submitConcurrently(coordinator)) {
+      try {
+        future.get(10, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        assertThat(e.getCause(), is(instanceOf(IOException.class)));
+        continue;
+      }
+      throw new AssertionError("Writer did not see the commit failure");
+    }
+  }
+
+  private void runConcurrently(SoftCommitCoordinator coordinator) throws Exception {
+    for (Future<Void> future : submitConcurrently(coordinator)) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+  }
+
+  private List<Future<Void>> submitConcurrently(SoftCommitCoordinator coordinator)
+      throws InterruptedException {
+    CountDownLatch start = new CountDownLatch(1);
+    Callable<Void> writer =
+        () -> {
+          start.await();
+          coordinator.commit();
+          return null;
+        };
+
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < WRITERS; i++) {
+      futures.add(executor.submit(writer));
+    }
+    start.countDown();
+    return futures;
+  }
+}
@@ -15,13 +15,20 @@
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.catalog.data.AttributeDescriptor;
+import ddf.catalog.data.Metacard;
 import ddf.catalog.data.MetacardCreationException;
 import ddf.catalog.data.MetacardType;
 import ddf.catalog.data.Result;
@@ -33,6 +40,7 @@
 import ddf.catalog.filter.impl.SortByImpl;
 import ddf.catalog.filter.proxy.builder.GeotoolsFilterBuilder;
 import ddf.catalog.operation.QueryRequest;
+import ddf.catalog.operation.SourceResponse;
 import ddf.catalog.operation.impl.QueryImpl;
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.UnsupportedQueryException;
@@ -44,9 +52,11 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrRequest;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -55,6 +65,8 @@
 import org.apache.solr.client.solrj.response.SpellCheckResponse.Collation;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.codice.solr.client.solrj.SolrClient;
 import org.junit.Before;
 import org.junit.Test;
@@ -155,6 +167,113 @@ public void testQueryMultipleResults() throws Exception {
     assertThat(results.get(1).getMetacard().getAttribute("title").getValue(), is("normal"));
   }
 
+  @Test
+  public void testAddWithForcedCommit() throws Exception {
+    Metacard metacard = mock(Metacard.class);
+    when(metacard.getMetacardType()).thenReturn(mock(MetacardType.class));
+
+    List<SolrInputDocument> docs =
+        clientImpl.add(Collections.singletonList(metacard), /* forceAutoCommit */ true);
+
+    verify(client).add(docs);
+    verify(client).commit(true, true, true);
+  }
+
+  @Test
+  public void testDeleteByIdsWithForcedCommit() throws Exception {
+    List<String> ids = new ArrayList<>(Arrays.asList("1", "2"));
+
+    clientImpl.deleteByIds(Metacard.ID, ids, /* forceCommit */ true);
+
+    verify(client).deleteById(ids);
+    verify(client).commit(true, true, true);
+  }
+
+  @Test
+  public void testGetIdsReturnsPagesInOrder() throws Exception {
+    Set<String> ids = new LinkedHashSet<>();
+    for (int i = 0; i < SolrMetacardClientImpl.GET_BY_ID_LIMIT * 5 / 2; i++) {
+      ids.add("id" + i);
+    }
+    mockDynamicSchemsolverCalls(
+        createAttributeDescriptor(Collections.singletonList("title")), Collections.emptyMap());
+    when(dynamicSchemaResolver.resolveFieldName("title")).thenReturn("title");
+    when(dynamicSchemaResolver.getDocValues(eq("title"), anyCollection()))
+        .thenAnswer(invocation -> new ArrayList<>((Collection) invocation.getArguments()[1]));
+    when(client.getById(anyCollection()))
+        .thenAnswer(
+            invocation -> {
+              SolrDocumentList docs = new SolrDocumentList();
+              for (Object id : (Collection) invocation.getArguments()[0]) {
+                docs.add(createSolrDocument("title", (String) id));
+              }
+              return docs;
+            });
+
+    List<Metacard> metacards = clientImpl.getIds(ids);
+
+    verify(client, times(3)).getById(anyCollection());
+    List<String> titles = new ArrayList<>();
+    for (Metacard metacard : metacards) {
+      titles.add((String) metacard.getAttribute("title").getValue());
+    }
+    assertThat(titles, is(new ArrayList<>(ids)));
+  }
+
+  @Test
+  public void testGetIdsFetchesFirstPageOnCallingThread() throws Exception {
+    Set<String> ids = new LinkedHashSet<>();
+    for (int i = 0; i < SolrMetacardClientImpl.GET_BY_ID_LIMIT * 3; i++) {
+      ids.add("id" + i);
+    }
+    Map<Object, Thread> fetchingThreads = new ConcurrentHashMap<>();
+    when(client.getById(anyCollection()))
+        .thenAnswer(
+            invocation -> {
+              Collection partition = (Collection) invocation.getArguments()[0];
+              fetchingThreads.put(partition.iterator().next(), Thread.currentThread());
+              return new SolrDocumentList();
+            });
+
+    clientImpl.getIds(ids);
+
+    assertThat(fetchingThreads.size(), is(3));
+    assertThat(fetchingThreads.get("id0"), is(Thread.currentThread()));
+    assertThat(fetchingThreads.get("id100"), is(not(Thread.currentThread())));
+    assertThat(fetchingThreads.get("id200"), is(not(Thread.currentThread())));
+  }
+
+  @Test
+  public void testGetIdsAfterShutdown() throws Exception {
+    Set<String> ids = new LinkedHashSet<>();
+    for (int i = 0; i < SolrMetacardClientImpl.GET_BY_ID_LIMIT * 2; i++) {
+      ids.add("id" + i);
+    }
+    List<Thread> fetchingThreads = Collections.synchronizedList(new ArrayList<>());
+    when(client.getById(anyCollection()))
+        .thenAnswer(
+            invocation -> {
+              fetchingThreads.add(Thread.currentThread());
+              return new SolrDocumentList();
+            });
+
+    clientImpl.shutdown();
+    clientImpl.getIds(ids);
+
+    assertThat(fetchingThreads, is(Arrays.asList(Thread.currentThread(), Thread.currentThread())));
+  }
+
+  @Test(expected = UnsupportedQueryException.class)
+  public void testGetIdsPageFails() throws Exception {
+    Set<String> ids = new LinkedHashSet<>();
+    for (int i = 0; i < SolrMetacardClientImpl.GET_BY_ID_LIMIT * 2; i++) {
+      ids.add("id" + i);
+    }
+    when(client.getById(anyCollection())).thenThrow(new SolrServerException("Server error"));
+
+    clientImpl.getIds(ids);
+  }
+
   @Test
   public void testQueryZeroResults() throws Exception {
     QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
@@ -204,6 +323,43 @@ public void testQuerySpellCheckOn() throws Exception {
     verify(queryResponse, times(2)).getResults();
   }
 
+  @Test
+  public void testQueryWithCursor() throws Exception {
+    QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
+    request.getProperties().put(QueryRequest.CURSOR, QueryRequest.CURSOR_START);
+
+    List<String> names = Collections.singletonList("title");
+    List<String> values = Collections.singletonList("normal");
+
+    Map<String, String> attributes = createAttributes(names, values);
+
+    when(queryResponse.getResults()).thenReturn(createSolrDocumentList(attributes));
+    when(queryResponse.getNextCursorMark()).thenReturn("AoE/nextCursor");
+    mockDynamicSchemsolverCalls(createAttributeDescriptor(names), attributes);
+
+    SourceResponse response = clientImpl.query(request);
+
+    assertThat(response.getResults().size(), is(1));
+    assertThat(
+        response.getPropertyValue(ddf.catalog.operation.QueryResponse.NEXT_CURSOR),
+        is("AoE/nextCursor"));
+    verify(solrQuery).set(CursorMarkParams.CURSOR_MARK_PARAM, CursorMarkParams.CURSOR_MARK_START);
+    verify(solrQuery).addSort("id_txt", SolrQuery.ORDER.asc);
+  }
+
+  @Test
+  public void testQueryWithoutCursor() throws Exception {
+    QueryRequest request = createQuery(builder.attribute("anyText").is().like().text("normal"));
+    when(queryResponse.getResults()).thenReturn(null);
+
+    SourceResponse response = clientImpl.query(request);
+
+    assertThat(
+        response.getPropertyValue(ddf.catalog.operation.QueryResponse.NEXT_CURSOR),
+        is(nullValue()));
+    verify(solrQuery, never()).set(eq(CursorMarkParams.CURSOR_MARK_PARAM), anyString());
+  }
+
   private void mockDynamicSchemsolverCalls(
       Set<AttributeDescriptor> descriptors, Map<String, String> attributes)
       throws MetacardCreationException {
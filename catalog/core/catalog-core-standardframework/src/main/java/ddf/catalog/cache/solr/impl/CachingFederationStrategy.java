@@ -42,6 +42,7 @@
 import ddf.catalog.source.UnsupportedQueryException;
 import ddf.catalog.util.impl.RelevanceResultComparator;
 import ddf.catalog.util.impl.Requests;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -256,12 +257,18 @@ private QueryResponse sourceFederate(List<Source> sources, final QueryRequest qu
       if (source != null) {
         LOGGER.debug("running query on source: {}", source.getId());
 
+        Map<String, Serializable> sourceProperties = new HashMap<>(queryRequest.getProperties());
+        if (sources.size() > 1) {
+          // A cursor belongs to a single source and cannot page through merged results
+          sourceProperties.remove(QueryRequest.CURSOR);
+        }
+
         QueryRequest sourceQueryRequest =
             new QueryRequestImpl(
                 modifiedQuery,
                 queryRequest.isEnterprise(),
                 Collections.singleton(source.getId()),
-                new HashMap<>(queryRequest.getProperties()));
+                sourceProperties);
         try {
           for (PreFederatedQueryPlugin service : preQuery) {
             try {
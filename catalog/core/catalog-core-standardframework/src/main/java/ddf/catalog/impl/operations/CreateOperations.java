@@ -352,12 +352,13 @@ private boolean isMetacardBlacklisted(Metacard metacard, List<String> fanoutBlac
   }
 
   private void injectAttributes(Map<String, Metacard> metacardMap) {
-    for (Map.Entry<String, Metacard> entry : metacardMap.entrySet()) {
-      Metacard originalMetacard = entry.getValue();
-      metacardMap.put(
-          entry.getKey(),
-          opsMetacardSupport.applyInjectors(
-              originalMetacard, frameworkProperties.getAttributeInjectors()));
+    List<String> keys = new ArrayList<>(metacardMap.keySet());
+    List<Metacard> metacards =
+        opsMetacardSupport.applyInjectors(
+            keys.stream().map(metacardMap::get).collect(Collectors.toList()),
+            frameworkProperties.getAttributeInjectors());
+    for (int i = 0; i < keys.size(); i++) {
+      metacardMap.put(keys.get(i), metacards.get(i));
     }
   }
 
@@ -367,14 +368,8 @@ private void setDefaultValues(Map<String, Metacard> metacardMap) {
 
   private CreateRequest injectAttributes(CreateRequest request) {
     List<Metacard> metacards =
-        request
-            .getMetacards()
-            .stream()
-            .map(
-                (original) ->
-                    opsMetacardSupport.applyInjectors(
-                        original, frameworkProperties.getAttributeInjectors()))
-            .collect(Collectors.toList());
+        opsMetacardSupport.applyInjectors(
+            request.getMetacards(), frameworkProperties.getAttributeInjectors());
 
     return new CreateRequestImpl(metacards, request.getProperties(), request.getStoreIds());
   }
@@ -560,12 +555,25 @@ private CreateRequest updateCreateRequestPolicyMap(CreateRequest createRequest)
       throws StopProcessingException {
     Map<String, Serializable> unmodifiablePropertiesMap =
         Collections.unmodifiableMap(createRequest.getProperties());
+    List<PolicyPlugin> policyPlugins = frameworkProperties.getPolicyPlugins();
+    List<Metacard> metacards = createRequest.getMetacards();
+    List<List<PolicyResponse>> policyResponses =
+        opsMetacardSupport.process(
+            metacards,
+            policyPlugins,
+            metacard -> {
+              List<PolicyResponse> responses = new ArrayList<>(policyPlugins.size());
+              for (PolicyPlugin plugin : policyPlugins) {
+                responses.add(plugin.processPreCreate(metacard, unmodifiablePropertiesMap));
+              }
+              return responses;
+            });
+
     HashMap<String, Set<String>> requestPolicyMap = new HashMap<>();
-    for (Metacard metacard : createRequest.getMetacards()) {
+    for (int i = 0; i < metacards.size(); i++) {
+      Metacard metacard = metacards.get(i);
       HashMap<String, Set<String>> itemPolicyMap = new HashMap<>();
-      for (PolicyPlugin plugin : frameworkProperties.getPolicyPlugins()) {
-        PolicyResponse policyResponse =
-            plugin.processPreCreate(metacard, unmodifiablePropertiesMap);
+      for (PolicyResponse policyResponse : policyResponses.get(i)) {
         opsSecuritySupport.buildPolicyMap(itemPolicyMap, policyResponse.itemPolicy().entrySet());
         opsSecuritySupport.buildPolicyMap(
             requestPolicyMap, policyResponse.operationPolicy().entrySet());
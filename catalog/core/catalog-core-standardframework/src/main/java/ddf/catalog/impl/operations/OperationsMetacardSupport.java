@@ -24,6 +24,7 @@
 import ddf.catalog.data.impl.AttributeImpl;
 import ddf.catalog.impl.FrameworkProperties;
 import ddf.catalog.source.IngestException;
+import ddf.catalog.util.Parallelizable;
 import ddf.mime.MimeTypeResolutionException;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -33,9 +34,13 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringUtils;
@@ -65,12 +70,101 @@ public class OperationsMetacardSupport {
 
   private final MetacardFactory metacardFactory;
 
+  /** Processes the metacards of a request in parallel, see {@link #process}. */
+  private final ForkJoinPool parallelProcessingPool =
+      new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  private boolean parallelProcessingEnabled = false;
+
+  private int parallelProcessingThreshold = 100;
+
   public OperationsMetacardSupport(
       FrameworkProperties frameworkProperties, MetacardFactory metacardFactory) {
     this.frameworkProperties = frameworkProperties;
     this.metacardFactory = metacardFactory;
   }
 
+  public void setParallelProcessingEnabled(boolean parallelProcessingEnabled) {
+    this.parallelProcessingEnabled = parallelProcessingEnabled;
+  }
+
+  public void setParallelProcessingThreshold(int parallelProcessingThreshold) {
+    this.parallelProcessingThreshold = parallelProcessingThreshold;
+  }
+
+  public void destroy() {
+    parallelProcessingPool.shutdown();
+  }
+
+  /**
+   * Applies a processing stage to each of the given items and returns the results in the order of
+   * the items.
+   *
+   * <p>The items are processed in parallel when parallel processing is enabled, there are at least
+   * {@code parallelProcessingThreshold} items and every one of the {@code extensions} called by the
+   * stage is {@link Parallelizable}. Otherwise they are processed one after another on the calling
+   * thread. Either way, the stage's first failure is thrown.
+   *
+   * @param items the items to process, usually the metacards of a request
+   * @param extensions the plugins, injectors or registries that the stage calls
+   * @param stage the processing to apply to each item
+   * @return the result of the stage for each item, in the order of the items
+   * @throws E if the stage fails for any of the items
+   */
+  @SuppressWarnings("unchecked")
+  <T, R, E extends Exception> List<R> process(
+      List<T> items, Collection<?> extensions, MetacardStage<T, R, E> stage) throws E {
+    if (!isParallelizable(items, extensions)) {
+      List<R> results = new ArrayList<>(items.size());
+      for (T item : items) {
+        results.add(stage.apply(item));
+      }
+      return results;
+    }
+
+    try {
+      return parallelProcessingPool
+          .submit(
+              () ->
+                  items
+                      .parallelStream()
+                      .map(item -> applyStage(stage, item))
+                      .collect(Collectors.toList()))
+          .join();
+    } catch (StageException e) {
+      throw (E) e.getCause();
+    }
+  }
+
+  private boolean isParallelizable(List<?> items, Collection<?> extensions) {
+    return parallelProcessingEnabled
+        && items.size() > 1
+        && items.size() >= parallelProcessingThreshold
+        && extensions.stream().allMatch(Parallelizable.class::isInstance);
+  }
+
+  private static <T, R, E extends Exception> R applyStage(MetacardStage<T, R, E> stage, T item) {
+    try {
+      return stage.apply(item);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new StageException(e);
+    }
+  }
+
+  /**
+   * Processes the input metacards, injecting attributes as defined by the {@code injectors}.
+   *
+   * @param originals the input metacards
+   * @param injectors the list of injectors to apply
+   * @return the metacards, updated with any extra attributes as defined by the {@code
+   *     injectors}, in the order of the input metacards
+   */
+  List<Metacard> applyInjectors(List<Metacard> originals, List<AttributeInjector> injectors) {
+    return process(originals, injectors, original -> applyInjectors(original, injectors));
+  }
+
   /**
    * Processes input metacard, injecting attributes as defined by the {@code injectors}.
    *
@@ -278,4 +372,23 @@ String guessMimeType(String mimeTypeRaw, String fileName, Path tmpContentPath)
     }
     return mimeTypeRaw;
   }
+
+  /**
+   * A processing stage that is applied to each metacard of a request.
+   *
+   * @param <T> the type of the processed items
+   * @param <R> the type of the stage's results
+   * @param <E> the type of the exception the stage may throw
+   */
+  @FunctionalInterface
+  interface MetacardStage<T, R, E extends Exception> {
+    R apply(T item) throws E;
+  }
+
+  /** Carries a checked exception of a stage out of the parallel processing pool. */
+  private static class StageException extends RuntimeException {
+    private StageException(Exception cause) {
+      super(cause);
+    }
+  }
 }
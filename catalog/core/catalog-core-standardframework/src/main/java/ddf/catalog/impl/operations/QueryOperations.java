@@ -16,6 +16,7 @@
 import ddf.catalog.Constants;
 import ddf.catalog.core.versioning.DeletedMetacard;
 import ddf.catalog.core.versioning.MetacardVersion;
+import ddf.catalog.data.Attribute;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.Result;
 import ddf.catalog.data.impl.AttributeImpl;
@@ -40,6 +41,7 @@
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.operation.impl.QueryResponseImpl;
 import ddf.catalog.plugin.AccessPlugin;
+import ddf.catalog.plugin.CacheablePolicyPlugin;
 import ddf.catalog.plugin.OAuthPluginException;
 import ddf.catalog.plugin.PluginExecutionException;
 import ddf.catalog.plugin.PolicyPlugin;
@@ -71,6 +73,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -429,25 +432,82 @@ private QueryResponse populateQueryResponsePolicyMap(QueryResponse queryResponse
     HashMap<String, Set<String>> responsePolicyMap = new HashMap<>();
     Map<String, Serializable> unmodifiableProperties =
         Collections.unmodifiableMap(queryResponse.getProperties());
-    for (Result result : queryResponse.getResults()) {
+    List<PolicyPlugin> policyPlugins = frameworkProperties.getPolicyPlugins();
+    List<Result> results = queryResponse.getResults();
+    List<List<PolicyResponse>> policyResponses;
+    if (policyPlugins.isEmpty()) {
+      policyResponses = Collections.nCopies(results.size(), Collections.emptyList());
+    } else {
+      // The responses of each CacheablePolicyPlugin, keyed by the values of its policy attributes
+      List<Map<List<Object>, PolicyResponse>> policyResponseCaches = new ArrayList<>();
+      policyPlugins.forEach(plugin -> policyResponseCaches.add(new ConcurrentHashMap<>()));
+      try {
+        policyResponses =
+            opsMetacardSupport.process(
+                results,
+                policyPlugins,
+                result -> {
+                  List<PolicyResponse> responses = new ArrayList<>(policyPlugins.size());
+                  for (int i = 0; i < policyPlugins.size(); i++) {
+                    responses.add(
+                        processPostQuery(
+                            policyPlugins.get(i),
+                            result,
+                            unmodifiableProperties,
+                            policyResponseCaches.get(i)));
+                  }
+                  return responses;
+                });
+      } catch (StopProcessingException e) {
+        throw new FederationException("Query could not be executed.", e);
+      }
+    }
+
+    for (int i = 0; i < results.size(); i++) {
       HashMap<String, Set<String>> itemPolicyMap = new HashMap<>();
-      for (PolicyPlugin plugin : frameworkProperties.getPolicyPlugins()) {
-        try {
-          PolicyResponse policyResponse = plugin.processPostQuery(result, unmodifiableProperties);
-          opsSecuritySupport.buildPolicyMap(itemPolicyMap, policyResponse.itemPolicy().entrySet());
-          opsSecuritySupport.buildPolicyMap(
-              responsePolicyMap, policyResponse.operationPolicy().entrySet());
-        } catch (StopProcessingException e) {
-          throw new FederationException("Query could not be executed.", e);
-        }
+      for (PolicyResponse policyResponse : policyResponses.get(i)) {
+        opsSecuritySupport.buildPolicyMap(itemPolicyMap, policyResponse.itemPolicy().entrySet());
+        opsSecuritySupport.buildPolicyMap(
+            responsePolicyMap, policyResponse.operationPolicy().entrySet());
       }
-      result.getMetacard().setAttribute(new AttributeImpl(Metacard.SECURITY, itemPolicyMap));
+      Metacard metacard = results.get(i).getMetacard();
+      metacard.setAttribute(new AttributeImpl(Metacard.SECURITY, itemPolicyMap));
     }
     queryResponse.getProperties().put(PolicyPlugin.OPERATION_SECURITY, responsePolicyMap);
 
     return queryResponse;
   }
 
+  /**
+   * Returns the plugin's policy for the result. The policy of a {@link CacheablePolicyPlugin} is
+   * reused for all the results of the response that have the same values for its policy
+   * attributes.
+   */
+  private PolicyResponse processPostQuery(
+      PolicyPlugin plugin,
+      Result result,
+      Map<String, Serializable> properties,
+      Map<List<Object>, PolicyResponse> policyResponseCache)
+      throws StopProcessingException {
+    if (!(plugin instanceof CacheablePolicyPlugin)) {
+      return plugin.processPostQuery(result, properties);
+    }
+
+    List<String> policyAttributes = ((CacheablePolicyPlugin) plugin).getPostQueryPolicyAttributes();
+    List<Object> policyAttributeValues = new ArrayList<>(policyAttributes.size());
+    for (String attributeName : policyAttributes) {
+      Attribute attribute = result.getMetacard().getAttribute(attributeName);
+      policyAttributeValues.add(attribute == null ? null : attribute.getValues());
+    }
+
+    PolicyResponse policyResponse = policyResponseCache.get(policyAttributeValues);
+    if (policyResponse == null) {
+      policyResponse = plugin.processPostQuery(result, properties);
+      policyResponseCache.putIfAbsent(policyAttributeValues, policyResponse);
+    }
+    return policyResponse;
+  }
+
   private QueryRequest processPreQueryPlugins(QueryRequest queryReq) throws FederationException {
     for (PreQueryPlugin service : frameworkProperties.getPreQuery()) {
       try {
@@ -369,16 +369,14 @@ private Map.Entry<Serializable, Metacard> toEntryById(Metacard metacard) {
   }
 
   private UpdateRequest injectAttributes(UpdateRequest request) {
-    request
-        .getUpdates()
-        .forEach(
-            updateEntry -> {
-              Metacard original = updateEntry.getValue();
-              Metacard metacard =
-                  opsMetacardSupport.applyInjectors(
-                      original, frameworkProperties.getAttributeInjectors());
-              updateEntry.setValue(metacard);
-            });
+    List<Map.Entry<Serializable, Metacard>> updates = request.getUpdates();
+    List<Metacard> metacards =
+        opsMetacardSupport.applyInjectors(
+            updates.stream().map(Map.Entry::getValue).collect(Collectors.toList()),
+            frameworkProperties.getAttributeInjectors());
+    for (int i = 0; i < updates.size(); i++) {
+      updates.get(i).setValue(metacards.get(i));
+    }
 
     return request;
   }
@@ -540,19 +538,37 @@ private UpdateRequest processPreUpdateAccessPlugins(UpdateRequest updateRequest)
   private UpdateRequest populateUpdateRequestPolicyMap(UpdateRequest updateRequest)
       throws StopProcessingException {
     Map<String, Metacard> metacardMap = getUpdateMap(updateRequest);
+    Map<String, Serializable> unmodifiablePropertiesMap =
+        Collections.unmodifiableMap(updateRequest.getProperties());
+    List<PolicyPlugin> policyPlugins = frameworkProperties.getPolicyPlugins();
+    List<Map.Entry<Serializable, Metacard>> updates = updateRequest.getUpdates();
+    // For each update, every policy plugin's response for the new and then for the old metacard
+    List<List<PolicyResponse>> policyResponses =
+        opsMetacardSupport.process(
+            updates,
+            policyPlugins,
+            update -> {
+              Metacard oldMetacard = metacardMap.get(update.getKey().toString());
+              List<PolicyResponse> responses = new ArrayList<>(policyPlugins.size() * 2);
+              for (PolicyPlugin plugin : policyPlugins) {
+                responses.add(
+                    plugin.processPreUpdate(update.getValue(), unmodifiablePropertiesMap));
+                responses.add(plugin.processPreUpdate(oldMetacard, unmodifiablePropertiesMap));
+              }
+              return responses;
+            });
+
     HashMap<String, Set<String>> requestPolicyMap = new HashMap<>();
-    for (Map.Entry<Serializable, Metacard> update : updateRequest.getUpdates()) {
+    for (int i = 0; i < updates.size(); i++) {
+      Map.Entry<Serializable, Metacard> update = updates.get(i);
       HashMap<String, Set<String>> itemPolicyMap = new HashMap<>();
       HashMap<String, Set<String>> oldItemPolicyMap = new HashMap<>();
       Metacard oldMetacard = metacardMap.get(update.getKey().toString());
 
-      for (PolicyPlugin plugin : frameworkProperties.getPolicyPlugins()) {
-        PolicyResponse updatePolicyResponse =
-            plugin.processPreUpdate(
-                update.getValue(), Collections.unmodifiableMap(updateRequest.getProperties()));
-        PolicyResponse oldPolicyResponse =
-            plugin.processPreUpdate(
-                oldMetacard, Collections.unmodifiableMap(updateRequest.getProperties()));
+      List<PolicyResponse> responses = policyResponses.get(i);
+      for (int j = 0; j < responses.size(); j += 2) {
+        PolicyResponse updatePolicyResponse = responses.get(j);
+        PolicyResponse oldPolicyResponse = responses.get(j + 1);
 
         opsSecuritySupport.buildPolicyMap(
             itemPolicyMap, updatePolicyResponse.itemPolicy().entrySet());
@@ -17,12 +17,13 @@
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.resource.Resource;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import javax.activation.MimeType;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.commons.lang.builder.ToStringBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,12 +102,47 @@ public InputStream getInputStream() {
     }
   }
 
+  /**
+   * Creates a new inputStream over the requested byte range of the product. The returned stream
+   * skips to the start of the range by seeking in the cached file, without reading the skipped
+   * bytes. Each stream has its own read position, so any number of readers can share the cached
+   * file.
+   *
+   * @param start the offset of the first byte to return
+   * @param length the maximum number of bytes to return, or a negative value to read to the end
+   * @return InputStream of the product range, otherwise {@code null} if could not be retrieved.
+   */
+  public InputStream getInputStream(long start, long length) {
+    try {
+      return getProduct(start, length);
+    } catch (IOException e) {
+      LOGGER.info("Could not retrieve file [{}]", filePath, e);
+      return null;
+    }
+  }
+
   private InputStream getProduct() throws IOException {
+    return getProduct(0, -1);
+  }
+
+  private InputStream getProduct(long start, long length) throws IOException {
     if (filePath == null) {
       return null;
     }
+    if (start < 0) {
+      throw new IllegalArgumentException("Start of range cannot be negative: " + start);
+    }
     LOGGER.info("filePath = {}", filePath);
-    return FileUtils.openInputStream(new File(filePath));
+
+    FileInputStream product = new FileInputStream(filePath);
+    try {
+      // Skipping seeks in the file, offsets past the end of the file result in an empty stream
+      product.skip(start);
+    } catch (IOException e) {
+      IOUtils.closeQuietly(product);
+      throw e;
+    }
+    return length < 0 ? product : new BoundedInputStream(product, length);
   }
 
   /**
@@ -187,6 +187,18 @@ public void setCancelDownload(boolean cancelDownload) {
     reliableResourceStatus.setMessage("Download canceled - returning " + bytesRead + " bytes read");
   }
 
+  protected boolean isInterruptDownload() {
+    return interruptDownload;
+  }
+
+  protected boolean isCancelDownload() {
+    return cancelDownload;
+  }
+
+  protected void setReliableResourceStatus(ReliableResourceStatus reliableResourceStatus) {
+    this.reliableResourceStatus = reliableResourceStatus;
+  }
+
   @Override
   public ReliableResourceStatus call() {
     int chunkCount = 0;
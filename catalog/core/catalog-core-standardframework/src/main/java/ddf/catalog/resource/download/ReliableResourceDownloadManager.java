@@ -23,9 +23,13 @@
 import ddf.catalog.resource.Resource;
 import ddf.catalog.resource.ResourceNotFoundException;
 import ddf.catalog.resource.ResourceNotSupportedException;
+import ddf.catalog.resource.data.ReliableResource;
 import ddf.catalog.resource.download.DownloadManagerState.DownloadState;
+import ddf.catalog.resource.impl.ResourceImpl;
 import ddf.catalog.resourceretriever.ResourceRetriever;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -112,6 +116,9 @@ public ResourceResponse download(
           downloaderConfig
               .getResourceCache()
               .getValid(new CacheKey(metacard, resourceRequest).generateKey(), metacard);
+      if (cachedResource != null) {
+        cachedResource = getRequestedRange(cachedResource, resourceRequest);
+      }
       if (cachedResource != null) {
         resourceResponse =
             new ResourceResponseImpl(
@@ -124,8 +131,21 @@ public ResourceResponse download(
     }
 
     if (resourceResponse == null) {
+      long segmentedProductSize =
+          SegmentedResourceCallable.getSegmentedProductSize(
+              metacard, resourceRequest, downloaderConfig);
       try {
-        resourceResponse = retriever.retrieveResource();
+        if (segmentedProductSize > 0) {
+          // Only the first segment is read from this response, the rest of the product is
+          // retrieved in parallel by the SegmentedResourceCallable
+          resourceResponse =
+              retriever.retrieveResource(
+                  0,
+                  SegmentedResourceCallable.getSegmentLength(
+                      segmentedProductSize, downloaderConfig.getSegmentCount()));
+        } else {
+          resourceResponse = retriever.retrieveResource();
+        }
       } catch (ResourceNotFoundException | ResourceNotSupportedException | IOException e) {
         throw new DownloadException("Cannot download resource", e);
       }
@@ -142,6 +162,40 @@ public ResourceResponse download(
     return resourceResponse;
   }
 
+  /**
+   * Positions a cached product at the byte offset requested by a range request. The cached file is
+   * read from the offset directly rather than skipping over the leading bytes of a stream.
+   *
+   * @return the resource to return, or {@code null} if the cached product could not be opened
+   */
+  private Resource getRequestedRange(Resource cachedResource, ResourceRequest resourceRequest) {
+    Serializable bytesToSkipValue =
+        resourceRequest.getPropertyValue(ResourceRetriever.BYTES_TO_SKIP);
+    if (bytesToSkipValue == null || !(cachedResource instanceof ReliableResource)) {
+      return cachedResource;
+    }
+
+    long bytesToSkip;
+    try {
+      bytesToSkip = Long.parseLong(bytesToSkipValue.toString());
+    } catch (NumberFormatException e) {
+      LOGGER.debug("Ignoring invalid bytes to skip value: {}", bytesToSkipValue);
+      return cachedResource;
+    }
+    if (bytesToSkip <= 0) {
+      return cachedResource;
+    }
+
+    ReliableResource reliableResource = (ReliableResource) cachedResource;
+    InputStream inputStream = reliableResource.getInputStream(bytesToSkip, -1);
+    if (inputStream == null) {
+      return null;
+    }
+    LOGGER.debug("Serving cached product from byte offset {}", bytesToSkip);
+    return new ResourceImpl(
+        inputStream, reliableResource.getMimeType(), reliableResource.getName());
+  }
+
   public void setMaxRetryAttempts(int maxRetryAttempts) {
     downloaderConfig.setMaxRetryAttempts(maxRetryAttempts);
   }
@@ -175,6 +229,10 @@ public void setChunkSize(int chunkSize) {
     downloaderConfig.setChunkSize(chunkSize);
   }
 
+  public void setSegmentCount(int segmentCount) {
+    downloaderConfig.setSegmentCount(Math.max(1, segmentCount));
+  }
+
   public boolean isCacheEnabled() {
     return downloaderConfig.isCacheEnabled();
   }
@@ -37,6 +37,7 @@
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Timer;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -103,6 +104,15 @@ public class ReliableResourceDownloader implements Runnable {
 
   private ResourceRetriever retriever;
 
+  /** Size of the product when it is downloaded in segments, otherwise -1. */
+  private long segmentedProductSize = -1;
+
+  /**
+   * Set while the current callable is a @SegmentedResourceCallable, whose product @InputStream only
+   * covers the first segment and cannot be used to resume the download.
+   */
+  private boolean segmented;
+
   /**
    * Only set to true if cacheEnabled is true *AND* product being downloaded is not already pending
    * caching, e.g., another client has already started downloading and caching it.
@@ -146,6 +156,9 @@ public ResourceResponse setupDownload(Metacard metacard, DownloadStatusInfo down
             fbos, countingFbos, downloadState, downloadIdentifier, resourceResponse);
 
     this.metacard = metacard;
+    segmentedProductSize =
+        SegmentedResourceCallable.getSegmentedProductSize(
+            metacard, resourceResponse.getRequest(), downloaderConfig);
 
     // Create new ResourceResponse to return that will encapsulate the
     // ReliableResourceInputStream that will be read by the client simultaneously as the product
@@ -223,9 +236,16 @@ public void run() {
             downloadIdentifier);
 
     try {
-      reliableResourceCallable =
-          constructReliableResourceCallable(
-              resourceInputStream, countingFbos, fos, downloaderConfig.getChunkSize(), lock);
+      if (segmentedProductSize > 0) {
+        segmented = true;
+        reliableResourceCallable =
+            constructSegmentedResourceCallable(
+                resourceInputStream, countingFbos, fos, segmentedProductSize);
+      } else {
+        reliableResourceCallable =
+            constructReliableResourceCallable(
+                resourceInputStream, countingFbos, fos, downloaderConfig.getChunkSize(), lock);
+      }
       downloadFuture = null;
       ResourceRetrievalMonitor resourceRetrievalMonitor = null;
       this.downloadState.setDownloadState(DownloadManagerState.DownloadState.IN_PROGRESS);
@@ -394,10 +414,7 @@ public void run() {
               downloadState.setCacheEnabled(downloaderConfig.isCacheEnabled());
               downloadState.setContinueCaching(doCaching);
             }
-            reliableResourceCallable =
-                constructReliableResourceCallable(
-                    resourceInputStream, countingFbos, null, downloaderConfig.getChunkSize(), lock);
-            reliableResourceCallable.setBytesRead(bytesRead);
+            reliableResourceCallable = resumeResource(countingFbos, null, bytesRead);
 
           } else if (DownloadStatus.CLIENT_OUTPUT_STREAM_EXCEPTION.equals(
               reliableResourceStatus.getDownloadStatus())) {
@@ -418,10 +435,7 @@ public void run() {
             IOUtils.closeQuietly(countingFbos);
             LOGGER.debug("Cancelling resourceRetrievalMonitor");
             resourceRetrievalMonitor.cancel();
-            reliableResourceCallable =
-                constructReliableResourceCallable(
-                    resourceInputStream, null, fos, downloaderConfig.getChunkSize(), lock);
-            reliableResourceCallable.setBytesRead(bytesRead);
+            reliableResourceCallable = resumeResource(null, fos, bytesRead);
 
           } else if (DownloadStatus.RESOURCE_DOWNLOAD_CANCELED.equals(
               reliableResourceStatus.getDownloadStatus())) {
@@ -440,10 +454,7 @@ public void run() {
                 downloadIdentifier);
             if (doCaching && downloaderConfig.isCacheWhenCanceled()) {
               LOGGER.debug("Continuing to cache product");
-              reliableResourceCallable =
-                  constructReliableResourceCallable(
-                      resourceInputStream, null, fos, downloaderConfig.getChunkSize(), lock);
-              reliableResourceCallable.setBytesRead(bytesRead);
+              reliableResourceCallable = resumeResource(null, fos, bytesRead);
             } else {
               break;
             }
@@ -509,9 +520,34 @@ public void run() {
     }
   }
 
+  /**
+   * Creates the callable that continues the download with the current product @InputStream after
+   * one of the output streams failed. The product is retrieved again from {@code bytesRead} if the
+   * previous attempt was a segmented download.
+   */
+  private ReliableResourceCallable resumeResource(
+      CountingOutputStream countingFbos, FileOutputStream fos, long bytesRead) {
+    if (segmented) {
+      // Close the first segment's InputStream so that the rest of the product is retrieved with
+      // a single request. The segment is bounded, so the close() does not consume the product.
+      IOUtils.closeQuietly(resourceInputStream);
+      resourceInputStream = null;
+      if (retrieveResource(bytesRead) == null) {
+        return null;
+      }
+    }
+
+    ReliableResourceCallable callable =
+        constructReliableResourceCallable(
+            resourceInputStream, countingFbos, fos, downloaderConfig.getChunkSize(), lock);
+    callable.setBytesRead(bytesRead);
+    return callable;
+  }
+
   private ReliableResourceCallable retrieveResource(long bytesRead) {
 
     ReliableResourceCallable reliableResourceCallable = null;
+    segmented = false;
 
     try {
       LOGGER.debug("Attempting to re-retrieve resource, skipping {} bytes", bytesRead);
@@ -648,6 +684,23 @@ ReliableResourceCallable constructReliableResourceCallable(
     return new ReliableResourceCallable(input, countingFbos, fos, chunkSize, lock);
   }
 
+  @VisibleForTesting
+  ReliableResourceCallable constructSegmentedResourceCallable(
+      InputStream input,
+      CountingOutputStream countingFbos,
+      FileOutputStream fos,
+      long productSize) {
+    return new SegmentedResourceCallable(
+        input,
+        countingFbos,
+        fos,
+        filePath == null ? null : Paths.get(filePath),
+        retriever,
+        productSize,
+        downloaderConfig,
+        lock);
+  }
+
   @VisibleForTesting
   ResourceRetrievalMonitor constructResourceRetrievalMonitor() {
     return new ResourceRetrievalMonitor(
@@ -45,6 +45,8 @@ public class ReliableResourceDownloaderConfig {
 
   private int chunkSize = DEFAULT_CHUNK_SIZE;
 
+  private int segmentCount = 1;
+
   public int getChunkSize() {
     return chunkSize;
   }
@@ -53,6 +55,14 @@ public void setChunkSize(int chunkSize) {
     this.chunkSize = chunkSize;
   }
 
+  public int getSegmentCount() {
+    return segmentCount;
+  }
+
+  public void setSegmentCount(int segmentCount) {
+    this.segmentCount = segmentCount;
+  }
+
   public int getMonitorInitialDelayMS() {
     return monitorInitialDelayMS;
   }
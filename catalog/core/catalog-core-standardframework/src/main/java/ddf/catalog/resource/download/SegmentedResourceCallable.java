@@ -0,0 +1,445 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.resource.download;
+
+import com.google.common.io.CountingOutputStream;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.operation.ResourceRequest;
+import ddf.catalog.operation.ResourceResponse;
+import ddf.catalog.resource.ResourceNotFoundException;
+import ddf.catalog.resource.ResourceNotSupportedException;
+import ddf.catalog.resource.download.ReliableResourceStatus.DownloadStatus;
+import ddf.catalog.resourceretriever.ResourceRetriever;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.io.IOUtils;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SegmentedResourceCallable downloads a product of known size as a number of byte ranges that are
+ * retrieved in parallel. Each segment is written to its position in the cache file (or in a
+ * temporary file when the product is not being cached), and the segments are written to the
+ * client's @FileBackedOutputStream in order as their bytes arrive.
+ *
+ * <p>The first segment is read from the product @InputStream that was already retrieved, the
+ * remaining segments are retrieved with the @ResourceRetriever. A segment whose @InputStream fails
+ * is retrieved again from its last byte written, up to the configured number of retry attempts. If
+ * a segment still cannot be read, the number of contiguous bytes written to the client is returned
+ * so that the @ReliableResourceDownloader can resume the rest of the product with a single
+ * request.
+ *
+ * <p>The file is preallocated to the size in the product's metacard. The last segment is read until
+ * the end of its @InputStream so that a larger product is not cut short, and the cache file is
+ * truncated to the contiguous bytes written to the client when the download ends so that a smaller
+ * product is not padded.
+ */
+public class SegmentedResourceCallable extends ReliableResourceCallable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SegmentedResourceCallable.class);
+
+  private static final int END_OF_FILE = -1;
+
+  private static final long PROGRESS_WAIT_MS = 100;
+
+  private final InputStream input;
+
+  private final CountingOutputStream countingFbos;
+
+  private final FileOutputStream cacheFileOutputStream;
+
+  private final Path cacheFile;
+
+  private final ResourceRetriever retriever;
+
+  private final long productSize;
+
+  private final int segmentCount;
+
+  private final int chunkSize;
+
+  private final int maxRetryAttempts;
+
+  private final long delayBetweenAttemptsMS;
+
+  private final Object lock;
+
+  private final Object progress = new Object();
+
+  /**
+   * @param input the product @InputStream, positioned at the start of the product
+   * @param countingFbos the FileBackedOutputStream that is written to, or null if no client is
+   *     reading the product
+   * @param fos the @FileOutputStream that the cached product is written to, or null if the product
+   *     is not being cached
+   * @param cacheFile the path of the file that {@code fos} writes to
+   * @param retriever the @ResourceRetriever used to retrieve the remaining segments
+   * @param productSize the expected size of the product in bytes
+   * @param config the downloader configuration providing the segment count, chunk size and retry
+   *     settings
+   */
+  public SegmentedResourceCallable(
+      InputStream input,
+      CountingOutputStream countingFbos,
+      FileOutputStream fos,
+      Path cacheFile,
+      ResourceRetriever retriever,
+      long productSize,
+      ReliableResourceDownloaderConfig config,
+      Object lock) {
+    super(input, countingFbos, fos, config.getChunkSize(), lock);
+    this.input = input;
+    this.countingFbos = countingFbos;
+    this.cacheFileOutputStream = fos;
+    this.cacheFile = fos == null ? null : cacheFile;
+    this.retriever = retriever;
+    this.productSize = productSize;
+    this.segmentCount = config.getSegmentCount();
+    this.chunkSize = config.getChunkSize();
+    this.maxRetryAttempts = config.getMaxRetryAttempts();
+    this.delayBetweenAttemptsMS = config.getDelayBetweenAttemptsMS();
+    this.lock = lock;
+  }
+
+  /**
+   * Returns the size of the product if it should be downloaded in segments. A product is downloaded
+   * with a single request if segmented downloads are disabled, a range of the product was
+   * requested, or the size of the product is unknown or too small to be split into segments of at
+   * least one chunk each.
+   *
+   * @return the product size in bytes, or -1 if the product should not be downloaded in segments
+   */
+  static long getSegmentedProductSize(
+      Metacard metacard, ResourceRequest request, ReliableResourceDownloaderConfig config) {
+    int segmentCount = config.getSegmentCount();
+    if (segmentCount <= 1
+        || metacard == null
+        || (request != null && request.getPropertyValue(ResourceRetriever.BYTES_TO_SKIP) != null)) {
+      return -1;
+    }
+
+    long size;
+    try {
+      size = Long.parseLong(metacard.getResourceSize());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+    return size >= (long) segmentCount * config.getChunkSize() ? size : -1;
+  }
+
+  /** Returns the number of bytes in each segment other than the last one. */
+  static long getSegmentLength(long productSize, int segmentCount) {
+    return (productSize + segmentCount - 1) / segmentCount;
+  }
+
+  @Override
+  public ReliableResourceStatus call() {
+    List<Segment> segments = createSegments();
+    ExecutorService segmentExecutor =
+        Executors.newFixedThreadPool(
+            segments.size(),
+            StandardThreadFactoryBuilder.newThreadFactory("segmentedResourceDownloaderThread"));
+    Path file = cacheFile;
+    FileChannel channel = null;
+
+    try {
+      try {
+        if (file == null) {
+          file = Files.createTempFile("segmented-download", null);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < productSize) {
+          // Preallocate the file so that each segment is written at its own offset
+          channel.write(ByteBuffer.wrap(new byte[1]), productSize - 1);
+        }
+      } catch (IOException e) {
+        LOGGER.info("Unable to open file for segmented download of product", e);
+        return setStatus(
+            cacheFile == null
+                ? DownloadStatus.PRODUCT_INPUT_STREAM_EXCEPTION
+                : DownloadStatus.CACHED_FILE_OUTPUT_STREAM_EXCEPTION);
+      }
+
+      LOGGER.debug("Downloading product of {} bytes in {} segments", productSize, segments.size());
+      final FileChannel segmentChannel = channel;
+      for (Segment segment : segments) {
+        segmentExecutor.submit(() -> downloadSegment(segment, segmentChannel));
+      }
+
+      return deliverSegments(segments, channel);
+    } finally {
+      segmentExecutor.shutdownNow();
+      if (cacheFileOutputStream != null) {
+        try {
+          // Drop the preallocated bytes past the contiguous bytes, and position the cache file
+          // after them so that a single stream retry continues writing where the segments left off
+          cacheFileOutputStream.getChannel().truncate(getBytesRead()).position(getBytesRead());
+        } catch (IOException e) {
+          LOGGER.debug("Unable to truncate cache file after segmented download", e);
+        }
+      }
+      IOUtils.closeQuietly(channel);
+      if (cacheFile == null && file != null) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          LOGGER.debug("Unable to delete temporary file {}", file, e);
+        }
+      }
+    }
+  }
+
+  private List<Segment> createSegments() {
+    long segmentLength = getSegmentLength(productSize, segmentCount);
+    List<Segment> segments = new ArrayList<>(segmentCount);
+    for (long start = 0; start < productSize; start += segmentLength) {
+      boolean last = start + segmentLength >= productSize;
+      segments.add(new Segment(start, last ? -1 : segmentLength, segments.isEmpty()));
+    }
+    return segments;
+  }
+
+  /**
+   * Writes the bytes of each segment to the client's @FileBackedOutputStream in order, waiting for
+   * the segment's worker when it has not written the next bytes yet.
+   */
+  private ReliableResourceStatus deliverSegments(List<Segment> segments, FileChannel channel) {
+    byte[] buffer = new byte[chunkSize];
+
+    for (Segment segment : segments) {
+      long delivered = 0;
+      while (segment.length < 0 || delivered < segment.length) {
+        if (isStopped()) {
+          return stoppedStatus();
+        }
+
+        long available = segment.written.get();
+        if (available > delivered) {
+          int n = (int) Math.min(buffer.length, available - delivered);
+          try {
+            writeToClient(buffer, n, channel, segment.start + delivered);
+          } catch (IOException e) {
+            LOGGER.info("IOException during write to FileBackedOutputStream for client to read", e);
+            return setStatus(DownloadStatus.CLIENT_OUTPUT_STREAM_EXCEPTION);
+          }
+          delivered += n;
+        } else if (segment.writeFailure != null) {
+          LOGGER.info("IOException during write of segment to file", segment.writeFailure);
+          return setStatus(
+              cacheFile == null
+                  ? DownloadStatus.PRODUCT_INPUT_STREAM_EXCEPTION
+                  : DownloadStatus.CACHED_FILE_OUTPUT_STREAM_EXCEPTION);
+        } else if (segment.readFailure != null) {
+          LOGGER.info(
+              "Unable to read segment starting at byte {} - bytesRead = {}",
+              segment.start,
+              getBytesRead(),
+              segment.readFailure);
+          return setStatus(DownloadStatus.PRODUCT_INPUT_STREAM_EXCEPTION);
+        } else if (segment.complete) {
+          if (segment.written.get() == delivered) {
+            break;
+          }
+        } else if (!waitForProgress()) {
+          return stoppedStatus();
+        }
+      }
+    }
+
+    LOGGER.debug("Entire file downloaded successfully in segments");
+    ReliableResourceStatus status = setStatus(DownloadStatus.RESOURCE_DOWNLOAD_COMPLETE);
+    status.setMessage("Download completed successfully");
+    return status;
+  }
+
+  private void writeToClient(byte[] buffer, int length, FileChannel channel, long position)
+      throws IOException {
+    if (countingFbos != null) {
+      ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+      while (byteBuffer.hasRemaining()) {
+        if (channel.read(byteBuffer, position + byteBuffer.position()) == END_OF_FILE) {
+          throw new IOException("Segment file ended before the bytes written to it");
+        }
+      }
+    }
+
+    // Synchronized to prevent being interrupted in the middle of writing to the OutputStream
+    synchronized (lock) {
+      if (isStopped()) {
+        return;
+      }
+      if (countingFbos != null) {
+        countingFbos.write(buffer, 0, length);
+        countingFbos.flush();
+      }
+      setBytesRead(getBytesRead() + length);
+    }
+  }
+
+  /**
+   * Reads a segment from its @InputStream and writes it to the segment's position in the file,
+   * retrieving the rest of the segment again when its @InputStream fails.
+   */
+  private void downloadSegment(Segment segment, FileChannel channel) {
+    byte[] buffer = new byte[chunkSize];
+    int attempts = 0;
+
+    while (!segment.complete && !isStopped()) {
+      InputStream in = null;
+      try {
+        attempts++;
+        in = segment.head && attempts == 1 ? input : retrieveSegment(segment);
+
+        long remaining;
+        while ((remaining = segment.remaining()) != 0 && !isStopped()) {
+          int toRead = remaining < 0 ? buffer.length : (int) Math.min(buffer.length, remaining);
+          int n = in.read(buffer, 0, toRead);
+          if (n == END_OF_FILE) {
+            if (segment.length < 0) {
+              break;
+            }
+            throw new IOException("Product ended before the end of the segment");
+          }
+
+          try {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, n);
+            long position = segment.start + segment.written.get();
+            while (byteBuffer.hasRemaining()) {
+              channel.write(byteBuffer, position + byteBuffer.position());
+            }
+          } catch (IOException e) {
+            segment.writeFailure = e;
+            return;
+          }
+          segment.written.addAndGet(n);
+          signalProgress();
+        }
+        segment.complete = !isStopped();
+      } catch (ResourceNotFoundException | ResourceNotSupportedException | IOException e) {
+        if (attempts >= maxRetryAttempts) {
+          segment.readFailure = e;
+          return;
+        }
+        LOGGER.debug(
+            "Retrying segment starting at byte {} after attempt {} of {}",
+            segment.start,
+            attempts,
+            maxRetryAttempts,
+            e);
+        try {
+          Thread.sleep(delayBetweenAttemptsMS);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      } finally {
+        if (in != input) {
+          IOUtils.closeQuietly(in);
+        }
+        signalProgress();
+      }
+    }
+  }
+
+  private InputStream retrieveSegment(Segment segment)
+      throws ResourceNotFoundException, ResourceNotSupportedException, IOException {
+    long offset = segment.start + segment.written.get();
+    long remaining = segment.remaining();
+    LOGGER.debug("Retrieving segment from byte {}, {} bytes", offset, remaining);
+    ResourceResponse response = retriever.retrieveResource(offset, Math.max(remaining, 0));
+    InputStream in = response.getResource().getInputStream();
+    if (in == null) {
+      throw new IOException("Retrieved segment has no InputStream");
+    }
+    return in;
+  }
+
+  private boolean waitForProgress() {
+    synchronized (progress) {
+      try {
+        progress.wait(PROGRESS_WAIT_MS);
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+
+  private void signalProgress() {
+    synchronized (progress) {
+      progress.notifyAll();
+    }
+  }
+
+  private boolean isStopped() {
+    return isInterruptDownload() || isCancelDownload() || Thread.currentThread().isInterrupted();
+  }
+
+  private ReliableResourceStatus stoppedStatus() {
+    ReliableResourceStatus status = getReliableResourceStatus();
+    if (status == null) {
+      status = setStatus(DownloadStatus.RESOURCE_DOWNLOAD_INTERRUPTED);
+    }
+    status.setMessage("Breaking from segmented download due to cancel or interrupt received");
+    return status;
+  }
+
+  private ReliableResourceStatus setStatus(DownloadStatus downloadStatus) {
+    ReliableResourceStatus status = new ReliableResourceStatus(downloadStatus, getBytesRead());
+    setReliableResourceStatus(status);
+    return status;
+  }
+
+  private static class Segment {
+
+    private final long start;
+
+    /** The number of bytes in the segment, or -1 if it is read to the end of the product. */
+    private final long length;
+
+    private final boolean head;
+
+    private final AtomicLong written = new AtomicLong(0);
+
+    private volatile boolean complete;
+
+    private volatile Exception readFailure;
+
+    private volatile IOException writeFailure;
+
+    Segment(long start, long length, boolean head) {
+      this.start = start;
+      this.length = length;
+      this.head = head;
+    }
+
+    /** Returns the number of bytes left to read, or -1 if reading to the end of the product. */
+    long remaining() {
+      return length < 0 ? -1 : length - written.get();
+    }
+  }
+}
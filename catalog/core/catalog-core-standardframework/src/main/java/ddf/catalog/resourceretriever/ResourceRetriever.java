@@ -22,9 +22,25 @@ public interface ResourceRetriever {
 
   static final String BYTES_TO_SKIP = "BytesToSkip";
 
+  static final String BYTES_TO_READ = "BytesToRead";
+
   public ResourceResponse retrieveResource()
       throws ResourceNotFoundException, ResourceNotSupportedException, IOException;
 
   public ResourceResponse retrieveResource(long bytesToSkip)
       throws ResourceNotFoundException, ResourceNotSupportedException, IOException;
+
+  /**
+   * Retrieves a byte range of the resource. Retrievers that cannot bound the end of the range
+   * return the resource from {@code bytesToSkip} to its end, so callers must stop reading after
+   * {@code bytesToRead} bytes themselves.
+   *
+   * @param bytesToSkip the number of bytes at the start of the resource to skip
+   * @param bytesToRead the number of bytes to read after the skipped bytes, or a non-positive
+   *     value to read to the end of the resource
+   */
+  default ResourceResponse retrieveResource(long bytesToSkip, long bytesToRead)
+      throws ResourceNotFoundException, ResourceNotSupportedException, IOException {
+    return retrieveResource(bytesToSkip);
+  }
 }
@@ -17,13 +17,17 @@
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.action.ActionRegistry;
 import ddf.catalog.data.ContentType;
 import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
 import ddf.catalog.data.defaultvalues.DefaultAttributeValueRegistryImpl;
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.federation.FederationException;
@@ -42,17 +46,21 @@
 import ddf.catalog.impl.operations.TransformOperations;
 import ddf.catalog.impl.operations.UpdateOperations;
 import ddf.catalog.operation.CreateResponse;
+import ddf.catalog.operation.Query;
 import ddf.catalog.operation.QueryRequest;
 import ddf.catalog.operation.QueryResponse;
 import ddf.catalog.operation.impl.CreateRequestImpl;
 import ddf.catalog.operation.impl.QueryImpl;
 import ddf.catalog.operation.impl.QueryRequestImpl;
+import ddf.catalog.plugin.CacheablePolicyPlugin;
 import ddf.catalog.plugin.PostIngestPlugin;
+import ddf.catalog.plugin.impl.PolicyResponseImpl;
 import ddf.catalog.source.IngestException;
 import ddf.catalog.source.Source;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
@@ -80,6 +88,8 @@ public class CatalogFrameworkQueryTest {
 
   private CatalogFrameworkImpl framework;
 
+  private FrameworkProperties props;
+
   @Before
   public void initFramework() {
     MockMemoryProvider provider =
@@ -91,7 +101,7 @@ public void initFramework() {
         .thenReturn(Optional.of(SourceStatus.AVAILABLE));
 
     ArrayList<PostIngestPlugin> postIngestPlugins = new ArrayList<>();
-    FrameworkProperties props = new FrameworkProperties();
+    props = new FrameworkProperties();
     props.setCatalogProviders(Collections.singletonList(provider));
     props.setPostIngest(postIngestPlugins);
     props.setFederationStrategy(new MockFederationStrategy());
@@ -162,6 +172,53 @@ public void initFramework() {
     sourceOperations.bind(provider);
   }
 
+  @Test
+  public void testCacheablePolicyPluginCalledOncePerPolicyAttributeValues() throws Exception {
+    Calendar expiration = Calendar.getInstance();
+    expiration.add(Calendar.YEAR, 1);
+    List<Metacard> metacards = new ArrayList<>();
+    for (String title : Arrays.asList("title", "title", "other title")) {
+      MetacardImpl metacard = new MetacardImpl();
+      metacard.setTitle(title);
+      metacard.setExpirationDate(expiration.getTime());
+      metacards.add(metacard);
+    }
+    framework.create(new CreateRequestImpl(metacards, null));
+
+    CacheablePolicyPlugin policyPlugin = mock(CacheablePolicyPlugin.class);
+    when(policyPlugin.getPostQueryPolicyAttributes())
+        .thenReturn(Collections.singletonList(Metacard.TITLE));
+    when(policyPlugin.processPreQuery(any(Query.class), anyMap()))
+        .thenReturn(new PolicyResponseImpl());
+    when(policyPlugin.processPostQuery(any(Result.class), anyMap()))
+        .thenAnswer(
+            invocation -> {
+              String title = ((Result) invocation.getArguments()[0]).getMetacard().getTitle();
+              return new PolicyResponseImpl(
+                  null, Collections.singletonMap("title", Collections.singleton(title)));
+            });
+    props.setPolicyPlugins(Collections.singletonList(policyPlugin));
+
+    FilterFactory filterFactory = new FilterFactoryImpl();
+    Instant now = new DefaultInstant(new DefaultPosition(new Date()));
+    QueryResponse response =
+        framework.query(
+            new QueryRequestImpl(
+                new QueryImpl(
+                    filterFactory.after(
+                        filterFactory.property(Metacard.EXPIRATION), filterFactory.literal(now))),
+                false));
+
+    assertEquals(3, response.getResults().size());
+    verify(policyPlugin, times(2)).processPostQuery(any(Result.class), anyMap());
+    for (Result result : response.getResults()) {
+      Metacard metacard = result.getMetacard();
+      assertEquals(
+          Collections.singletonMap("title", Collections.singleton(metacard.getTitle())),
+          metacard.getAttribute(Metacard.SECURITY).getValue());
+    }
+  }
+
   @Test
   public void testAfterQuery() throws Exception {
     Calendar afterCal = Calendar.getInstance();
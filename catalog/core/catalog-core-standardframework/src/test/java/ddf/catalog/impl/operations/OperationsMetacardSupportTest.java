@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.impl.operations;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+
+import ddf.catalog.impl.FrameworkProperties;
+import ddf.catalog.plugin.StopProcessingException;
+import ddf.catalog.util.Parallelizable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OperationsMetacardSupportTest {
+
+  private static final int ITEM_COUNT = 1000;
+
+  private final List<Integer> items =
+      IntStream.range(0, ITEM_COUNT).boxed().collect(Collectors.toList());
+
+  private FrameworkProperties frameworkProperties;
+
+  private OperationsMetacardSupport opsMetacardSupport;
+
+  @Before
+  public void setUp() {
+    frameworkProperties = mock(FrameworkProperties.class);
+    opsMetacardSupport =
+        new OperationsMetacardSupport(frameworkProperties, mock(MetacardFactory.class));
+    opsMetacardSupport.setParallelProcessingEnabled(true);
+    opsMetacardSupport.setParallelProcessingThreshold(2);
+  }
+
+  @After
+  public void tearDown() {
+    opsMetacardSupport.destroy();
+  }
+
+  @Test
+  public void testProcessParallelizableKeepsOrder() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    List<Integer> results =
+        opsMetacardSupport.process(
+            items,
+            Collections.singletonList(new ParallelizableExtension()),
+            item -> {
+              threads.add(Thread.currentThread());
+              return item * 2;
+            });
+
+    assertThat(results, is(items.stream().map(item -> item * 2).collect(Collectors.toList())));
+    assertThat(threads, everyItem(not(is(Thread.currentThread()))));
+  }
+
+  @Test
+  public void testProcessSequentialWhenAnExtensionIsNotParallelizable() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    List<Integer> results =
+        opsMetacardSupport.process(
+            items,
+            Arrays.asList(new ParallelizableExtension(), new Object()),
+            item -> {
+              threads.add(Thread.currentThread());
+              return item;
+            });
+
+    assertThat(results, is(items));
+    assertThat(threads, is(Collections.singleton(Thread.currentThread())));
+  }
+
+  @Test
+  public void testProcessSequentialWhenDisabled() {
+    opsMetacardSupport.setParallelProcessingEnabled(false);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    opsMetacardSupport.process(
+        items,
+        Collections.singletonList(new ParallelizableExtension()),
+        item -> threads.add(Thread.currentThread()));
+
+    assertThat(threads, is(Collections.singleton(Thread.currentThread())));
+  }
+
+  @Test
+  public void testProcessSequentialBelowThreshold() {
+    opsMetacardSupport.setParallelProcessingThreshold(ITEM_COUNT + 1);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+    opsMetacardSupport.process(
+        items,
+        Collections.singletonList(new ParallelizableExtension()),
+        item -> threads.add(Thread.currentThread()));
+
+    assertThat(threads, is(Collections.singleton(Thread.currentThread())));
+  }
+
+  @Test(expected = StopProcessingException.class)
+  public void testProcessParallelThrowsCheckedException() throws Exception {
+    opsMetacardSupport.process(
+        items,
+        Collections.singletonList(new ParallelizableExtension()),
+        item -> {
+          if (item == ITEM_COUNT / 2) {
+            throw new StopProcessingException("Policy failure");
+          }
+          return item;
+        });
+  }
+
+  private static class ParallelizableExtension implements Parallelizable {}
+}
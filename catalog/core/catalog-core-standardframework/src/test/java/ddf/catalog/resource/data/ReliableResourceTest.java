@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.resource.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import ddf.catalog.data.impl.MetacardImpl;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import javax.activation.MimeType;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ReliableResourceTest {
+
+  private static final String CONTENTS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ReliableResource resource;
+
+  @Before
+  public void setUp() throws Exception {
+    File file = temporaryFolder.newFile("product");
+    Files.write(file.toPath(), CONTENTS.getBytes(StandardCharsets.UTF_8));
+    resource =
+        new ReliableResource(
+            "key",
+            file.getAbsolutePath(),
+            new MimeType("text/plain"),
+            "product",
+            new MetacardImpl());
+  }
+
+  @Test
+  public void testReadWholeFile() throws IOException {
+    assertThat(read(resource.getInputStream(0, -1)), is(CONTENTS));
+  }
+
+  @Test
+  public void testReadRange() throws IOException {
+    assertThat(read(resource.getInputStream(10, 5)), is("abcde"));
+  }
+
+  @Test
+  public void testRangePastEndOfFile() throws IOException {
+    assertThat(read(resource.getInputStream(30, 100)), is("uvwxyz"));
+    assertThat(read(resource.getInputStream(100, 10)), is(""));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeStart() {
+    resource.getInputStream(-1, 10);
+  }
+
+  @Test
+  public void testSkipWithinRange() throws IOException {
+    try (InputStream inputStream = resource.getInputStream(5, 10)) {
+      assertThat(inputStream.skip(3), is(3L));
+      assertThat((char) inputStream.read(), is('8'));
+      assertThat(IOUtils.toString(inputStream, StandardCharsets.UTF_8), is("9abcde"));
+    }
+  }
+
+  @Test
+  public void testConcurrentReadersOfOneFile() throws IOException {
+    try (InputStream first = resource.getInputStream(0, 10);
+        InputStream second = resource.getInputStream(10, -1)) {
+      assertThat((char) first.read(), is('0'));
+      assertThat((char) second.read(), is('a'));
+      assertThat((char) first.read(), is('1'));
+      assertThat((char) second.read(), is('b'));
+    }
+  }
+
+  private String read(InputStream inputStream) throws IOException {
+    try (InputStream in = inputStream) {
+      return IOUtils.toString(in, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -22,6 +22,7 @@
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -49,6 +50,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -291,6 +293,36 @@ public void testDownloadWithCaching() throws Exception {
     cleanup();
   }
 
+  @Test
+  public void testCachedProductServedFromRequestedOffset() throws Exception {
+    Metacard metacard = getMockMetacard(EXPECTED_METACARD_ID, EXPECTED_METACARD_SOURCE_ID);
+    ReliableResource cachedResource =
+        new ReliableResource(
+            EXPECTED_CACHE_KEY,
+            productInputFilename,
+            new MimeType("text/plain"),
+            "test-resource",
+            new MetacardImpl());
+    when(resourceCache.getValid(EXPECTED_CACHE_KEY, metacard)).thenReturn(cachedResource);
+
+    resourceRequest = mock(ResourceRequest.class);
+    when(resourceRequest.getPropertyValue(ResourceRetriever.BYTES_TO_SKIP)).thenReturn(10L);
+    ResourceRetriever retriever = mock(ResourceRetriever.class);
+
+    ReliableResourceDownloaderConfig downloaderConfig = getDownloaderConfig();
+    downloaderConfig.setCacheEnabled(true);
+    downloadMgr.setDownloaderConfig(downloaderConfig);
+
+    ResourceResponse response = downloadMgr.download(resourceRequest, metacard, retriever);
+
+    try (InputStream inputStream = response.getResource().getInputStream()) {
+      assertThat(
+          IOUtils.toString(inputStream, StandardCharsets.UTF_8),
+          is(expectedFileContents.substring(10)));
+    }
+    verify(retriever, never()).retrieveResource();
+  }
+
   /**
    * Verifies that if client is reading from @ReliableResourceInputStream slower than {@link
    * ReliableResourceCallable} is reading from product InputStream and writing to
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.resource.download;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.io.CountingOutputStream;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.operation.ResourceRequest;
+import ddf.catalog.operation.impl.ResourceResponseImpl;
+import ddf.catalog.resource.ResourceNotFoundException;
+import ddf.catalog.resource.download.ReliableResourceStatus.DownloadStatus;
+import ddf.catalog.resource.impl.ResourceImpl;
+import ddf.catalog.resourceretriever.ResourceRetriever;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SegmentedResourceCallableTest {
+
+  private static final int PRODUCT_SIZE = 64 * ReliableResourceDownloaderConfig.KB;
+
+  private static final int SEGMENT_COUNT = 4;
+
+  @Rule public TemporaryFolder testFolder = new TemporaryFolder();
+
+  private byte[] product;
+
+  private ReliableResourceDownloaderConfig downloaderConfig;
+
+  private ResourceRetriever retriever;
+
+  @Before
+  public void setUp() throws Exception {
+    product = new byte[PRODUCT_SIZE];
+    for (int i = 0; i < product.length; i++) {
+      product[i] = (byte) (i % 251);
+    }
+
+    downloaderConfig = new ReliableResourceDownloaderConfig();
+    downloaderConfig.setChunkSize(ReliableResourceDownloaderConfig.KB);
+    downloaderConfig.setSegmentCount(SEGMENT_COUNT);
+    downloaderConfig.setMaxRetryAttempts(3);
+    downloaderConfig.setDelayBetweenAttemptsMS(0);
+
+    retriever = mock(ResourceRetriever.class);
+    when(retriever.retrieveResource(anyLong(), anyLong()))
+        .thenAnswer(
+            invocation ->
+                getRange(
+                    (Long) invocation.getArguments()[0], (Long) invocation.getArguments()[1]));
+  }
+
+  @Test
+  public void testSegmentsDeliveredInOrder() throws Exception {
+    File cacheFile = testFolder.newFile("product");
+    ByteArrayOutputStream clientStream = new ByteArrayOutputStream();
+
+    ReliableResourceStatus status;
+    try (FileOutputStream fos = new FileOutputStream(cacheFile)) {
+      status = createCallable(new CountingOutputStream(clientStream), fos, cacheFile).call();
+    }
+
+    assertThat(status.getDownloadStatus(), is(DownloadStatus.RESOURCE_DOWNLOAD_COMPLETE));
+    assertThat(status.getBytesRead(), is((long) PRODUCT_SIZE));
+    assertThat(clientStream.toByteArray(), is(product));
+    assertThat(Files.readAllBytes(cacheFile.toPath()), is(product));
+  }
+
+  @Test
+  public void testFailedSegmentRetrievedAgain() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    when(retriever.retrieveResource(anyLong(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              if (attempts.getAndIncrement() == 0) {
+                throw new IOException("Connection reset");
+              }
+              return getRange(
+                  (Long) invocation.getArguments()[0], (Long) invocation.getArguments()[1]);
+            });
+    ByteArrayOutputStream clientStream = new ByteArrayOutputStream();
+
+    ReliableResourceStatus status =
+        createCallable(new CountingOutputStream(clientStream), null, null).call();
+
+    assertThat(status.getDownloadStatus(), is(DownloadStatus.RESOURCE_DOWNLOAD_COMPLETE));
+    assertThat(clientStream.toByteArray(), is(product));
+  }
+
+  @Test
+  public void testUnavailableSegmentReturnsContiguousBytesRead() throws Exception {
+    when(retriever.retrieveResource(anyLong(), anyLong()))
+        .thenThrow(new ResourceNotFoundException("Range not available"));
+    ByteArrayOutputStream clientStream = new ByteArrayOutputStream();
+
+    ReliableResourceStatus status =
+        createCallable(new CountingOutputStream(clientStream), null, null).call();
+
+    long segmentLength = SegmentedResourceCallable.getSegmentLength(PRODUCT_SIZE, SEGMENT_COUNT);
+    assertThat(status.getDownloadStatus(), is(DownloadStatus.PRODUCT_INPUT_STREAM_EXCEPTION));
+    assertThat(status.getBytesRead(), is(segmentLength));
+    assertThat(clientStream.size(), is((int) segmentLength));
+  }
+
+  @Test
+  public void testCacheFileTruncatedWhenProductSmallerThanExpected() throws Exception {
+    byte[] expectedProduct =
+        Arrays.copyOf(product, PRODUCT_SIZE - ReliableResourceDownloaderConfig.KB);
+    product = expectedProduct;
+    File cacheFile = testFolder.newFile("product");
+    ByteArrayOutputStream clientStream = new ByteArrayOutputStream();
+
+    ReliableResourceStatus status;
+    try (FileOutputStream fos = new FileOutputStream(cacheFile)) {
+      status = createCallable(new CountingOutputStream(clientStream), fos, cacheFile).call();
+    }
+
+    assertThat(status.getDownloadStatus(), is(DownloadStatus.RESOURCE_DOWNLOAD_COMPLETE));
+    assertThat(status.getBytesRead(), is((long) expectedProduct.length));
+    assertThat(clientStream.toByteArray(), is(expectedProduct));
+    assertThat(cacheFile.length(), is((long) expectedProduct.length));
+    assertThat(Files.readAllBytes(cacheFile.toPath()), is(expectedProduct));
+  }
+
+  @Test
+  public void testCacheFileTruncatedBeforeSingleStreamResume() throws Exception {
+    byte[] expectedProduct = Arrays.copyOf(product, PRODUCT_SIZE * 5 / 8);
+    product = expectedProduct;
+    File cacheFile = testFolder.newFile("product");
+    ByteArrayOutputStream clientStream = new ByteArrayOutputStream();
+
+    ReliableResourceStatus status;
+    long position;
+    try (FileOutputStream fos = new FileOutputStream(cacheFile)) {
+      status = createCallable(new CountingOutputStream(clientStream), fos, cacheFile).call();
+      position = fos.getChannel().position();
+    }
+
+    assertThat(status.getDownloadStatus(), is(DownloadStatus.PRODUCT_INPUT_STREAM_EXCEPTION));
+    assertThat(status.getBytesRead(), is((long) expectedProduct.length));
+    assertThat(position, is((long) expectedProduct.length));
+    assertThat(cacheFile.length(), is((long) expectedProduct.length));
+    assertThat(Files.readAllBytes(cacheFile.toPath()), is(expectedProduct));
+  }
+
+  @Test
+  public void testGetSegmentedProductSize() {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setResourceSize(String.valueOf(PRODUCT_SIZE));
+    ResourceRequest request = mock(ResourceRequest.class);
+
+    assertThat(
+        SegmentedResourceCallable.getSegmentedProductSize(metacard, request, downloaderConfig),
+        is((long) PRODUCT_SIZE));
+
+    when(request.getPropertyValue(ResourceRetriever.BYTES_TO_SKIP)).thenReturn(10L);
+    assertThat(
+        SegmentedResourceCallable.getSegmentedProductSize(metacard, request, downloaderConfig),
+        is(-1L));
+
+    metacard.setResourceSize("unknown");
+    assertThat(
+        SegmentedResourceCallable.getSegmentedProductSize(metacard, null, downloaderConfig),
+        is(-1L));
+
+    metacard.setResourceSize(String.valueOf(PRODUCT_SIZE));
+    downloaderConfig.setSegmentCount(1);
+    assertThat(
+        SegmentedResourceCallable.getSegmentedProductSize(metacard, null, downloaderConfig),
+        is(-1L));
+  }
+
+  private SegmentedResourceCallable createCallable(
+      CountingOutputStream countingFbos, FileOutputStream fos, File cacheFile) {
+    long segmentLength = SegmentedResourceCallable.getSegmentLength(PRODUCT_SIZE, SEGMENT_COUNT);
+    return new SegmentedResourceCallable(
+        new ByteArrayInputStream(product, 0, (int) segmentLength),
+        countingFbos,
+        fos,
+        cacheFile == null ? null : cacheFile.toPath(),
+        retriever,
+        PRODUCT_SIZE,
+        downloaderConfig,
+        new Object());
+  }
+
+  private ResourceResponseImpl getRange(long bytesToSkip, long bytesToRead) {
+    int length = bytesToRead > 0 ? (int) bytesToRead : product.length - (int) bytesToSkip;
+    return new ResourceResponseImpl(
+        new ResourceImpl(
+            new ByteArrayInputStream(product, (int) bytesToSkip, length),
+            "application/octet-stream",
+            "product"));
+  }
+}
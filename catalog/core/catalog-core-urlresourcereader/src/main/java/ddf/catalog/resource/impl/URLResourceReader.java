@@ -86,6 +86,8 @@ public class URLResourceReader implements ResourceReader {
 
   private static final String BYTES_TO_SKIP = "BytesToSkip";
 
+  private static final String BYTES_TO_READ = "BytesToRead";
+
   private static final String USERNAME = "username";
 
   @SuppressWarnings("squid:S2068" /* Password property key */)
@@ -368,6 +370,12 @@ private ResourceResponse retrieveHttpProduct(
 
       WebClient client = getWebClient(resourceURI.toString(), properties);
 
+      String range = getRangeHeader(Long.parseLong(bytesToSkip), properties);
+      if (range != null) {
+        LOGGER.debug("Requesting byte range {}", range);
+        client.header(HttpHeaders.RANGE, range);
+      }
+
       Response response = client.get();
 
       MultivaluedMap<String, Object> headers = response.getHeaders();
@@ -418,6 +426,31 @@ private ResourceResponse retrieveHttpProduct(
     }
   }
 
+  /**
+   * Builds the value of the Range header for the requested bytes. Servers that ignore the header
+   * return the whole product, which {@link #alignStream} skips forward to the requested offset.
+   *
+   * @return the header value, or {@code null} if the whole product was requested
+   */
+  private String getRangeHeader(long bytesToSkip, Map<String, Serializable> properties) {
+    long bytesToRead = 0;
+    Serializable bytesToReadValue = properties.get(BYTES_TO_READ);
+    if (bytesToReadValue != null) {
+      try {
+        bytesToRead = Long.parseLong(bytesToReadValue.toString());
+      } catch (NumberFormatException e) {
+        LOGGER.debug("Ignoring invalid bytes to read value: {}", bytesToReadValue);
+      }
+    }
+
+    if (bytesToRead > 0) {
+      return String.format("bytes=%d-%d", bytesToSkip, bytesToSkip + bytesToRead - 1);
+    } else if (bytesToSkip > 0) {
+      return String.format("bytes=%d-", bytesToSkip);
+    }
+    return null;
+  }
+
   private String getResponseErrorMessage(InputStream is) {
     String error = "";
     try {
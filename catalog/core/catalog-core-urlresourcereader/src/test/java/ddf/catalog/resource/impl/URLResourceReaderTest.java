@@ -117,6 +117,8 @@ public class URLResourceReaderTest {
 
   private static final String BYTES_TO_SKIP = "BytesToSkip";
 
+  private static final String BYTES_TO_READ = "BytesToRead";
+
   @Rule
   public MethodRule watchman =
       new TestWatchman() {
@@ -450,6 +452,29 @@ public void testServerSupportsPartialContentResponseWithCorrectOffset() throws E
         uri, JPEG_FILE_NAME_1, JPEG_MIME_TYPE, bytesToSkip, null, 3, uri.toString());
   }
 
+  @Test
+  public void testRangeHeaderSentForRequestedBytes() throws Exception {
+    URI uri = new URI(HTTP_SCHEME_PLUS_SEP + HOST + "/src/test/resources/data/" + BAD_FILE_NAME);
+
+    Response mockResponse = mock(Response.class);
+    when(mockWebClient.get()).thenReturn(mockResponse);
+    MultivaluedMap<String, Object> map = new MultivaluedHashMap<>();
+    map.put(HttpHeaders.CONTENT_RANGE, Arrays.asList("Bytes 2-3/5"));
+    when(mockResponse.getHeaders()).thenReturn(map);
+    when(mockResponse.getStatus()).thenReturn(Response.Status.PARTIAL_CONTENT.getStatusCode());
+    when(mockResponse.getEntity()).thenReturn(getBinaryDataWithOffset(2));
+
+    Map<String, Serializable> arguments = new HashMap<>();
+    arguments.put(BYTES_TO_SKIP, 2L);
+    arguments.put(BYTES_TO_READ, 2L);
+
+    TestURLResourceReader resourceReader =
+        new TestURLResourceReader(mimeTypeMapper, clientFactoryFactory);
+    resourceReader.retrieveResource(uri, arguments);
+
+    verify(mockWebClient).header(HttpHeaders.RANGE, "bytes=2-3");
+  }
+
   /**
    * Tests that a Partial Content response that has a smaller byte offset than what was requested
    * still returns an input stream starting at the requested byte offset by skipping ahead in the
@@ -15,7 +15,13 @@
 
 import ddf.catalog.content.data.ContentItem;
 import ddf.catalog.content.operation.CreateStorageRequest;
+import ddf.catalog.content.operation.CreateStorageResponse;
 import ddf.catalog.content.operation.UpdateStorageRequest;
+import ddf.catalog.content.operation.UpdateStorageResponse;
+import ddf.catalog.content.operation.impl.CreateStorageRequestImpl;
+import ddf.catalog.content.operation.impl.UpdateStorageRequestImpl;
+import ddf.catalog.content.plugin.PostCreateStoragePlugin;
+import ddf.catalog.content.plugin.PostUpdateStoragePlugin;
 import ddf.catalog.content.plugin.PreCreateStoragePlugin;
 import ddf.catalog.content.plugin.PreUpdateStoragePlugin;
 import ddf.catalog.data.Metacard;
@@ -25,10 +31,23 @@
 import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.checksum.ChecksumProvider;
 
-public class Checksum implements PreCreateStoragePlugin, PreUpdateStoragePlugin {
+/**
+ * Adds the checksum of the content to the metacards of created and updated content items.
+ *
+ * <p>If the {@link ChecksumProvider} supports streaming, the checksum is calculated while the
+ * storage provider writes the content, so that the content is only read once. The checksum of
+ * content that the storage provider did not read, for instance content that is stored by
+ * reference, is calculated after the content has been stored.
+ */
+public class Checksum
+    implements PreCreateStoragePlugin,
+        PreUpdateStoragePlugin,
+        PostCreateStoragePlugin,
+        PostUpdateStoragePlugin {
   private final ChecksumProvider checksumProvider;
 
   public Checksum(ChecksumProvider checksumProvider) {
@@ -40,6 +59,10 @@ public CreateStorageRequest process(CreateStorageRequest input) throws PluginExe
     if (input == null) {
       throw new IllegalArgumentException("CreateStorageRequest cannot be null");
     }
+    if (checksumProvider.isStreamingSupported()) {
+      return new CreateStorageRequestImpl(
+          wrapContentItems(input.getContentItems()), input.getId(), input.getProperties());
+    }
     runChecksum(input.getContentItems());
 
     return input;
@@ -50,11 +73,60 @@ public UpdateStorageRequest process(UpdateStorageRequest input) throws PluginExe
     if (input == null) {
       throw new IllegalArgumentException("UpdateStorageRequest cannot be null");
     }
+    if (checksumProvider.isStreamingSupported()) {
+      return new UpdateStorageRequestImpl(
+          wrapContentItems(input.getContentItems()), input.getId(), input.getProperties());
+    }
     runChecksum(input.getContentItems());
 
     return input;
   }
 
+  @Override
+  public CreateStorageResponse process(CreateStorageResponse input)
+      throws PluginExecutionException {
+    runRemainingChecksums(input.getStorageRequest().getContentItems());
+
+    return input;
+  }
+
+  @Override
+  public UpdateStorageResponse process(UpdateStorageResponse input)
+      throws PluginExecutionException {
+    runRemainingChecksums(input.getStorageRequest().getContentItems());
+
+    return input;
+  }
+
+  private List<ContentItem> wrapContentItems(List<ContentItem> contentItems) {
+    return contentItems
+        .stream()
+        .map(
+            contentItem ->
+                StringUtils.isNotEmpty(contentItem.getQualifier())
+                    ? contentItem
+                    : new ChecksumContentItem(
+                        contentItem,
+                        checksumProvider,
+                        (metacard, checksumValue) ->
+                            addChecksumAttributes(
+                                metacard, checksumProvider.getChecksumAlgorithm(), checksumValue)))
+        .collect(Collectors.toList());
+  }
+
+  /** Calculates the checksums that were not calculated while the content was stored. */
+  private void runRemainingChecksums(List<ContentItem> contentItems)
+      throws PluginExecutionException {
+    runChecksum(
+        contentItems
+            .stream()
+            .filter(ChecksumContentItem.class::isInstance)
+            .map(ChecksumContentItem.class::cast)
+            .filter(contentItem -> !contentItem.isChecksumCalculated())
+            .map(ChecksumContentItem::getContentItem)
+            .collect(Collectors.toList()));
+  }
+
   private void runChecksum(List<ContentItem> contentItems) throws PluginExecutionException {
     for (ContentItem contentItem : contentItems) {
       if (StringUtils.isNotEmpty(contentItem.getQualifier())) {
@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.catalog.content.plugin.checksum;
+
+import ddf.catalog.content.data.ContentItem;
+import ddf.catalog.data.Metacard;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.BiConsumer;
+import javax.activation.MimeType;
+import org.codice.ddf.checksum.ChecksumInputStream;
+import org.codice.ddf.checksum.ChecksumProvider;
+
+/**
+ * {@link ContentItem} that calculates the checksum of its content while the content is read, for
+ * instance while the storage provider writes it, and publishes the checksum onto its {@link
+ * Metacard} once the content has been read to its end.
+ */
+class ChecksumContentItem implements ContentItem {
+
+  private final ContentItem contentItem;
+
+  private final ChecksumProvider checksumProvider;
+
+  private final BiConsumer<Metacard, String> checksumConsumer;
+
+  private volatile boolean checksumCalculated;
+
+  /**
+   * @param contentItem the content item to calculate the checksum of
+   * @param checksumProvider the provider that calculates the checksum, must support streaming
+   * @param checksumConsumer called with the metacard and the checksum each time the content has
+   *     been read to its end
+   */
+  ChecksumContentItem(
+      ContentItem contentItem,
+      ChecksumProvider checksumProvider,
+      BiConsumer<Metacard, String> checksumConsumer) {
+    this.contentItem = contentItem;
+    this.checksumProvider = checksumProvider;
+    this.checksumConsumer = checksumConsumer;
+  }
+
+  /** Returns the wrapped content item, whose content is read without calculating a checksum. */
+  ContentItem getContentItem() {
+    return contentItem;
+  }
+
+  /** Returns whether the content has been read to its end and its checksum published. */
+  boolean isChecksumCalculated() {
+    return checksumCalculated;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    ChecksumInputStream checksumInputStream;
+    try {
+      checksumInputStream = checksumProvider.wrapInputStream(contentItem.getInputStream());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException("Unsupported algorithm", e);
+    }
+
+    return new FilterInputStream(checksumInputStream) {
+      @Override
+      public int read() throws IOException {
+        return publishAtEnd(super.read());
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        return publishAtEnd(super.read(b, off, len));
+      }
+
+      private int publishAtEnd(int read) {
+        if (read == -1) {
+          checksumConsumer.accept(getMetacard(), checksumInputStream.getChecksumValue());
+          checksumCalculated = true;
+        }
+        return read;
+      }
+    };
+  }
+
+  @Override
+  public String getId() {
+    return contentItem.getId();
+  }
+
+  @Override
+  public String getUri() {
+    return contentItem.getUri();
+  }
+
+  @Override
+  public String getQualifier() {
+    return contentItem.getQualifier();
+  }
+
+  @Override
+  public String getFilename() {
+    return contentItem.getFilename();
+  }
+
+  @Override
+  public MimeType getMimeType() {
+    return contentItem.getMimeType();
+  }
+
+  @Override
+  public String getMimeTypeRawData() {
+    return contentItem.getMimeTypeRawData();
+  }
+
+  @Override
+  public long getSize() throws IOException {
+    return contentItem.getSize();
+  }
+
+  @Override
+  public Metacard getMetacard() {
+    return contentItem.getMetacard();
+  }
+}
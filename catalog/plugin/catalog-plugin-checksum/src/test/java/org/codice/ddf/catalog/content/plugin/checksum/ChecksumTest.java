@@ -14,6 +14,7 @@
 package org.codice.ddf.catalog.content.plugin.checksum;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
@@ -21,22 +22,32 @@
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.catalog.content.data.ContentItem;
 import ddf.catalog.content.operation.CreateStorageRequest;
+import ddf.catalog.content.operation.CreateStorageResponse;
 import ddf.catalog.content.operation.UpdateStorageRequest;
+import ddf.catalog.content.operation.UpdateStorageResponse;
+import ddf.catalog.content.operation.impl.CreateStorageRequestImpl;
+import ddf.catalog.content.operation.impl.UpdateStorageRequestImpl;
 import ddf.catalog.data.Attribute;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.plugin.PluginExecutionException;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import org.codice.ddf.checksum.ChecksumProvider;
+import org.codice.ddf.checksum.impl.Adler32ChecksumProvider;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -53,6 +64,8 @@ public class ChecksumTest {
 
   private static final String SAMPLE_CHECKSUM_VALUE = "324D54D92B2D97471F9F4624596EA9F5";
 
+  private static final byte[] CONTENT = "Sample content".getBytes(StandardCharsets.UTF_8);
+
   @Before
   public void initialize() throws IOException, NoSuchAlgorithmException {
     mockChecksumProvider = mock(ChecksumProvider.class);
@@ -194,4 +207,59 @@ public void testProcessUpdateDerivedContentDoesNotSetAttribute() throws Exceptio
 
     verify(metacard, never()).setAttribute(any(Attribute.class));
   }
+
+  @Test
+  public void testStreamingChecksumCalculatedWhileContentIsStored() throws Exception {
+    ChecksumProvider checksumProvider = new Adler32ChecksumProvider();
+    Checksum streamingChecksum = new Checksum(checksumProvider);
+    ContentItem contentItem = getContentItem(new MetacardImpl());
+    CreateStorageRequest request =
+        streamingChecksum.process(
+            new CreateStorageRequestImpl(Collections.singletonList(contentItem), new HashMap<>()));
+    Metacard metacard = request.getContentItems().get(0).getMetacard();
+
+    assertThat(metacard.getAttribute(Metacard.CHECKSUM), is(nullValue()));
+
+    try (InputStream inputStream = request.getContentItems().get(0).getInputStream()) {
+      byte[] buffer = new byte[4];
+      while (inputStream.read(buffer) != -1) {}
+    }
+    CreateStorageResponse response = mock(CreateStorageResponse.class);
+    when(response.getStorageRequest()).thenReturn(request);
+    streamingChecksum.process(response);
+
+    verify(contentItem, times(1)).getInputStream();
+    assertThat(
+        metacard.getAttribute(Metacard.CHECKSUM).getValue(),
+        is(checksumProvider.calculateChecksum(new ByteArrayInputStream(CONTENT))));
+    assertThat(
+        metacard.getAttribute(Metacard.CHECKSUM_ALGORITHM).getValue(),
+        is(checksumProvider.getChecksumAlgorithm()));
+  }
+
+  @Test
+  public void testStreamingChecksumCalculatedAfterContentIsStoredByReference() throws Exception {
+    ChecksumProvider checksumProvider = new Adler32ChecksumProvider();
+    Checksum streamingChecksum = new Checksum(checksumProvider);
+    ContentItem contentItem = getContentItem(new MetacardImpl());
+    UpdateStorageRequest request =
+        streamingChecksum.process(
+            new UpdateStorageRequestImpl(Collections.singletonList(contentItem), new HashMap<>()));
+    UpdateStorageResponse response = mock(UpdateStorageResponse.class);
+    when(response.getStorageRequest()).thenReturn(request);
+
+    streamingChecksum.process(response);
+
+    verify(contentItem, times(1)).getInputStream();
+    assertThat(
+        contentItem.getMetacard().getAttribute(Metacard.CHECKSUM).getValue(),
+        is(checksumProvider.calculateChecksum(new ByteArrayInputStream(CONTENT))));
+  }
+
+  private ContentItem getContentItem(Metacard metacard) throws IOException {
+    ContentItem contentItem = mock(ContentItem.class);
+    when(contentItem.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(CONTENT));
+    when(contentItem.getMetacard()).thenReturn(metacard);
+    return contentItem;
+  }
 }
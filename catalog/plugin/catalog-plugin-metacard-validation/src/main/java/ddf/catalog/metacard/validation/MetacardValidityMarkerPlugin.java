@@ -27,6 +27,7 @@
 import ddf.catalog.plugin.PreIngestPlugin;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.util.Describable;
+import ddf.catalog.validation.BatchMetacardValidator;
 import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ValidationException;
 import java.io.Serializable;
@@ -81,19 +82,53 @@ public UpdateRequest process(UpdateRequest input)
 
   private <T> List<T> validateList(List<T> requestItems, Function<T, Metacard> itemToMetacard) {
     Map<String, Integer> counter = new HashMap<>();
+    Map<MetacardValidator, MetacardValidator> batchValidators =
+        getBatchValidators(requestItems, itemToMetacard);
 
     List<T> validated =
         requestItems
             .stream()
-            .map(item -> validate(item, itemToMetacard, counter))
+            .map(item -> validate(item, itemToMetacard, counter, batchValidators))
             .filter(didNotFailEnforcedValidator)
             .collect(Collectors.toList());
 
     return validated;
   }
 
+  /**
+   * Lets each {@link BatchMetacardValidator} prepare the validation of all the metacards of the
+   * request at once.
+   *
+   * @return the validator to use for the metacards of the request, by configured validator
+   */
+  private <T> Map<MetacardValidator, MetacardValidator> getBatchValidators(
+      List<T> requestItems, Function<T, Metacard> itemToMetacard) {
+    Map<MetacardValidator, MetacardValidator> batchValidators = new HashMap<>();
+    List<Metacard> metacards = null;
+
+    for (MetacardValidator validator : metacardValidators) {
+      if (validator instanceof BatchMetacardValidator) {
+        if (metacards == null) {
+          metacards = requestItems.stream().map(itemToMetacard).collect(Collectors.toList());
+        }
+        try {
+          batchValidators.put(validator, ((BatchMetacardValidator) validator).forBatch(metacards));
+        } catch (RuntimeException e) {
+          LOGGER.debug(
+              "Unable to prepare metacard validator {} for the request, validating each metacard on its own.",
+              getValidatorName(validator),
+              e);
+        }
+      }
+    }
+    return batchValidators;
+  }
+
   private <T> T validate(
-      T item, Function<T, Metacard> itemToMetacard, Map<String, Integer> counter) {
+      T item,
+      Function<T, Metacard> itemToMetacard,
+      Map<String, Integer> counter,
+      Map<MetacardValidator, MetacardValidator> batchValidators) {
     Set<Serializable> newErrors = new HashSet<>();
     Set<Serializable> newWarnings = new HashSet<>();
     Set<Serializable> errorValidators = new HashSet<>();
@@ -108,7 +143,7 @@ private <T> T validate(
 
     for (MetacardValidator validator : metacardValidators) {
       try {
-        validator.validate(metacard);
+        batchValidators.getOrDefault(validator, validator).validate(metacard);
       } catch (ValidationException e) {
         String validatorName = getValidatorName(validator);
         boolean validationErrorsExist = CollectionUtils.isNotEmpty(e.getErrors());
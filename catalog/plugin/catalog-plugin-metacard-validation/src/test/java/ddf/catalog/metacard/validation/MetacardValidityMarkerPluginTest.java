@@ -23,9 +23,13 @@
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.withSettings;
 
@@ -46,6 +50,7 @@
 import ddf.catalog.plugin.PluginExecutionException;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.util.Describable;
+import ddf.catalog.validation.BatchMetacardValidator;
 import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ValidationException;
 import java.io.Serializable;
@@ -424,6 +429,40 @@ public void testTrackingClean() throws Exception {
     testTrackingHelper(getMockPassingValidator(), false, false);
   }
 
+  @Test
+  public void testBatchValidatorPreparedOncePerRequest() throws Exception {
+    BatchMetacardValidator batchValidator =
+        mock(BatchMetacardValidator.class, withSettings().extraInterfaces(Describable.class));
+    when(((Describable) batchValidator).getId()).thenReturn(ID);
+    MetacardValidator preparedValidator = getMockFailingValidatorWithErrors();
+    when(batchValidator.forBatch(anyListOf(Metacard.class))).thenReturn(preparedValidator);
+    metacardValidators.add(batchValidator);
+    CreateRequest request = getMockCreateRequest();
+
+    List<Metacard> metacards = plugin.process(request).getMetacards();
+
+    verify(batchValidator, times(1)).forBatch(request.getMetacards());
+    verify(batchValidator, never()).validate(any(Metacard.class));
+    verify(preparedValidator, times(2)).validate(any(Metacard.class));
+    verifyMetacardErrorsAndWarnings(metacards, expectError, expectNone, INVALID_TAG);
+    assertThat(
+        metacards.get(0).getAttribute(Validation.FAILED_VALIDATORS_ERRORS).getValues(),
+        contains(ID));
+  }
+
+  @Test
+  public void testBatchValidatorFailureFallsBackToValidator() throws Exception {
+    BatchMetacardValidator batchValidator = mock(BatchMetacardValidator.class);
+    when(batchValidator.forBatch(anyListOf(Metacard.class)))
+        .thenThrow(new IllegalStateException("Catalog unavailable"));
+    metacardValidators.add(batchValidator);
+
+    List<Metacard> metacards = plugin.process(getMockCreateRequest()).getMetacards();
+
+    verify(batchValidator, times(2)).validate(any(Metacard.class));
+    verifyMetacardErrorsAndWarnings(metacards, expectNone, expectNone, VALID_TAG);
+  }
+
   private void testTrackingHelper(
       MetacardValidator validator, boolean expectErrors, boolean expectWarnings) throws Exception {
     List<Metacard> metacards = markerPluginResponseHelper(validator, false, false, 2);
@@ -24,6 +24,7 @@
 import ddf.catalog.plugin.PolicyResponse;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.plugin.impl.PolicyResponseImpl;
+import ddf.catalog.util.Parallelizable;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,7 +36,7 @@
  * HistorianPolicyPlugin prevents anyone without the {@link HistorianPolicyPlugin#HISTORY_ROLE} from
  * modifying a {@link MetacardVersion} in any way.
  */
-public class HistorianPolicyPlugin implements PolicyPlugin {
+public class HistorianPolicyPlugin implements PolicyPlugin, Parallelizable {
 
   public static final String HISTORY_ROLE = "system-history";
 
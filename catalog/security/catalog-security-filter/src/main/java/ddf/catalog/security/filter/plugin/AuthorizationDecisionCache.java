@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.security.filter.plugin;
+
+import ddf.security.impl.SubjectUtils;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.apache.shiro.subject.PrincipalCollection;
+import org.apache.shiro.subject.Subject;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.ConfigurationEvent;
+import org.osgi.service.cm.ConfigurationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of the read decisions made by the authorization realms for the {@link
+ * FilterPlugin}. Query results tend to share a small number of distinct security markings, so a
+ * decision is keyed by the requesting subject's fingerprint, the action and the metacard's
+ * security attributes, and reused for every other result with the same markings.
+ *
+ * <p>Cached decisions are discarded whenever the authorization realm is reconfigured or a policy
+ * extension or attribute expansion service comes or goes, and expire after {@link
+ * #setExpirationMinutes(long)} so that changes the cache cannot observe, such as edits to the
+ * XACML policies, take effect within that interval.
+ */
+public class AuthorizationDecisionCache
+    implements AuthorizationDecisionCacheMBean, ConfigurationListener {
+
+  static final String AUTHZ_REALM_PID = "ddf.security.pdp.realm.AuthzRealm";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuthorizationDecisionCache.class);
+
+  private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  private static final long DEFAULT_EXPIRATION_MINUTES = 5;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  /** Incremented on every invalidation so decisions evaluated across one are not stored. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final Map<DecisionKey, Decision> decisions;
+
+  private volatile int maxEntries = DEFAULT_MAX_ENTRIES;
+
+  private volatile long expirationMillis = TimeUnit.MINUTES.toMillis(DEFAULT_EXPIRATION_MINUTES);
+
+  private MBeanServer mBeanServer;
+
+  private ObjectName objectName;
+
+  public AuthorizationDecisionCache() {
+    decisions =
+        new LinkedHashMap<DecisionKey, Decision>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<DecisionKey, Decision> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  public void init() {
+    try {
+      mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      objectName = new ObjectName(OBJECT_NAME);
+      if (!mBeanServer.isRegistered(objectName)) {
+        mBeanServer.registerMBean(
+            new StandardMBean(this, AuthorizationDecisionCacheMBean.class), objectName);
+      }
+    } catch (MalformedObjectNameException
+        | InstanceAlreadyExistsException
+        | MBeanRegistrationException
+        | NotCompliantMBeanException e) {
+      LOGGER.info("Unable to register the authorization decision cache MBean.", e);
+    }
+  }
+
+  public void destroy() {
+    if (mBeanServer != null && objectName != null) {
+      try {
+        mBeanServer.unregisterMBean(objectName);
+      } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+        LOGGER.debug("Unable to unregister the authorization decision cache MBean.", e);
+      }
+    }
+    invalidateAll();
+  }
+
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = Math.max(0, maxEntries);
+    invalidateAll();
+  }
+
+  public void setExpirationMinutes(long expirationMinutes) {
+    this.expirationMillis = TimeUnit.MINUTES.toMillis(Math.max(0, expirationMinutes));
+    invalidateAll();
+  }
+
+  /**
+   * Returns the value identifying the subject in cache keys: its primary principal and its
+   * normalized security attributes. Computed once per request and passed to {@link
+   * #isPermitted(Object, String, Map, BooleanSupplier)}.
+   *
+   * @return the fingerprint, or {@code null} if the subject cannot be identified and its decisions
+   *     must not be cached
+   */
+  public Object getSubjectFingerprint(Subject subject) {
+    if (subject == null) {
+      return null;
+    }
+    PrincipalCollection principals = subject.getPrincipals();
+    if (principals == null || principals.isEmpty()) {
+      return null;
+    }
+    try {
+      Map<String, SortedSet<String>> attributes = SubjectUtils.getSubjectAttributes(subject);
+      return new SubjectFingerprint(SubjectUtils.getName(subject), attributes);
+    } catch (RuntimeException e) {
+      LOGGER.debug("Unable to fingerprint subject, its decisions will not be cached.", e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns the cached decision for the subject, action and security attributes, evaluating and
+   * caching it with {@code decision} if there is none.
+   *
+   * @param subjectFingerprint value returned by {@link #getSubjectFingerprint(Subject)}, decisions
+   *     are evaluated without caching if {@code null}
+   * @param action the permission action
+   * @param securityAttributes the security attributes of the metacard, may be {@code null}
+   * @param decision evaluates the decision with the authorization realms
+   */
+  public boolean isPermitted(
+      Object subjectFingerprint,
+      String action,
+      Map<String, Set<String>> securityAttributes,
+      BooleanSupplier decision) {
+    if (subjectFingerprint == null || maxEntries == 0 || expirationMillis == 0) {
+      return decision.getAsBoolean();
+    }
+
+    DecisionKey key = new DecisionKey(subjectFingerprint, action, securityAttributes);
+    long now = System.currentTimeMillis();
+    long currentGeneration = generation.get();
+    synchronized (decisions) {
+      Decision cached = decisions.get(key);
+      if (cached != null) {
+        if (cached.expiresAt > now) {
+          hits.incrementAndGet();
+          return cached.permitted;
+        }
+        decisions.remove(key);
+      }
+    }
+
+    misses.incrementAndGet();
+    boolean permitted = decision.getAsBoolean();
+    synchronized (decisions) {
+      if (generation.get() == currentGeneration) {
+        decisions.put(key, new Decision(permitted, now + expirationMillis));
+      }
+    }
+    return permitted;
+  }
+
+  @Override
+  public void configurationEvent(ConfigurationEvent event) {
+    if (AUTHZ_REALM_PID.equals(event.getPid())) {
+      LOGGER.debug("Authorization realm configuration changed, discarding cached decisions.");
+      invalidateAll();
+    }
+  }
+
+  /** Reference listener for the policy extension and attribute expansion services. */
+  public void policyServiceChanged(ServiceReference<?> reference) {
+    LOGGER.debug(
+        "Authorization policy service {} changed, discarding cached decisions.", reference);
+    invalidateAll();
+  }
+
+  @Override
+  public void invalidateAll() {
+    synchronized (decisions) {
+      generation.incrementAndGet();
+      decisions.clear();
+    }
+  }
+
+  @Override
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  @Override
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  @Override
+  public double getHitRate() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public int getSize() {
+    synchronized (decisions) {
+      return decisions.size();
+    }
+  }
+
+  /**
+   * Copies the security attributes into a map of sets so that equal markings produce equal keys
+   * regardless of value order or the collection types used by the metacard.
+   */
+  private static Map<String, Set<?>> normalize(Map<String, ?> securityAttributes) {
+    if (securityAttributes == null || securityAttributes.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    Map<String, Set<?>> normalized = new HashMap<>(securityAttributes.size() * 2);
+    for (Map.Entry<String, ?> entry : securityAttributes.entrySet()) {
+      Object values = entry.getValue();
+      if (values instanceof Collection) {
+        normalized.put(entry.getKey(), new HashSet<>((Collection<?>) values));
+      } else {
+        normalized.put(
+            entry.getKey(),
+            values == null ? Collections.emptySet() : Collections.singleton(values));
+      }
+    }
+    return normalized;
+  }
+
+  private static final class SubjectFingerprint {
+
+    private final String name;
+
+    private final Map<String, SortedSet<String>> attributes;
+
+    private final int hashCode;
+
+    private SubjectFingerprint(String name, Map<String, SortedSet<String>> attributes) {
+      this.name = name;
+      this.attributes = attributes;
+      this.hashCode = Objects.hash(name, attributes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof SubjectFingerprint)) {
+        return false;
+      }
+      SubjectFingerprint that = (SubjectFingerprint) o;
+      return hashCode == that.hashCode
+          && Objects.equals(name, that.name)
+          && attributes.equals(that.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class DecisionKey {
+
+    private final Object subjectFingerprint;
+
+    private final String action;
+
+    private final Map<String, Set<?>> securityAttributes;
+
+    private final int hashCode;
+
+    private DecisionKey(
+        Object subjectFingerprint, String action, Map<String, ?> securityAttributes) {
+      this.subjectFingerprint = subjectFingerprint;
+      this.action = action;
+      this.securityAttributes = normalize(securityAttributes);
+      this.hashCode = Objects.hash(subjectFingerprint, action, this.securityAttributes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof DecisionKey)) {
+        return false;
+      }
+      DecisionKey that = (DecisionKey) o;
+      return hashCode == that.hashCode
+          && subjectFingerprint.equals(that.subjectFingerprint)
+          && Objects.equals(action, that.action)
+          && securityAttributes.equals(that.securityAttributes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class Decision {
+
+    private final boolean permitted;
+
+    private final long expiresAt;
+
+    private Decision(boolean permitted, long expiresAt) {
+      this.permitted = permitted;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.security.filter.plugin;
+
+/** MBean interface exposing the hit rate of the {@link FilterPlugin} authorization decisions. */
+public interface AuthorizationDecisionCacheMBean {
+
+  String OBJECT_NAME =
+      AuthorizationDecisionCache.class.getName() + ":service=authorization-decision-cache";
+
+  /** @return number of decisions that were answered from the cache */
+  long getHitCount();
+
+  /** @return number of decisions that had to be evaluated by the authorization realms */
+  long getMissCount();
+
+  /** @return fraction of decisions answered from the cache, between 0 and 1 */
+  double getHitRate();
+
+  /** @return number of decisions currently cached */
+  int getSize();
+
+  /** Discards every cached decision. */
+  void invalidateAll();
+}
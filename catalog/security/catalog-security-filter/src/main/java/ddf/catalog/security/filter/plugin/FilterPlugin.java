@@ -69,8 +69,15 @@ public class FilterPlugin implements AccessPlugin {
 
   private Security security;
 
+  private final AuthorizationDecisionCache decisionCache;
+
   public FilterPlugin(Security security) {
+    this(security, new AuthorizationDecisionCache());
+  }
+
+  public FilterPlugin(Security security, AuthorizationDecisionCache decisionCache) {
     this.security = security;
+    this.decisionCache = decisionCache;
   }
 
   public void addStrategy(ServiceReference<FilterStrategy> filterStrategyRef) {
@@ -241,6 +248,7 @@ public QueryResponse processPostQuery(QueryResponse input) throws StopProcessing
           "Unable to filter contents of current message, no user Subject available.");
     }
     Subject subject = getSubject(input);
+    Object subjectFingerprint = decisionCache.getSubjectFingerprint(subject);
 
     List<Result> results = input.getResults();
     List<Result> newResults = new ArrayList<>(results.size());
@@ -251,7 +259,12 @@ public QueryResponse processPostQuery(QueryResponse input) throws StopProcessing
     for (Result result : results) {
       metacard = result.getMetacard();
       Attribute attr = metacard.getAttribute(Metacard.SECURITY);
-      if (!checkPermissions(attr, securityPermission, subject, CollectionPermission.READ_ACTION)) {
+      if (!checkCachedPermissions(
+          attr,
+          securityPermission,
+          subject,
+          subjectFingerprint,
+          CollectionPermission.READ_ACTION)) {
         for (FilterStrategy filterStrategy : filterStrategies.values()) {
           FilterResult filterResult = filterStrategy.process(input, metacard);
           if (filterResult.processed()) {
@@ -338,6 +351,24 @@ private Subject getSubject(Request input) throws StopProcessingException {
     return subject;
   }
 
+  private boolean checkCachedPermissions(
+      Attribute attr,
+      KeyValueCollectionPermission securityPermission,
+      Subject subject,
+      Object subjectFingerprint,
+      String action) {
+    Map<String, Set<String>> map = null;
+
+    if (attr != null) {
+      map = (Map<String, Set<String>>) attr.getValue();
+    }
+    return decisionCache.isPermitted(
+        subjectFingerprint,
+        action,
+        map,
+        () -> checkPermissions(attr, securityPermission, subject, action));
+  }
+
   private boolean checkPermissions(
       Attribute attr,
       KeyValueCollectionPermission securityPermission,
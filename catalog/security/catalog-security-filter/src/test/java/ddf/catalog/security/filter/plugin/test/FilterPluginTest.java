@@ -19,6 +19,8 @@
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.catalog.data.Metacard;
@@ -40,6 +42,7 @@
 import ddf.catalog.operation.impl.UpdateRequestImpl;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.resource.Resource;
+import ddf.catalog.security.filter.plugin.AuthorizationDecisionCache;
 import ddf.catalog.security.filter.plugin.FilterPlugin;
 import ddf.security.SecurityConstants;
 import ddf.security.Subject;
@@ -73,6 +76,7 @@
 import org.mockito.stubbing.Answer;
 import org.opengis.filter.FilterVisitor;
 import org.opengis.filter.sort.SortBy;
+import org.osgi.service.cm.ConfigurationEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -96,9 +100,11 @@ public class FilterPluginTest {
 
   DeleteResponse badDeleteResponse;
 
+  AuthorizingRealm realm;
+
   @Before
   public void setup() {
-    AuthorizingRealm realm = mock(AuthorizingRealm.class);
+    realm = mock(AuthorizingRealm.class);
 
     when(realm.getName()).thenReturn("mockRealm");
     when(realm.isPermitted(any(PrincipalCollection.class), any(Permission.class)))
@@ -214,6 +220,33 @@ public void testPluginFilterNoStrategies() {
     }
   }
 
+  @Test
+  public void testPluginFilterCachesDecisions() throws StopProcessingException {
+    AuthorizationDecisionCache decisionCache = new AuthorizationDecisionCache();
+    plugin = new FilterPlugin(new Security(), decisionCache);
+
+    QueryResponse response = plugin.processPostQuery(incomingResponse);
+    verifyFilterResponse(response);
+    // the metacard without roles and the one without a security attribute share a decision
+    assertThat(decisionCache.getMissCount(), is(4L));
+    assertThat(decisionCache.getHitCount(), is(1L));
+
+    response = plugin.processPostQuery(response);
+    assertThat(response.getResults().size(), is(4));
+    assertThat(decisionCache.getHitCount(), is(5L));
+    verify(realm, times(4)).isPermitted(any(PrincipalCollection.class), any(Permission.class));
+
+    ConfigurationEvent event = mock(ConfigurationEvent.class);
+    when(event.getPid()).thenReturn("ddf.security.pdp.realm.AuthzRealm");
+    decisionCache.configurationEvent(event);
+    assertThat(decisionCache.getSize(), is(0));
+
+    response = plugin.processPostQuery(response);
+    assertThat(response.getResults().size(), is(4));
+    assertThat(decisionCache.getMissCount(), is(7L));
+    verify(realm, times(7)).isPermitted(any(PrincipalCollection.class), any(Permission.class));
+  }
+
   @Test
   public void testPluginFilterResourceGood() throws StopProcessingException {
     plugin.processPostResource(resourceResponse, getExactRolesMetacard());
@@ -24,6 +24,7 @@
 import ddf.catalog.plugin.PolicyResponse;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.plugin.impl.PolicyResponseImpl;
+import ddf.catalog.util.Parallelizable;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -36,7 +37,7 @@
 import org.slf4j.LoggerFactory;
 
 /** Plugin that parses Metacard attributes for security policy information */
-public class MetacardAttributeSecurityPolicyPlugin implements PolicyPlugin {
+public class MetacardAttributeSecurityPolicyPlugin implements PolicyPlugin, Parallelizable {
   private static final Logger LOGGER =
       LoggerFactory.getLogger(MetacardAttributeSecurityPolicyPlugin.class);
 
@@ -26,6 +26,7 @@
 import ddf.catalog.plugin.PolicyResponse;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.plugin.impl.PolicyResponseImpl;
+import ddf.catalog.util.Parallelizable;
 import ddf.security.permission.impl.Permissions;
 import java.io.Serializable;
 import java.util.List;
@@ -36,7 +37,7 @@
 import org.slf4j.LoggerFactory;
 
 /** Security-based plugin that adds a policy if the point-of-contact field changed on preUpdate. */
-public class PointOfContactPolicyPlugin implements PolicyPlugin {
+public class PointOfContactPolicyPlugin implements PolicyPlugin, Parallelizable {
   private static final String[] PERMISSION_STRING = {
     "read-only=Cannot update the point-of-contact field"
   };
@@ -22,6 +22,7 @@
 import ddf.catalog.plugin.PolicyResponse;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.plugin.impl.PolicyResponseImpl;
+import ddf.catalog.util.Parallelizable;
 import ddf.catalog.util.impl.Requests;
 import ddf.security.permission.impl.Permissions;
 import java.io.Serializable;
@@ -36,7 +37,7 @@
  * IngestPlugin is a PreIngestPlugin that restricts the create/update/delete operations on the
  * catalog to a group defined by a set of configurable user attributes.
  */
-public class CatalogPolicy implements PolicyPlugin {
+public class CatalogPolicy implements PolicyPlugin, Parallelizable {
 
   private String[] createPermissions;
 
@@ -18,13 +18,15 @@
 import ddf.catalog.operation.Query;
 import ddf.catalog.operation.ResourceRequest;
 import ddf.catalog.operation.ResourceResponse;
-import ddf.catalog.plugin.PolicyPlugin;
+import ddf.catalog.plugin.CacheablePolicyPlugin;
 import ddf.catalog.plugin.PolicyResponse;
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.plugin.impl.PolicyResponseImpl;
+import ddf.catalog.util.Parallelizable;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -44,7 +46,7 @@
  * Plugin that parses XML metadata for elements that contain attributes with security policy
  * information
  */
-public class XmlAttributeSecurityPolicyPlugin implements PolicyPlugin {
+public class XmlAttributeSecurityPolicyPlugin implements CacheablePolicyPlugin, Parallelizable {
   /** Logger */
   private static final Logger LOGGER =
       LoggerFactory.getLogger(XmlAttributeSecurityPolicyPlugin.class);
@@ -247,6 +249,12 @@ public PolicyResponse processPreQuery(Query query, Map<String, Serializable> map
     return new PolicyResponseImpl();
   }
 
+  /** The post query policy is parsed from the metadata only. */
+  @Override
+  public List<String> getPostQueryPolicyAttributes() {
+    return Collections.singletonList(Metacard.METADATA);
+  }
+
   @Override
   public PolicyResponse processPostQuery(Result result, Map<String, Serializable> map)
       throws StopProcessingException {
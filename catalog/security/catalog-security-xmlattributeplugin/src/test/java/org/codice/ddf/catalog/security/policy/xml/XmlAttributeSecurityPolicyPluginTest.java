@@ -16,6 +16,7 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import ddf.catalog.data.Metacard;
 import ddf.catalog.data.Result;
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.operation.ResourceResponse;
@@ -172,6 +173,12 @@ public void testProcessQuery() throws StopProcessingException, PluginExecutionEx
     org.junit.Assert.assertThat(policyResponse.itemPolicy().entrySet().size(), Matchers.is(3));
   }
 
+  @Test
+  public void testPostQueryPolicyAttributes() {
+    org.junit.Assert.assertThat(
+        plugin.getPostQueryPolicyAttributes(), Matchers.contains(Metacard.METADATA));
+  }
+
   @Test
   public void testProcessResource() throws StopProcessingException, PluginExecutionException {
     PolicyResponse policyResponse =
@@ -63,6 +63,9 @@ public final class GeoCodingConstants {
 
   public static final String SUGGEST_PLACE_KEY = "suggestPlace";
 
+  /** Topic of the event posted after gazetteer entries are added to or removed from the catalog. */
+  public static final String GAZETTEER_UPDATED_TOPIC = "org/codice/ddf/spatial/geocoding/UPDATED";
+
   public static final int COUNTRY_GAZETTEER_SORT_VALUE = Integer.MAX_VALUE;
 
   public static final int MAXIMUM_GAZETTEER_SORT_VALUE = Integer.MAX_VALUE - 1;
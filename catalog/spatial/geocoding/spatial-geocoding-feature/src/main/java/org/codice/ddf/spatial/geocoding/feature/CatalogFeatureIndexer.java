@@ -36,6 +36,7 @@
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang.Validate;
@@ -49,6 +50,8 @@
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.io.WKTWriter;
 import org.opengis.feature.simple.SimpleFeature;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
 
 public class CatalogFeatureIndexer implements FeatureIndexer {
   private static final ThreadLocal<WKTWriter> WKT_WRITER_THREAD_LOCAL =
@@ -66,10 +69,16 @@ public class CatalogFeatureIndexer implements FeatureIndexer {
 
   private List<MetacardType> metacardTypes;
 
+  private EventAdmin eventAdmin;
+
   public void setSecurity(Security security) {
     this.security = security;
   }
 
+  public void setEventAdmin(EventAdmin eventAdmin) {
+    this.eventAdmin = eventAdmin;
+  }
+
   public CatalogFeatureIndexer(
       CatalogFramework catalogFramework,
       CatalogHelper catalogHelper,
@@ -94,8 +103,15 @@ public void updateIndex(
 
     final AtomicInteger extractionCount = new AtomicInteger();
 
-    featureExtractor.pushFeaturesToExtractionCallback(
-        resource, feature -> handleFeatureExtraction(feature, create, callback, extractionCount));
+    try {
+      featureExtractor.pushFeaturesToExtractionCallback(
+          resource, feature -> handleFeatureExtraction(feature, create, callback, extractionCount));
+    } finally {
+      if (eventAdmin != null) {
+        eventAdmin.postEvent(
+            new Event(GeoCodingConstants.GAZETTEER_UPDATED_TOPIC, Collections.emptyMap()));
+      }
+    }
   }
 
   private void handleFeatureExtraction(
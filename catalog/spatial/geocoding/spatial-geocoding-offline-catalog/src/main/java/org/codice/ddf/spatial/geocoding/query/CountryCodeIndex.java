@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.geocoding.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Puntal;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.operation.distance.DistanceOp;
+import org.locationtech.spatial4j.context.SpatialContext;
+import org.locationtech.spatial4j.distance.DistanceCalculator;
+import org.locationtech.spatial4j.distance.DistanceUtils;
+import org.locationtech.spatial4j.shape.impl.PointImpl;
+
+/**
+ * Immutable in-memory index of the gazetteer entries used to look up the country code of a
+ * location without querying the catalog. Gazetteer points and country shapes are kept in an
+ * {@link STRtree}, so a lookup only measures the distance to the entries whose envelope is within
+ * the search radius.
+ */
+class CountryCodeIndex {
+
+  private static final SpatialContext SPATIAL_CONTEXT = SpatialContext.GEO;
+
+  private static final DistanceCalculator DISTANCE_CALCULATOR = SPATIAL_CONTEXT.getDistCalc();
+
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+  /** Smallest cosine used to widen the search envelope near the poles. */
+  private static final double MIN_COSINE = 0.01;
+
+  private final STRtree tree = new STRtree();
+
+  private final int size;
+
+  private CountryCodeIndex(List<Entry> entries) {
+    for (Entry entry : entries) {
+      tree.insert(entry.geometry.getEnvelopeInternal(), entry);
+    }
+    tree.build();
+    size = entries.size();
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the country code of the entry closest to the given location, where a country shape
+   * that contains the location is at distance zero.
+   *
+   * @param center the location, in longitude and latitude degrees
+   * @param radiusInKm the largest distance to an entry
+   * @return the country code, or {@code null} if there is no entry within the radius
+   */
+  String getCountryCode(Point center, int radiusInKm) {
+    double x = center.getX();
+    double y = center.getY();
+    double radiusInDegrees = radiusInKm * DistanceUtils.KM_TO_DEG;
+    double cosine = Math.max(Math.cos(Math.toRadians(y)), MIN_COSINE);
+    Envelope envelope =
+        new Envelope(
+            x - radiusInDegrees / cosine,
+            x + radiusInDegrees / cosine,
+            y - radiusInDegrees,
+            y + radiusInDegrees);
+
+    Match match = new Match(radiusInKm);
+    search(envelope, x, y, 0, match);
+    if (envelope.getMinX() < -180) {
+      search(envelope, x, y, 360, match);
+    }
+    if (envelope.getMaxX() > 180) {
+      search(envelope, x, y, -360, match);
+    }
+    return match.countryCode;
+  }
+
+  /** Searches the entries around the location shifted by {@code offset} degrees of longitude. */
+  private void search(Envelope envelope, double x, double y, double offset, Match match) {
+    Envelope shifted = new Envelope(envelope);
+    shifted.translate(offset, 0);
+    PointImpl from = new PointImpl(x, y, SPATIAL_CONTEXT);
+    Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(x + offset, y));
+
+    tree.query(
+        shifted,
+        item -> {
+          Entry entry = (Entry) item;
+          double distance;
+          if (entry.preparedGeometry == null) {
+            Coordinate coordinate = entry.geometry.getCoordinate();
+            distance = DISTANCE_CALCULATOR.distance(from, coordinate.x, coordinate.y);
+          } else if (entry.preparedGeometry.covers(point)) {
+            distance = 0;
+          } else {
+            Coordinate nearest = DistanceOp.nearestPoints(entry.geometry, point)[0];
+            distance = DISTANCE_CALCULATOR.distance(from, nearest.x, nearest.y);
+          }
+          match.offer(entry.countryCode, distance * DistanceUtils.DEG_TO_KM);
+        });
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  static class Builder {
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    private Builder() {}
+
+    /**
+     * Adds a gazetteer entry. Points are compared by their geodesic distance, any other geometry is
+     * treated as a country shape.
+     */
+    Builder add(Geometry geometry, String countryCode) {
+      if (geometry != null && !geometry.isEmpty() && countryCode != null) {
+        entries.add(new Entry(geometry, countryCode));
+      }
+      return this;
+    }
+
+    CountryCodeIndex build() {
+      return new CountryCodeIndex(entries);
+    }
+  }
+
+  private static class Entry {
+
+    private final Geometry geometry;
+
+    private final PreparedGeometry preparedGeometry;
+
+    private final String countryCode;
+
+    Entry(Geometry geometry, String countryCode) {
+      boolean point = geometry instanceof Puntal && geometry.getNumGeometries() == 1;
+      this.geometry = geometry;
+      this.preparedGeometry = point ? null : PreparedGeometryFactory.prepare(geometry);
+      this.countryCode = countryCode;
+    }
+  }
+
+  private static class Match {
+
+    private final double radiusInKm;
+
+    private double distanceInKm = Double.MAX_VALUE;
+
+    private String countryCode;
+
+    Match(double radiusInKm) {
+      this.radiusInKm = radiusInKm;
+    }
+
+    void offer(String candidateCountryCode, double candidateDistanceInKm) {
+      if (candidateDistanceInKm <= radiusInKm && candidateDistanceInKm < distanceInKm) {
+        distanceInKm = candidateDistanceInKm;
+        countryCode = candidateCountryCode;
+      }
+    }
+  }
+}
@@ -37,7 +37,11 @@
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import ddf.catalog.util.impl.CatalogQueryException;
+import ddf.catalog.util.impl.ResultIterable;
+import ddf.security.service.SecurityServiceException;
 import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -46,9 +50,15 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.codice.ddf.security.Security;
 import org.codice.ddf.spatial.geocoding.GeoCodingConstants;
 import org.codice.ddf.spatial.geocoding.GeoEntry;
 import org.codice.ddf.spatial.geocoding.GeoEntryAttributes;
@@ -69,10 +79,12 @@
 import org.opengis.filter.Filter;
 import org.opengis.filter.sort.SortBy;
 import org.opengis.filter.sort.SortOrder;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class GazetteerQueryCatalog implements GeoEntryQueryable {
+public class GazetteerQueryCatalog implements GeoEntryQueryable, EventHandler {
   private static final Logger LOGGER = LoggerFactory.getLogger(GazetteerQueryCatalog.class);
 
   private static final SpatialContext SPATIAL_CONTEXT = SpatialContext.GEO;
@@ -91,6 +103,23 @@ public class GazetteerQueryCatalog implements GeoEntryQueryable {
 
   private static final long TIMEOUT = 10000L;
 
+  private static final int INDEX_PAGE_SIZE = 1000;
+
+  /**
+   * Time to wait after a gazetteer update before the in-memory indexes are reloaded, so the new
+   * entries are searchable and several updates in a row only cause one reload.
+   */
+  private static final long INDEX_RELOAD_DELAY_SECONDS = 10;
+
+  private static final long INDEX_RETRY_DELAY_SECONDS = TimeUnit.MINUTES.toSeconds(1);
+
+  private static final String IN_MEMORY_INDEX_ENABLED = "inMemoryIndexEnabled";
+
+  private static final String MAX_IN_MEMORY_INDEX_ENTRIES = "maxInMemoryIndexEntries";
+
+  /** Largest gazetteer that is loaded into the in-memory indexes unless configured otherwise. */
+  static final int DEFAULT_MAX_IN_MEMORY_INDEX_ENTRIES = 500_000;
+
   private CatalogFramework catalogFramework;
 
   private FilterBuilder filterBuilder;
@@ -99,6 +128,24 @@ public class GazetteerQueryCatalog implements GeoEntryQueryable {
 
   private List<Filter> featureCodeFilters;
 
+  private Security security;
+
+  private ScheduledExecutorService indexExecutor;
+
+  private final AtomicBoolean indexReloadScheduled = new AtomicBoolean();
+
+  private volatile boolean inMemoryIndexEnabled = true;
+
+  private volatile int maxInMemoryIndexEntries = DEFAULT_MAX_IN_MEMORY_INDEX_ENTRIES;
+
+  /** In-memory index used by {@link #getCountryCode}, {@code null} until it has been loaded. */
+  private volatile CountryCodeIndex countryCodeIndex;
+
+  /**
+   * In-memory suggester used by {@link #getSuggestedNames}, {@code null} until it has been loaded.
+   */
+  private volatile PlaceNameSuggester placeNameSuggester;
+
   public GazetteerQueryCatalog(CatalogFramework catalogFramework, FilterBuilder filterBuilder) {
     this.catalogFramework = catalogFramework;
     this.filterBuilder = filterBuilder;
@@ -118,6 +165,168 @@ public GazetteerQueryCatalog(CatalogFramework catalogFramework, FilterBuilder fi
         filterBuilder.attribute(Core.METACARD_TAGS).is().like().text(GAZETTEER_METACARD_TAG);
   }
 
+  public void setSecurity(Security security) {
+    this.security = security;
+  }
+
+  public void setInMemoryIndexEnabled(boolean inMemoryIndexEnabled) {
+    this.inMemoryIndexEnabled = inMemoryIndexEnabled;
+  }
+
+  public void setMaxInMemoryIndexEntries(int maxInMemoryIndexEntries) {
+    if (maxInMemoryIndexEntries < 0) {
+      LOGGER.debug("Ignoring negative maximum number of in-memory gazetteer entries.");
+      return;
+    }
+    this.maxInMemoryIndexEntries = maxInMemoryIndexEntries;
+  }
+
+  /** Applies a configuration update and reloads the in-memory indexes with the new settings. */
+  public void updateConfiguration(Map<String, Object> properties) {
+    LOGGER.trace("Updating the gazetteer in-memory index configuration");
+
+    Optional.ofNullable(properties)
+        .map(p -> p.get(IN_MEMORY_INDEX_ENABLED))
+        .filter(Boolean.class::isInstance)
+        .map(Boolean.class::cast)
+        .ifPresent(this::setInMemoryIndexEnabled);
+
+    Optional.ofNullable(properties)
+        .map(p -> p.get(MAX_IN_MEMORY_INDEX_ENTRIES))
+        .filter(Integer.class::isInstance)
+        .map(Integer.class::cast)
+        .ifPresent(this::setMaxInMemoryIndexEntries);
+
+    if (!inMemoryIndexEnabled) {
+      clearIndexes();
+    }
+    scheduleIndexReload(0);
+  }
+
+  /** Starts loading the gazetteer entries into the in-memory indexes. */
+  public void init() {
+    indexExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            StandardThreadFactoryBuilder.newThreadFactory("gazetteerIndexThread"));
+    scheduleIndexReload(0);
+  }
+
+  public void destroy() {
+    if (indexExecutor != null) {
+      indexExecutor.shutdownNow();
+    }
+  }
+
+  /** Reloads the in-memory indexes after gazetteer entries have been added or removed. */
+  @Override
+  public void handleEvent(Event event) {
+    scheduleIndexReload(INDEX_RELOAD_DELAY_SECONDS);
+  }
+
+  private void scheduleIndexReload(long delayInSeconds) {
+    if (indexExecutor != null && indexReloadScheduled.compareAndSet(false, true)) {
+      indexExecutor.schedule(this::reloadIndex, delayInSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  private void reloadIndex() {
+    indexReloadScheduled.set(false);
+    boolean loaded =
+        security.runAsAdmin(
+            () -> {
+              try {
+                return security.runWithSubjectOrElevate(this::loadGazetteerIndexes);
+              } catch (SecurityServiceException | InvocationTargetException e) {
+                LOGGER.debug("Unable to load the gazetteer indexes.", e);
+                return false;
+              }
+            });
+    if (!loaded) {
+      scheduleIndexReload(INDEX_RETRY_DELAY_SECONDS);
+    }
+  }
+
+  /**
+   * Pages through the gazetteer entries in the catalog and replaces the country code index and the
+   * place name suggester with ones built from them. The indexes are dropped, so that the catalog is
+   * queried instead, when they are disabled or when the gazetteer has more entries than the
+   * configured maximum.
+   *
+   * @return {@code true} if the indexes were replaced or dropped, {@code false} if the gazetteer
+   *     entries could not be queried
+   */
+  boolean loadGazetteerIndexes() {
+    if (!inMemoryIndexEnabled) {
+      clearIndexes();
+      return true;
+    }
+
+    int maxEntries = maxInMemoryIndexEntries;
+    int entries = 0;
+    CountryCodeIndex.Builder countryCodeIndexBuilder = CountryCodeIndex.builder();
+    PlaceNameSuggester.Builder suggesterBuilder = PlaceNameSuggester.builder();
+    WKTReader wktReader = WKT_READER_THREAD_LOCAL.get();
+    Query query =
+        new QueryImpl(tagFilter, 1, INDEX_PAGE_SIZE, SortBy.NATURAL_ORDER, false, TIMEOUT);
+    try {
+      for (Result result :
+          ResultIterable.resultIterable(
+              catalogFramework,
+              new QueryRequestImpl(query),
+              (int) Math.min(maxEntries + 1L, Integer.MAX_VALUE))) {
+        if (++entries > maxEntries) {
+          LOGGER.info(
+              "The gazetteer has more than {} entries. It will be queried instead of being loaded "
+                  + "into memory.",
+              maxEntries);
+          clearIndexes();
+          return true;
+        }
+
+        Metacard metacard = result.getMetacard();
+        String location = getStringAttributeFromMetacard(metacard, Core.LOCATION);
+        String countryCode = getStringAttributeFromMetacard(metacard, Location.COUNTRY_CODE);
+        if (StringUtils.isNotBlank(location) && StringUtils.isNotBlank(countryCode)) {
+          try {
+            countryCodeIndexBuilder.add(wktReader.read(location), countryCode);
+          } catch (org.locationtech.jts.io.ParseException e) {
+            LOGGER.debug("Gazetteer entry {} has an invalid location.", metacard.getId());
+          }
+        }
+
+        Attribute sortValue = metacard.getAttribute(GeoEntryAttributes.GAZETTEER_SORT_VALUE);
+        Attribute population = metacard.getAttribute(GeoEntryAttributes.POPULATION_ATTRIBUTE_NAME);
+        suggesterBuilder.add(
+            metacard.getId(),
+            getStringAttributeFromMetacard(metacard, Core.TITLE),
+            sortValue != null && sortValue.getValue() instanceof Integer
+                ? (Integer) sortValue.getValue()
+                : null,
+            population != null && population.getValue() instanceof Long
+                ? (Long) population.getValue()
+                : null);
+      }
+    } catch (CatalogQueryException e) {
+      LOGGER.debug("Unable to query the gazetteer entries for the in-memory indexes.", e);
+      return false;
+    }
+
+    CountryCodeIndex index = countryCodeIndexBuilder.build();
+    PlaceNameSuggester suggester = suggesterBuilder.build();
+    countryCodeIndex = index;
+    placeNameSuggester = suggester;
+    LOGGER.debug(
+        "Loaded {} locations and {} place names from the gazetteer.",
+        index.size(),
+        suggester.size());
+    return true;
+  }
+
+  private void clearIndexes() {
+    countryCodeIndex = null;
+    placeNameSuggester = null;
+  }
+
   @Override
   public List<GeoEntry> query(String queryString, int maxResults) throws GeoEntryQueryException {
     Filter textFilter = filterBuilder.attribute(Core.TITLE).is().like().text(queryString);
@@ -176,6 +385,11 @@ public GeoEntry queryById(String id) throws GeoEntryQueryException {
   @Override
   public List<Suggestion> getSuggestedNames(String queryString, int maxResults)
       throws GeoEntryQueryException {
+    PlaceNameSuggester suggester = placeNameSuggester;
+    if (suggester != null) {
+      return suggester.getSuggestions(queryString, maxResults);
+    }
+
     Map<String, Serializable> suggestProps = new HashMap<>();
     suggestProps.put(SUGGESTION_QUERY_KEY, queryString);
     suggestProps.put(SUGGESTION_CONTEXT_KEY, GAZETTEER_METACARD_TAG);
@@ -328,15 +542,21 @@ private NearbyLocation transformMetacardToNearbyLocation(String location, Metaca
   public Optional<String> getCountryCode(String wktLocation, int radius)
       throws GeoEntryQueryException, ParseException {
     String wkt;
+    Point center;
 
     try {
-      Point center = WKT_READER_THREAD_LOCAL.get().read(wktLocation).getCentroid();
+      center = WKT_READER_THREAD_LOCAL.get().read(wktLocation).getCentroid();
       Geometry geometry = GEOMETRY_FACTORY.createPoint(center.getCoordinate());
       wkt = WKT_WRITER_THREAD_LOCAL.get().write(geometry);
     } catch (org.locationtech.jts.io.ParseException e) {
       return Optional.empty();
     }
 
+    CountryCodeIndex index = countryCodeIndex;
+    if (index != null) {
+      return Optional.ofNullable(index.getCountryCode(center, radius));
+    }
+
     int radiusInMeters = KM_TO_M * radius;
     Filter filter = filterBuilder.attribute(Core.LOCATION).withinBuffer().wkt(wkt, radiusInMeters);
     Filter queryFilter = filterBuilder.allOf(tagFilter, filter);
@@ -0,0 +1,398 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.geocoding.query;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import org.codice.ddf.spatial.geocoding.Suggestion;
+import org.codice.ddf.spatial.geocoding.context.impl.SuggestionImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable in-memory place name suggester built from the gazetteer entries. Every word of every
+ * lower cased name is a key, so a query matches the names that contain a word starting with it,
+ * the same way as the catalog's infix suggester. The keys are kept as offsets into the names,
+ * sorted once, and the keys sharing a prefix are found with a binary search. The sorted keys are
+ * kept in a memory-mapped temporary file rather than on the heap. Matches are ranked by gazetteer
+ * sort value and then by population.
+ *
+ * <p>Only the keys of prefixes shared by at most {@link #DEFAULT_MAX_SCANNED_KEYS} keys are ranked
+ * when a query is made. The best places of the more common prefixes, such as most one or two letter
+ * prefixes, are ranked once when the suggester is built, so every query scans a bounded number of
+ * keys. At most {@link #MAX_SUGGESTIONS} suggestions are returned.
+ */
+class PlaceNameSuggester {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PlaceNameSuggester.class);
+
+  private static final Comparator<Place> RANKING =
+      Comparator.comparingLong((Place place) -> place.sortValue)
+          .thenComparingLong(place -> place.population)
+          .reversed()
+          .thenComparing(place -> place.name);
+
+  /** Most keys that are scanned for a query, larger prefixes are ranked ahead of time. */
+  static final int DEFAULT_MAX_SCANNED_KEYS = 2048;
+
+  static final int MAX_SUGGESTIONS = 50;
+
+  /** Number of ints stored for each key: the place index and the offset in its name. */
+  private static final int KEY_INTS = 2;
+
+  private final Place[] places;
+
+  /**
+   * Place index and offset in the lower cased name of the place of each key, sorted by key. The
+   * offsets are the second int of each key.
+   */
+  private final IntBuffer keys;
+
+  private final int keyCount;
+
+  /** Best ranked place indexes of the prefixes shared by more than the maximum scanned keys. */
+  private final Map<String, int[]> rankedPlacesByPrefix;
+
+  private PlaceNameSuggester(List<Place> placeList, int maxScannedKeys) {
+    places = placeList.toArray(new Place[0]);
+
+    long[] sortedKeys = sortKeys(findKeys());
+    keyCount = sortedKeys.length;
+    keys = allocateKeys(keyCount);
+    for (int i = 0; i < keyCount; i++) {
+      keys.put(i * KEY_INTS, (int) (sortedKeys[i] >>> Integer.SIZE));
+      keys.put(i * KEY_INTS + 1, (int) sortedKeys[i]);
+    }
+
+    rankedPlacesByPrefix = rankCommonPrefixes(maxScannedKeys);
+  }
+
+  /** Returns the keys packed as the place index in the upper and the offset in the lower half. */
+  private long[] findKeys() {
+    int count = 0;
+    for (Place place : places) {
+      for (int offset = 0; offset < place.lowerCaseName.length(); offset++) {
+        if (isWordStart(place.lowerCaseName, offset)) {
+          count++;
+        }
+      }
+    }
+
+    long[] packedKeys = new long[count];
+    int key = 0;
+    for (int i = 0; i < places.length; i++) {
+      for (int offset = 0; offset < places[i].lowerCaseName.length(); offset++) {
+        if (isWordStart(places[i].lowerCaseName, offset)) {
+          packedKeys[key++] = ((long) i << Integer.SIZE) | offset;
+        }
+      }
+    }
+    return packedKeys;
+  }
+
+  private static boolean isWordStart(String name, int offset) {
+    return Character.isLetterOrDigit(name.charAt(offset))
+        && (offset == 0 || !Character.isLetterOrDigit(name.charAt(offset - 1)));
+  }
+
+  /** Sorts the packed keys with a bottom-up merge sort, which does not box them. */
+  private long[] sortKeys(long[] packedKeys) {
+    long[] source = packedKeys;
+    long[] target = new long[packedKeys.length];
+    for (long width = 1; width < packedKeys.length; width *= 2) {
+      for (long start = 0; start < packedKeys.length; start += 2 * width) {
+        int middle = (int) Math.min(start + width, packedKeys.length);
+        int end = (int) Math.min(start + 2 * width, packedKeys.length);
+        merge(source, target, (int) start, middle, end);
+      }
+      long[] merged = target;
+      target = source;
+      source = merged;
+    }
+    return source;
+  }
+
+  private void merge(long[] source, long[] target, int start, int middle, int end) {
+    int left = start;
+    int right = middle;
+    for (int i = start; i < end; i++) {
+      if (left < middle && (right >= end || comparePacked(source[left], source[right]) <= 0)) {
+        target[i] = source[left++];
+      } else {
+        target[i] = source[right++];
+      }
+    }
+  }
+
+  private int comparePacked(long first, long second) {
+    return compare(
+        places[(int) (first >>> Integer.SIZE)].lowerCaseName,
+        (int) first,
+        places[(int) (second >>> Integer.SIZE)].lowerCaseName,
+        (int) second);
+  }
+
+  /**
+   * Allocates the key table in a memory-mapped temporary file. The file is deleted once the mapping
+   * is released, and the table is allocated on the heap if the file cannot be created.
+   */
+  private static IntBuffer allocateKeys(int keyCount) {
+    long size = (long) keyCount * KEY_INTS * Integer.BYTES;
+    try (FileChannel channel =
+        FileChannel.open(
+            Files.createTempFile("place-names", ".keys"),
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.DELETE_ON_CLOSE)) {
+      return channel.map(MapMode.READ_WRITE, 0, size).order(ByteOrder.nativeOrder()).asIntBuffer();
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.debug("Unable to map the place name keys to a file, keeping them in memory.", e);
+      return IntBuffer.allocate(keyCount * KEY_INTS);
+    }
+  }
+
+  /**
+   * Ranks the places of every prefix shared by more than the given number of keys. The keys that
+   * share a prefix are contiguous, and a prefix can only be that common if the prefix one character
+   * shorter is too, so only the ranges of the common prefixes are split further.
+   */
+  private Map<String, int[]> rankCommonPrefixes(int maxScannedKeys) {
+    Map<String, int[]> ranked = new HashMap<>();
+    int[] lastRanking = new int[places.length];
+    Arrays.fill(lastRanking, -1);
+    int ranking = 0;
+
+    // Each range holds the start key, end key and length of the prefix its keys share
+    Deque<int[]> ranges = new ArrayDeque<>();
+    ranges.add(new int[] {0, keyCount, 0});
+    while (!ranges.isEmpty()) {
+      int[] range = ranges.poll();
+      int length = range[2];
+      int key = range[0];
+      while (key < range[1]) {
+        // Keys that are no longer than the shared prefix sort first in the range
+        if (keyLength(key) <= length) {
+          key++;
+          continue;
+        }
+
+        char next = keyChar(key, length);
+        int end = key + 1;
+        while (end < range[1] && keyChar(end, length) == next) {
+          end++;
+        }
+        if (end - key > maxScannedKeys) {
+          String prefix =
+              places[keyPlace(key)].lowerCaseName.substring(
+                  keyOffset(key), keyOffset(key) + length + 1);
+          ranked.put(prefix, rankPlaces(key, end, lastRanking, ranking++));
+          ranges.add(new int[] {key, end, length + 1});
+        }
+        key = end;
+      }
+    }
+    return ranked;
+  }
+
+  private int[] rankPlaces(int start, int end, int[] lastRanking, int ranking) {
+    PriorityQueue<Integer> best =
+        new PriorityQueue<>(
+            MAX_SUGGESTIONS + 1,
+            Comparator.comparing((Integer place) -> places[place], RANKING.reversed()));
+    for (int key = start; key < end; key++) {
+      int place = keyPlace(key);
+      if (lastRanking[place] != ranking) {
+        lastRanking[place] = ranking;
+        best.offer(place);
+        if (best.size() > MAX_SUGGESTIONS) {
+          best.poll();
+        }
+      }
+    }
+
+    int[] ranked = new int[best.size()];
+    for (int i = ranked.length - 1; i >= 0; i--) {
+      ranked[i] = best.poll();
+    }
+    return ranked;
+  }
+
+  private int keyPlace(int key) {
+    return keys.get(key * KEY_INTS);
+  }
+
+  private int keyOffset(int key) {
+    return keys.get(key * KEY_INTS + 1);
+  }
+
+  private int keyLength(int key) {
+    return places[keyPlace(key)].lowerCaseName.length() - keyOffset(key);
+  }
+
+  private char keyChar(int key, int index) {
+    return places[keyPlace(key)].lowerCaseName.charAt(keyOffset(key) + index);
+  }
+
+  int size() {
+    return places.length;
+  }
+
+  /**
+   * Returns the best ranked places with a word in their name that starts with the query.
+   *
+   * @param query the start of a word in the place name, case insensitive
+   * @param maxResults the largest number of suggestions to return, at most {@link
+   *     #MAX_SUGGESTIONS}
+   * @return the suggestions, best ranked first
+   */
+  List<Suggestion> getSuggestions(String query, int maxResults) {
+    String prefix = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+    int limit = Math.min(maxResults, MAX_SUGGESTIONS);
+    if (prefix.isEmpty() || limit <= 0) {
+      return Collections.emptyList();
+    }
+
+    int[] rankedPlaces = rankedPlacesByPrefix.get(prefix);
+    if (rankedPlaces != null) {
+      List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, rankedPlaces.length));
+      for (int i = 0; i < rankedPlaces.length && i < limit; i++) {
+        Place place = places[rankedPlaces[i]];
+        suggestions.add(new SuggestionImpl(place.id, place.name));
+      }
+      return suggestions;
+    }
+
+    // The prefix is not a common one, so it is shared by at most the maximum scanned keys
+    Set<Integer> matched = new HashSet<>();
+    PriorityQueue<Place> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+    for (int key = lowerBound(prefix);
+        key < keyCount && places[keyPlace(key)].lowerCaseName.startsWith(prefix, keyOffset(key));
+        key++) {
+      if (matched.add(keyPlace(key))) {
+        best.offer(places[keyPlace(key)]);
+        if (best.size() > limit) {
+          best.poll();
+        }
+      }
+    }
+
+    Place[] ranked = best.toArray(new Place[0]);
+    Arrays.sort(ranked, RANKING);
+    List<Suggestion> suggestions = new ArrayList<>(ranked.length);
+    for (Place place : ranked) {
+      suggestions.add(new SuggestionImpl(place.id, place.name));
+    }
+    return suggestions;
+  }
+
+  /** Returns the first key that is not smaller than the prefix. */
+  private int lowerBound(String prefix) {
+    int low = 0;
+    int high = keyCount;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      String name = places[keyPlace(middle)].lowerCaseName;
+      if (compare(name, keyOffset(middle), prefix, 0) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /** Compares the suffix of the first string with the suffix of the second string. */
+  private static int compare(String first, int firstOffset, String second, int secondOffset) {
+    int firstLength = first.length() - firstOffset;
+    int secondLength = second.length() - secondOffset;
+    int length = Math.min(firstLength, secondLength);
+    for (int i = 0; i < length; i++) {
+      int difference = first.charAt(firstOffset + i) - second.charAt(secondOffset + i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return firstLength - secondLength;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  static class Builder {
+
+    private final List<Place> places = new ArrayList<>();
+
+    private Builder() {}
+
+    Builder add(String id, String name, Integer sortValue, Long population) {
+      if (id != null && name != null && !name.trim().isEmpty()) {
+        places.add(
+            new Place(
+                id,
+                name,
+                sortValue == null ? 0 : sortValue,
+                population == null ? 0 : population));
+      }
+      return this;
+    }
+
+    PlaceNameSuggester build() {
+      return build(DEFAULT_MAX_SCANNED_KEYS);
+    }
+
+    PlaceNameSuggester build(int maxScannedKeys) {
+      return new PlaceNameSuggester(places, maxScannedKeys);
+    }
+  }
+
+  private static class Place {
+
+    private final String id;
+
+    private final String name;
+
+    private final String lowerCaseName;
+
+    private final long sortValue;
+
+    private final long population;
+
+    Place(String id, String name, long sortValue, long population) {
+      this.id = id;
+      this.name = name;
+      this.lowerCaseName = name.toLowerCase(Locale.ROOT);
+      this.sortValue = sortValue;
+      this.population = population;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.geocoding.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.io.WKTReader;
+
+public class CountryCodeIndexTest {
+
+  private static final WKTReader WKT_READER = new WKTReader();
+
+  private CountryCodeIndex index;
+
+  @Before
+  public void setUp() throws Exception {
+    index =
+        CountryCodeIndex.builder()
+            .add(WKT_READER.read("POINT (-71.0595703125 42.35771940022451)"), "USA")
+            .add(WKT_READER.read("POINT (-79.3832 43.6532)"), "CAN")
+            .add(WKT_READER.read("POINT (179.9 -16.5)"), "FJI")
+            .add(WKT_READER.read("POLYGON ((10 10, 20 10, 20 20, 10 20, 10 10))"), "AAA")
+            .add(WKT_READER.read("POINT (15 15)"), "BBB")
+            .add(WKT_READER.read("POINT (0 0)"), null)
+            .build();
+  }
+
+  @Test
+  public void testNearestPoint() throws Exception {
+    assertThat(index.getCountryCode(point("POINT (-71.07 42.35)"), 100), is("USA"));
+    assertThat(index.getCountryCode(point("POINT (-79 43.5)"), 100), is("CAN"));
+  }
+
+  @Test
+  public void testNoEntryWithinRadius() throws Exception {
+    assertThat(index.getCountryCode(point("POINT (-75 43)"), 100), nullValue());
+    assertThat(index.getCountryCode(point("POINT (0 0)"), 100), nullValue());
+  }
+
+  @Test
+  public void testShapeContainingLocation() throws Exception {
+    assertThat(index.getCountryCode(point("POINT (15.01 15.01)"), 100), is("AAA"));
+  }
+
+  @Test
+  public void testShapeWithinRadius() throws Exception {
+    assertThat(index.getCountryCode(point("POINT (20.5 15)"), 100), is("AAA"));
+    assertThat(index.getCountryCode(point("POINT (25 15)"), 100), nullValue());
+  }
+
+  @Test
+  public void testAcrossAntimeridian() throws Exception {
+    assertThat(index.getCountryCode(point("POINT (-179.9 -16.5)"), 100), is("FJI"));
+  }
+
+  private static Point point(String wkt) throws Exception {
+    return (Point) WKT_READER.read(wkt);
+  }
+}
@@ -20,11 +20,14 @@
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.catalog.CatalogFramework;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.MetacardType;
+import ddf.catalog.data.Result;
 import ddf.catalog.data.impl.AttributeImpl;
 import ddf.catalog.data.impl.MetacardImpl;
 import ddf.catalog.data.impl.MetacardTypeImpl;
@@ -48,6 +51,7 @@
 import org.codice.ddf.spatial.geocoding.GeoEntry;
 import org.codice.ddf.spatial.geocoding.GeoEntryAttributes;
 import org.codice.ddf.spatial.geocoding.GeoEntryQueryException;
+import org.codice.ddf.spatial.geocoding.Suggestion;
 import org.codice.ddf.spatial.geocoding.context.NearbyLocation;
 import org.junit.Before;
 import org.junit.Test;
@@ -280,6 +284,107 @@ public void testGetCountryCode() throws Exception {
     assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
   }
 
+  @Test
+  public void testGetCountryCodeFromIndex() throws Exception {
+    assertThat(queryCatalog.loadGazetteerIndexes(), is(true));
+
+    Optional<String> countryCode = queryCatalog.getCountryCode(NEAR_BOSTON_WKT, RADIUS_IN_KM);
+    assertThat(countryCode.isPresent(), is(true));
+    assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
+
+    countryCode = queryCatalog.getCountryCode("POINT (0 0)", RADIUS_IN_KM);
+    assertThat(countryCode.isPresent(), is(false));
+    verify(catalogFramework, times(1)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  public void testGetSuggestedNamesFromIndex() throws Exception {
+    Metacard metacard = generateGeoNamesMetacard();
+    metacard.setAttribute(new AttributeImpl(Core.ID, "bostonId"));
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenReturn(generateQueryResponseFromMetacard(metacard));
+    assertThat(queryCatalog.loadGazetteerIndexes(), is(true));
+
+    List<Suggestion> suggestions = queryCatalog.getSuggestedNames("bos", MAX_RESULTS);
+    assertThat(suggestions.size(), is(1));
+    assertThat(suggestions.get(0).getId(), is("bostonId"));
+    assertThat(suggestions.get(0).getName(), is(BOSTON));
+    verify(catalogFramework, times(1)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  public void testLoadIndexesContinuesAfterShortPage() throws Exception {
+    Metacard boston = generateGeoNamesMetacard();
+    boston.setAttribute(new AttributeImpl(Core.ID, "bostonId"));
+    Metacard cambridge = generateGeoNamesMetacard();
+    cambridge.setAttribute(new AttributeImpl(Core.ID, "cambridgeId"));
+    Metacard paris = generateGeoNamesMetacard();
+    paris.setAttribute(new AttributeImpl(Core.ID, "parisId"));
+    paris.setAttribute(new AttributeImpl(Core.TITLE, "Paris"));
+    paris.setAttribute(new AttributeImpl(Location.COUNTRY_CODE, "FRA"));
+    paris.setAttribute(new AttributeImpl(Core.LOCATION, "POINT (2.3522 48.8566)"));
+
+    // The source returns fewer results than the requested page size, e.g. because of its
+    // maximum page size, so the last entry is only found on the following page.
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              QueryRequest request = (QueryRequest) invocation.getArguments()[0];
+              List<Result> results =
+                  request.getQuery().getStartIndex() == 1
+                      ? Arrays.asList(new ResultImpl(boston), new ResultImpl(cambridge))
+                      : Collections.singletonList(new ResultImpl(paris));
+              return new QueryResponseImpl(request, results, 3);
+            });
+    assertThat(queryCatalog.loadGazetteerIndexes(), is(true));
+
+    Optional<String> countryCode = queryCatalog.getCountryCode("POINT (2.35 48.85)", RADIUS_IN_KM);
+    assertThat(countryCode.get(), is("FRA"));
+    verify(catalogFramework, times(2)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  public void testIndexesNotLoadedWhenDisabled() throws Exception {
+    queryCatalog.setInMemoryIndexEnabled(false);
+    assertThat(queryCatalog.loadGazetteerIndexes(), is(true));
+
+    Optional<String> countryCode = queryCatalog.getCountryCode(NEAR_BOSTON_WKT, RADIUS_IN_KM);
+    assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
+    verify(catalogFramework, times(1)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  public void testIndexesNotLoadedWhenGazetteerTooLarge() throws Exception {
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation ->
+                new QueryResponseImpl(
+                    (QueryRequest) invocation.getArguments()[0],
+                    Arrays.asList(
+                        new ResultImpl(generateGeoNamesMetacard()),
+                        new ResultImpl(generateGeoNamesMetacard())),
+                    2));
+    queryCatalog.setMaxInMemoryIndexEntries(1);
+    assertThat(queryCatalog.loadGazetteerIndexes(), is(true));
+
+    Optional<String> countryCode = queryCatalog.getCountryCode(NEAR_BOSTON_WKT, RADIUS_IN_KM);
+    assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
+    verify(catalogFramework, times(2)).query(any(QueryRequest.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void testGetCountryCodeIndexNotLoaded() throws Exception {
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenThrow(SourceUnavailableException.class)
+        .thenReturn(generateQueryResponseFromMetacard(generateGeoNamesMetacard()));
+    assertThat(queryCatalog.loadGazetteerIndexes(), is(false));
+
+    Optional<String> countryCode = queryCatalog.getCountryCode(NEAR_BOSTON_WKT, RADIUS_IN_KM);
+    assertThat(countryCode.get(), is(USA_COUNTRY_CODE));
+    verify(catalogFramework, times(2)).query(any(QueryRequest.class));
+  }
+
   @Test
   public void testGetCountryCodeNoResults() throws Exception {
     QueryResponse queryResponse =
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.spatial.geocoding.query;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.codice.ddf.spatial.geocoding.Suggestion;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PlaceNameSuggesterTest {
+
+  private PlaceNameSuggester suggester;
+
+  @Before
+  public void setUp() {
+    suggester =
+        PlaceNameSuggester.builder()
+            .add("1", "Boston, US", 8, 600000L)
+            .add("2", "Boston, GB", 8, 35000L)
+            .add("3", "East Boston, US", 8, 40000L)
+            .add("4", "Bosnia and Herzegovina", Integer.MAX_VALUE, null)
+            .add("5", "New York City, US", 8, 8000000L)
+            .add("6", "Newark, US", 8, 280000L)
+            .add("7", "", 8, 1L)
+            .build();
+  }
+
+  @Test
+  public void testRankedBySortValueThenPopulation() {
+    assertThat(ids(suggester.getSuggestions("bos", 10)), contains("4", "1", "3", "2"));
+  }
+
+  @Test
+  public void testMatchesWordsInsideName() {
+    assertThat(ids(suggester.getSuggestions("Herz", 10)), contains("4"));
+    assertThat(ids(suggester.getSuggestions("york c", 10)), contains("5"));
+    assertThat(ids(suggester.getSuggestions("US", 10)), contains("5", "1", "6", "3"));
+  }
+
+  @Test
+  public void testMaxResults() {
+    assertThat(ids(suggester.getSuggestions("new", 1)), contains("5"));
+    assertThat(ids(suggester.getSuggestions("boston", 2)), contains("1", "3"));
+  }
+
+  @Test
+  public void testCommonPrefixesRankedAheadOfTime() {
+    PlaceNameSuggester.Builder builder = PlaceNameSuggester.builder();
+    for (int i = 0; i < 100; i++) {
+      builder.add("id" + i, "Place " + i, i % 7, (long) i);
+    }
+    PlaceNameSuggester scanning = builder.build();
+    PlaceNameSuggester precomputed = builder.build(2);
+
+    for (String prefix : new String[] {"p", "pl", "place", "place 1", "place 42", "9"}) {
+      assertThat(
+          ids(precomputed.getSuggestions(prefix, 5)),
+          is(ids(scanning.getSuggestions(prefix, 5))));
+    }
+    assertThat(ids(precomputed.getSuggestions("p", 3)), contains("id97", "id90", "id83"));
+  }
+
+  @Test
+  public void testMaxSuggestions() {
+    PlaceNameSuggester.Builder builder = PlaceNameSuggester.builder();
+    for (int i = 0; i < 100; i++) {
+      builder.add("id" + i, "Place " + i, 8, (long) i);
+    }
+
+    assertThat(
+        builder.build().getSuggestions("place", 100).size(),
+        is(PlaceNameSuggester.MAX_SUGGESTIONS));
+    assertThat(
+        builder.build(2).getSuggestions("place", 100).size(),
+        is(PlaceNameSuggester.MAX_SUGGESTIONS));
+  }
+
+  @Test
+  public void testMatchesEveryWordOfManyNames() {
+    Random random = new Random(42);
+    PlaceNameSuggester.Builder builder = PlaceNameSuggester.builder();
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      StringBuilder name = new StringBuilder();
+      for (int word = random.nextInt(3); word >= 0; word--) {
+        for (int letter = 1 + random.nextInt(4); letter > 0; letter--) {
+          name.append((char) ('a' + random.nextInt(4)));
+        }
+        name.append(' ');
+      }
+      names.add(name.toString().trim());
+      builder.add(String.valueOf(i), names.get(i), 8, (long) i);
+    }
+    PlaceNameSuggester manyNames = builder.build();
+
+    for (String prefix : new String[] {"a", "ab", "bca", "dddd", "cab"}) {
+      List<String> expected =
+          IntStream.range(0, names.size())
+              .filter(i -> (" " + names.get(i)).contains(" " + prefix))
+              .boxed()
+              .sorted(Comparator.reverseOrder())
+              .limit(PlaceNameSuggester.MAX_SUGGESTIONS)
+              .map(String::valueOf)
+              .collect(Collectors.toList());
+      assertThat(
+          ids(manyNames.getSuggestions(prefix, PlaceNameSuggester.MAX_SUGGESTIONS)),
+          is(expected));
+    }
+  }
+
+  @Test
+  public void testNoMatches() {
+    assertThat(suggester.getSuggestions("ston", 10), is(empty()));
+    assertThat(suggester.getSuggestions("zzz", 10), is(empty()));
+    assertThat(suggester.getSuggestions(" ", 10), is(empty()));
+    assertThat(suggester.size(), is(6));
+  }
+
+  private static List<String> ids(List<Suggestion> suggestions) {
+    return suggestions.stream().map(Suggestion::getId).collect(Collectors.toList());
+  }
+}
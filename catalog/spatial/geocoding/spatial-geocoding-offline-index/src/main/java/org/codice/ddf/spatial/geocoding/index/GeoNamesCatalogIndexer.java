@@ -43,6 +43,7 @@
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +70,8 @@
 import org.locationtech.jts.io.WKTWriter;
 import org.opengis.filter.Filter;
 import org.opengis.filter.sort.SortBy;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -95,6 +98,8 @@ public class GeoNamesCatalogIndexer implements GeoEntryIndexer {
 
   private FilterBuilder filterBuilder;
 
+  private EventAdmin eventAdmin;
+
   public GeoNamesCatalogIndexer(
       CatalogFramework catalogFramework,
       UuidGenerator uuidGenerator,
@@ -120,6 +125,10 @@ public GeoNamesCatalogIndexer(
                 .text(GAZETTEER_METACARD_TAG));
   }
 
+  public void setEventAdmin(EventAdmin eventAdmin) {
+    this.eventAdmin = eventAdmin;
+  }
+
   private Metacard transformGeoEntryToMetacard(GeoEntry geoEntry) {
     if (!GeoCodingConstants.CITY_FEATURE_CODES.contains(geoEntry.getFeatureCode())) {
       return null;
@@ -218,10 +227,14 @@ public void updateProgress(final int progress) {
 
     if (CollectionUtils.isEmpty(metacardList)) {
       LOGGER.debug("No Metacards were created from the resource.");
+      if (create) {
+        postGazetteerUpdatedEvent();
+      }
       return;
     }
 
     executeCreateMetacardRequest(metacardList);
+    postGazetteerUpdatedEvent();
 
     LOGGER.trace("All data created for: {}", resource);
   }
@@ -315,6 +328,15 @@ public void updateIndex(
       metacards.add(transformGeoEntryToMetacard(geoEntry));
     }
     executeCreateMetacardRequest(metacards);
+    postGazetteerUpdatedEvent();
+  }
+
+  /** Lets the gazetteer queryables know they have to reload the entries they keep in memory. */
+  private void postGazetteerUpdatedEvent() {
+    if (eventAdmin != null) {
+      eventAdmin.postEvent(
+          new Event(GeoCodingConstants.GAZETTEER_UPDATED_TOPIC, Collections.emptyMap()));
+    }
   }
 
   private void executeCreateMetacardRequest(List<Metacard> metacards) {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.catalog.transformer.csv.common;
+
+import ddf.catalog.data.AttributeDescriptor;
+import ddf.catalog.data.Metacard;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An implementation of java.io.InputStream that prints CSV records as they are read. The column
+ * headers are printed first, followed by one record per metacard pulled from the supplied
+ * iterator, so only a small batch of records is held in memory at any time.
+ *
+ * @see java.io.InputStream
+ */
+class CsvInputStream extends InputStream {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CsvInputStream.class);
+
+  private static final int BATCH_SIZE = 8192;
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final Iterator<Metacard> metacards;
+
+  private final List<AttributeDescriptor> attributeDescriptorList;
+
+  private final StringBuilder records = new StringBuilder(BATCH_SIZE);
+
+  private final CSVPrinter csvPrinter;
+
+  private byte[] batch = EMPTY;
+
+  private int position;
+
+  /**
+   * @param metacards the metacards to print, consumed as the stream is read.
+   * @param attributeDescriptorList the ordered list of AttributeDescriptors used to determine
+   *     which metacard attributes to print.
+   * @param columnAliasMap a map of Strings from attribute name to column name (alias).
+   */
+  CsvInputStream(
+      final Iterator<Metacard> metacards,
+      final List<AttributeDescriptor> attributeDescriptorList,
+      final Map<String, String> columnAliasMap)
+      throws IOException {
+    this.metacards = metacards;
+    this.attributeDescriptorList = attributeDescriptorList;
+    this.csvPrinter = new CSVPrinter(records, CSVFormat.RFC4180);
+    Iterator<String> columnHeaderIterator =
+        new ColumnHeaderIterator(attributeDescriptorList, columnAliasMap);
+    csvPrinter.printRecord(() -> columnHeaderIterator);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int read() throws IOException {
+    if (position == batch.length && !nextBatch()) {
+      return -1;
+    }
+    return batch[position++] & 0xff;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (offset < 0 || length < 0 || length > bytes.length - offset) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) {
+      return 0;
+    }
+    if (position == batch.length && !nextBatch()) {
+      return -1;
+    }
+    int count = Math.min(length, batch.length - position);
+    System.arraycopy(batch, position, bytes, offset, count);
+    position += count;
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int available() {
+    return batch.length - position;
+  }
+
+  private boolean nextBatch() {
+    while (records.length() < BATCH_SIZE && metacards.hasNext()) {
+      Metacard metacard = metacards.next();
+      if (metacard != null) {
+        printMetacard(metacard);
+      }
+    }
+
+    if (records.length() == 0) {
+      return false;
+    }
+
+    batch = records.toString().getBytes(StandardCharsets.UTF_8);
+    records.setLength(0);
+    position = 0;
+    return true;
+  }
+
+  private void printMetacard(Metacard metacard) {
+    Iterator<Serializable> metacardIterator =
+        new MetacardIterator(metacard, attributeDescriptorList);
+    try {
+      csvPrinter.printRecord(() -> metacardIterator);
+    } catch (IOException ioe) {
+      LOGGER.debug("Failed to print the CSV data for metacard with id: {}", metacard.getId(), ioe);
+    }
+  }
+}
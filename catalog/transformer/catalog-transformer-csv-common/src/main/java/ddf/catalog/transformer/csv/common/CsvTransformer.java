@@ -69,6 +69,27 @@ public static BinaryContent createResponse(final Appendable csv) {
     return new BinaryContentImpl(inputStream, CSV_MIME_TYPE);
   }
 
+  /**
+   * Creates a response whose CSV records are printed as its input stream is read, so the size of
+   * the export does not determine the memory needed to produce it.
+   *
+   * @param metacards the metacards to print, consumed as the response is read
+   * @param orderedAttributeDescriptors the ordered attributes to print as columns
+   * @param aliasMap a map from attribute name to column header
+   */
+  public static BinaryContent createStreamingResponse(
+      final Iterator<Metacard> metacards,
+      final List<AttributeDescriptor> orderedAttributeDescriptors,
+      final Map<String, String> aliasMap)
+      throws CatalogTransformerException {
+    try {
+      return new BinaryContentImpl(
+          new CsvInputStream(metacards, orderedAttributeDescriptors, aliasMap), CSV_MIME_TYPE);
+    } catch (IOException ioe) {
+      throw new CatalogTransformerException(ioe);
+    }
+  }
+
   public static Appendable writeMetacardsToCsv(
       final List<Metacard> metacards,
       final List<AttributeDescriptor> orderedAttributeDescriptors,
@@ -25,6 +25,7 @@
 import ddf.catalog.data.Attribute;
 import ddf.catalog.data.AttributeDescriptor;
 import ddf.catalog.data.AttributeType;
+import ddf.catalog.data.BinaryContent;
 import ddf.catalog.data.Metacard;
 import ddf.catalog.data.MetacardType;
 import ddf.catalog.data.impl.AttributeImpl;
@@ -33,6 +34,7 @@
 import ddf.catalog.data.impl.MetacardTypeImpl;
 import ddf.catalog.transform.CatalogTransformerException;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -175,6 +177,31 @@ public void writeSearchResultsToCsvWithAliasMap() throws CatalogTransformerExcep
     assertThat(scanner.hasNext(), is(false));
   }
 
+  @Test
+  public void createStreamingResponse() throws Exception {
+    List<AttributeDescriptor> requestedAttributes = new ArrayList<>();
+    requestedAttributes.add(buildAttributeDescriptor("attribute1", BasicTypes.STRING_TYPE));
+    requestedAttributes.add(buildAttributeDescriptor("attribute5", BasicTypes.STRING_TYPE));
+
+    Map<String, String> aliasMap = ImmutableMap.of("attribute1", "column1");
+
+    List<Metacard> metacards = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      metacards.add(buildMetacard());
+    }
+
+    BinaryContent binaryContent =
+        CsvTransformer.createStreamingResponse(metacards.iterator(), requestedAttributes, aliasMap);
+    String csvText = new String(binaryContent.getByteArray(), StandardCharsets.UTF_8);
+
+    String expectedRecord = "value1,\"value,5\"\r\n";
+    StringBuilder expectedCsv = new StringBuilder("column1,attribute5\r\n");
+    for (int i = 0; i < 1000; i++) {
+      expectedCsv.append(expectedRecord);
+    }
+    assertThat(csvText, is(expectedCsv.toString()));
+  }
+
   private Metacard buildMetacard() {
     MetacardType metacardType = new MetacardTypeImpl("", new HashSet<>(ATTRIBUTE_DESCRIPTOR_LIST));
     Metacard metacard = new MetacardImpl(metacardType);
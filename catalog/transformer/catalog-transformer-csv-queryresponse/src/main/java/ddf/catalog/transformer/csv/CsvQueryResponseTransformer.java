@@ -14,12 +14,12 @@
 
 package ddf.catalog.transformer.csv;
 
-import static ddf.catalog.transformer.csv.common.CsvTransformer.createResponse;
+import static ddf.catalog.transformer.csv.common.CsvTransformer.createStreamingResponse;
 import static ddf.catalog.transformer.csv.common.CsvTransformer.getAllCsvAttributeDescriptors;
 import static ddf.catalog.transformer.csv.common.CsvTransformer.getOnlyRequestedAttributes;
 import static ddf.catalog.transformer.csv.common.CsvTransformer.sortAttributes;
-import static ddf.catalog.transformer.csv.common.CsvTransformer.writeMetacardsToCsv;
 
+import ddf.catalog.CatalogFramework;
 import ddf.catalog.data.AttributeDescriptor;
 import ddf.catalog.data.BinaryContent;
 import ddf.catalog.data.Metacard;
@@ -27,14 +27,23 @@
 import ddf.catalog.operation.SourceResponse;
 import ddf.catalog.transform.CatalogTransformerException;
 import ddf.catalog.transform.QueryResponseTransformer;
+import ddf.catalog.util.impl.ResultIterable;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * An implementation of QueryResponseTransformer that produces CSV output.
@@ -43,15 +52,38 @@
  */
 public class CsvQueryResponseTransformer implements QueryResponseTransformer {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(CsvQueryResponseTransformer.class);
+
   public static final String COLUMN_ORDER_KEY = "columnOrder";
 
   public static final String COLUMN_ALIAS_KEY = "aliases";
 
   private static final String HIDDEN_FIELDS_KEY = "hiddenFields";
 
+  public static final String COLUMN_SAMPLE_SIZE_KEY = "columnSampleSize";
+
+  public static final String EXPORT_ALL_KEY = "exportAll";
+
+  /** Number of results whose attributes determine the columns of a streamed export. */
+  public static final int DEFAULT_COLUMN_SAMPLE_SIZE = 1000;
+
+  private final CatalogFramework catalogFramework;
+
+  public CsvQueryResponseTransformer() {
+    this(null);
+  }
+
+  /**
+   * @param catalogFramework the {@link CatalogFramework} queried for every page of the results when
+   *     the 'exportAll' argument is given, or null if only the given results can be exported.
+   */
+  public CsvQueryResponseTransformer(CatalogFramework catalogFramework) {
+    this.catalogFramework = catalogFramework;
+  }
+
   /**
    * @param upstreamResponse the SourceResponse to be converted.
-   * @param arguments this transformer accepts 2 parameters in the 'arguments' map.
+   * @param arguments this transformer accepts 4 parameters in the 'arguments' map.
    *     <ol>
    *       <li>key: 'columnOrder' value: a {@link List} of attribute names (as strings) that
    *           specifies the order in which the columns will appear in the output.
@@ -59,26 +91,62 @@ public class CsvQueryResponseTransformer implements QueryResponseTransformer {
    *           values that are the corresponding column headers that will be printed in the output.
    *           For example, if the key is 'title' and the value is 'Product' then the resulting CSV
    *           will have a column name of 'Product' instead of 'title'.
+   *       <li>key: 'exportAll' value: {@code true} to export every result of the response's query
+   *           instead of only the results in the response. The results are retrieved a page at a
+   *           time with a {@link ResultIterable} and printed as the content is read.
+   *       <li>key: 'columnSampleSize' value: the number of leading results whose attributes
+   *           determine the columns. Defaults to all of the results in the response, or to {@link
+   *           #DEFAULT_COLUMN_SAMPLE_SIZE} when exporting every result.
    *     </ol>
    *
-   * @return a BinaryContent object that contains an InputStream with the CSV content.
-   * @throws CatalogTransformerException during processing, the CSV output is written to an
-   *     Appendable, whose 'append()' method signature declares that it throws IOException. When
-   *     that Appendable throws IOException, this class will theoretically convert that into a
-   *     CatalogTransformerException and raise that. Because this implementation uses a
-   *     StringBuilder which doesn't throw IOException, this will never occur.
+   * @return a BinaryContent object that contains an InputStream with the CSV content. The CSV
+   *     records are printed as the InputStream is read.
+   * @throws CatalogTransformerException if the CSV column headers cannot be printed.
    */
   @Override
   public BinaryContent transform(
       SourceResponse upstreamResponse, Map<String, Serializable> arguments)
       throws CatalogTransformerException {
+    if (isExportAll(arguments)) {
+      if (catalogFramework != null && upstreamResponse.getRequest() != null) {
+        return transform(
+            ResultIterable.resultIterable(catalogFramework, upstreamResponse.getRequest()),
+            arguments);
+      }
+      LOGGER.debug("Unable to query for every result, exporting the results of the response");
+    }
+
+    List<Result> results = upstreamResponse.getResults();
+    return transform(results, getColumnSampleSize(arguments, results.size()), arguments);
+  }
 
-    List<Metacard> metacards =
-        upstreamResponse
-            .getResults()
-            .stream()
-            .map(Result::getMetacard)
-            .collect(Collectors.toList());
+  /**
+   * Streams the given results, such as a {@link ResultIterable}, as CSV. Results are pulled from
+   * the iterable as the returned content is read, so memory use does not grow with the size of the
+   * export. The columns are determined from the attributes of the first 'columnSampleSize' results
+   * ({@link #DEFAULT_COLUMN_SAMPLE_SIZE} by default), restricted to and ordered by 'columnOrder'
+   * when it is given.
+   *
+   * @param results the results to be converted.
+   * @param arguments the same arguments accepted by {@link #transform(SourceResponse, Map)}.
+   * @return a BinaryContent object that contains an InputStream with the CSV content.
+   * @throws CatalogTransformerException if the CSV column headers cannot be printed.
+   */
+  public BinaryContent transform(Iterable<Result> results, Map<String, Serializable> arguments)
+      throws CatalogTransformerException {
+    return transform(
+        results, getColumnSampleSize(arguments, DEFAULT_COLUMN_SAMPLE_SIZE), arguments);
+  }
+
+  private BinaryContent transform(
+      Iterable<Result> results, int columnSampleSize, Map<String, Serializable> arguments)
+      throws CatalogTransformerException {
+
+    Iterator<Result> resultIterator = results.iterator();
+    List<Metacard> metacards = new ArrayList<>();
+    while (metacards.size() < columnSampleSize && resultIterator.hasNext()) {
+      metacards.add(resultIterator.next().getMetacard());
+    }
 
     Set<String> hiddenFields =
         Optional.ofNullable((Set<String>) arguments.get(HIDDEN_FIELDS_KEY))
@@ -108,8 +176,34 @@ public BinaryContent transform(
     List<AttributeDescriptor> sortedAttributeDescriptors =
         sortAttributes(filteredAttributeDescriptors, attributeOrder);
 
-    Appendable csv = writeMetacardsToCsv(metacards, sortedAttributeDescriptors, columnAliasMap);
+    Stream<Metacard> remainingMetacards =
+        StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(resultIterator, Spliterator.ORDERED), false)
+            .map(Result::getMetacard);
+
+    return createStreamingResponse(
+        Stream.concat(metacards.stream(), remainingMetacards).iterator(),
+        sortedAttributeDescriptors,
+        columnAliasMap);
+  }
+
+  private static boolean isExportAll(Map<String, Serializable> arguments) {
+    Serializable exportAll = arguments.get(EXPORT_ALL_KEY);
+    return Boolean.TRUE.equals(exportAll) || "true".equalsIgnoreCase(String.valueOf(exportAll));
+  }
 
-    return createResponse(csv);
+  private static int getColumnSampleSize(Map<String, Serializable> arguments, int defaultSize) {
+    Serializable columnSampleSize = arguments.get(COLUMN_SAMPLE_SIZE_KEY);
+    if (columnSampleSize instanceof Number) {
+      return ((Number) columnSampleSize).intValue();
+    }
+    if (columnSampleSize instanceof String) {
+      try {
+        return Integer.parseInt((String) columnSampleSize);
+      } catch (NumberFormatException e) {
+        LOGGER.debug("Invalid {} argument: {}", COLUMN_SAMPLE_SIZE_KEY, columnSampleSize);
+      }
+    }
+    return defaultSize;
   }
 }
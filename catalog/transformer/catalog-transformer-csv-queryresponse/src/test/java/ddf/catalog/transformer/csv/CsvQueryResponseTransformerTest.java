@@ -16,10 +16,12 @@
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import ddf.catalog.CatalogFramework;
 import ddf.catalog.data.Attribute;
 import ddf.catalog.data.AttributeDescriptor;
 import ddf.catalog.data.AttributeType;
@@ -28,7 +30,11 @@
 import ddf.catalog.data.MetacardType;
 import ddf.catalog.data.Result;
 import ddf.catalog.data.impl.BasicTypes;
+import ddf.catalog.operation.QueryRequest;
 import ddf.catalog.operation.SourceResponse;
+import ddf.catalog.operation.impl.QueryImpl;
+import ddf.catalog.operation.impl.QueryRequestImpl;
+import ddf.catalog.operation.impl.QueryResponseImpl;
 import ddf.catalog.transform.CatalogTransformerException;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -38,9 +44,12 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.stubbing.Answer;
+import org.opengis.filter.Filter;
 
 public class CsvQueryResponseTransformerTest {
 
@@ -119,6 +128,86 @@ public void testCsvQueryResponseTransformer() throws CatalogTransformerException
     assertThat(scanner.hasNext(), is(false));
   }
 
+  @Test
+  public void testResultsStreamedAfterColumnSample() throws Exception {
+    AtomicInteger consumedResults = new AtomicInteger();
+    Iterable<Result> results =
+        () ->
+            RESULT_LIST
+                .stream()
+                .peek(result -> consumedResults.incrementAndGet())
+                .iterator();
+
+    Map<String, Serializable> argumentsMap = new HashMap<>();
+    argumentsMap.put("columnOrder", buildList(new String[] {"attribute1", "attribute2"}));
+    argumentsMap.put("columnSampleSize", 2);
+
+    BinaryContent bc = transformer.transform(results, argumentsMap);
+    assertThat(consumedResults.get(), is(2));
+
+    Scanner scanner = new Scanner(bc.getInputStream());
+    scanner.useDelimiter("\\n|\\r|,");
+
+    String[] expectedHeaders = {"attribute1", "attribute2"};
+    validate(scanner, expectedHeaders);
+
+    String[] expectedValues = {"", "value1", "101"};
+    for (int i = 0; i < METACARD_COUNT; i++) {
+      validate(scanner, expectedValues);
+    }
+
+    assertThat(scanner.hasNext(), is(true));
+    assertThat(scanner.next(), is(""));
+    assertThat(scanner.hasNext(), is(false));
+    assertThat(consumedResults.get(), is(METACARD_COUNT));
+  }
+
+  @Test
+  public void testExportAllQueriesEveryPage() throws Exception {
+    QueryImpl query = new QueryImpl(mock(Filter.class));
+    query.setPageSize(3);
+    QueryRequest queryRequest = new QueryRequestImpl(query);
+    when(sourceResponse.getRequest()).thenReturn(queryRequest);
+
+    AtomicInteger queries = new AtomicInteger();
+    CatalogFramework catalogFramework = mock(CatalogFramework.class);
+    when(catalogFramework.query(any(QueryRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              queries.incrementAndGet();
+              QueryRequest request = (QueryRequest) invocation.getArguments()[0];
+              int start = Math.min(request.getQuery().getStartIndex() - 1, RESULT_LIST.size());
+              int end = Math.min(start + request.getQuery().getPageSize(), RESULT_LIST.size());
+              return new QueryResponseImpl(
+                  request, new ArrayList<>(RESULT_LIST.subList(start, end)), METACARD_COUNT);
+            });
+
+    Map<String, Serializable> argumentsMap = new HashMap<>();
+    argumentsMap.put("columnOrder", buildList(new String[] {"attribute1", "attribute2"}));
+    argumentsMap.put("exportAll", true);
+    argumentsMap.put("columnSampleSize", 2);
+
+    BinaryContent bc =
+        new CsvQueryResponseTransformer(catalogFramework).transform(sourceResponse, argumentsMap);
+    assertThat(queries.get(), is(1));
+
+    Scanner scanner = new Scanner(bc.getInputStream());
+    scanner.useDelimiter("\\n|\\r|,");
+
+    String[] expectedHeaders = {"attribute1", "attribute2"};
+    validate(scanner, expectedHeaders);
+
+    String[] expectedValues = {"", "value1", "101"};
+    for (int i = 0; i < METACARD_COUNT; i++) {
+      validate(scanner, expectedValues);
+    }
+
+    assertThat(scanner.hasNext(), is(true));
+    assertThat(scanner.next(), is(""));
+    assertThat(scanner.hasNext(), is(false));
+    assertThat(queries.get(), is(4));
+  }
+
   private void validate(Scanner scanner, String[] expectedValues) {
     for (int i = 0; i < expectedValues.length; i++) {
       assertThat(scanner.hasNext(), is(true));
@@ -178,6 +267,7 @@ private void buildResultList() {
 
   private Metacard buildMetacard() {
     Metacard metacard = mock(Metacard.class);
+    when(metacard.getId()).thenReturn(UUID.randomUUID().toString());
 
     Answer<Serializable> answer =
         invocation -> {
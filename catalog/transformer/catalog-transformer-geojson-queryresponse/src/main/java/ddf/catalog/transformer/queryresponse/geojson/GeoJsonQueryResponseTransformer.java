@@ -21,18 +21,20 @@
 import ddf.catalog.transform.CatalogTransformerException;
 import ddf.catalog.transform.MetacardTransformer;
 import ddf.catalog.transform.QueryResponseTransformer;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import javax.activation.MimeType;
 import javax.activation.MimeTypeParseException;
-import net.minidev.json.JSONArray;
-import net.minidev.json.JSONObject;
 import net.minidev.json.JSONValue;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
+import org.codice.ddf.platform.util.TemporaryFileBackedOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +44,11 @@
  * ddf.catalog.data.Metacard}s that are the results from a query. This class leverages the {@link
  * GeoJsonMetacardTransformer} to convert metacards to JSON.
  *
+ * <p>The response is written one result at a time, copying the output of the metacard transformer
+ * as is, to a {@link TemporaryFileBackedOutputStream} that overflows to a temporary file for large
+ * responses. The temporary file is deleted when the returned content's input stream is closed or
+ * when the content is read with {@link BinaryContent#getByteArray()}.
+ *
  * @see GeoJsonMetacardTransformer
  * @see QueryResponseTransformer
  * @see ddf.catalog.data.Metacard
@@ -66,43 +73,14 @@ public class GeoJsonQueryResponseTransformer implements QueryResponseTransformer
     }
   }
 
+  private static final int BUFFER_SIZE = 8192;
+
   private final MetacardTransformer metacardTransformer;
 
   public GeoJsonQueryResponseTransformer(MetacardTransformer metacardTransformer) {
     this.metacardTransformer = metacardTransformer;
   }
 
-  private JSONObject convertToJSON(Result result) throws CatalogTransformerException {
-    JSONObject rootObject = new JSONObject();
-
-    addNonNullObject(rootObject, "distance", result.getDistanceInMeters());
-    addNonNullObject(rootObject, "relevance", result.getRelevanceScore());
-    addNonNullObject(rootObject, "metacard", createGeoJSON(result.getMetacard()));
-
-    return rootObject;
-  }
-
-  private Object createGeoJSON(Metacard metacard) throws CatalogTransformerException {
-    if (metacardTransformer == null) {
-      throw new CatalogTransformerException("The metacard transformer cannot be null");
-    }
-
-    BinaryContent rawContent = metacardTransformer.transform(metacard, null);
-    JSONParser jsonParser = new JSONParser(JSONParser.DEFAULT_PERMISSIVE_MODE);
-    try {
-      return jsonParser.parse(rawContent.getInputStream());
-    } catch (ParseException | UnsupportedEncodingException e) {
-      throw new CatalogTransformerException(
-          "Unable to parse transformed metacard content as JSON", e);
-    }
-  }
-
-  private static void addNonNullObject(JSONObject obj, String name, Object value) {
-    if (value != null) {
-      obj.put(name, value);
-    }
-  }
-
   @Override
   public BinaryContent transform(
       SourceResponse upstreamResponse, Map<String, Serializable> arguments)
@@ -112,26 +90,83 @@ public BinaryContent transform(
           "Cannot transform null " + SourceResponse.class.getName());
     }
 
-    JSONObject rootObject = new JSONObject();
+    TemporaryFileBackedOutputStream outputStream = new TemporaryFileBackedOutputStream();
+    try {
+      Writer writer =
+          new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      writer.write("{\"hits\":");
+      JSONValue.writeJSONString(upstreamResponse.getHits(), writer);
+      writer.write(",\"results\":[");
+
+      if (upstreamResponse.getResults() != null) {
+        boolean first = true;
+        for (Result result : upstreamResponse.getResults()) {
+          if (result == null) {
+            throw new CatalogTransformerException(
+                "Cannot transform null " + Result.class.getName());
+          }
+          if (!first) {
+            writer.write(',');
+          }
+          writeResult(result, writer);
+          first = false;
+        }
+      }
 
-    addNonNullObject(rootObject, "hits", upstreamResponse.getHits());
+      writer.write("]}");
+      writer.flush();
 
-    JSONArray resultsList = new JSONArray();
+      return new TemporaryFileBinaryContent(new TemporaryFileInputStream(outputStream));
+    } catch (IOException e) {
+      closeQuietly(outputStream);
+      throw new CatalogTransformerException("Unable to write GeoJSON query response", e);
+    } catch (CatalogTransformerException | RuntimeException e) {
+      closeQuietly(outputStream);
+      throw e;
+    }
+  }
 
-    if (upstreamResponse.getResults() != null) {
-      for (Result result : upstreamResponse.getResults()) {
-        if (result == null) {
-          throw new CatalogTransformerException("Cannot transform null " + Result.class.getName());
-        }
-        resultsList.add(convertToJSON(result));
-      }
+  private void writeResult(Result result, Writer writer)
+      throws CatalogTransformerException, IOException {
+    writer.write('{');
+    if (result.getDistanceInMeters() != null) {
+      writer.write("\"distance\":");
+      JSONValue.writeJSONString(result.getDistanceInMeters(), writer);
+      writer.write(',');
+    }
+    if (result.getRelevanceScore() != null) {
+      writer.write("\"relevance\":");
+      JSONValue.writeJSONString(result.getRelevanceScore(), writer);
+      writer.write(',');
     }
-    addNonNullObject(rootObject, "results", resultsList);
+    writer.write("\"metacard\":");
+    writeGeoJSON(result.getMetacard(), writer);
+    writer.write('}');
+  }
 
-    String jsonText = JSONValue.toJSONString(rootObject);
+  private void writeGeoJSON(Metacard metacard, Writer writer)
+      throws CatalogTransformerException, IOException {
+    if (metacardTransformer == null) {
+      throw new CatalogTransformerException("The metacard transformer cannot be null");
+    }
+
+    BinaryContent rawContent = metacardTransformer.transform(metacard, null);
+    try (Reader reader =
+        new InputStreamReader(rawContent.getInputStream(), StandardCharsets.UTF_8)) {
+      char[] buffer = new char[BUFFER_SIZE];
+      int read;
+      while ((read = reader.read(buffer)) != -1) {
+        writer.write(buffer, 0, read);
+      }
+    }
+  }
 
-    return new BinaryContentImpl(
-        new ByteArrayInputStream(jsonText.getBytes(StandardCharsets.UTF_8)), DEFAULT_MIME_TYPE);
+  private static void closeQuietly(TemporaryFileBackedOutputStream outputStream) {
+    try {
+      outputStream.close();
+    } catch (IOException e) {
+      LOGGER.debug("Unable to close temporary GeoJSON output", e);
+    }
   }
 
   @Override
@@ -145,4 +180,47 @@ public String toString() {
         + DEFAULT_MIME_TYPE
         + "}";
   }
+
+  /**
+   * Releases the temporary file once {@link #getByteArray()} has read the response into memory,
+   * since the input stream it was read from is replaced and never closed by the caller.
+   */
+  private static class TemporaryFileBinaryContent extends BinaryContentImpl {
+
+    private final TemporaryFileInputStream inputStream;
+
+    TemporaryFileBinaryContent(TemporaryFileInputStream inputStream) {
+      super(inputStream, DEFAULT_MIME_TYPE);
+      this.inputStream = inputStream;
+    }
+
+    @Override
+    public byte[] getByteArray() throws IOException {
+      try {
+        return super.getByteArray();
+      } finally {
+        inputStream.close();
+      }
+    }
+  }
+
+  /** Reads the buffered response and releases its temporary file when closed. */
+  private static class TemporaryFileInputStream extends FilterInputStream {
+
+    private final TemporaryFileBackedOutputStream outputStream;
+
+    TemporaryFileInputStream(TemporaryFileBackedOutputStream outputStream) throws IOException {
+      super(outputStream.asByteSource().openStream());
+      this.outputStream = outputStream;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        outputStream.close();
+      }
+    }
+  }
 }
@@ -30,16 +30,22 @@
 import ddf.catalog.transform.CatalogTransformerException;
 import ddf.catalog.transform.MetacardTransformer;
 import ddf.catalog.transformer.metacard.geojson.GeoJsonMetacardTransformer;
+import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import net.minidev.json.parser.JSONParser;
@@ -155,6 +161,67 @@ public void testCustomTransformerWithJsonArray()
     assertThat(((JSONObject) metacard.get(1)).get("id"), is("1"));
   }
 
+  @Test
+  public void testResultsWrittenInOrderWithOptionalFields()
+      throws ParseException, IOException, CatalogTransformerException {
+    AtomicInteger transformCount = new AtomicInteger();
+    GeoJsonQueryResponseTransformer geoJsonQRT =
+        new GeoJsonQueryResponseTransformer(
+            (metacard, arguments) -> {
+              transformCount.incrementAndGet();
+              return new BinaryContentImpl(
+                  IOUtils.toInputStream(
+                      "{\"id\":\"" + metacard.getId() + "\"}", StandardCharsets.UTF_8));
+            });
+
+    List<Result> results = new LinkedList<>();
+    for (int i = 0; i < 3; i++) {
+      MetacardImpl metacard = new MetacardImpl();
+      metacard.setId(Integer.toString(i));
+      ResultImpl result = new ResultImpl(metacard);
+      if (i == 1) {
+        result.setDistanceInMeters(10.5);
+      }
+      results.add(result);
+    }
+
+    JSONObject json = transform(new SourceResponseImpl(null, results, 3L), geoJsonQRT);
+
+    assertThat(transformCount.get(), is(3));
+    JSONArray resultsJson = (JSONArray) json.get("results");
+    assertThat(resultsJson.size(), is(3));
+    for (int i = 0; i < 3; i++) {
+      JSONObject result = (JSONObject) resultsJson.get(i);
+      assertThat(((JSONObject) result.get("metacard")).get("id"), is(Integer.toString(i)));
+      assertThat(result.containsKey("relevance"), is(false));
+      assertThat(result.containsKey("distance"), is(i == 1));
+    }
+  }
+
+  @Test
+  public void testLargeResponseReleasesTemporaryFile()
+      throws ParseException, IOException, CatalogTransformerException {
+    String largeValue = String.join("", Collections.nCopies(600_000, "x"));
+    GeoJsonQueryResponseTransformer geoJsonQRT =
+        new GeoJsonQueryResponseTransformer(
+            createCustomMetacardTransformer("{\"value\":\"" + largeValue + "\"}"));
+    File tempDir = new File(System.getProperty("java.io.tmpdir"));
+    Set<String> tempFiles = listTemporaryFiles(tempDir);
+
+    JSONObject json = transform(setupResponse(2, 2L), geoJsonQRT);
+
+    JSONArray results = (JSONArray) json.get("results");
+    assertThat(results.size(), is(2));
+    assertThat(
+        ((JSONObject) ((JSONObject) results.get(1)).get("metacard")).get("value"), is(largeValue));
+    assertThat(listTemporaryFiles(tempDir), is(tempFiles));
+  }
+
+  private Set<String> listTemporaryFiles(File tempDir) {
+    String[] names = tempDir.list((dir, name) -> name.startsWith("FileBackedOutputStream"));
+    return names == null ? Collections.emptySet() : new HashSet<>(Arrays.asList(names));
+  }
+
   private MetacardTransformer createCustomMetacardTransformer(String binContent) {
     return (metacard, arguments) ->
         new BinaryContentImpl(IOUtils.toInputStream(binContent, StandardCharsets.UTF_8));
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.validator.metacard.duplication;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Attribute;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
+import ddf.catalog.filter.FilterBuilder;
+import ddf.catalog.operation.CreateResponse;
+import ddf.catalog.operation.DeleteResponse;
+import ddf.catalog.operation.Update;
+import ddf.catalog.operation.UpdateResponse;
+import ddf.catalog.operation.impl.QueryImpl;
+import ddf.catalog.operation.impl.QueryRequestImpl;
+import ddf.catalog.plugin.PostIngestPlugin;
+import ddf.catalog.util.impl.CatalogQueryException;
+import ddf.catalog.util.impl.ResultIterable;
+import ddf.security.service.SecurityServiceException;
+import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
+import org.codice.ddf.security.Security;
+import org.opengis.filter.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Probabilistic set of the values that the metacards of the local catalog have for the attributes
+ * checked by the {@link DuplicationValidator}. A value that the set does not contain cannot be a
+ * duplicate, so the validator does not have to query the catalog for it.
+ *
+ * <p>The set is primed in the background by paging through the catalog and is kept current with
+ * the metacards that are created or updated afterwards. Values of deleted metacards are not
+ * removed, which only causes a query that finds no duplicates. Until the set is primed, every value
+ * might be a duplicate.
+ */
+public class DuplicateValuePreFilter implements PostIngestPlugin {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DuplicateValuePreFilter.class);
+
+  private static final int DEFAULT_EXPECTED_VALUES = 1_000_000;
+
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private static final int PAGE_SIZE = 1000;
+
+  private static final long RETRY_DELAY_SECONDS = TimeUnit.MINUTES.toSeconds(1);
+
+  private final CatalogFramework catalogFramework;
+
+  private final FilterBuilder filterBuilder;
+
+  private final Security security;
+
+  private ScheduledExecutorService executor;
+
+  private volatile ValueSet values = new ValueSet(Collections.emptySet(), DEFAULT_EXPECTED_VALUES);
+
+  public DuplicateValuePreFilter(
+      CatalogFramework catalogFramework, FilterBuilder filterBuilder, Security security) {
+    this.catalogFramework = catalogFramework;
+    this.filterBuilder = filterBuilder;
+    this.security = security;
+  }
+
+  public synchronized void init() {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            StandardThreadFactoryBuilder.newThreadFactory("duplicateValuePreFilterThread"));
+    schedulePriming(values, 0);
+  }
+
+  public synchronized void destroy() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  /**
+   * Sets the attributes whose values are tracked. Changing them discards the current values and
+   * primes the set again.
+   *
+   * @param attributeNames the attributes to track, an empty collection stops tracking values
+   */
+  public synchronized void setAttributeNames(Collection<String> attributeNames) {
+    Set<String> names = new HashSet<>(attributeNames);
+    if (!names.equals(values.attributeNames)) {
+      replaceValues(names, DEFAULT_EXPECTED_VALUES);
+    }
+  }
+
+  /**
+   * Returns {@code false} if no metacard in the local catalog has the value for the attribute, or
+   * {@code true} if one might have it.
+   */
+  public boolean mightContain(String attributeName, String value) {
+    ValueSet current = values;
+    return !current.primed
+        || !current.attributeNames.contains(attributeName)
+        || current.filter.mightContain(key(attributeName, value));
+  }
+
+  @Override
+  public CreateResponse process(CreateResponse input) {
+    ValueSet current = values;
+    input.getCreatedMetacards().forEach(metacard -> put(current, metacard));
+    checkCapacity(current);
+    return input;
+  }
+
+  @Override
+  public UpdateResponse process(UpdateResponse input) {
+    ValueSet current = values;
+    input
+        .getUpdatedMetacards()
+        .stream()
+        .map(Update::getNewMetacard)
+        .forEach(metacard -> put(current, metacard));
+    checkCapacity(current);
+    return input;
+  }
+
+  @Override
+  public DeleteResponse process(DeleteResponse input) {
+    return input;
+  }
+
+  private synchronized void replaceValues(Set<String> attributeNames, long expectedValues) {
+    values = new ValueSet(attributeNames, expectedValues);
+    schedulePriming(values, 0);
+  }
+
+  /** Resizes the set once it holds more values than it was sized for. */
+  private synchronized void checkCapacity(ValueSet current) {
+    if (current == values
+        && current.primed
+        && current.filter.approximateElementCount() > current.expectedValues) {
+      LOGGER.debug(
+          "Duplicate value pre-filter holds more than {} values, resizing it.",
+          current.expectedValues);
+      replaceValues(current.attributeNames, current.expectedValues * 2);
+    }
+  }
+
+  private synchronized void schedulePriming(ValueSet target, long delayInSeconds) {
+    if (executor != null && !target.attributeNames.isEmpty()) {
+      executor.schedule(() -> prime(target), delayInSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  /** Primes the current set of values on the calling thread. */
+  void prime() {
+    prime(values);
+  }
+
+  private void prime(ValueSet target) {
+    boolean primed =
+        security.runAsAdmin(
+            () -> {
+              try {
+                return security.runWithSubjectOrElevate(() -> loadValues(target));
+              } catch (SecurityServiceException | InvocationTargetException e) {
+                LOGGER.debug("Unable to prime the duplicate value pre-filter.", e);
+                return false;
+              }
+            });
+    if (primed) {
+      target.primed = true;
+      checkCapacity(target);
+    } else if (target == values) {
+      schedulePriming(target, RETRY_DELAY_SECONDS);
+    }
+  }
+
+  /**
+   * Pages through the metacards of the local catalog that have one of the tracked attributes and
+   * adds their values to the set.
+   *
+   * @return {@code true} if all the values were added, {@code false} if the set was replaced or a
+   *     query failed
+   */
+  private boolean loadValues(ValueSet target) {
+    Filter filter =
+        filterBuilder.anyOf(
+            target
+                .attributeNames
+                .stream()
+                .map(name -> filterBuilder.attribute(name).is().like().text("*"))
+                .toArray(Filter[]::new));
+    QueryImpl query = new QueryImpl(filter);
+    query.setPageSize(PAGE_SIZE);
+    try {
+      for (Result result :
+          ResultIterable.resultIterable(catalogFramework, new QueryRequestImpl(query))) {
+        if (target != values) {
+          return false;
+        }
+        put(target, result.getMetacard());
+      }
+    } catch (CatalogQueryException e) {
+      LOGGER.debug("Unable to query the values for the duplicate value pre-filter.", e);
+      return false;
+    }
+
+    LOGGER.debug(
+        "Primed the duplicate value pre-filter with about {} values.",
+        target.filter.approximateElementCount());
+    return true;
+  }
+
+  private static void put(ValueSet target, Metacard metacard) {
+    for (String attributeName : target.attributeNames) {
+      Attribute attribute = metacard.getAttribute(attributeName);
+      if (attribute != null && attribute.getValues() != null) {
+        for (Serializable value : attribute.getValues()) {
+          if (value != null) {
+            target.filter.put(key(attributeName, value.toString().trim()));
+          }
+        }
+      }
+    }
+  }
+
+  private static String key(String attributeName, String value) {
+    return attributeName + '=' + value;
+  }
+
+  /** The tracked attributes and their values. */
+  private static class ValueSet {
+
+    private final Set<String> attributeNames;
+
+    private final long expectedValues;
+
+    private final BloomFilter<CharSequence> filter;
+
+    private volatile boolean primed;
+
+    private ValueSet(Set<String> attributeNames, long expectedValues) {
+      this.attributeNames = Collections.unmodifiableSet(attributeNames);
+      this.expectedValues = expectedValues;
+      this.filter =
+          attributeNames.isEmpty()
+              ? BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), 1)
+              : BloomFilter.create(
+                  Funnels.stringFunnel(StandardCharsets.UTF_8),
+                  expectedValues,
+                  FALSE_POSITIVE_PROBABILITY);
+    }
+  }
+}
@@ -14,9 +14,11 @@
 package org.codice.ddf.validator.metacard.duplication;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 import ddf.catalog.CatalogFramework;
 import ddf.catalog.data.Attribute;
 import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
 import ddf.catalog.federation.FederationException;
 import ddf.catalog.filter.FilterBuilder;
 import ddf.catalog.operation.QueryRequest;
@@ -25,6 +27,9 @@
 import ddf.catalog.operation.impl.QueryRequestImpl;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import ddf.catalog.util.impl.CatalogQueryException;
+import ddf.catalog.util.impl.ResultIterable;
+import ddf.catalog.validation.BatchMetacardValidator;
 import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ReportingMetacardValidator;
 import ddf.catalog.validation.ValidationException;
@@ -35,13 +40,21 @@
 import ddf.catalog.validation.violation.ValidationViolation;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.commons.collections.CollectionUtils;
@@ -51,7 +64,7 @@
 import org.slf4j.LoggerFactory;
 
 public class DuplicationValidator
-    implements MetacardValidator,
+    implements BatchMetacardValidator,
         ReportingMetacardValidator,
         ddf.catalog.util.Describable,
         org.codice.ddf.platform.services.common.Describable {
@@ -63,6 +76,11 @@
 
   private static final String VERSION = "version";
 
+  /** Keeps the number of boolean clauses of a batch query well below the default Solr limit. */
+  private static final int MAX_VALUES_PER_QUERY = 256;
+
+  private static final int BATCH_PAGE_SIZE = 1000;
+
   private static Properties describableProperties = new Properties();
 
   static {
@@ -82,6 +100,10 @@
 
   private String[] warnOnDuplicateAttributes;
 
+  private DuplicateValuePreFilter preFilter;
+
+  private boolean usePreFilter;
+
   public DuplicationValidator(CatalogFramework catalogFramework, FilterBuilder filterBuilder) {
     this.catalogFramework = catalogFramework;
     this.filterBuilder = filterBuilder;
@@ -97,6 +119,7 @@ public DuplicationValidator(CatalogFramework catalogFramework, FilterBuilder fil
   public void setErrorOnDuplicateAttributes(String[] attributeStrings) {
     if (attributeStrings != null) {
       this.errorOnDuplicateAttributes = Arrays.copyOf(attributeStrings, attributeStrings.length);
+      updatePreFilter();
     }
   }
 
@@ -110,21 +133,91 @@ public void setErrorOnDuplicateAttributes(String[] attributeStrings) {
   public void setWarnOnDuplicateAttributes(String[] attributeStrings) {
     if (attributeStrings != null) {
       this.warnOnDuplicateAttributes = Arrays.copyOf(attributeStrings, attributeStrings.length);
+      updatePreFilter();
+    }
+  }
+
+  public void setPreFilter(DuplicateValuePreFilter preFilter) {
+    this.preFilter = preFilter;
+    updatePreFilter();
+  }
+
+  /**
+   * Setter for whether values that the {@link DuplicateValuePreFilter} reports as absent from the
+   * local catalog skip the duplication query.
+   *
+   * @param usePreFilter
+   */
+  public void setUsePreFilter(boolean usePreFilter) {
+    this.usePreFilter = usePreFilter;
+    updatePreFilter();
+  }
+
+  private void updatePreFilter() {
+    if (preFilter != null) {
+      preFilter.setAttributeNames(
+          usePreFilter ? getDuplicateAttributeNames() : Collections.emptySet());
+    }
+  }
+
+  private Set<String> getDuplicateAttributeNames() {
+    Set<String> attributeNames = new HashSet<>();
+    if (warnOnDuplicateAttributes != null) {
+      attributeNames.addAll(Arrays.asList(warnOnDuplicateAttributes));
     }
+    if (errorOnDuplicateAttributes != null) {
+      attributeNames.addAll(Arrays.asList(errorOnDuplicateAttributes));
+    }
+    return attributeNames;
   }
 
   @Override
   public Optional<MetacardValidationReport> validateMetacard(Metacard metacard) {
     Preconditions.checkArgument(metacard != null, "The metacard cannot be null.");
 
-    return getReport(reportDuplicates(metacard));
+    return getReport(reportDuplicates(metacard, this::queryDuplicates));
   }
 
   @Override
   public void validate(Metacard metacard) throws ValidationException {
+    validate(metacard, validateMetacard(metacard));
+  }
 
-    final Optional<MetacardValidationReport> report = validateMetacard(metacard);
+  /**
+   * Looks up the metacards of the local catalog that share a value with any of the given metacards
+   * with a few queries, so that each of them can be validated without querying the catalog again.
+   */
+  @Override
+  public MetacardValidator forBatch(List<Metacard> metacards) {
+    Set<String> attributeNames = getDuplicateAttributeNames();
+    Set<Map.Entry<String, String>> values = new HashSet<>();
+    for (Metacard metacard : metacards) {
+      values.addAll(
+          getCandidateValues(
+              attributeNames
+                  .stream()
+                  .map(metacard::getAttribute)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toSet())));
+    }
 
+    Map<Map.Entry<String, String>, Set<String>> idsByValue = new HashMap<>();
+    for (List<Map.Entry<String, String>> batchValues :
+        Lists.partition(new ArrayList<>(values), MAX_VALUES_PER_QUERY)) {
+      if (!queryDuplicates(batchValues, idsByValue)) {
+        return this;
+      }
+    }
+    LOGGER.debug(
+        "Found {} duplicate values for a batch of {} metacards with {} values.",
+        idsByValue.size(),
+        metacards.size(),
+        values.size());
+    return new BatchValidator(metacards, idsByValue);
+  }
+
+  private void validate(Metacard metacard, Optional<MetacardValidationReport> report)
+      throws ValidationException {
     if (report.isPresent()) {
       final List<String> errors =
           report
@@ -158,14 +251,18 @@ public void validate(Metacard metacard) throws ValidationException {
     }
   }
 
-  private Set<ValidationViolation> reportDuplicates(final Metacard metacard) {
+  private Set<ValidationViolation> reportDuplicates(
+      final Metacard metacard, Function<Set<Attribute>, Set<String>> duplicateFinder) {
 
     Set<ValidationViolation> violations = new HashSet<>();
 
     if (ArrayUtils.isNotEmpty(warnOnDuplicateAttributes)) {
       ValidationViolation warnValidation =
           reportDuplicates(
-              metacard, warnOnDuplicateAttributes, ValidationViolation.Severity.WARNING);
+              metacard,
+              warnOnDuplicateAttributes,
+              ValidationViolation.Severity.WARNING,
+              duplicateFinder);
       if (warnValidation != null) {
         violations.add(warnValidation);
       }
@@ -173,7 +270,10 @@ private Set<ValidationViolation> reportDuplicates(final Metacard metacard) {
     if (ArrayUtils.isNotEmpty(errorOnDuplicateAttributes)) {
       ValidationViolation errorViolation =
           reportDuplicates(
-              metacard, errorOnDuplicateAttributes, ValidationViolation.Severity.ERROR);
+              metacard,
+              errorOnDuplicateAttributes,
+              ValidationViolation.Severity.ERROR,
+              duplicateFinder);
       if (errorViolation != null) {
         violations.add(errorViolation);
       }
@@ -183,9 +283,11 @@ private Set<ValidationViolation> reportDuplicates(final Metacard metacard) {
   }
 
   private ValidationViolation reportDuplicates(
-      final Metacard metacard, String[] attributeNames, ValidationViolation.Severity severity) {
+      final Metacard metacard,
+      String[] attributeNames,
+      ValidationViolation.Severity severity,
+      Function<Set<Attribute>, Set<String>> duplicateFinder) {
 
-    Set<String> duplicates = new HashSet<>();
     ValidationViolation violation = null;
 
     final Set<String> uniqueAttributeNames =
@@ -202,14 +304,12 @@ private ValidationViolation reportDuplicates(
             collectionToString(uniqueAttributeNames));
       }
 
-      SourceResponse response = query(uniqueAttributes);
-      if (response != null) {
-        response
-            .getResults()
-            .stream()
-            .filter(result -> !result.getMetacard().getId().equals(metacard.getId()))
-            .forEach(result -> duplicates.add(result.getMetacard().getId()));
-      }
+      Set<String> duplicates =
+          duplicateFinder
+              .apply(uniqueAttributes)
+              .stream()
+              .filter(id -> !id.equals(metacard.getId()))
+              .collect(Collectors.toSet());
       if (!duplicates.isEmpty()) {
         violation = createViolation(uniqueAttributeNames, duplicates, severity);
         LOGGER.debug(violation.getMessage());
@@ -218,7 +318,11 @@ private ValidationViolation reportDuplicates(
     return violation;
   }
 
-  private Filter[] buildFilters(Set<Attribute> attributes) {
+  /**
+   * Returns the attribute name and value pairs of the given attributes that might be duplicated in
+   * the local catalog.
+   */
+  private Set<Map.Entry<String, String>> getCandidateValues(Set<Attribute> attributes) {
 
     return attributes
         .stream()
@@ -229,20 +333,87 @@ private Filter[] buildFilters(Set<Attribute> attributes) {
                     .stream()
                     .map(
                         value ->
-                            filterBuilder
-                                .attribute(attribute.getName())
-                                .equalTo()
-                                .text(value.toString().trim())))
+                            new AbstractMap.SimpleImmutableEntry<>(
+                                attribute.getName(), value.toString().trim())))
+        .filter(
+            value ->
+                !usePreFilter
+                    || preFilter == null
+                    || preFilter.mightContain(value.getKey(), value.getValue()))
+        .collect(Collectors.toSet());
+  }
+
+  private Filter[] buildFilters(Collection<Map.Entry<String, String>> values) {
+
+    return values
+        .stream()
+        .map(value -> filterBuilder.attribute(value.getKey()).equalTo().text(value.getValue()))
         .toArray(Filter[]::new);
   }
 
-  private SourceResponse query(Set<Attribute> attributes) {
+  private Set<String> queryDuplicates(Set<Attribute> attributes) {
+    Set<Map.Entry<String, String>> values = getCandidateValues(attributes);
+    if (values.isEmpty()) {
+      return Collections.emptySet();
+    }
 
-    final Filter filter = filterBuilder.allOf(filterBuilder.anyOf(buildFilters(attributes)));
+    SourceResponse response =
+        query(new QueryImpl(filterBuilder.allOf(filterBuilder.anyOf(buildFilters(values)))));
+    if (response == null) {
+      return Collections.emptySet();
+    }
+    return response
+        .getResults()
+        .stream()
+        .map(result -> result.getMetacard().getId())
+        .collect(Collectors.toSet());
+  }
 
+  /**
+   * Pages through the metacards of the local catalog that have any of the given values and adds
+   * their ids to the ids of the values they have.
+   *
+   * @return {@code false} if a query failed
+   */
+  private boolean queryDuplicates(
+      List<Map.Entry<String, String>> values,
+      Map<Map.Entry<String, String>, Set<String>> idsByValue) {
+    Set<Map.Entry<String, String>> queriedValues = new HashSet<>(values);
+    Set<String> attributeNames =
+        values.stream().map(Map.Entry::getKey).collect(Collectors.toSet());
+    Filter filter = filterBuilder.anyOf(buildFilters(values));
     LOGGER.debug("filter {}", filter);
 
     QueryImpl query = new QueryImpl(filter);
+    query.setPageSize(BATCH_PAGE_SIZE);
+    try {
+      for (Result result :
+          ResultIterable.resultIterable(catalogFramework, new QueryRequestImpl(query))) {
+        Metacard metacard = result.getMetacard();
+        getCandidateValues(
+                attributeNames
+                    .stream()
+                    .map(metacard::getAttribute)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet()))
+            .stream()
+            .filter(queriedValues::contains)
+            .map(value -> idsByValue.computeIfAbsent(value, key -> new HashSet<>()))
+            .forEach(ids -> ids.add(metacard.getId()));
+      }
+    } catch (CatalogQueryException e) {
+      LOGGER.debug("Query failed ", e);
+      return false;
+    }
+    return true;
+  }
+
+  private SourceResponse query(QueryImpl query) {
+
+    final Filter filter = query.getFilter();
+
+    LOGGER.debug("filter {}", filter);
+
     query.setRequestsTotalResultsCount(false);
     QueryRequest request = new QueryRequestImpl(query);
 
@@ -282,6 +453,40 @@ private Optional<MetacardValidationReport> getReport(final Set<ValidationViolati
     return Optional.empty();
   }
 
+  /** Validates the metacards of one batch against the duplicates found for the whole batch. */
+  private class BatchValidator implements MetacardValidator {
+
+    private final Set<Metacard> metacards = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Map<Map.Entry<String, String>, Set<String>> idsByValue;
+
+    private BatchValidator(
+        List<Metacard> metacards, Map<Map.Entry<String, String>, Set<String>> idsByValue) {
+      this.metacards.addAll(metacards);
+      this.idsByValue = idsByValue;
+    }
+
+    @Override
+    public void validate(Metacard metacard) throws ValidationException {
+      if (!metacards.contains(metacard)) {
+        DuplicationValidator.this.validate(metacard);
+        return;
+      }
+
+      DuplicationValidator.this.validate(
+          metacard, getReport(reportDuplicates(metacard, this::findDuplicates)));
+    }
+
+    private Set<String> findDuplicates(Set<Attribute> attributes) {
+      return getCandidateValues(attributes)
+          .stream()
+          .map(idsByValue::get)
+          .filter(Objects::nonNull)
+          .flatMap(Set::stream)
+          .collect(Collectors.toSet());
+    }
+  }
+
   @Override
   public String getVersion() {
     return describableProperties.getProperty(VERSION);
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.validator.metacard.duplication;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.theInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ddf.catalog.CatalogFramework;
+import ddf.catalog.data.Metacard;
+import ddf.catalog.data.Result;
+import ddf.catalog.data.impl.AttributeImpl;
+import ddf.catalog.data.impl.MetacardImpl;
+import ddf.catalog.data.impl.ResultImpl;
+import ddf.catalog.filter.FilterBuilder;
+import ddf.catalog.operation.CreateResponse;
+import ddf.catalog.operation.DeleteResponse;
+import ddf.catalog.operation.QueryRequest;
+import ddf.catalog.operation.QueryResponse;
+import ddf.catalog.operation.Update;
+import ddf.catalog.operation.UpdateResponse;
+import ddf.catalog.source.SourceUnavailableException;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.codice.ddf.security.Security;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DuplicateValuePreFilterTest {
+
+  private static final String CATALOG_CHECKSUM = "catalog-checksum";
+
+  private static final String NEW_CHECKSUM = "new-checksum";
+
+  @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+  private FilterBuilder mockFilterBuilder;
+
+  @Mock private CatalogFramework mockFramework;
+
+  @Mock private Security mockSecurity;
+
+  private DuplicateValuePreFilter preFilter;
+
+  @Before
+  public void setup() throws Exception {
+    QueryResponse response = mock(QueryResponse.class);
+    List<Result> results =
+        Collections.singletonList(new ResultImpl(metacardWithChecksum(CATALOG_CHECKSUM)));
+    when(response.getResults()).thenReturn(results);
+    when(mockFramework.query(any(QueryRequest.class))).thenReturn(response);
+
+    doAnswer(invocation -> ((PrivilegedAction) invocation.getArguments()[0]).run())
+        .when(mockSecurity)
+        .runAsAdmin(any(PrivilegedAction.class));
+    doAnswer(invocation -> ((Callable) invocation.getArguments()[0]).call())
+        .when(mockSecurity)
+        .runWithSubjectOrElevate(any(Callable.class));
+
+    preFilter = new DuplicateValuePreFilter(mockFramework, mockFilterBuilder, mockSecurity);
+    preFilter.setAttributeNames(Collections.singleton(Metacard.CHECKSUM));
+  }
+
+  @Test
+  public void testMightContainBeforePriming() {
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testPrimedFromCatalog() {
+    preFilter.prime();
+
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, CATALOG_CHECKSUM), is(true));
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(false));
+    assertThat(preFilter.mightContain(Metacard.TITLE, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testQueryFailureLeavesFilterUnprimed() throws Exception {
+    when(mockFramework.query(any(QueryRequest.class)))
+        .thenThrow(new SourceUnavailableException("Catalog unavailable"));
+
+    preFilter.prime();
+
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testPrimedAfterShortPage() throws Exception {
+    when(mockFramework.query(any(QueryRequest.class)))
+        .thenReturn(queryResponse(3, CATALOG_CHECKSUM, "other-checksum"))
+        .thenReturn(queryResponse(3, NEW_CHECKSUM));
+
+    preFilter.prime();
+
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, "unknown-checksum"), is(false));
+    verify(mockFramework, times(2)).query(any(QueryRequest.class));
+  }
+
+  @Test
+  public void testPartialLoadLeavesFilterUnprimed() throws Exception {
+    when(mockFramework.query(any(QueryRequest.class)))
+        .thenReturn(queryResponse(3, CATALOG_CHECKSUM, "other-checksum"))
+        .thenThrow(new SourceUnavailableException("Catalog unavailable"));
+
+    preFilter.prime();
+
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testNoAttributesNotPrimed() throws Exception {
+    preFilter.setAttributeNames(Collections.emptySet());
+    preFilter.init();
+    preFilter.destroy();
+
+    verify(mockFramework, never()).query(any(QueryRequest.class));
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testCreatedValuesAdded() {
+    preFilter.prime();
+    CreateResponse response = mock(CreateResponse.class);
+    when(response.getCreatedMetacards())
+        .thenReturn(Collections.singletonList(metacardWithChecksum(NEW_CHECKSUM)));
+
+    assertThat(preFilter.process(response), is(theInstance(response)));
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testUpdatedValuesAdded() {
+    preFilter.prime();
+    Update update = mock(Update.class);
+    when(update.getNewMetacard()).thenReturn(metacardWithChecksum(NEW_CHECKSUM));
+    UpdateResponse response = mock(UpdateResponse.class);
+    when(response.getUpdatedMetacards()).thenReturn(Collections.singletonList(update));
+
+    assertThat(preFilter.process(response), is(theInstance(response)));
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  @Test
+  public void testDeleteResponseUnchanged() {
+    DeleteResponse response = mock(DeleteResponse.class);
+
+    assertThat(preFilter.process(response), is(theInstance(response)));
+  }
+
+  @Test
+  public void testChangedAttributesDiscardValues() {
+    preFilter.prime();
+    preFilter.setAttributeNames(Arrays.asList(Metacard.CHECKSUM, Metacard.TITLE));
+
+    assertThat(preFilter.mightContain(Metacard.CHECKSUM, NEW_CHECKSUM), is(true));
+  }
+
+  private QueryResponse queryResponse(long hits, String... checksums) {
+    List<Result> results = new ArrayList<>();
+    for (String checksum : checksums) {
+      results.add(new ResultImpl(metacardWithChecksum(checksum)));
+    }
+    QueryResponse response = mock(QueryResponse.class);
+    when(response.getResults()).thenReturn(results);
+    when(response.getHits()).thenReturn(hits);
+    return response;
+  }
+
+  private Metacard metacardWithChecksum(String checksum) {
+    MetacardImpl metacard = new MetacardImpl();
+    metacard.setAttribute(new AttributeImpl(Metacard.CHECKSUM, checksum));
+    return metacard;
+  }
+}
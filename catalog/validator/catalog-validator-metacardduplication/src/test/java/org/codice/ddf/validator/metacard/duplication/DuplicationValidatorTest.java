@@ -16,6 +16,7 @@
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.theInstance;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
 import static org.hamcrest.core.IsNot.not;
@@ -24,6 +25,8 @@
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,10 +44,12 @@
 import ddf.catalog.plugin.StopProcessingException;
 import ddf.catalog.source.SourceUnavailableException;
 import ddf.catalog.source.UnsupportedQueryException;
+import ddf.catalog.validation.MetacardValidator;
 import ddf.catalog.validation.ValidationException;
 import ddf.catalog.validation.report.MetacardValidationReport;
 import ddf.catalog.validation.violation.ValidationViolation;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -244,4 +249,101 @@ public void testValidateMetacardWithMultiValuedAttribute()
               assertThat(violation.getMessage(), containsString(Metacard.TAGS));
             });
   }
+
+  @Test
+  public void testForBatchQueriesCatalogOnce() throws Exception {
+    validator.setWarnOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+    MetacardImpl uniqueMetacard = new MetacardImpl();
+    uniqueMetacard.setId("unique metacard ID");
+    uniqueMetacard.setAttribute(new AttributeImpl(Metacard.CHECKSUM, "unique-value"));
+
+    MetacardValidator batchValidator =
+        validator.forBatch(Arrays.asList(testMetacard, uniqueMetacard));
+    ValidationException expectedException = null;
+    try {
+      batchValidator.validate(testMetacard);
+    } catch (ValidationException e) {
+      expectedException = e;
+    }
+    batchValidator.validate(uniqueMetacard);
+
+    verify(mockFramework, times(1)).query(any(QueryRequest.class));
+    assertThat(expectedException, is(not(nullValue())));
+    assertThat(expectedException.getWarnings(), hasSize(1));
+    assertThat(expectedException.getWarnings().get(0), containsString(ID));
+  }
+
+  @Test
+  public void testForBatchFindsDuplicatesAfterShortPage() throws Exception {
+    validator.setWarnOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+    MetacardImpl otherMetacard = new MetacardImpl();
+    otherMetacard.setId("other metacard ID");
+    otherMetacard.setAttribute(new AttributeImpl(Metacard.CHECKSUM, "other-value"));
+    MetacardImpl otherMatchingMetacard = new MetacardImpl();
+    otherMatchingMetacard.setId("other matching metacard id");
+    otherMatchingMetacard.setAttribute(new AttributeImpl(Metacard.CHECKSUM, "other-value"));
+
+    QueryResponse firstPage = mock(QueryResponse.class);
+    when(firstPage.getResults())
+        .thenReturn(Collections.singletonList(new ResultImpl(matchingMetacard)));
+    when(firstPage.getHits()).thenReturn(2L);
+    QueryResponse secondPage = mock(QueryResponse.class);
+    when(secondPage.getResults())
+        .thenReturn(Collections.singletonList(new ResultImpl(otherMatchingMetacard)));
+    when(secondPage.getHits()).thenReturn(2L);
+    when(mockFramework.query(any(QueryRequest.class))).thenReturn(firstPage, secondPage);
+
+    MetacardValidator batchValidator =
+        validator.forBatch(Arrays.asList(testMetacard, otherMetacard));
+    ValidationException expectedException = null;
+    try {
+      batchValidator.validate(otherMetacard);
+    } catch (ValidationException e) {
+      expectedException = e;
+    }
+
+    verify(mockFramework, times(2)).query(any(QueryRequest.class));
+    assertThat(expectedException, is(not(nullValue())));
+    assertThat(expectedException.getWarnings().get(0), containsString("other matching"));
+  }
+
+  @Test
+  public void testForBatchValidatesOtherMetacardsOnTheirOwn() throws Exception {
+    validator.setWarnOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+
+    MetacardValidator batchValidator = validator.forBatch(Collections.emptyList());
+    ValidationException expectedException = null;
+    try {
+      batchValidator.validate(testMetacard);
+    } catch (ValidationException e) {
+      expectedException = e;
+    }
+
+    verify(mockFramework, times(1)).query(any(QueryRequest.class));
+    assertThat(expectedException, is(not(nullValue())));
+  }
+
+  @Test
+  public void testForBatchQueryFailure() throws Exception {
+    validator.setWarnOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+    when(mockFramework.query(any(QueryRequest.class)))
+        .thenThrow(new SourceUnavailableException("Catalog unavailable"));
+
+    assertThat(
+        validator.forBatch(Collections.singletonList(testMetacard)), is(theInstance(validator)));
+  }
+
+  @Test
+  public void testPreFilterSkipsQueryForNewValues() throws Exception {
+    DuplicateValuePreFilter preFilter = mock(DuplicateValuePreFilter.class);
+    validator.setPreFilter(preFilter);
+    validator.setWarnOnDuplicateAttributes(new String[] {Metacard.CHECKSUM});
+    validator.setUsePreFilter(true);
+
+    Optional<MetacardValidationReport> report = validator.validateMetacard(testMetacard);
+
+    verify(preFilter).setAttributeNames(Collections.singleton(Metacard.CHECKSUM));
+    verify(mockFramework, never()).query(any(QueryRequest.class));
+    assertThat(report.isPresent(), is(false));
+  }
 }
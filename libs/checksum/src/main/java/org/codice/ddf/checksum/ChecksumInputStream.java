@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.checksum;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link FilterInputStream} that calculates a checksum of the bytes that are read through it, so
+ * that the checksum of content can be calculated while the content is copied.
+ */
+public abstract class ChecksumInputStream extends FilterInputStream {
+
+  protected ChecksumInputStream(InputStream inputStream) {
+    super(inputStream);
+  }
+
+  /**
+   * Returns the checksum of the bytes read so far, which is the checksum of the content once the
+   * stream has been read to its end.
+   *
+   * @return checksum value
+   */
+  public abstract String getChecksumValue();
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public synchronized void mark(int readlimit) {
+    // re-reading bytes would change the checksum
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("mark/reset not supported");
+  }
+}
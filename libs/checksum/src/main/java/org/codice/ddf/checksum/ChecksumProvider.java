@@ -33,4 +33,28 @@ public interface ChecksumProvider {
    * @return checksum algorithm identifier
    */
   String getChecksumAlgorithm();
+
+  /**
+   * Returns whether the checksum can be calculated while the content is read by someone else, with
+   * {@link #wrapInputStream(InputStream)}.
+   *
+   * @return true if {@link #wrapInputStream(InputStream)} is supported
+   */
+  default boolean isStreamingSupported() {
+    return false;
+  }
+
+  /**
+   * Wraps an {@link InputStream} so that the checksum of its content is calculated from the bytes
+   * read through the returned stream, without reading the content a second time.
+   *
+   * @param inputStream {@link InputStream} to wrap
+   * @return {@link ChecksumInputStream} that provides the checksum once it has been read to its end
+   * @throws UnsupportedOperationException if {@link #isStreamingSupported()} returns false
+   */
+  default ChecksumInputStream wrapInputStream(InputStream inputStream)
+      throws NoSuchAlgorithmException {
+    throw new UnsupportedOperationException(
+        getChecksumAlgorithm() + " checksums can not be calculated while streaming.");
+  }
 }
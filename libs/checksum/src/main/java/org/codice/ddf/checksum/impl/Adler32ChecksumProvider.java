@@ -19,6 +19,7 @@
 import java.util.zip.Adler32;
 import java.util.zip.CheckedInputStream;
 import org.codice.ddf.checksum.AbstractChecksumProvider;
+import org.codice.ddf.checksum.ChecksumInputStream;
 
 /**
  * The Adler32 checksum algorithm is nearly as reliable as CRC32 but is significantly faster. For
@@ -51,4 +52,26 @@ public String calculateChecksum(InputStream inputStream)
   public String getChecksumAlgorithm() {
     return DIGEST_ALGORITHM;
   }
+
+  @Override
+  public boolean isStreamingSupported() {
+    return true;
+  }
+
+  @Override
+  public ChecksumInputStream wrapInputStream(InputStream inputStream) {
+
+    if (inputStream == null) {
+      throw new IllegalArgumentException("InputStream cannot be null");
+    }
+
+    final Adler32 checksum = new Adler32();
+
+    return new ChecksumInputStream(new CheckedInputStream(inputStream, checksum)) {
+      @Override
+      public String getChecksumValue() {
+        return Long.toHexString(checksum.getValue());
+      }
+    };
+  }
 }
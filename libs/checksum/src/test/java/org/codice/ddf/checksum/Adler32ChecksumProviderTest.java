@@ -23,6 +23,7 @@
 import java.io.ObjectOutputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import org.apache.commons.io.IOUtils;
 import org.codice.ddf.checksum.impl.Adler32ChecksumProvider;
 import org.junit.Assert;
 import org.junit.Before;
@@ -81,6 +82,34 @@ public void testCalculateChecksumObject() throws IOException, NoSuchAlgorithmExc
     Assert.assertThat(checksumValue, is(checksumCompareHash));
   }
 
+  @Test
+  public void testWrapInputStreamMatchesCalculateChecksum()
+      throws IOException, NoSuchAlgorithmException {
+
+    final char[] chars = new char[1024 * 100];
+    Arrays.fill(chars, 'a');
+
+    ByteArrayOutputStream copy = new ByteArrayOutputStream();
+    String checksumValue;
+    try (ChecksumInputStream checksumInputStream =
+        checksumProvider.wrapInputStream(getInputStreamFromObject(chars))) {
+      IOUtils.copy(checksumInputStream, copy);
+      checksumValue = checksumInputStream.getChecksumValue();
+    }
+
+    assertThat(checksumProvider.isStreamingSupported(), is(true));
+    assertThat(checksumValue, is("bf3aa1d5"));
+    assertThat(
+        checksumValue,
+        is(checksumProvider.calculateChecksum(new ByteArrayInputStream(copy.toByteArray()))));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrapNullInputStream() throws NoSuchAlgorithmException {
+
+    checksumProvider.wrapInputStream(null);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testCalculateChecksumWithNullInputStream()
       throws IOException, NoSuchAlgorithmException {
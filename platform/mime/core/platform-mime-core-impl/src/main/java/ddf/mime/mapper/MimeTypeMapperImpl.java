@@ -16,19 +16,23 @@
 import ddf.mime.MimeTypeMapper;
 import ddf.mime.MimeTypeResolutionException;
 import ddf.mime.MimeTypeResolver;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.lang.StringUtils;
 import org.apache.tika.detect.DefaultDetector;
 import org.apache.tika.detect.Detector;
-import org.apache.tika.io.IOUtils;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
-import org.codice.ddf.platform.util.TemporaryFileBackedOutputStream;
 import org.codice.ddf.platform.util.XMLUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +52,27 @@ public class MimeTypeMapperImpl implements MimeTypeMapper {
 
   private static final XMLUtils XML_UTILS = XMLUtils.getInstance();
 
+  /**
+   * Number of leading bytes of the content read to detect its mime type and XML root namespace.
+   * Tika's magic based detection does not look past this many bytes.
+   */
+  private static final int HEADER_SIZE = 64 * 1024;
+
+  /** Largest number of file extensions whose mime type is cached. */
+  private static final int MAX_CACHED_EXTENSIONS = 1000;
+
+  /**
+   * Time a cached mime type is used for. Resolvers can change their mappings without being
+   * rebound, so cached mime types are looked up again after this long.
+   */
+  private static final long CACHED_MIME_TYPE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private final Detector detector = new DefaultDetector();
+
+  private final Map<String, CachedMimeType> mimeTypesByExtension = new ConcurrentHashMap<>();
+
+  private volatile ResolverSnapshot resolverSnapshot;
+
   /**
    * The {@link List} of {@link MimeTypeResolver}s configured for this mapper and will be searched
    * on mime type/file extension mapping requests.
@@ -77,7 +102,7 @@ public String getFileExtensionForMimeType(String mimeType) throws MimeTypeResolu
     // Sort the mime type resolvers in descending order of priority. This should
     // insure custom mime type resolvers are called before the (default) Apache Tika
     // mime type resolver.
-    List<MimeTypeResolver> sortedResolvers = sortResolvers(mimeTypeResolvers);
+    List<MimeTypeResolver> sortedResolvers = getSortedResolvers();
 
     // Loop through all of the configured MimeTypeResolvers. The order of their
     // invocation is determined by their OSGi service ranking. The default
@@ -120,7 +145,17 @@ public String getMimeTypeForFileExtension(String fileExtension)
     // This is to force the TikaMimeTypeResolver to be called
     // after the CustomMimeTypeResolvers to prevent Tika default mapping
     // from being used when a CustomMimeTypeResolver may be more appropriate.
-    List<MimeTypeResolver> sortedResolvers = sortResolvers(mimeTypeResolvers);
+    List<MimeTypeResolver> sortedResolvers = getSortedResolvers();
+
+    CachedMimeType cachedMimeType =
+        fileExtension == null ? null : mimeTypesByExtension.get(fileExtension);
+    if (cachedMimeType != null && cachedMimeType.expiresAt > System.currentTimeMillis()) {
+      LOGGER.debug(
+          "mimeType = {},   file extension = [{}] (cached)",
+          cachedMimeType.mimeType,
+          fileExtension);
+      return cachedMimeType.mimeType;
+    }
 
     // Loop through all of the configured MimeTypeResolvers. The order of their
     // invocation is determined by their OSGi service ranking. The default
@@ -144,6 +179,8 @@ public String getMimeTypeForFileExtension(String fileExtension)
       }
     }
 
+    cacheMimeType(fileExtension, mimeType);
+
     LOGGER.debug("mimeType = {},   file extension = [{}]", mimeType, fileExtension);
 
     LOGGER.trace("EXITING: getMimeTypeForFileExtension()");
@@ -163,36 +200,40 @@ public String guessMimeType(InputStream is, String fileExtension)
     // This is to force the TikaMimeTypeResolver to be called
     // after the CustomMimeTypeResolvers to prevent Tika default mapping
     // from being used when a CustomMimeTypeResolver may be more appropriate.
-    List<MimeTypeResolver> sortedResolvers = sortResolvers(mimeTypeResolvers);
+    List<MimeTypeResolver> sortedResolvers = getSortedResolvers();
 
+    // Only the leading bytes of the content are read, both to detect the mime type of a file
+    // without extension and to read the root element namespace of an XML file
+    byte[] header = null;
     if (StringUtils.isEmpty(fileExtension)) {
-      try (TemporaryFileBackedOutputStream tfbos = new TemporaryFileBackedOutputStream()) {
-        IOUtils.copy(is, tfbos);
-        try (InputStream inputStream = tfbos.asByteSource().openStream()) {
-          Detector detector = new DefaultDetector();
-          MediaType mediaType = detector.detect(inputStream, new Metadata());
-
-          fileExtension = getFileExtensionForMimeType(mediaType.toString()).replace(".", "");
-        } finally {
-          is = tfbos.asByteSource().openStream();
-        }
+      try {
+        header = readHeader(is);
+        MediaType mediaType = detector.detect(new ByteArrayInputStream(header), new Metadata());
 
+        fileExtension = getFileExtensionForMimeType(mediaType.toString()).replace(".", "");
       } catch (Exception e) {
         LOGGER.debug("Failed to guess mimeType for file without extension.");
       }
     }
 
+    if (!XML_FILE_EXTENSION.equals(fileExtension)) {
+      mimeType = getMimeTypeForFileExtension(fileExtension);
+      LOGGER.trace("EXITING: guessMimeType()");
+      return mimeType;
+    }
+
     // If file has XML extension, then read root element namespace once so
     // each MimeTypeResolver does not have to open the stream and read the namespace
     String namespace = null;
-    if (fileExtension.equals(XML_FILE_EXTENSION)) {
-      try {
-        namespace = XML_UTILS.getRootNamespace(IOUtils.toString(is));
-      } catch (IOException ioe) {
-        LOGGER.debug("Could not read namespace from input stream.", ioe);
+    try {
+      if (header == null) {
+        header = readHeader(is);
       }
-      LOGGER.debug("namespace = {}", namespace);
+      namespace = XML_UTILS.getRootNamespace(new String(header, StandardCharsets.UTF_8));
+    } catch (IOException ioe) {
+      LOGGER.debug("Could not read namespace from input stream.", ioe);
     }
+    LOGGER.debug("namespace = {}", namespace);
 
     // Loop through all of the configured MimeTypeResolvers. The order of their
     // invocation is determined by their OSGi service ranking. The default
@@ -203,20 +244,16 @@ public String guessMimeType(InputStream is, String fileExtension)
     for (MimeTypeResolver resolver : sortedResolvers) {
       LOGGER.debug("Calling MimeTypeResolver {}", resolver.getName());
       try {
-        // If processing an XML file, then match the namespace extracted from the
-        // XML file to the MimeTypeResolver that supports that schema (namespace).
+        // Match the namespace extracted from the XML file to the MimeTypeResolver
+        // that supports that schema (namespace).
         // If no MimeTypeResolvers support the namespace, then mime type will be null.
         // Even if a MimeTypeResolver, such as the TikaMimeTypeResolver, were to handle
         // XML files that have no "known" schema it is highly unlikely there would be
         // an InputTransformer to create a metacard for that "generic" XML file.
-        if (fileExtension.equals(XML_FILE_EXTENSION)) {
-          if (namespace != null && resolver.hasSchema()) {
-            if (namespace.equals(resolver.getSchema())) {
-              mimeType = resolver.getMimeTypeForFileExtension(fileExtension);
-            }
+        if (namespace != null && resolver.hasSchema()) {
+          if (namespace.equals(resolver.getSchema())) {
+            mimeType = resolver.getMimeTypeForFileExtension(fileExtension);
           }
-        } else {
-          mimeType = resolver.getMimeTypeForFileExtension(fileExtension);
         }
       } catch (Exception e) {
         LOGGER.debug("Error resolving mime type for file extension: {}", fileExtension);
@@ -237,6 +274,55 @@ public String guessMimeType(InputStream is, String fileExtension)
     return mimeType;
   }
 
+  /**
+   * Returns the {@link MimeTypeResolver}s sorted by descending priority. The sorted list is kept
+   * until a resolver is bound or unbound or the priority of one changes, at which point it is
+   * sorted again and the cached mime types are discarded.
+   *
+   * @return the sorted list of {@link MimeTypeResolver}s
+   */
+  private List<MimeTypeResolver> getSortedResolvers() {
+    ResolverSnapshot snapshot = resolverSnapshot;
+    if (snapshot == null || !snapshot.matches(mimeTypeResolvers)) {
+      snapshot = new ResolverSnapshot(mimeTypeResolvers, sortResolvers(mimeTypeResolvers));
+      resolverSnapshot = snapshot;
+      mimeTypesByExtension.clear();
+    }
+    return snapshot.sortedResolvers;
+  }
+
+  private void cacheMimeType(String fileExtension, String mimeType) {
+    if (fileExtension == null) {
+      return;
+    }
+    if (mimeTypesByExtension.size() >= MAX_CACHED_EXTENSIONS) {
+      mimeTypesByExtension.clear();
+    }
+    mimeTypesByExtension.put(
+        fileExtension,
+        new CachedMimeType(mimeType, System.currentTimeMillis() + CACHED_MIME_TYPE_MILLIS));
+  }
+
+  /**
+   * Reads up to {@link #HEADER_SIZE} bytes from the start of the stream.
+   *
+   * @param is the content to read
+   * @return the leading bytes of the content
+   * @throws IOException if the stream cannot be read
+   */
+  private static byte[] readHeader(InputStream is) throws IOException {
+    byte[] buffer = new byte[HEADER_SIZE];
+    int length = 0;
+    while (length < buffer.length) {
+      int read = is.read(buffer, length, buffer.length - length);
+      if (read < 0) {
+        break;
+      }
+      length += read;
+    }
+    return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+  }
+
   /**
    * Sort the list of {@link MimeTypeResolver}s by their descending priority, i.e., the lower the
    * priority the later the {@link MimeTypeResolver} is invoked.
@@ -295,4 +381,54 @@ public int compare(MimeTypeResolver arg0, MimeTypeResolver arg1) {
 
     return sortedResolvers;
   }
+
+  /**
+   * The {@link MimeTypeResolver}s in the order they were bound, with the priorities they had when
+   * they were sorted.
+   */
+  private static class ResolverSnapshot {
+
+    private final List<MimeTypeResolver> resolvers;
+
+    private final int[] priorities;
+
+    private final List<MimeTypeResolver> sortedResolvers;
+
+    ResolverSnapshot(List<MimeTypeResolver> resolvers, List<MimeTypeResolver> sortedResolvers) {
+      this.resolvers = new ArrayList<>(resolvers);
+      this.priorities = new int[this.resolvers.size()];
+      for (int i = 0; i < priorities.length; i++) {
+        priorities[i] = this.resolvers.get(i).getPriority();
+      }
+      this.sortedResolvers = Collections.unmodifiableList(sortedResolvers);
+    }
+
+    boolean matches(List<MimeTypeResolver> currentResolvers) {
+      if (currentResolvers.size() != resolvers.size()) {
+        return false;
+      }
+      int i = 0;
+      for (MimeTypeResolver resolver : currentResolvers) {
+        if (i >= resolvers.size()
+            || resolver != resolvers.get(i)
+            || resolver.getPriority() != priorities[i]) {
+          return false;
+        }
+        i++;
+      }
+      return i == resolvers.size();
+    }
+  }
+
+  private static class CachedMimeType {
+
+    private final String mimeType;
+
+    private final long expiresAt;
+
+    CachedMimeType(String mimeType, long expiresAt) {
+      this.mimeType = mimeType;
+      this.expiresAt = expiresAt;
+    }
+  }
 }
@@ -15,17 +15,13 @@
 
 import ddf.mime.MimeTypeToTransformerMapper;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.activation.MimeType;
-import javax.activation.MimeTypeParseException;
-import org.apache.commons.lang.StringUtils;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.FrameworkUtil;
-import org.osgi.framework.InvalidSyntaxException;
-import org.osgi.framework.ServiceReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +36,8 @@ public class MimeTypeToTransformerMapperImpl implements MimeTypeToTransformerMap
   private static final Logger LOGGER =
       LoggerFactory.getLogger(MimeTypeToTransformerMapperImpl.class);
 
+  private final Map<String, TransformerIndex> indexes = new ConcurrentHashMap<>();
+
   public MimeTypeToTransformerMapperImpl() {}
 
   protected BundleContext getContext() {
@@ -50,10 +48,15 @@ protected BundleContext getContext() {
     return null;
   }
 
+  /** Stops tracking the transformer services. */
+  public void destroy() {
+    indexes.values().forEach(TransformerIndex::close);
+    indexes.clear();
+  }
+
   @Override
   public <T> List<T> findMatches(Class<T> clazz, MimeType userMimeType) {
     BundleContext bundleContext = getContext();
-    ServiceReference[] refs = null;
     List<T> list = new ArrayList<T>();
 
     if (bundleContext == null) {
@@ -66,115 +69,40 @@ public <T> List<T> findMatches(Class<T> clazz, MimeType userMimeType) {
     }
 
     /*
-     * Extract the services using the bundle context.
+     * The services are tracked and indexed by mime type the first time a transformer type is
+     * looked up, sorted by their service ranking.
      */
-    try {
-      refs = bundleContext.getServiceReferences(clazz.getName(), null);
-    } catch (InvalidSyntaxException e) {
-      throw new IllegalArgumentException("Invalid syntax supplied: " + userMimeType.toString());
-    }
-
-    // If no InputTransformers found, return empty list
-    if (refs == null) {
-      LOGGER.debug("No {} services found - return empty list", clazz.getName());
-      return list;
-    }
+    TransformerIndex index =
+        indexes.computeIfAbsent(clazz.getName(), name -> open(bundleContext, name));
 
     /*
-     * Sort the list of service references based in it's Comparable interface.
-     */
-    Arrays.sort(refs, Collections.reverseOrder());
-
-    /*
-     * If the mime type is null return the whole list of service references
+     * If the mime type is null return the whole list of services, otherwise the services that
+     * support the base type of the mime type and, if given, have the requested id.
      */
+    List<Object> services;
     if (userMimeType == null) {
-      if (refs.length > 0) {
-        for (ServiceReference ref : refs) {
-          Object service = (bundleContext.getService(ref));
-          T typedService = clazz.cast(service);
-          list.add(typedService);
-        }
-      }
-      return list;
-    }
-
-    String userIdValue = userMimeType.getParameter(MimeTypeToTransformerMapper.ID_KEY);
-    List<T> strictlyMatching = new ArrayList<T>();
-
-    for (ServiceReference ref : refs) {
-
-      List<String> mimeTypesServicePropertyList = getServiceMimeTypesList(ref);
-
-      String serviceId = getServiceId(ref);
-
-      for (String mimeTypeRawEntry : mimeTypesServicePropertyList) {
-
-        MimeType mimeTypeEntry = constructMimeType(mimeTypeRawEntry);
-
-        if (mimeTypeEntry != null
-            && StringUtils.equals(mimeTypeEntry.getBaseType(), userMimeType.getBaseType())
-            && (userIdValue == null || StringUtils.equals(userIdValue, serviceId))) {
-
-          try {
-            Object service = bundleContext.getService(ref);
-            T typedService = clazz.cast(service);
-            strictlyMatching.add(typedService);
-            break; // found exact mimetype, no need to continue within
-            // the same service
-
-          } catch (ClassCastException cce) {
-            LOGGER.debug("Caught illegal cast to transformer type. ", cce);
-          }
-        }
-      }
+      services = index.getServices(null, null);
+    } else {
+      services =
+          index.getServices(
+              userMimeType.getBaseType(),
+              userMimeType.getParameter(MimeTypeToTransformerMapper.ID_KEY));
     }
 
-    return strictlyMatching;
-  }
-
-  private MimeType constructMimeType(String mimeTypeRawEntry) {
-
-    try {
-      return new MimeType(mimeTypeRawEntry);
-    } catch (MimeTypeParseException e) {
-      LOGGER.debug("MIME type parse exception constructing MIME type", e);
-    }
-
-    return null;
-  }
-
-  private List<String> getServiceMimeTypesList(ServiceReference ref) {
-
-    Object mimeTypeServiceProperty = ref.getProperty(MIME_TYPE_KEY);
-
-    if (mimeTypeServiceProperty != null) {
-
-      if (mimeTypeServiceProperty instanceof String) {
-        /*
-         * We cannot enforce how the property is given to us whether it is a list or a
-         * single property. This case catches the single mime-type property.
-         */
-        return Arrays.asList(mimeTypeServiceProperty.toString());
+    for (Object service : services) {
+      try {
+        list.add(clazz.cast(service));
+      } catch (ClassCastException cce) {
+        LOGGER.debug("Caught illegal cast to transformer type. ", cce);
       }
-
-      return (List<String>) mimeTypeServiceProperty;
     }
 
-    /*
-     * An empty list is returned, if the call to getProperty has returned with a null value.
-     */
-    return new ArrayList<String>();
+    return list;
   }
 
-  private String getServiceId(ServiceReference ref) {
-    Object idServiceProperty = ref.getProperty(ID_KEY);
-
-    if (idServiceProperty != null) {
-
-      return idServiceProperty.toString();
-    }
-
-    return null;
+  private TransformerIndex open(BundleContext bundleContext, String serviceInterface) {
+    TransformerIndex index = new TransformerIndex(bundleContext, serviceInterface);
+    index.open();
+    return index;
   }
 }
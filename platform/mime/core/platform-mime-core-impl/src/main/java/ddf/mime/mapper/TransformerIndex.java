@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package ddf.mime.mapper;
+
+import ddf.mime.MimeTypeToTransformerMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.activation.MimeType;
+import javax.activation.MimeTypeParseException;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the registered services of one transformer interface by the base mime types and ids
+ * they advertise. The index is kept up to date by a {@link ServiceTracker}, so looking up the
+ * transformers for a mime type does not query the service registry or parse any service
+ * properties.
+ */
+class TransformerIndex implements ServiceTrackerCustomizer<Object, Object> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TransformerIndex.class);
+
+  private final BundleContext bundleContext;
+
+  private final ServiceTracker<Object, Object> tracker;
+
+  /** Parsed service properties of every tracked service. Guarded by {@code this}. */
+  private final Map<ServiceReference<Object>, Transformer> transformers = new LinkedHashMap<>();
+
+  private volatile Snapshot snapshot = new Snapshot(Collections.emptyList());
+
+  TransformerIndex(BundleContext bundleContext, String serviceInterface) {
+    this.bundleContext = bundleContext;
+    this.tracker = new ServiceTracker<>(bundleContext, serviceInterface, this);
+  }
+
+  void open() {
+    tracker.open();
+  }
+
+  void close() {
+    tracker.close();
+  }
+
+  /**
+   * Returns the tracked services sorted by descending service ranking.
+   *
+   * @param baseType the base mime type the services must support, or {@code null} for all services
+   * @param id the id the services must have, or {@code null} for any id
+   * @return the matching services, never {@code null}
+   */
+  List<Object> getServices(String baseType, String id) {
+    Snapshot current = snapshot;
+    if (baseType == null) {
+      return current.all;
+    }
+    List<Object> services = current.byKey.get(getKey(baseType, id));
+    return services == null ? Collections.emptyList() : services;
+  }
+
+  @Override
+  public Object addingService(ServiceReference<Object> reference) {
+    Object service = bundleContext.getService(reference);
+    if (service != null) {
+      update(reference, service);
+    }
+    return service;
+  }
+
+  @Override
+  public void modifiedService(ServiceReference<Object> reference, Object service) {
+    update(reference, service);
+  }
+
+  @Override
+  public void removedService(ServiceReference<Object> reference, Object service) {
+    synchronized (this) {
+      transformers.remove(reference);
+      snapshot = new Snapshot(transformers.values());
+    }
+    bundleContext.ungetService(reference);
+  }
+
+  private synchronized void update(ServiceReference<Object> reference, Object service) {
+    transformers.put(reference, new Transformer(reference, service));
+    snapshot = new Snapshot(transformers.values());
+  }
+
+  private static String getKey(String baseType, String id) {
+    return id == null ? baseType : baseType + ';' + MimeTypeToTransformerMapper.ID_KEY + '=' + id;
+  }
+
+  /** A tracked service with the base mime types and id read from its service properties. */
+  private static class Transformer {
+
+    private final ServiceReference<Object> reference;
+
+    private final Object service;
+
+    private final Set<String> baseTypes = new LinkedHashSet<>();
+
+    private final String id;
+
+    Transformer(ServiceReference<Object> reference, Object service) {
+      this.reference = reference;
+      this.service = service;
+
+      Object idProperty = reference.getProperty(MimeTypeToTransformerMapper.ID_KEY);
+      this.id = idProperty == null ? null : idProperty.toString();
+
+      for (Object mimeType : getMimeTypes(reference)) {
+        try {
+          baseTypes.add(new MimeType(String.valueOf(mimeType)).getBaseType());
+        } catch (MimeTypeParseException e) {
+          LOGGER.debug("MIME type parse exception constructing MIME type", e);
+        }
+      }
+    }
+
+    private static Collection<?> getMimeTypes(ServiceReference<Object> reference) {
+      Object mimeTypeProperty = reference.getProperty(MimeTypeToTransformerMapper.MIME_TYPE_KEY);
+      if (mimeTypeProperty == null) {
+        return Collections.emptyList();
+      } else if (mimeTypeProperty instanceof Collection) {
+        return (Collection<?>) mimeTypeProperty;
+      } else if (mimeTypeProperty instanceof String[]) {
+        return Arrays.asList((String[]) mimeTypeProperty);
+      }
+      return Collections.singletonList(mimeTypeProperty);
+    }
+  }
+
+  /** Immutable lookup tables built from the tracked services whenever one of them changes. */
+  private static class Snapshot {
+
+    private final List<Object> all;
+
+    private final Map<String, List<Object>> byKey;
+
+    Snapshot(Collection<Transformer> transformers) {
+      List<Transformer> sorted = new ArrayList<>(transformers);
+      sorted.sort((first, second) -> second.reference.compareTo(first.reference));
+
+      List<Object> services = new ArrayList<>(sorted.size());
+      Map<String, List<Object>> servicesByKey = new HashMap<>();
+      for (Transformer transformer : sorted) {
+        services.add(transformer.service);
+        for (String baseType : transformer.baseTypes) {
+          servicesByKey
+              .computeIfAbsent(getKey(baseType, null), key -> new ArrayList<>())
+              .add(transformer.service);
+          if (transformer.id != null) {
+            servicesByKey
+                .computeIfAbsent(getKey(baseType, transformer.id), key -> new ArrayList<>())
+                .add(transformer.service);
+          }
+        }
+      }
+      servicesByKey.replaceAll((key, value) -> Collections.unmodifiableList(value));
+
+      this.all = Collections.unmodifiableList(services);
+      this.byKey = servicesByKey;
+    }
+  }
+}
@@ -155,4 +155,18 @@ public void testGuessMimeTypeForFileExtension() throws Exception {
     LOGGER.debug("mimeType = {}", mimeType);
     assertEquals("image/nitf", mimeType);
   }
+
+  @Test
+  public void testResolverPriorityChangeResortsResolvers() throws Exception {
+    MockMimeTypeResolver xmlResolver =
+        new MockMimeTypeResolver("XmlResolver", 10, new String[] {"xml=text/xml"}, null);
+    MockMimeTypeResolver cswResolver =
+        new MockMimeTypeResolver("CswResolver", 5, new String[] {"xml=text/xml;id=csw"}, null);
+    MimeTypeMapper mapper = new MimeTypeMapperImpl(ImmutableList.of(xmlResolver, cswResolver));
+
+    assertEquals("text/xml", mapper.getMimeTypeForFileExtension("xml"));
+
+    cswResolver.setPriority(20);
+    assertEquals("text/xml;id=csw", mapper.getMimeTypeForFileExtension("xml"));
+  }
 }
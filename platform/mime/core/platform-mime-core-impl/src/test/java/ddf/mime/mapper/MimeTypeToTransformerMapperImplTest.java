@@ -15,9 +15,12 @@
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import ddf.mime.MimeTypeToTransformerMapper;
@@ -27,9 +30,12 @@
 import javax.activation.MimeTypeParseException;
 import javax.ws.rs.core.MediaType;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.Constants;
 import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
 import org.osgi.framework.ServiceReference;
 
 public class MimeTypeToTransformerMapperImplTest {
@@ -650,6 +656,57 @@ protected BundleContext getContext() {
     assertThat(matches.isEmpty(), is(true));
   }
 
+  /**
+   * Tests that services registered and unregistered after the first lookup are reflected in later
+   * lookups without querying the service registry again
+   *
+   * @throws MimeTypeParseException
+   * @throws InvalidSyntaxException
+   */
+  @Test
+  public void testServiceChangesUpdateMatches()
+      throws MimeTypeParseException, InvalidSyntaxException {
+
+    // given
+    final BundleContext context = mock(BundleContext.class);
+
+    ServiceReference ref1 = createMockReference(1, Arrays.asList(MediaType.APPLICATION_JSON), "a1");
+    ServiceReference ref2 = createMockReference(2, Arrays.asList(MediaType.APPLICATION_JSON), "a2");
+    ServiceReference[] refs = {ref1};
+    when(ref2.compareTo(ref1)).thenReturn(1);
+    when(ref1.compareTo(ref2)).thenReturn(-1);
+
+    Object simpleTransformer1 = new Object();
+    Object simpleTransformer2 = new Object();
+
+    when(context.getService(ref1)).thenReturn(simpleTransformer1);
+    when(context.getService(ref2)).thenReturn(simpleTransformer2);
+    when(context.getServiceReferences(isA(String.class), isNull(String.class))).thenReturn(refs);
+    MimeTypeToTransformerMapper matcher =
+        new MimeTypeToTransformerMapperImpl() {
+          @Override
+          protected BundleContext getContext() {
+            return context;
+          }
+        };
+    MimeType json = new MimeType(MediaType.APPLICATION_JSON);
+    assertThat(matcher.findMatches(Object.class, json), is(Arrays.asList(simpleTransformer1)));
+
+    ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+    verify(context).addServiceListener(listener.capture(), anyString());
+
+    // when
+    listener.getValue().serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, ref2));
+    List<Object> afterRegistration = matcher.findMatches(Object.class, json);
+    listener.getValue().serviceChanged(new ServiceEvent(ServiceEvent.UNREGISTERING, ref1));
+    List<Object> afterUnregistration = matcher.findMatches(Object.class, json);
+
+    // then
+    assertThat(afterRegistration, is(Arrays.asList(simpleTransformer2, simpleTransformer1)));
+    assertThat(afterUnregistration, is(Arrays.asList(simpleTransformer2)));
+    verify(context, times(1)).getServiceReferences(isA(String.class), isNull(String.class));
+  }
+
   private ServiceReference createMockReference(int i, List<String> mimeTypesSupported, String id) {
 
     ServiceReference ref = mock(ServiceReference.class);
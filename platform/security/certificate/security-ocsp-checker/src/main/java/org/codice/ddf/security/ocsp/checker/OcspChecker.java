@@ -30,6 +30,7 @@
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
@@ -39,6 +40,8 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.annotation.Nullable;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Response;
@@ -70,7 +73,10 @@
 import org.bouncycastle.x509.extension.X509ExtensionUtil;
 import org.codice.ddf.cxf.client.ClientFactoryFactory;
 import org.codice.ddf.cxf.client.SecureCxfClientFactory;
+import org.codice.ddf.platform.util.StandardThreadFactoryBuilder;
 import org.codice.ddf.security.OcspService;
+import org.codice.ddf.security.ocsp.checker.OcspStatusCache.RevocationStatus;
+import org.codice.ddf.security.ocsp.checker.OcspStatusCache.ValidityWindow;
 import org.codice.ddf.system.alerts.NoticePriority;
 import org.codice.ddf.system.alerts.SystemNotice;
 import org.osgi.service.event.Event;
@@ -85,6 +91,8 @@ public class OcspChecker implements OcspService {
 
   private final ClientFactoryFactory factory;
   private final EventAdmin eventAdmin;
+  private final ExecutorService refreshExecutor;
+  private final OcspStatusCache statusCache;
 
   private boolean ocspEnabled; // metatype value
   private List<String> ocspServerUrls = new ArrayList<>(); // metatype value
@@ -92,6 +100,14 @@ public class OcspChecker implements OcspService {
   public OcspChecker(ClientFactoryFactory factory, EventAdmin eventAdmin) {
     this.factory = factory;
     this.eventAdmin = eventAdmin;
+    this.refreshExecutor =
+        Executors.newSingleThreadExecutor(
+            StandardThreadFactoryBuilder.newThreadFactory("ocspRefreshThread"));
+    this.statusCache = new OcspStatusCache(refreshExecutor, Clock.systemUTC());
+  }
+
+  public void destroy() {
+    refreshExecutor.shutdownNow();
   }
 
   /**
@@ -112,10 +128,8 @@ public boolean passesOcspCheck(X509Certificate[] certs) {
     LOGGER.debug("OCSP check for {} certificate(s)", certs == null ? "0" : certs.length);
     for (X509Certificate cert : certs) {
       try {
-        Certificate certificate = convertToBouncyCastleCert(cert);
-        OCSPReq ocspRequest = generateOcspRequest(certificate);
-        Map<String, CertificateStatus> ocspStatuses = sendOcspRequests(cert, ocspRequest);
-        String revokedStatusUrl = getFirstRevokedStatusUrl(ocspStatuses);
+        String revokedStatusUrl =
+            statusCache.get(cert, () -> checkRevocationStatus(cert)).getRevokedStatusUrl();
         if (revokedStatusUrl != null) {
           SecurityLogger.audit(
               "Certificate {} has been revoked by the OCSP server at URL {}.",
@@ -137,6 +151,23 @@ public boolean passesOcspCheck(X509Certificate[] certs) {
     return true;
   }
 
+  /**
+   * Sends an OCSP request for the given {@param cert} to the OCSP servers and collects the validity
+   * window of their responses for the {@link OcspStatusCache}.
+   *
+   * @param cert - the certificate to verify.
+   * @return the revocation status of the certificate.
+   * @throws OcspCheckerException if the OCSP request cannot be created.
+   */
+  private RevocationStatus checkRevocationStatus(X509Certificate cert) throws OcspCheckerException {
+    Certificate certificate = convertToBouncyCastleCert(cert);
+    OCSPReq ocspRequest = generateOcspRequest(certificate);
+    ValidityWindow validityWindow = statusCache.newValidityWindow();
+    Map<String, CertificateStatus> ocspStatuses =
+        sendOcspRequests(cert, ocspRequest, validityWindow);
+    return validityWindow.toStatus(getFirstRevokedStatusUrl(ocspStatuses));
+  }
+
   /**
    * Converts a {@link java.security.cert.X509Certificate} to a {@link Certificate}.
    *
@@ -281,6 +312,11 @@ private X509CertificateHolder getCertFromTruststoreWithX500Name(
    */
   @VisibleForTesting
   Map<String, CertificateStatus> sendOcspRequests(X509Certificate cert, OCSPReq ocspRequest) {
+    return sendOcspRequests(cert, ocspRequest, statusCache.newValidityWindow());
+  }
+
+  private Map<String, CertificateStatus> sendOcspRequests(
+      X509Certificate cert, OCSPReq ocspRequest, ValidityWindow validityWindow) {
     Set<String> urlsToCheck = new HashSet<>();
     if (ocspServerUrls != null) {
       urlsToCheck.addAll(ocspServerUrls);
@@ -312,7 +348,8 @@ Map<String, CertificateStatus> sendOcspRequests(X509Certificate cert, OCSPReq oc
           if (LOGGER.isTraceEnabled()) {
             logResponse(ocspResponse);
           }
-          ocspStatuses.put(ocspServerUrl, getStatusFromOcspResponse(ocspResponse, cert));
+          ocspStatuses.put(
+              ocspServerUrl, getStatusFromOcspResponse(ocspResponse, cert, validityWindow));
           continue;
         } catch (IOException | OcspCheckerException | ProcessingException e) {
           LOGGER.debug(
@@ -324,6 +361,7 @@ Map<String, CertificateStatus> sendOcspRequests(X509Certificate cert, OCSPReq oc
       ocspStatuses.put(
           ocspServerUrl,
           new UnknownStatus()); // if ocspServerUrl is null or if there was an exception
+      validityWindow.addUnknown();
     }
 
     return ocspStatuses;
@@ -391,20 +429,23 @@ private OCSPResp createOcspResponse(Response response) throws OcspCheckerExcepti
    * Gets the {@link CertificateStatus} from the given {@param ocspResponse}.
    *
    * @param ocspResponse - the {@link OCSPResp} to get the {@link CertificateStatus} from.
+   * @param validityWindow - the window the validity of the response is added to.
    * @return the {@link CertificateStatus} from the given {@param ocspResponse}. Returns an {@link
    *     UnknownStatus} if the status could not be found.
    */
   private CertificateStatus getStatusFromOcspResponse(
-      OCSPResp ocspResponse, X509Certificate certificate) {
+      OCSPResp ocspResponse, X509Certificate certificate, ValidityWindow validityWindow) {
     try {
       BasicOCSPResp basicResponse = (BasicOCSPResp) ocspResponse.getResponseObject();
 
       if (basicResponse == null) {
+        validityWindow.addUnknown();
         return new UnknownStatus();
       }
 
       SingleResp[] singleResps = basicResponse.getResponses();
       if (singleResps == null) {
+        validityWindow.addUnknown();
         return new UnknownStatus();
       }
       SingleResp response =
@@ -420,14 +461,21 @@ private CertificateStatus getStatusFromOcspResponse(
               .orElse(null);
       if (response == null) {
         LOGGER.debug("Certificate status from OCSP response is unknown.");
+        validityWindow.addUnknown();
         return new UnknownStatus();
       }
+      if (response.getCertStatus() instanceof UnknownStatus) {
+        validityWindow.addUnknown();
+      } else {
+        validityWindow.addResponse(response.getThisUpdate(), response.getNextUpdate());
+      }
       if (response.getCertStatus() == null) {
         LOGGER.debug("Certificate status from OCSP response is good.");
         return CertificateStatus.GOOD;
       }
       return response.getCertStatus();
     } catch (OCSPException e) {
+      validityWindow.addUnknown();
       return new UnknownStatus();
     }
   }
@@ -659,10 +707,12 @@ private void logResponse(OCSPResp response) {
 
   public void setOcspEnabled(boolean ocspEnabled) {
     this.ocspEnabled = ocspEnabled;
+    statusCache.invalidateAll();
   }
 
   public void setOcspServerUrls(List<String> ocspServerUrls) {
     this.ocspServerUrls = ocspServerUrls;
+    statusCache.invalidateAll();
   }
 
   /**
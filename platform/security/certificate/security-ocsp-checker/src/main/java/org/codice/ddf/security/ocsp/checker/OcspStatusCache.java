@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.security.ocsp.checker;
+
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.security.auth.x500.X500Principal;
+import org.codice.ddf.security.ocsp.checker.OcspChecker.OcspCheckerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches the OCSP revocation status of certificates for the validity window given by the
+ * responders' {@code thisUpdate} and {@code nextUpdate} times. A status is refreshed in the
+ * background once most of its window has passed, and concurrent lookups of the same certificate
+ * share a single round of OCSP requests.
+ */
+class OcspStatusCache {
+
+  /** Validity of a response that does not have a {@code nextUpdate} time. */
+  static final long DEFAULT_VALIDITY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  /** Longest time a status is kept, regardless of its {@code nextUpdate} time. */
+  static final long MAX_VALIDITY_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+  /** Validity of a status when one of the responders could not give an answer. */
+  static final long UNKNOWN_VALIDITY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  /** Part of the validity window after which the status is refreshed in the background. */
+  private static final double REFRESH_FRACTION = 0.8;
+
+  private static final int MAX_ENTRIES = 10000;
+
+  /** Longest time to wait for another thread's lookup before sending the requests directly. */
+  private static final long PENDING_TIMEOUT_SECONDS = 60;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OcspStatusCache.class);
+
+  private final ConcurrentMap<CertificateKey, RevocationStatus> statuses =
+      new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<CertificateKey, CompletableFuture<RevocationStatus>> pending =
+      new ConcurrentHashMap<>();
+
+  /** Incremented on every invalidation so statuses loaded across one are not stored. */
+  private final AtomicLong generation = new AtomicLong();
+
+  private final Executor refreshExecutor;
+
+  private final Clock clock;
+
+  OcspStatusCache(Executor refreshExecutor, Clock clock) {
+    this.refreshExecutor = refreshExecutor;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the cached status of the certificate, or loads it with the {@code loader} if there is
+   * none or it has expired. If another thread is already loading the status of the same
+   * certificate, waits for its result instead.
+   *
+   * @throws OcspCheckerException if the {@code loader} fails
+   */
+  RevocationStatus get(X509Certificate cert, StatusLoader loader) throws OcspCheckerException {
+    CertificateKey key = new CertificateKey(cert);
+    long now = clock.millis();
+
+    RevocationStatus status = statuses.get(key);
+    if (status != null && now < status.expiresAt) {
+      if (now >= status.refreshAt) {
+        refreshAsync(key, loader);
+      }
+      return status;
+    }
+
+    CompletableFuture<RevocationStatus> future = new CompletableFuture<>();
+    CompletableFuture<RevocationStatus> existing = pending.putIfAbsent(key, future);
+    if (existing != null) {
+      return await(existing, loader);
+    }
+    return load(key, future, loader);
+  }
+
+  /** Discards every cached status. */
+  void invalidateAll() {
+    generation.incrementAndGet();
+    statuses.clear();
+  }
+
+  /** Creates a window that collects the validity of the responses for one certificate. */
+  ValidityWindow newValidityWindow() {
+    return new ValidityWindow(clock.millis());
+  }
+
+  private void refreshAsync(CertificateKey key, StatusLoader loader) {
+    CompletableFuture<RevocationStatus> future = new CompletableFuture<>();
+    if (pending.putIfAbsent(key, future) != null) {
+      return;
+    }
+
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              load(key, future, loader);
+            } catch (OcspCheckerException | RuntimeException e) {
+              LOGGER.debug(
+                  "Unable to refresh the OCSP status of a certificate. Keeping the current status until it expires.",
+                  e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("OCSP status refresh rejected.", e);
+      pending.remove(key, future);
+      future.cancel(false);
+    }
+  }
+
+  private RevocationStatus load(
+      CertificateKey key, CompletableFuture<RevocationStatus> future, StatusLoader loader)
+      throws OcspCheckerException {
+    long loadGeneration = generation.get();
+    try {
+      RevocationStatus status = loader.load();
+      store(key, status, loadGeneration);
+      future.complete(status);
+      return status;
+    } catch (OcspCheckerException | RuntimeException e) {
+      future.completeExceptionally(e);
+      throw e;
+    } finally {
+      pending.remove(key, future);
+    }
+  }
+
+  private RevocationStatus await(CompletableFuture<RevocationStatus> future, StatusLoader loader)
+      throws OcspCheckerException {
+    try {
+      return future.get(PENDING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return loader.load();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof OcspCheckerException) {
+        throw (OcspCheckerException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      return loader.load();
+    } catch (CancellationException | TimeoutException e) {
+      return loader.load();
+    }
+  }
+
+  private void store(CertificateKey key, RevocationStatus status, long loadGeneration) {
+    long now = clock.millis();
+    if (status.expiresAt <= now || generation.get() != loadGeneration) {
+      statuses.remove(key);
+      return;
+    }
+
+    if (statuses.size() >= MAX_ENTRIES && !statuses.containsKey(key)) {
+      statuses.values().removeIf(cached -> cached.expiresAt <= now);
+      if (statuses.size() >= MAX_ENTRIES) {
+        return;
+      }
+    }
+    statuses.put(key, status);
+  }
+
+  /** Checks the revocation status of a certificate against the OCSP responders. */
+  interface StatusLoader {
+    RevocationStatus load() throws OcspCheckerException;
+  }
+
+  /** Revocation status of a certificate and the time window in which it is used. */
+  static final class RevocationStatus {
+
+    private final String revokedStatusUrl;
+
+    private final long refreshAt;
+
+    private final long expiresAt;
+
+    private RevocationStatus(String revokedStatusUrl, long refreshAt, long expiresAt) {
+      this.revokedStatusUrl = revokedStatusUrl;
+      this.refreshAt = refreshAt;
+      this.expiresAt = expiresAt;
+    }
+
+    /** @return the URL of the responder that revoked the certificate, or null if none did */
+    @Nullable
+    String getRevokedStatusUrl() {
+      return revokedStatusUrl;
+    }
+  }
+
+  /**
+   * Collects the {@code thisUpdate} and {@code nextUpdate} times of the responses for one
+   * certificate. The resulting status expires with the earliest response.
+   */
+  static final class ValidityWindow {
+
+    private final long start;
+
+    private long expiresAt;
+
+    private boolean answered;
+
+    private ValidityWindow(long start) {
+      this.start = start;
+      this.expiresAt = start + MAX_VALIDITY_MILLIS;
+    }
+
+    /** Adds a response with a definite good or revoked status. */
+    void addResponse(@Nullable Date thisUpdate, @Nullable Date nextUpdate) {
+      long end;
+      if (nextUpdate != null) {
+        end = nextUpdate.getTime();
+      } else {
+        end = (thisUpdate == null ? start : thisUpdate.getTime()) + DEFAULT_VALIDITY_MILLIS;
+      }
+      expiresAt = Math.min(expiresAt, end);
+      answered = true;
+    }
+
+    /** Adds a responder that could not give a status for the certificate. */
+    void addUnknown() {
+      expiresAt = Math.min(expiresAt, start + UNKNOWN_VALIDITY_MILLIS);
+    }
+
+    RevocationStatus toStatus(@Nullable String revokedStatusUrl) {
+      long end = answered ? expiresAt : start;
+      long refreshAt = start + (long) ((end - start) * REFRESH_FRACTION);
+      return new RevocationStatus(revokedStatusUrl, refreshAt, end);
+    }
+  }
+
+  private static final class CertificateKey {
+
+    private final X500Principal issuer;
+
+    private final BigInteger serialNumber;
+
+    private CertificateKey(X509Certificate cert) {
+      this.issuer = cert.getIssuerX500Principal();
+      this.serialNumber = cert.getSerialNumber();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CertificateKey)) {
+        return false;
+      }
+      CertificateKey that = (CertificateKey) o;
+      return serialNumber.equals(that.serialNumber) && issuer.equals(that.issuer);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(issuer, serialNumber);
+    }
+  }
+}
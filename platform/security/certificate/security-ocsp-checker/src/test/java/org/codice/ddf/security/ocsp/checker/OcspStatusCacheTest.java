@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.security.ocsp.checker;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.security.auth.x500.X500Principal;
+import org.codice.ddf.security.ocsp.checker.OcspStatusCache.RevocationStatus;
+import org.codice.ddf.security.ocsp.checker.OcspStatusCache.ValidityWindow;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OcspStatusCacheTest {
+
+  private static final long START = 1_500_000_000_000L;
+
+  private static final long NEXT_UPDATE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+  private final Clock clock = mock(Clock.class);
+
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private OcspStatusCache cache;
+
+  private X509Certificate cert;
+
+  @Before
+  public void setup() {
+    when(clock.millis()).thenReturn(START);
+    cache = new OcspStatusCache(Runnable::run, clock);
+    cert = mockCertificate(BigInteger.TEN);
+  }
+
+  @Test
+  public void testStatusCachedUntilRefresh() throws Exception {
+    RevocationStatus status = cache.get(cert, this::loadGoodStatus);
+    assertThat(cache.get(cert, this::loadGoodStatus), sameInstance(status));
+
+    advanceClock(TimeUnit.MINUTES.toMillis(7));
+    assertThat(cache.get(cert, this::loadGoodStatus), sameInstance(status));
+    assertThat(loads.get(), is(1));
+
+    // past 80% of the window the cached status is returned and refreshed in the background
+    advanceClock(TimeUnit.MINUTES.toMillis(9));
+    assertThat(cache.get(cert, this::loadGoodStatus), sameInstance(status));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testStatusReloadedAfterNextUpdate() throws Exception {
+    cache.get(cert, this::loadGoodStatus);
+
+    advanceClock(NEXT_UPDATE_MILLIS);
+    cache.get(cert, this::loadGoodStatus);
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testResponseWithoutNextUpdateUsesDefaultValidity() throws Exception {
+    OcspStatusCache.StatusLoader loader =
+        () -> {
+          loads.incrementAndGet();
+          ValidityWindow window = cache.newValidityWindow();
+          window.addResponse(new Date(clock.millis()), null);
+          return window.toStatus(null);
+        };
+    cache.get(cert, loader);
+
+    advanceClock(OcspStatusCache.DEFAULT_VALIDITY_MILLIS / 2);
+    cache.get(cert, loader);
+    assertThat(loads.get(), is(1));
+
+    advanceClock(OcspStatusCache.DEFAULT_VALIDITY_MILLIS);
+    cache.get(cert, loader);
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testUnansweredStatusNotCached() throws Exception {
+    OcspStatusCache.StatusLoader loader =
+        () -> {
+          loads.incrementAndGet();
+          ValidityWindow window = cache.newValidityWindow();
+          window.addUnknown();
+          return window.toStatus(null);
+        };
+
+    cache.get(cert, loader);
+    cache.get(cert, loader);
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testCertificatesCachedSeparately() throws Exception {
+    cache.get(cert, this::loadGoodStatus);
+    RevocationStatus status =
+        cache.get(mockCertificate(BigInteger.ONE), () -> loadRevokedStatus("https://ocsp:8993"));
+
+    assertThat(status.getRevokedStatusUrl(), is("https://ocsp:8993"));
+    assertThat(cache.get(cert, this::loadGoodStatus).getRevokedStatusUrl(), is((String) null));
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testInvalidateAll() throws Exception {
+    cache.get(cert, this::loadGoodStatus);
+    cache.invalidateAll();
+    cache.get(cert, this::loadGoodStatus);
+
+    assertThat(loads.get(), is(2));
+  }
+
+  @Test
+  public void testConcurrentLookupsShareRequest() throws Exception {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    OcspStatusCache.StatusLoader loader =
+        () -> {
+          loading.countDown();
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return loadGoodStatus();
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<RevocationStatus> first = executor.submit(() -> cache.get(cert, loader));
+      loading.await(10, TimeUnit.SECONDS);
+      Future<RevocationStatus> second = executor.submit(() -> cache.get(cert, loader));
+      Thread.sleep(100);
+      release.countDown();
+
+      assertThat(second.get(10, TimeUnit.SECONDS), sameInstance(first.get(10, TimeUnit.SECONDS)));
+      assertThat(loads.get(), is(1));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private RevocationStatus loadGoodStatus() {
+    return loadRevokedStatus(null);
+  }
+
+  private RevocationStatus loadRevokedStatus(String revokedStatusUrl) {
+    loads.incrementAndGet();
+    long now = clock.millis();
+    ValidityWindow window = cache.newValidityWindow();
+    window.addResponse(new Date(now), new Date(now + NEXT_UPDATE_MILLIS));
+    return window.toStatus(revokedStatusUrl);
+  }
+
+  private void advanceClock(long millis) {
+    when(clock.millis()).thenReturn(START + millis);
+  }
+
+  private static X509Certificate mockCertificate(BigInteger serialNumber) {
+    X509Certificate certificate = mock(X509Certificate.class);
+    when(certificate.getIssuerX500Principal()).thenReturn(new X500Principal("CN=Test CA"));
+    when(certificate.getSerialNumber()).thenReturn(serialNumber);
+    return certificate;
+  }
+}
@@ -53,10 +53,12 @@ public class CrlChecker {
 
   private static final CrlRefresh REFRESH = new CrlRefresh();
 
+  private static final long REFRESH_INTERVAL_HOURS = 1;
+
   static {
     Executors.newScheduledThreadPool(
             1, StandardThreadFactoryBuilder.newThreadFactory("crlCheckerThread"))
-        .scheduleWithFixedDelay(REFRESH, 0, 1, TimeUnit.HOURS);
+        .scheduleWithFixedDelay(REFRESH, 0, REFRESH_INTERVAL_HOURS, TimeUnit.HOURS);
   }
 
   /**
@@ -132,8 +134,9 @@ static Properties loadProperties(String location) {
   }
 
   /**
-   * Runnable to refresh the CRL from the URL when either the nextUpdate time has elapsed or it has
-   * rolled over to the next day.
+   * Runnable to refresh the CRL from the URL when either the nextUpdate time falls before the next
+   * scheduled run or it has rolled over to the next day, so that a new CRL is in place before the
+   * current one expires.
    */
   private static class CrlRefresh implements Runnable {
     private Lock lock = new ReentrantLock();
@@ -215,8 +218,10 @@ private CRL createCrl(String location) {
     }
 
     private boolean checkCrlUpdate(X509CRL x509Crl) {
+      Calendar nextRun = Calendar.getInstance();
+      nextRun.add(Calendar.HOUR_OF_DAY, (int) REFRESH_INTERVAL_HOURS);
       return x509Crl.getNextUpdate() == null
-          || Calendar.getInstance().getTime().after(x509Crl.getNextUpdate())
+          || nextRun.getTime().after(x509Crl.getNextUpdate())
           || rolledOverDay();
     }
 
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.security.policy.context.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import org.codice.ddf.security.policy.context.ContextPolicy;
+
+/**
+ * Immutable prefix trie of the context paths that have a policy and of the white listed contexts.
+ * A lookup walks the requested path once and then rolls back through its parent paths the same way
+ * as {@link PolicyManager#rollbackPath(String)}, without creating any substrings.
+ */
+class ContextPathIndex {
+
+  private static final char[] NO_KEYS = new char[0];
+
+  private static final Node[] NO_CHILDREN = new Node[0];
+
+  private final Node root;
+
+  private final ContextPolicy defaultPolicy;
+
+  /**
+   * @param policyStore the policies keyed by their context path, must contain the "/" policy
+   * @param whiteListContexts the context paths that do not have a policy
+   */
+  ContextPathIndex(Map<String, ContextPolicy> policyStore, Collection<String> whiteListContexts) {
+    NodeBuilder rootBuilder = new NodeBuilder();
+    for (String context : whiteListContexts) {
+      if (context != null) {
+        rootBuilder.add(context).whiteListed = true;
+      }
+    }
+    for (Map.Entry<String, ContextPolicy> entry : policyStore.entrySet()) {
+      rootBuilder.add(entry.getKey()).policy = immutableCopy(entry.getValue());
+    }
+    root = rootBuilder.build(null, 0);
+    defaultPolicy = find("/").policy;
+  }
+
+  /**
+   * Returns the policy of the longest context path that the given path rolls back to, {@code null}
+   * if that context is white listed, or the "/" policy if no context is found within {@code
+   * traversalDepth} roll backs.
+   */
+  ContextPolicy getContextPolicy(String path, int traversalDepth) {
+    Node node = root;
+    int length = path.length();
+    for (int i = 0; i < length; i++) {
+      Node child = node.getChild(path.charAt(i));
+      if (child == null) {
+        break;
+      }
+      node = child;
+    }
+
+    for (int depth = 0; ; depth++) {
+      if (length <= node.depth) {
+        while (node.depth > length) {
+          node = node.parent;
+        }
+        if (node.policy != null) {
+          return node.policy;
+        } else if (node.whiteListed) {
+          return null;
+        }
+      }
+
+      int rolledBack = rollbackLength(path, length);
+      if (rolledBack == 0 || depth > traversalDepth) {
+        return defaultPolicy;
+      }
+      length = rolledBack;
+    }
+  }
+
+  /** Returns the length of {@link PolicyManager#rollbackPath(String)} of the path's prefix. */
+  private static int rollbackLength(String path, int length) {
+    if (length > 0 && path.charAt(length - 1) == '/') {
+      while (length > 1 && path.charAt(length - 1) == '/') {
+        length--;
+      }
+      return length;
+    }
+
+    int idx = path.lastIndexOf('/', length - 1);
+    if (idx <= 0) {
+      idx++;
+    }
+    return idx;
+  }
+
+  private Node find(String path) {
+    Node node = root;
+    for (int i = 0; i < path.length() && node != null; i++) {
+      node = node.getChild(path.charAt(i));
+    }
+    return node;
+  }
+
+  private static ContextPolicy immutableCopy(ContextPolicy contextPolicy) {
+    return new Policy(
+        contextPolicy.getContextPath(),
+        Collections.unmodifiableList(new ArrayList<>(contextPolicy.getAuthenticationMethods())),
+        Collections.unmodifiableList(new ArrayList<>(contextPolicy.getAllowedAttributes())));
+  }
+
+  private static final class Node {
+
+    private final Node parent;
+
+    /** Length of the context path prefix that leads to this node. */
+    private final int depth;
+
+    /** Sorted child keys, searched with a binary search. */
+    private char[] keys = NO_KEYS;
+
+    private Node[] children = NO_CHILDREN;
+
+    private final ContextPolicy policy;
+
+    private final boolean whiteListed;
+
+    private Node(Node parent, int depth, ContextPolicy policy, boolean whiteListed) {
+      this.parent = parent;
+      this.depth = depth;
+      this.policy = policy;
+      this.whiteListed = whiteListed;
+    }
+
+    private Node getChild(char key) {
+      int index = Arrays.binarySearch(keys, key);
+      return index < 0 ? null : children[index];
+    }
+  }
+
+  private static final class NodeBuilder {
+
+    private final TreeMap<Character, NodeBuilder> children = new TreeMap<>();
+
+    private ContextPolicy policy;
+
+    private boolean whiteListed;
+
+    private NodeBuilder add(String path) {
+      NodeBuilder builder = this;
+      for (int i = 0; i < path.length(); i++) {
+        builder = builder.children.computeIfAbsent(path.charAt(i), key -> new NodeBuilder());
+      }
+      return builder;
+    }
+
+    private Node build(Node parent, int depth) {
+      Node node = new Node(parent, depth, policy, whiteListed);
+      if (!children.isEmpty()) {
+        char[] keys = new char[children.size()];
+        Node[] nodes = new Node[children.size()];
+        int i = 0;
+        for (Map.Entry<Character, NodeBuilder> entry : children.entrySet()) {
+          keys[i] = entry.getKey();
+          nodes[i] = entry.getValue().build(node, depth + 1);
+          i++;
+        }
+        node.keys = keys;
+        node.children = nodes;
+      }
+      return node;
+    }
+  }
+}
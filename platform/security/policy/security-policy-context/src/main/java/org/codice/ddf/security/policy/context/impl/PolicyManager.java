@@ -62,6 +62,9 @@ public class PolicyManager implements ContextPolicyManager {
 
   private Map<String, Object> policyProperties = new HashMap<>();
 
+  /** Rebuilt whenever the policy store or the white list changes. */
+  private volatile ContextPathIndex contextPathIndex;
+
   private int traversalDepth;
 
   private boolean guestAccess;
@@ -70,35 +73,12 @@ public class PolicyManager implements ContextPolicyManager {
 
   public PolicyManager() {
     policyStore.put("/", defaultPolicy);
+    contextPathIndex = new ContextPathIndex(policyStore, whiteListContexts);
   }
 
   @Override
   public ContextPolicy getContextPolicy(String path) {
-    return getContextPolicy(path, getPolicyStore(), getWhiteListContexts(), 0);
-  }
-
-  private ContextPolicy getContextPolicy(
-      String path,
-      Map<String, ContextPolicy> policyStore,
-      List<String> whiteListContexts,
-      int depth) {
-    ContextPolicy entry;
-    entry = policyStore.get(path);
-
-    if (entry != null) {
-      return entry;
-    } else if (whiteListContexts.contains(path)) {
-      return null;
-    } else {
-      String pathFragment = rollbackPath(path);
-      if (StringUtils.isNotEmpty(pathFragment) && depth <= traversalDepth) {
-        return getContextPolicy(pathFragment, policyStore, whiteListContexts, ++depth);
-      } else {
-        // this is just here for safety
-        // if we get down to the point where we can never get an entry, return the default
-        return policyStore.get("/");
-      }
-    }
+    return contextPathIndex.getContextPolicy(path, traversalDepth);
   }
 
   @Override
@@ -278,6 +258,7 @@ private void setPolicyStore(
     }
 
     policyStore = newPolicyStore;
+    contextPathIndex = new ContextPathIndex(policyStore, whiteListContexts);
   }
 
   /**
@@ -310,6 +291,7 @@ public void setWhiteListContexts(List<String> contexts) {
     LOGGER.debug("setWhiteListContexts(List<String>) called with {}", contexts);
     if (contexts != null && !contexts.isEmpty()) {
       this.whiteListContexts = PropertyResolver.resolveProperties(contexts);
+      contextPathIndex = new ContextPathIndex(policyStore, whiteListContexts);
     }
   }
 
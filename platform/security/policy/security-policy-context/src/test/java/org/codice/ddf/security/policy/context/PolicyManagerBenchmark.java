@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.security.policy.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang.StringUtils;
+import org.codice.ddf.security.policy.context.impl.PolicyManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures how fast request paths are resolved to their context policy with 20, 200 and 2000
+ * configured contexts. The paths mix exact context matches, sub-paths that roll back several
+ * levels, white listed contexts and paths without a context. {@link #copyAndRollBack()} resolves
+ * the same paths by copying the policy store and rolling back one substring at a time, for
+ * comparison. Run from the test classpath through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyManagerBenchmark {
+
+  private static final int TRAVERSAL_DEPTH = 20;
+
+  private static final int REQUEST_PATHS = 1024;
+
+  @Param({"20", "200", "2000"})
+  public int contexts;
+
+  private PolicyManager manager;
+
+  private String[] requestPaths;
+
+  private int next;
+
+  @Setup
+  public void setUp() {
+    List<String> authTypes = new ArrayList<>();
+    List<String> requiredAttributes = new ArrayList<>();
+    List<String> whiteList = new ArrayList<>();
+    List<String> contextPaths = new ArrayList<>();
+
+    authTypes.add("/=SAML|GUEST");
+    requiredAttributes.add("/=");
+    for (int i = 0; i < contexts; i++) {
+      String contextPath = i % 3 == 0 ? "/services/endpoint" + i : "/app" + i + "/api/v" + i % 4;
+      contextPaths.add(contextPath);
+      if (i % 10 == 9) {
+        whiteList.add(contextPath);
+      } else {
+        authTypes.add(contextPath + "=SAML|PKI|BASIC");
+        requiredAttributes.add(contextPath + "={role=admin;clearance=U}");
+      }
+    }
+
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("authenticationTypes", authTypes.toArray(new String[0]));
+    properties.put("requiredAttributes", requiredAttributes.toArray(new String[0]));
+    properties.put("whiteListContexts", whiteList.toArray(new String[0]));
+    properties.put("guestAccess", true);
+    properties.put("sessionAccess", true);
+
+    manager = new PolicyManager();
+    manager.setTraversalDepth(TRAVERSAL_DEPTH);
+    manager.setPolicies(properties);
+
+    Random random = new Random(42);
+    requestPaths = new String[REQUEST_PATHS];
+    for (int i = 0; i < requestPaths.length; i++) {
+      String contextPath = contextPaths.get(random.nextInt(contextPaths.size()));
+      switch (random.nextInt(4)) {
+        case 0:
+          requestPaths[i] = contextPath;
+          break;
+        case 1:
+          requestPaths[i] = contextPath + "/resources/" + random.nextInt(1000) + "/metadata";
+          break;
+        case 2:
+          requestPaths[i] = contextPath + "/static/js/bundle" + random.nextInt(100) + ".js";
+          break;
+        default:
+          requestPaths[i] = "/unknown" + random.nextInt(1000) + "/path/to/resource";
+          break;
+      }
+    }
+  }
+
+  @Benchmark
+  public ContextPolicy getContextPolicy() {
+    return manager.getContextPolicy(nextPath());
+  }
+
+  @Benchmark
+  public ContextPolicy copyAndRollBack() {
+    return copyAndRollBack(nextPath(), manager.getPolicyStore(), manager.getWhiteListContexts(), 0);
+  }
+
+  private String nextPath() {
+    next = (next + 1) & (REQUEST_PATHS - 1);
+    return requestPaths[next];
+  }
+
+  private ContextPolicy copyAndRollBack(
+      String path, Map<String, ContextPolicy> policyStore, List<String> whiteList, int depth) {
+    ContextPolicy entry = policyStore.get(path);
+    if (entry != null) {
+      return entry;
+    } else if (whiteList.contains(path)) {
+      return null;
+    }
+    String pathFragment = manager.rollbackPath(path);
+    if (StringUtils.isNotEmpty(pathFragment) && depth <= TRAVERSAL_DEPTH) {
+      return copyAndRollBack(pathFragment, policyStore, whiteList, depth + 1);
+    }
+    return policyStore.get("/");
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PolicyManagerBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+}
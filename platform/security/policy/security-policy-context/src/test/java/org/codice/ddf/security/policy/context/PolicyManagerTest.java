@@ -302,6 +302,29 @@ public void testFindContextPaths() {
     assertThat(manager.isWhiteListed("/foo/bar"), is(false));
   }
 
+  @Test
+  public void testWhiteListedContextUnderPolicy() {
+    manager.setWhiteListContexts(Arrays.asList("/foo", "/search/public"));
+
+    assertThat(manager.getContextPolicy("/search/public/page"), is(nullValue()));
+    assertThat(manager.getContextPolicy("/search/publicity").getContextPath(), is("/search"));
+    assertThat(
+        manager.getContextPolicy("/search/standard/user").getContextPath(),
+        is("/search/standard"));
+  }
+
+  @Test
+  public void testNewContextPolicyResolved() {
+    assertThat(manager.getContextPolicy("/admin/users/1").getContextPath(), is("/admin"));
+
+    manager.setContextPolicy(
+        "/admin/users", new Policy("/admin/users", Arrays.asList("PKI"), null));
+
+    ContextPolicy policy = manager.getContextPolicy("/admin/users/1");
+    assertThat(policy.getContextPath(), is("/admin/users"));
+    assertThat(new ArrayList<>(policy.getAuthenticationMethods()), is(Arrays.asList("PKI")));
+  }
+
   @Test
   public void testConfiguration() {
     Map<String, Object> properties = new HashMap<>();
@@ -17,6 +17,7 @@
 import ddf.security.assertion.saml.impl.SecurityAssertionSaml;
 import ddf.security.service.SecurityServiceException;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.NoSuchProviderException;
@@ -24,12 +25,16 @@
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
 import org.apache.cxf.rs.security.saml.sso.SAMLProtocolResponseValidator;
@@ -57,6 +62,8 @@
 import org.opensaml.core.xml.config.XMLObjectProviderRegistrySupport;
 import org.opensaml.saml.common.SAMLObjectBuilder;
 import org.opensaml.saml.common.SAMLVersion;
+import org.opensaml.saml.saml2.core.Assertion;
+import org.opensaml.saml.saml2.core.AuthnStatement;
 import org.opensaml.saml.saml2.core.Issuer;
 import org.opensaml.saml.saml2.core.Response;
 import org.opensaml.saml.saml2.core.Status;
@@ -79,6 +86,10 @@ public class SamlAssertionValidatorImpl implements SamlAssertionValidator {
 
   private static final XMLUtils XML_UTILS = XMLUtils.getInstance();
 
+  private static final String KEYSTORE_FILE_SUFFIX = ".keystore.file";
+
+  private static final String TRUSTSTORE_FILE_SUFFIX = ".truststore.file";
+
   private static final ThreadLocal<DocumentBuilder> BUILDER =
       ThreadLocal.withInitial(
           () -> {
@@ -109,6 +120,28 @@ public class SamlAssertionValidatorImpl implements SamlAssertionValidator {
 
   private Validator assertionValidator = new org.apache.wss4j.dom.validate.SamlAssertionValidator();
 
+  private final ValidatedAssertionCache validatedAssertions = new ValidatedAssertionCache();
+
+  /** Incremented whenever the signature crypto is discarded, see {@link #resetSignatureCrypto}. */
+  private final AtomicLong cryptoGeneration = new AtomicLong();
+
+  /** The signature properties, keystore and truststore files the signature crypto came from. */
+  private volatile List<File> cryptoFiles = Collections.emptyList();
+
+  private volatile long cryptoFilesVersion;
+
+  public void init() {
+    validatedAssertions.registerMBean();
+  }
+
+  public void destroy() {
+    validatedAssertions.unregisterMBean();
+  }
+
+  ValidatedAssertionCache getValidatedAssertionCache() {
+    return validatedAssertions;
+  }
+
   /**
    * Validates a SAMLAuthenticationToken by checking it's signature against the configured system
    * certs.
@@ -136,9 +169,41 @@ public void validate(SAMLAuthenticationToken token) throws AuthenticationFailure
         throw new AuthenticationFailureException(
             "Unable to validate SAML token. Token is not SAML.");
       }
-      SamlAssertionWrapper assertion =
-          new SamlAssertionWrapper((Element) securityAssertion.getToken());
+      Element assertionElement = (Element) securityAssertion.getToken();
+      X509Certificate[] x509Certs = token.getX509Certs();
+      discardChangedCrypto();
+      long generation = cryptoGeneration.get();
+      String cacheKey = validatedAssertions.getKey(assertionElement, x509Certs);
+      if (validatedAssertions.isValidated(cacheKey)) {
+        LOGGER.debug("SAML Assertion was already validated");
+        return;
+      }
 
+      long start = System.nanoTime();
+      SamlAssertionWrapper assertion = new SamlAssertionWrapper(assertionElement);
+      try {
+        validate(token, assertion, x509Certs);
+      } finally {
+        validatedAssertions.recordVerification(System.nanoTime() - start);
+      }
+      // Do not cache assertions verified with signature crypto that was discarded meanwhile
+      if (generation == cryptoGeneration.get()) {
+        validatedAssertions.addValidated(cacheKey, getNotOnOrAfter(assertion), x509Certs);
+      }
+    } catch (WSSecurityException e) {
+      LOGGER.debug("Unable to read/validate security token from request.", e);
+      throw new AuthenticationFailureException(e);
+    }
+  }
+
+  /**
+   * Verifies the signature and holder-of-key confirmation of the assertion and runs the WSS4J
+   * assertion validator.
+   */
+  private void validate(
+      SAMLAuthenticationToken token, SamlAssertionWrapper assertion, X509Certificate[] x509Certs)
+      throws AuthenticationFailureException {
+    try {
       // get the crypto junk
       Crypto crypto = getSignatureCrypto();
       Response samlResponse =
@@ -161,7 +226,6 @@ public void validate(SAMLAuthenticationToken token) throws AuthenticationFailure
       WSSConfig wssConfig = WSSConfig.getNewInstance();
       requestData.setWssConfig(wssConfig);
 
-      X509Certificate[] x509Certs = token.getX509Certs();
       requestData.setTlsCerts(x509Certs);
 
       validateHolderOfKeyConfirmation(assertion, x509Certs);
@@ -188,6 +252,35 @@ public void validate(SAMLAuthenticationToken token) throws AuthenticationFailure
     }
   }
 
+  /**
+   * Returns the time after which the assertion is no longer valid: the earliest of its conditions'
+   * {@code NotOnOrAfter} and of the {@code SessionNotOnOrAfter} of its authentication statements.
+   *
+   * @return the time in milliseconds, or {@code null} if the assertion sets neither
+   */
+  private Long getNotOnOrAfter(SamlAssertionWrapper assertion) {
+    Assertion saml2 = assertion.getSaml2();
+    if (saml2 == null) {
+      return null;
+    }
+
+    Long notOnOrAfter = null;
+    if (saml2.getConditions() != null) {
+      notOnOrAfter = earliest(notOnOrAfter, saml2.getConditions().getNotOnOrAfter());
+    }
+    for (AuthnStatement authnStatement : saml2.getAuthnStatements()) {
+      notOnOrAfter = earliest(notOnOrAfter, authnStatement.getSessionNotOnOrAfter());
+    }
+    return notOnOrAfter;
+  }
+
+  private static Long earliest(Long millis, DateTime dateTime) {
+    if (dateTime == null) {
+      return millis;
+    }
+    return millis == null ? dateTime.getMillis() : Math.min(millis, dateTime.getMillis());
+  }
+
   /**
    * Creates the SAML response that we use for validation against the CXF code.
    *
@@ -285,6 +378,9 @@ private Crypto getSignatureCrypto() {
           .setContextClassLoader(SamlAssertionValidatorImpl.class.getClassLoader());
       try {
         signatureCrypto = CryptoFactory.getInstance(sigProperties);
+        List<File> files = getCryptoFiles(sigProperties);
+        cryptoFilesVersion = getVersion(files);
+        cryptoFiles = files;
       } catch (WSSecurityException ex) {
         LOGGER.trace("Error in loading the signature Crypto object.", ex);
         return null;
@@ -295,6 +391,52 @@ private Crypto getSignatureCrypto() {
     return signatureCrypto;
   }
 
+  /**
+   * Discards the signature crypto and every validated assertion when the signature properties,
+   * keystore or truststore changed since the crypto was loaded, so that a removed signer is no
+   * longer trusted.
+   */
+  private void discardChangedCrypto() {
+    List<File> files = cryptoFiles;
+    if (!files.isEmpty() && getVersion(files) != cryptoFilesVersion) {
+      LOGGER.debug("Signature crypto files changed. Discarding validated SAML assertions.");
+      resetSignatureCrypto();
+    }
+  }
+
+  private synchronized void resetSignatureCrypto() {
+    cryptoGeneration.incrementAndGet();
+    signatureCrypto = null;
+    cryptoFiles = Collections.emptyList();
+    validatedAssertions.invalidateAll();
+  }
+
+  private List<File> getCryptoFiles(Properties sigProperties) {
+    List<File> files = new ArrayList<>();
+    files.add(new File(signatureProperties));
+    for (String name : sigProperties.stringPropertyNames()) {
+      if (name.endsWith(KEYSTORE_FILE_SUFFIX) || name.endsWith(TRUSTSTORE_FILE_SUFFIX)) {
+        File file = new File(sigProperties.getProperty(name));
+        String ddfHome = System.getProperty("ddf.home");
+        if (!file.isAbsolute() && ddfHome != null) {
+          file = new File(ddfHome, file.getPath());
+        }
+        files.add(file);
+      }
+    }
+    return files;
+  }
+
+  /** @return a value that changes whenever one of the files is modified, replaced or removed */
+  private static long getVersion(List<File> files) {
+    long version = 1;
+    for (File file : files) {
+      version = 31 * version + file.lastModified();
+      version = 31 * version + file.length();
+    }
+    return version;
+  }
+
   private void validateHolderOfKeyConfirmation(
       SamlAssertionWrapper assertion, X509Certificate[] x509Certs) throws SecurityServiceException {
     List<String> confirmationMethods = assertion.getConfirmationMethods();
@@ -403,7 +545,10 @@ private void validateHolderOfKeyConfirmation(
 
   @Override
   public void setSignatureProperties(String signatureProperties) {
-    this.signatureProperties = signatureProperties;
+    if (!Objects.equals(this.signatureProperties, signatureProperties)) {
+      this.signatureProperties = signatureProperties;
+      resetSignatureCrypto();
+    }
   }
 
   @Override
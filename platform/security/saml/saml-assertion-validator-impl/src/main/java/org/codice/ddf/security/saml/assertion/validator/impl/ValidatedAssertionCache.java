@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.security.saml.assertion.validator.impl;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.apache.wss4j.common.util.DOM2Writer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Element;
+
+/**
+ * Bounded cache of the SAML assertions that passed validation. An assertion is identified by its
+ * ID and a digest of its serialized XML and of the TLS certificate it was presented with, so that
+ * only a byte-for-byte identical assertion presented over the same certificate is accepted without
+ * verifying its signature and holder-of-key confirmation again. Entries expire at the assertion's
+ * {@code NotOnOrAfter} time, at the end of the TLS certificate's validity or after {@link
+ * #MAX_VALIDITY_MILLIS}, whichever comes first.
+ */
+class ValidatedAssertionCache implements ValidatedAssertionCacheMBean {
+
+  static final long MAX_VALIDITY_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ValidatedAssertionCache.class);
+
+  private static final int MAX_ENTRIES = 10000;
+
+  private static final String DIGEST_ALGORITHM = "SHA-256";
+
+  private final Map<String, Long> expirations =
+      new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  private final AtomicLong verifications = new AtomicLong();
+
+  private final AtomicLong verificationNanos = new AtomicLong();
+
+  private final AtomicLong maxVerificationNanos = new AtomicLong();
+
+  private MBeanServer mBeanServer;
+
+  private ObjectName objectName;
+
+  void registerMBean() {
+    try {
+      mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      objectName = new ObjectName(OBJECT_NAME);
+      if (!mBeanServer.isRegistered(objectName)) {
+        mBeanServer.registerMBean(
+            new StandardMBean(this, ValidatedAssertionCacheMBean.class), objectName);
+      }
+    } catch (MalformedObjectNameException
+        | InstanceAlreadyExistsException
+        | MBeanRegistrationException
+        | NotCompliantMBeanException e) {
+      LOGGER.info("Unable to register the validated SAML assertion cache MBean.", e);
+    }
+  }
+
+  void unregisterMBean() {
+    if (mBeanServer != null && objectName != null) {
+      try {
+        mBeanServer.unregisterMBean(objectName);
+      } catch (InstanceNotFoundException | MBeanRegistrationException e) {
+        LOGGER.debug("Unable to unregister the validated SAML assertion cache MBean.", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the key identifying the given assertion presented with the given TLS certificates.
+   *
+   * @return the key, or {@code null} if the assertion has no ID or cannot be digested
+   */
+  String getKey(Element assertion, X509Certificate[] tlsCerts) {
+    String id = assertion.getAttributeNS(null, "ID");
+    if (id == null || id.isEmpty()) {
+      return null;
+    }
+
+    try {
+      MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+      digest.update(DOM2Writer.nodeToString(assertion).getBytes(StandardCharsets.UTF_8));
+      if (tlsCerts != null && tlsCerts.length > 0) {
+        digest.update(tlsCerts[0].getEncoded());
+      }
+      return id + '#' + Base64.getEncoder().encodeToString(digest.digest());
+    } catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+      LOGGER.debug("Unable to digest SAML assertion {}. It will not be cached.", id, e);
+      return null;
+    }
+  }
+
+  /** @return {@code true} if the assertion with the given key was validated and has not expired */
+  boolean isValidated(String key) {
+    if (key == null) {
+      return false;
+    }
+
+    synchronized (expirations) {
+      Long expiresAt = expirations.get(key);
+      if (expiresAt != null) {
+        if (expiresAt > System.currentTimeMillis()) {
+          hits.incrementAndGet();
+          return true;
+        }
+        expirations.remove(key);
+      }
+    }
+    misses.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Records that the assertion with the given key passed validation.
+   *
+   * @param notOnOrAfter the assertion's {@code NotOnOrAfter} time in milliseconds, or {@code null}
+   * @param tlsCerts the TLS certificates the assertion was presented with
+   */
+  void addValidated(String key, Long notOnOrAfter, X509Certificate[] tlsCerts) {
+    if (key == null) {
+      return;
+    }
+
+    long expiresAt = System.currentTimeMillis() + MAX_VALIDITY_MILLIS;
+    if (notOnOrAfter != null) {
+      expiresAt = Math.min(expiresAt, notOnOrAfter);
+    }
+    if (tlsCerts != null && tlsCerts.length > 0) {
+      expiresAt = Math.min(expiresAt, tlsCerts[0].getNotAfter().getTime());
+    }
+    if (expiresAt <= System.currentTimeMillis()) {
+      return;
+    }
+
+    synchronized (expirations) {
+      expirations.put(key, expiresAt);
+    }
+  }
+
+  /** Records the time spent fully verifying an assertion. */
+  void recordVerification(long nanos) {
+    verifications.incrementAndGet();
+    verificationNanos.addAndGet(nanos);
+    maxVerificationNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  @Override
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  @Override
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  @Override
+  public int getSize() {
+    synchronized (expirations) {
+      return expirations.size();
+    }
+  }
+
+  @Override
+  public double getAverageVerificationMillis() {
+    long count = verifications.get();
+    return count == 0 ? 0 : toMillis(verificationNanos.get()) / count;
+  }
+
+  @Override
+  public double getMaxVerificationMillis() {
+    return toMillis(maxVerificationNanos.get());
+  }
+
+  @Override
+  public void invalidateAll() {
+    synchronized (expirations) {
+      expirations.clear();
+    }
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.security.saml.assertion.validator.impl;
+
+/** MBean interface exposing the effectiveness of the validated SAML assertion cache. */
+public interface ValidatedAssertionCacheMBean {
+
+  String OBJECT_NAME =
+      SamlAssertionValidatorImpl.class.getName() + ":service=validated-assertion-cache";
+
+  /** @return number of assertions accepted without verifying them again */
+  long getHitCount();
+
+  /** @return number of assertions that had to be fully verified */
+  long getMissCount();
+
+  /** @return number of validated assertions currently cached */
+  int getSize();
+
+  /** @return average time in milliseconds spent fully verifying an assertion */
+  double getAverageVerificationMillis();
+
+  /** @return longest time in milliseconds spent fully verifying an assertion */
+  double getMaxVerificationMillis();
+
+  /** Discards every cached assertion. */
+  void invalidateAll();
+}
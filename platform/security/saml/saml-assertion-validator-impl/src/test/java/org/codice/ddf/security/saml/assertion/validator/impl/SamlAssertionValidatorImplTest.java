@@ -13,6 +13,8 @@
  */
 package org.codice.ddf.security.saml.assertion.validator.impl;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -182,6 +184,102 @@ public void testValidateWithHolderOfKeyAssertion() throws Exception {
     samlAssertionValidator.validate(samlAuthenticationToken);
   }
 
+  @Test
+  public void testValidatedAssertionServedFromCache() throws Exception {
+    Assertion assertion = createAssertion(true, true, ISSUER, new DateTime().plusDays(3));
+
+    Element securityToken =
+        SAMLUtils.getInstance().getSecurityTokenFromSAMLAssertion(samlObjectToString(assertion));
+    SimplePrincipalCollection simplePrincipalCollection = new SimplePrincipalCollection();
+    simplePrincipalCollection.add(new SecurityAssertionSaml(securityToken), "default");
+    SAMLAuthenticationToken samlAuthenticationToken =
+        new SAMLAuthenticationToken(
+            simplePrincipalCollection, simplePrincipalCollection, "127.0.0.1");
+
+    X509Certificate[] certs = {certificate};
+    samlAuthenticationToken.setX509Certs(certs);
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+    samlAssertionValidator.validate(samlAuthenticationToken);
+
+    ValidatedAssertionCache cache = samlAssertionValidator.getValidatedAssertionCache();
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getSize(), is(1));
+  }
+
+  @Test(expected = AuthenticationFailureException.class)
+  public void testModifiedAssertionVerifiedAgain() throws Exception {
+    Assertion assertion = createAssertion(true, true, ISSUER, new DateTime().plusDays(3));
+
+    Element securityToken =
+        SAMLUtils.getInstance().getSecurityTokenFromSAMLAssertion(samlObjectToString(assertion));
+    SimplePrincipalCollection simplePrincipalCollection = new SimplePrincipalCollection();
+    simplePrincipalCollection.add(new SecurityAssertionSaml(securityToken), "default");
+    SAMLAuthenticationToken samlAuthenticationToken =
+        new SAMLAuthenticationToken(
+            simplePrincipalCollection, simplePrincipalCollection, "127.0.0.1");
+
+    X509Certificate[] certs = {certificate};
+    samlAuthenticationToken.setX509Certs(certs);
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+
+    Element nameId =
+        (Element)
+            securityToken
+                .getElementsByTagNameNS("urn:oasis:names:tc:SAML:2.0:assertion", "NameID")
+                .item(0);
+    nameId.setTextContent("not-admin");
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+  }
+
+  @Test(expected = AuthenticationFailureException.class)
+  public void testCachedAssertionRejectedAfterSessionEnds() throws Exception {
+    Assertion assertion =
+        createAssertion(
+            true, true, ISSUER, new DateTime().plusDays(3), new DateTime().plusSeconds(1));
+    SAMLAuthenticationToken samlAuthenticationToken = createToken(assertion);
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+    Thread.sleep(1500);
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+  }
+
+  @Test
+  public void testCacheClearedWhenKeystoreChanges() throws Exception {
+    Assertion assertion = createAssertion(true, true, ISSUER, new DateTime().plusDays(3));
+    SAMLAuthenticationToken samlAuthenticationToken = createToken(assertion);
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+    File jksFile = new File(System.getProperty("javax.net.ssl.keyStore"));
+    assertThat(jksFile.setLastModified(jksFile.lastModified() - 60000), is(true));
+    samlAssertionValidator.validate(samlAuthenticationToken);
+
+    ValidatedAssertionCache cache = samlAssertionValidator.getValidatedAssertionCache();
+    assertThat(cache.getMissCount(), is(2L));
+    assertThat(cache.getHitCount(), is(0L));
+    assertThat(cache.getSize(), is(1));
+  }
+
+  @Test
+  public void testCacheClearedWhenSignaturePropertiesChange() throws Exception {
+    Assertion assertion = createAssertion(true, true, ISSUER, new DateTime().plusDays(3));
+    SAMLAuthenticationToken samlAuthenticationToken = createToken(assertion);
+
+    samlAssertionValidator.validate(samlAuthenticationToken);
+    File signatureFile = temporaryFolder.newFile("other-signature.properties");
+    try (FileOutputStream outputStream = new FileOutputStream(signatureFile);
+        InputStream inputStream = getClass().getResourceAsStream("/signature.properties")) {
+      IOUtils.copy(inputStream, outputStream);
+    }
+    samlAssertionValidator.setSignatureProperties(signatureFile.getAbsolutePath());
+
+    assertThat(samlAssertionValidator.getValidatedAssertionCache().getSize(), is(0));
+  }
+
   @Test(expected = AuthenticationFailureException.class)
   public void testValidateUnsignedAssertion() throws Exception {
     Assertion assertion = createAssertion(false, true, ISSUER, new DateTime().plusDays(3));
@@ -258,9 +356,33 @@ public void testValidateInvalidSignature() throws Exception {
     samlAssertionValidator.validate(samlAuthenticationToken);
   }
 
+  private SAMLAuthenticationToken createToken(Assertion assertion) throws Exception {
+    Element securityToken =
+        SAMLUtils.getInstance().getSecurityTokenFromSAMLAssertion(samlObjectToString(assertion));
+    SimplePrincipalCollection simplePrincipalCollection = new SimplePrincipalCollection();
+    simplePrincipalCollection.add(new SecurityAssertionSaml(securityToken), "default");
+    SAMLAuthenticationToken samlAuthenticationToken =
+        new SAMLAuthenticationToken(
+            simplePrincipalCollection, simplePrincipalCollection, "127.0.0.1");
+
+    X509Certificate[] certs = {certificate};
+    samlAuthenticationToken.setX509Certs(certs);
+    return samlAuthenticationToken;
+  }
+
   private Assertion createAssertion(
       boolean sign, boolean validSignature, String issuerString, DateTime notOnOrAfter)
       throws Exception {
+    return createAssertion(sign, validSignature, issuerString, notOnOrAfter, null);
+  }
+
+  private Assertion createAssertion(
+      boolean sign,
+      boolean validSignature,
+      String issuerString,
+      DateTime notOnOrAfter,
+      DateTime sessionNotOnOrAfter)
+      throws Exception {
     Assertion assertion = new AssertionBuilder().buildObject();
     assertion.setID(UUID.randomUUID().toString());
     assertion.setIssueInstant(new DateTime());
@@ -289,6 +411,7 @@ private Assertion createAssertion(
 
     AuthnStatement authnStatement = new AuthnStatementBuilder().buildObject();
     authnStatement.setAuthnInstant(new DateTime());
+    authnStatement.setSessionNotOnOrAfter(sessionNotOnOrAfter);
     AuthnContext authnContext = new AuthnContextBuilder().buildObject();
     AuthnContextClassRef authnContextClassRef = new AuthnContextClassRefBuilder().buildObject();
     authnContextClassRef.setAuthnContextClassRef(